@@ -18,3 +18,43 @@ dependencies {
     implementation("org.jruby.joni:joni:2.1.40")
     testCompile("junit", "junit", "4.12")
 }
+
+// scripts/GenerateResourceTables.java, compiled against the runtime classes it uses
+val generator by sourceSets.creating {
+    java {
+        setSrcDirs(listOf("scripts"))
+        include("GenerateResourceTables.java")
+    }
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+val runtimeDir = "src/main/java/com/anatawa12/nashorn/internal/runtime"
+val generatedTablesDir = layout.buildDirectory.dir("generated/resourceTables")
+
+val generateResourceTables by tasks.registering(JavaExec::class) {
+    description = "Generates the option and message tables from the properties files into the build directory."
+    classpath = generator.runtimeClasspath
+    main = "GenerateResourceTables"
+    args(generatedTablesDir.get().asFile)
+    inputs.dir("$runtimeDir/resources")
+    outputs.dir(generatedTablesDir)
+}
+
+val checkResourceTables by tasks.registering {
+    description = "Checks that the option and message tables are generated from the current properties files."
+    group = "verification"
+    dependsOn(generateResourceTables)
+    doLast {
+        for (table in listOf("options/OptionsTable.java", "MessagesTable.java")) {
+            val generated = generatedTablesDir.get().file(table).asFile
+            if (generated.readText() != file("$runtimeDir/$table").readText()) {
+                throw GradleException("$runtimeDir/$table is out of date, run scripts/GenerateResourceTables.java")
+            }
+        }
+    }
+}
+
+tasks.check {
+    dependsOn(checkResourceTables)
+}
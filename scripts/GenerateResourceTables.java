@@ -0,0 +1,235 @@
+/*
+ * This code is published under CC0.
+ * http://creativecommons.org/publicdomain/zero/1.0/deed.ja
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import com.anatawa12.nashorn.internal.runtime.QuotedStringTokenizer;
+
+/**
+ * Generates the static tables the runtime uses instead of loading
+ * {@code Options.properties} and {@code Messages.properties} through
+ * {@link java.util.ResourceBundle} at startup.
+ *
+ * Run from the repository root after changing either properties file. The
+ * option descriptors are split with QuotedStringTokenizer, exactly as Nashorn
+ * split them at startup, so that class has to be on the class path:
+ *
+ * <pre>
+ *   javac -d build/generator src/main/java/com/anatawa12/nashorn/internal/runtime/QuotedStringTokenizer.java
+ *   java -cp build/generator scripts/GenerateResourceTables.java
+ * </pre>
+ *
+ * The tables are written next to the properties files, or below the
+ * directory given as argument. The {@code checkResourceTables} task of the
+ * build generates them into {@code build/} that way and fails if they differ
+ * from the checked in ones.
+ */
+public final class GenerateResourceTables {
+    private static final Path RUNTIME_DIR = Paths.get("src/main/java/com/anatawa12/nashorn/internal/runtime");
+
+    private static final String HEADER =
+            "/*\n" +
+            " * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.\n" +
+            " * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.\n" +
+            " *\n" +
+            " * This code is free software; you can redistribute it and/or modify it\n" +
+            " * under the terms of the GNU General Public License version 2 only, as\n" +
+            " * published by the Free Software Foundation.  Oracle designates this\n" +
+            " * particular file as subject to the \"Classpath\" exception as provided\n" +
+            " * by Oracle in the LICENSE file that accompanied this code.\n" +
+            " *\n" +
+            " * This code is distributed in the hope that it will be useful, but WITHOUT\n" +
+            " * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or\n" +
+            " * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License\n" +
+            " * version 2 for more details (a copy is included in the LICENSE file that\n" +
+            " * accompanied this code).\n" +
+            " *\n" +
+            " * You should have received a copy of the GNU General Public License version\n" +
+            " * 2 along with this work; if not, write to the Free Software Foundation,\n" +
+            " * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.\n" +
+            " *\n" +
+            " * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA\n" +
+            " * or visit www.oracle.com if you need additional information or have any\n" +
+            " * questions.\n" +
+            " */\n" +
+            "\n" +
+            "// Generated by scripts/GenerateResourceTables.java from resources/%s.properties, do not edit.\n" +
+            "\n";
+
+    public static void main(final String[] args) throws IOException {
+        final Path outDir = args.length > 0? Paths.get(args[0]) : RUNTIME_DIR;
+        generateOptions(outDir);
+        generateMessages(outDir);
+    }
+
+    private static void generateOptions(final Path outDir) throws IOException {
+        final TreeMap<String, String> props = load("Options");
+        final TreeMap<String, String> messages = new TreeMap<>();
+        final TreeMap<String, String> options = new TreeMap<>();
+        for (final String key : props.keySet()) {
+            final String[] parts = key.split("\\.");
+            if (parts.length > 1 && parts[1].equals("option")) {
+                options.put(key, props.get(key));
+            } else {
+                messages.put(key, props.get(key));
+            }
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(HEADER, "Options"));
+        sb.append("package com.anatawa12.nashorn.internal.runtime.options;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Option templates and messages of {@code Options.properties}, parsed ahead of time.\n");
+        sb.append(" */\n");
+        sb.append("final class OptionsTable {\n");
+        sb.append("    private OptionsTable() {\n");
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Get a message that is not an option template\n");
+        sb.append("     *\n");
+        sb.append("     * @param key message key\n");
+        sb.append("     * @return the message, or null if there is no such message\n");
+        sb.append("     */\n");
+        sb.append("    static String getMessage(final String key) {\n");
+        appendSwitch(sb, messages);
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Create the templates for all options, sorted by key\n");
+        sb.append("     *\n");
+        sb.append("     * @return the option templates\n");
+        sb.append("     */\n");
+        sb.append("    static OptionTemplate[] createTemplates() {\n");
+        sb.append("        return new OptionTemplate[] {\n");
+        for (final String key : options.keySet()) {
+            final String resource = key.substring(0, key.indexOf('.'));
+            final boolean isHelp = key.equals(props.get(resource + ".options.help.key"));
+            final boolean isXHelp = key.equals(props.get(resource + ".options.xhelp.key"));
+            sb.append("            new OptionTemplate(").append(quote(resource)).append(", ").append(quote(key))
+              .append(", ").append(isHelp).append(", ").append(isXHelp);
+            final List<String> attributes = splitAttributes(options.get(key));
+            for (int i = 0; i < attributes.size(); i += 2) {
+                sb.append(",\n                    ").append(quote(attributes.get(i)))
+                  .append(", ").append(quote(attributes.get(i + 1)));
+            }
+            sb.append("),\n");
+        }
+        sb.append("        };\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        write(outDir.resolve("options/OptionsTable.java"), sb);
+    }
+
+    private static void generateMessages(final Path outDir) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(HEADER, "Messages"));
+        sb.append("package com.anatawa12.nashorn.internal.runtime;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Messages of {@code Messages.properties}, compiled into a string switch.\n");
+        sb.append(" */\n");
+        sb.append("final class MessagesTable {\n");
+        sb.append("    private MessagesTable() {\n");
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Get a message\n");
+        sb.append("     *\n");
+        sb.append("     * @param key message id\n");
+        sb.append("     * @return the message, or null if there is no such message\n");
+        sb.append("     */\n");
+        sb.append("    static String getMessage(final String key) {\n");
+        appendSwitch(sb, load("Messages"));
+        sb.append("    }\n");
+        sb.append("}\n");
+        write(outDir.resolve("MessagesTable.java"), sb);
+    }
+
+    private static TreeMap<String, String> load(final String name) throws IOException {
+        final Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(RUNTIME_DIR.resolve("resources/" + name + ".properties"))) {
+            props.load(in);
+        }
+        final TreeMap<String, String> map = new TreeMap<>();
+        for (final String key : props.stringPropertyNames()) {
+            map.put(key, props.getProperty(key));
+        }
+        return map;
+    }
+
+    // mirrors the tokenizing part of OptionTemplate.parse as it was before the tables
+    private static List<String> splitAttributes(final String origValue) {
+        String value = origValue.trim();
+        if (value.length() < 2 || value.charAt(0) != '{' || value.charAt(value.length() - 1) != '}') {
+            throw new IllegalArgumentException(origValue);
+        }
+        value = value.substring(1, value.length() - 1);
+
+        final List<String> attributes = new ArrayList<>();
+        final QuotedStringTokenizer keyValuePairs = new QuotedStringTokenizer(value, ",");
+        while (keyValuePairs.hasMoreTokens()) {
+            final QuotedStringTokenizer st = new QuotedStringTokenizer(keyValuePairs.nextToken(), "=");
+            attributes.add(st.nextToken());
+            attributes.add(st.nextToken());
+        }
+        return attributes;
+    }
+
+    private static void appendSwitch(final StringBuilder sb, final TreeMap<String, String> entries) {
+        sb.append("        switch (key) {\n");
+        for (final String key : entries.keySet()) {
+            sb.append("        case ").append(quote(key)).append(":\n");
+            sb.append("            return ").append(quote(entries.get(key))).append(";\n");
+        }
+        sb.append("        default:\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+    }
+
+    private static String quote(final String str) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c > 0x7e) {
+                    sb.append(String.format("\\u%04x", (int)c));
+                } else {
+                    sb.append(c);
+                }
+                break;
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void write(final Path path, final CharSequence content) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.append(content);
+        }
+    }
+}
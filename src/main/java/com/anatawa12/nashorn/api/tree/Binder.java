@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.anatawa12.nashorn.api.tree.SymbolTable.BindingKind;
+import com.anatawa12.nashorn.api.tree.SymbolTable.ScopeKind;
+
+/**
+ * Builds the {@link SymbolTable} of a compilation unit in one pass.
+ *
+ * <p>Identifier uses are queued on the innermost scope. When a scope is
+ * left, all of its declarations (including hoisted ones that appear after
+ * the use) are known, so the queued uses are resolved against it and the
+ * unresolved rest is handed to the parent scope.
+ *
+ * <p>The pass is a {@link TreeScanner} walk, so it does not recurse and
+ * handles chains nested arbitrarily deep. Declarations are made when their
+ * tree is entered; identifiers that are not uses, such as declared names
+ * and property names, are marked then and passed over when the walk
+ * reaches them.
+ */
+final class Binder extends TreeScanner {
+    // roles of a tree, set by the tree it belongs to
+    private static final byte NOT_A_USE = 1, FUNCTION_BODY = 2, METHOD = 4, DISCRIMINANT = 8;
+
+    private final TreeIndex index;
+
+    // scopes
+    private int scopeCount;
+    private int[] scopeParents = new int[16];
+    private byte[] scopeKinds = new byte[16];
+    private int[] scopeTrees = new int[16];
+
+    // bindings
+    private int bindingCount;
+    private String[] bindingNames = new String[32];
+    private byte[] bindingKinds = new byte[32];
+    private int[] bindingScopes = new int[32];
+    private int[] bindingDecls = new int[32];
+
+    // per tree id
+    private final int[] resolved;
+    private final int[] treeScopes;
+    private final boolean[] declaring;
+    private final byte[] roles;
+
+    // open scopes, innermost last
+    private final List<Frame> frames = new ArrayList<>();
+    // switches whose discriminant is being walked, innermost last
+    private final List<SwitchTree> switches = new ArrayList<>();
+
+    private static final class Frame {
+        final int scope;
+        final boolean hoistTarget;
+        final Map<String, Integer> names = new HashMap<>();
+        int[] pending = new int[8];
+        int pendingCount;
+
+        Frame(final int scope, final boolean hoistTarget) {
+            this.scope = scope;
+            this.hoistTarget = hoistTarget;
+        }
+
+        void addPending(final int id) {
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pendingCount * 2);
+            }
+            pending[pendingCount++] = id;
+        }
+    }
+
+    private Binder(final TreeIndex index) {
+        this.index = index;
+        final int size = index.size();
+        this.resolved = new int[size];
+        this.treeScopes = new int[size];
+        this.declaring = new boolean[size];
+        this.roles = new byte[size];
+        Arrays.fill(resolved, -1);
+        Arrays.fill(treeScopes, -1);
+    }
+
+    static SymbolTable bind(final CompilationUnitTreeImpl unit) {
+        final Binder binder = new Binder(unit.getIndex());
+        binder.scan(unit);
+        return binder.finish();
+    }
+
+    private SymbolTable finish() {
+        // group bindings by scope, keeping declaration order within a scope
+        final int[] scopeBindingStart = new int[scopeCount + 1];
+        for (int b = 0; b < bindingCount; b++) {
+            scopeBindingStart[bindingScopes[b] + 1]++;
+        }
+        for (int s = 0; s < scopeCount; s++) {
+            scopeBindingStart[s + 1] += scopeBindingStart[s];
+        }
+        final int[] fill = Arrays.copyOf(scopeBindingStart, scopeCount);
+        final int[] scopeBindings = new int[bindingCount];
+        for (int b = 0; b < bindingCount; b++) {
+            scopeBindings[fill[bindingScopes[b]]++] = b;
+        }
+
+        // references by binding, in tree id order
+        final int[] refStart = new int[bindingCount + 1];
+        for (int id = 0; id < resolved.length; id++) {
+            if (resolved[id] >= 0 && !declaring[id]) {
+                refStart[resolved[id] + 1]++;
+            }
+        }
+        for (int b = 0; b < bindingCount; b++) {
+            refStart[b + 1] += refStart[b];
+        }
+        final int[] refFill = Arrays.copyOf(refStart, bindingCount);
+        final int[] refs = new int[refStart[bindingCount]];
+        for (int id = 0; id < resolved.length; id++) {
+            if (resolved[id] >= 0 && !declaring[id]) {
+                refs[refFill[resolved[id]]++] = id;
+            }
+        }
+
+        return new SymbolTable(index,
+                Arrays.copyOf(scopeParents, scopeCount),
+                Arrays.copyOf(scopeKinds, scopeCount),
+                Arrays.copyOf(scopeTrees, scopeCount),
+                scopeBindingStart, scopeBindings,
+                Arrays.copyOf(bindingNames, bindingCount),
+                Arrays.copyOf(bindingKinds, bindingCount),
+                Arrays.copyOf(bindingScopes, bindingCount),
+                Arrays.copyOf(bindingDecls, bindingCount),
+                refStart, refs,
+                resolved, treeScopes);
+    }
+
+    // scope handling
+
+    private void enterScope(final Tree tree, final ScopeKind kind) {
+        final int scope = scopeCount++;
+        if (scope == scopeKinds.length) {
+            scopeParents = Arrays.copyOf(scopeParents, scope * 2);
+            scopeKinds = Arrays.copyOf(scopeKinds, scope * 2);
+            scopeTrees = Arrays.copyOf(scopeTrees, scope * 2);
+        }
+        final int treeId = index.indexOf(tree);
+        scopeParents[scope] = frames.isEmpty()? -1 : currentFrame().scope;
+        scopeKinds[scope] = (byte) kind.ordinal();
+        scopeTrees[scope] = treeId;
+        treeScopes[treeId] = scope;
+        frames.add(new Frame(scope, kind != ScopeKind.BLOCK && kind != ScopeKind.CATCH && kind != ScopeKind.CLASS));
+    }
+
+    private void leaveScope() {
+        final Frame frame = frames.remove(frames.size() - 1);
+        final Frame parent = frames.isEmpty()? null : currentFrame();
+        for (int i = 0; i < frame.pendingCount; i++) {
+            final int id = frame.pending[i];
+            final Integer binding = frame.names.get(((IdentifierTree) index.getTree(id)).getName());
+            if (binding != null) {
+                resolved[id] = binding;
+            } else if (parent != null) {
+                parent.addPending(id);
+            }
+        }
+    }
+
+    private Frame currentFrame() {
+        return frames.get(frames.size() - 1);
+    }
+
+    private Frame hoistFrame() {
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            final Frame frame = frames.get(i);
+            if (frame.hoistTarget) {
+                return frame;
+            }
+        }
+        throw new AssertionError("no function scope");
+    }
+
+    private void declare(final Frame frame, final IdentifierTree ident, final BindingKind kind) {
+        final int id = index.indexOf(ident);
+        if (id < 0) {
+            return;
+        }
+        declaring[id] = true;
+        final String name = ident.getName();
+        final Integer existing = frame.names.get(name);
+        if (existing != null) {
+            // redeclaration (var/function), the first declaration wins
+            resolved[id] = existing;
+            return;
+        }
+
+        final int binding = bindingCount++;
+        if (binding == bindingNames.length) {
+            bindingNames = Arrays.copyOf(bindingNames, binding * 2);
+            bindingKinds = Arrays.copyOf(bindingKinds, binding * 2);
+            bindingScopes = Arrays.copyOf(bindingScopes, binding * 2);
+            bindingDecls = Arrays.copyOf(bindingDecls, binding * 2);
+        }
+        bindingNames[binding] = name;
+        bindingKinds[binding] = (byte) kind.ordinal();
+        bindingScopes[binding] = frame.scope;
+        bindingDecls[binding] = id;
+        frame.names.put(name, binding);
+        resolved[id] = binding;
+    }
+
+    /**
+     * Declares all names bound by a binding pattern. The expressions
+     * embedded in it (default values, computed keys) are left to the walk.
+     */
+    private void declarePattern(final Frame frame, final Tree pattern, final BindingKind kind) {
+        if (pattern == null) {
+            return;
+        }
+        switch (pattern.getKind()) {
+            case IDENTIFIER:
+                declare(frame, (IdentifierTree) pattern, kind);
+                break;
+            case ASSIGNMENT:
+                declarePattern(frame, ((AssignmentTree) pattern).getVariable(), kind);
+                break;
+            case OBJECT_LITERAL:
+                for (final PropertyTree prop : ((ObjectLiteralTree) pattern).getProperties()) {
+                    declarePattern(frame, prop.getValue(), kind);
+                }
+                break;
+            case ARRAY_LITERAL:
+                for (final ExpressionTree elem : ((ArrayLiteralTree) pattern).getElements()) {
+                    declarePattern(frame, elem, kind);
+                }
+                break;
+            case SPREAD:
+                declarePattern(frame, ((SpreadTree) pattern).getExpression(), kind);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void mark(final Tree tree, final byte role) {
+        if (tree != null) {
+            final int id = index.indexOf(tree);
+            if (id >= 0) {
+                roles[id] |= role;
+            }
+        }
+    }
+
+    private boolean hasRole(final Tree tree, final byte role) {
+        final int id = index.indexOf(tree);
+        return id >= 0 && (roles[id] & role) != 0;
+    }
+
+    private void enterFunction(final Tree func, final IdentifierTree name,
+            final List<? extends ExpressionTree> params, final Tree body, final boolean bindName) {
+        enterScope(func, ScopeKind.FUNCTION);
+        final Frame frame = currentFrame();
+        if (bindName && name != null) {
+            declare(frame, name, BindingKind.FUNCTION);
+        } else {
+            mark(name, NOT_A_USE);
+        }
+        for (final ExpressionTree param : params) {
+            declarePattern(frame, param, BindingKind.PARAMETER);
+        }
+        if (body instanceof BlockTree) {
+            // the function body shares the function scope
+            mark(body, FUNCTION_BODY);
+        }
+    }
+
+    private void enterClass(final Tree cls, final IdentifierTree name, final boolean bindName) {
+        enterScope(cls, ScopeKind.CLASS);
+        if (bindName && name != null) {
+            declare(currentFrame(), name, BindingKind.CLASS);
+        }
+    }
+
+    // walk
+
+    @Override
+    protected boolean enter(final Tree tree) {
+        switch (tree.getKind()) {
+        case COMPILATION_UNIT: {
+            final CompilationUnitTree unit = (CompilationUnitTree) tree;
+            final ModuleTree mod = unit.getModule();
+            enterScope(unit, mod != null? ScopeKind.MODULE : ScopeKind.SCRIPT);
+            if (mod != null) {
+                enterModule(mod);
+            }
+            break;
+        }
+        case MODULE:
+            // done with the compilation unit
+            return false;
+        case IDENTIFIER: {
+            final IdentifierTree ident = (IdentifierTree) tree;
+            if (!ident.isThis() && !ident.isSuper()) {
+                final int id = index.indexOf(ident);
+                if (id >= 0 && !declaring[id] && (roles[id] & NOT_A_USE) == 0) {
+                    currentFrame().addPending(id);
+                }
+            }
+            break;
+        }
+        case VARIABLE: {
+            final VariableTree var = (VariableTree) tree;
+            if (var.isConst()) {
+                declarePattern(currentFrame(), var.getBinding(), BindingKind.CONST);
+            } else if (var.isLet()) {
+                declarePattern(currentFrame(), var.getBinding(), BindingKind.LET);
+            } else {
+                declarePattern(hoistFrame(), var.getBinding(), BindingKind.VAR);
+            }
+            break;
+        }
+        case FUNCTION: {
+            final FunctionDeclarationTree func = (FunctionDeclarationTree) tree;
+            if (func.getName() != null) {
+                final boolean blockScoped = func instanceof FunctionDeclarationTreeImpl
+                        && ((FunctionDeclarationTreeImpl) func).isBlockScoped();
+                declare(blockScoped? currentFrame() : hoistFrame(), func.getName(), BindingKind.FUNCTION);
+            }
+            enterFunction(func, func.getName(), func.getParameters(), func.getBody(), false);
+            break;
+        }
+        case FUNCTION_EXPRESSION: {
+            final FunctionExpressionTree func = (FunctionExpressionTree) tree;
+            // methods do not bind their own name
+            enterFunction(func, func.getName(), func.getParameters(), func.getBody(), !hasRole(func, METHOD));
+            break;
+        }
+        case CLASS: {
+            final ClassDeclarationTree cls = (ClassDeclarationTree) tree;
+            if (cls.getName() != null) {
+                declare(currentFrame(), cls.getName(), BindingKind.CLASS);
+            }
+            enterClass(cls, cls.getName(), false);
+            break;
+        }
+        case CLASS_EXPRESSION: {
+            final ClassExpressionTree cls = (ClassExpressionTree) tree;
+            enterClass(cls, cls.getName(), true);
+            break;
+        }
+        case PROPERTY: {
+            final PropertyTree prop = (PropertyTree) tree;
+            // property names are not variable references
+            if (!prop.isComputed()) {
+                mark(prop.getKey(), NOT_A_USE);
+            }
+            // a method does not bind its name, unlike "key: function name() {}"
+            if (prop.getValue() instanceof FunctionExpressionTreeImpl
+                    && ((FunctionExpressionTreeImpl) prop.getValue()).isMethod()) {
+                mark(prop.getValue(), METHOD);
+            }
+            mark(prop.getGetter(), METHOD);
+            mark(prop.getSetter(), METHOD);
+            break;
+        }
+        case BLOCK:
+            if (!hasRole(tree, FUNCTION_BODY)) {
+                enterScope(tree, ScopeKind.BLOCK);
+            }
+            break;
+        case SWITCH: {
+            // the cases have a scope, the discriminant is outside it
+            final SwitchTree sw = (SwitchTree) tree;
+            switches.add(sw);
+            mark(sw.getExpression(), DISCRIMINANT);
+            break;
+        }
+        case CATCH: {
+            enterScope(tree, ScopeKind.CATCH);
+            declarePattern(currentFrame(), ((CatchTree) tree).getParameter(), BindingKind.CATCH_PARAMETER);
+            break;
+        }
+        case FOR_LOOP:
+        case FOR_IN_LOOP: // and for-of loops
+            enterScope(tree, ScopeKind.BLOCK);
+            break;
+        default:
+            break;
+        }
+        return true;
+    }
+
+    private void enterModule(final ModuleTree mod) {
+        for (final ImportEntryTree entry : mod.getImportEntries()) {
+            if (entry.getLocalName() != null) {
+                declare(currentFrame(), entry.getLocalName(), BindingKind.IMPORT);
+            }
+        }
+        for (final List<? extends ExportEntryTree> entries : Arrays.asList(mod.getLocalExportEntries(),
+                mod.getIndirectExportEntries(), mod.getStarExportEntries())) {
+            for (final ExportEntryTree entry : entries) {
+                // only local exports refer to a binding of this module
+                if (entry.getModuleRequest() == null && entry.getLocalName() != null) {
+                    enter(entry.getLocalName());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void leave(final Tree tree) {
+        switch (tree.getKind()) {
+        case COMPILATION_UNIT:
+        case FUNCTION:
+        case FUNCTION_EXPRESSION:
+        case CLASS:
+        case CLASS_EXPRESSION:
+        case SWITCH:
+        case CATCH:
+        case FOR_LOOP:
+        case FOR_IN_LOOP: // and for-of loops
+            leaveScope();
+            break;
+        case BLOCK:
+            if (!hasRole(tree, FUNCTION_BODY)) {
+                leaveScope();
+            }
+            break;
+        default:
+            break;
+        }
+        if (!switches.isEmpty() && hasRole(tree, DISCRIMINANT)) {
+            enterScope(switches.remove(switches.size() - 1), ScopeKind.BLOCK);
+        }
+    }
+}
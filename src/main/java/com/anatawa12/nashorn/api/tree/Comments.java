@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+/**
+ * Comments of a compilation unit, recorded by the parser when the
+ * {@code "--record-comments"} option is given to {@link Parser#create}.
+ *
+ * <p>Comments are identified by their index in source order; their
+ * positions are kept in a packed {@code int[]} table, so no object is
+ * created per comment. Leading and trailing comments of a tree are found
+ * by binary search over that table.
+ *
+ * <p>A comment is <em>leading</em> a tree if only whitespace and other
+ * leading comments separate it from the start of the tree, and it does not
+ * share its line with preceding code. A comment is <em>trailing</em> a tree
+ * if it starts on the line the tree ends on, separated from the end of the
+ * tree only by whitespace and other trailing comments.
+ */
+public interface Comments {
+    /**
+     * Returns the number of comments.
+     *
+     * @return the comment count
+     */
+    int size();
+
+    /**
+     * Start character offset of a comment, including the comment opener.
+     *
+     * @param index the comment index
+     * @return the position
+     */
+    long getStartPosition(int index);
+
+    /**
+     * End character offset of a comment, including the comment closer.
+     *
+     * @param index the comment index
+     * @return the position
+     */
+    long getEndPosition(int index);
+
+    /**
+     * Returns if a comment is a block comment ({@code /* ... *}{@code /}).
+     *
+     * @param index the comment index
+     * @return true for a block comment, false for a line comment
+     */
+    boolean isBlockComment(int index);
+
+    /**
+     * Returns the source text of a comment, including the comment markers.
+     *
+     * @param index the comment index
+     * @return the comment text
+     */
+    String getText(int index);
+
+    /**
+     * Returns the index of the first comment starting at or after a position.
+     *
+     * @param pos character offset
+     * @return the comment index, or {@link #size()} if there is none
+     */
+    int indexAfter(long pos);
+
+    /**
+     * Returns the indices of the comments leading a tree, in source order.
+     *
+     * @param tree the tree
+     * @return comment indices, empty if there are none
+     */
+    int[] getLeadingComments(Tree tree);
+
+    /**
+     * Returns the indices of the comments trailing a tree, in source order.
+     *
+     * @param tree the tree
+     * @return comment indices, empty if there are none
+     */
+    int[] getTrailingComments(Tree tree);
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import com.anatawa12.nashorn.internal.parser.Lexer;
+import com.anatawa12.nashorn.internal.runtime.Source;
+
+final class CommentsImpl implements Comments {
+    private static final int[] EMPTY = new int[0];
+
+    private final Source source;
+    // start and end position of comment i are spans[2 * i] and spans[2 * i + 1]
+    private final int[] spans;
+
+    CommentsImpl(final Source source, final int[] spans) {
+        this.source = source;
+        this.spans = spans;
+    }
+
+    @Override
+    public int size() {
+        return spans.length >> 1;
+    }
+
+    @Override
+    public long getStartPosition(final int index) {
+        return spans[checkIndex(index) << 1];
+    }
+
+    @Override
+    public long getEndPosition(final int index) {
+        return spans[(checkIndex(index) << 1) + 1];
+    }
+
+    @Override
+    public boolean isBlockComment(final int index) {
+        final int start = spans[checkIndex(index) << 1];
+        final char[] content = source.getContent();
+        return start + 1 < content.length && content[start] == '/' && content[start + 1] == '*';
+    }
+
+    @Override
+    public String getText(final int index) {
+        final int start = spans[checkIndex(index) << 1];
+        return source.getString(start, spans[(index << 1) + 1] - start);
+    }
+
+    @Override
+    public int indexAfter(final long pos) {
+        // first comment whose start is >= pos
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (spans[mid << 1] < pos) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public int[] getLeadingComments(final Tree tree) {
+        final int start = (int) tree.getStartPosition();
+        final char[] content = source.getContent();
+
+        // last comment ending at or before the tree
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (spans[(mid << 1) + 1] <= start) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        int from = lo;
+        int limit = start;
+        for (int i = lo - 1; i >= 0; i--) {
+            final int commentStart = spans[i << 1];
+            if (!isWhitespace(content, spans[(i << 1) + 1], limit, true) ||
+                    followsCodeOnSameLine(content, commentStart)) {
+                break;
+            }
+            from = i;
+            limit = commentStart;
+        }
+        return range(from, lo);
+    }
+
+    @Override
+    public int[] getTrailingComments(final Tree tree) {
+        final char[] content = source.getContent();
+        int end = (int) tree.getEndPosition();
+
+        // some trees end after comments following their last token, so
+        // step back over those to the real end of the tree
+        for (;;) {
+            while (end > 0 && Lexer.isJSWhitespace(content[end - 1])) {
+                end--;
+            }
+            final int i = indexEndingAt(end);
+            if (i < 0) {
+                break;
+            }
+            end = spans[i << 1];
+        }
+        // a statement terminator or list separator is part of the tree's line
+        while (end < content.length && (content[end] == ';' || content[end] == ',')) {
+            end++;
+        }
+
+        final int first = indexAfter(end);
+        int to = first;
+        int limit = end;
+        for (int i = first; i < size(); i++) {
+            if (!isWhitespace(content, limit, spans[i << 1], false)) {
+                break;
+            }
+            to = i + 1;
+            if (!isBlockComment(i)) {
+                // a line comment runs up to the end of the line
+                break;
+            }
+            limit = spans[(i << 1) + 1];
+        }
+        return range(first, to);
+    }
+
+    // index of the comment ending exactly at pos, or -1
+    private int indexEndingAt(final int pos) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int end = spans[(mid << 1) + 1];
+            if (end < pos) {
+                lo = mid + 1;
+            } else if (end > pos) {
+                hi = mid;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return index;
+    }
+
+    private static int[] range(final int from, final int to) {
+        if (from >= to) {
+            return EMPTY;
+        }
+        final int[] result = new int[to - from];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = from + i;
+        }
+        return result;
+    }
+
+    // is content[from, to) whitespace only, optionally including line terminators?
+    private static boolean isWhitespace(final char[] content, final int from, final int to, final boolean allowEOL) {
+        for (int i = from; i < to; i++) {
+            final char ch = content[i];
+            if (Lexer.isJSEOL(ch)) {
+                if (!allowEOL) {
+                    return false;
+                }
+            } else if (!Lexer.isJSWhitespace(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // is there anything but whitespace between the start of the line and pos?
+    private static boolean followsCodeOnSameLine(final char[] content, final int pos) {
+        for (int i = pos - 1; i >= 0; i--) {
+            final char ch = content[i];
+            if (Lexer.isJSEOL(ch)) {
+                return false;
+            } else if (!Lexer.isJSWhitespace(ch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -25,7 +25,9 @@
 
 package com.anatawa12.nashorn.api.tree;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents the abstract syntax tree for compilation units (source
@@ -73,4 +75,34 @@ public interface CompilationUnitTree extends Tree {
      * @return the Module info or null
      */
     ModuleTree getModule();
+
+    /**
+     * Returns the comments of this compilation unit, if available.
+     * Comments are only recorded when the parser is created with the
+     * {@code "--record-comments"} option; null is returned otherwise, and
+     * by the default implementation.
+     *
+     * @return the comments of this compilation unit or null
+     */
+    default Comments getComments() {
+        return null;
+    }
+
+    /**
+     * Returns all trees of the given kind in this compilation unit, in
+     * pre-order (module entries first, then source order).
+     *
+     * <p>For compilation units created by the parser, the lists for all
+     * kinds are computed together, by a single walk over the compilation
+     * unit, the first time any of them is requested. Later requests for any
+     * kind do not walk the tree again. The default implementation walks the
+     * compilation unit on every request.
+     *
+     * @param kind the tree kind
+     * @return read-only list of the trees of the given kind
+     * @throws NullPointerException if kind is null
+     */
+    default List<? extends Tree> getTreesOfKind(final Tree.Kind kind) {
+        return Collections.unmodifiableList(TreeChildren.ofKind(this, Objects.requireNonNull(kind)));
+    }
 }
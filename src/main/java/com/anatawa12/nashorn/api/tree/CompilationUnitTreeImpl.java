@@ -26,6 +26,7 @@
 package com.anatawa12.nashorn.api.tree;
 
 import java.util.List;
+import java.util.Objects;
 import com.anatawa12.nashorn.internal.ir.FunctionNode;
 
 final class CompilationUnitTreeImpl extends TreeImpl
@@ -33,10 +34,19 @@ final class CompilationUnitTreeImpl extends TreeImpl
     private final FunctionNode funcNode;
     private final List<? extends Tree> elements;
     private final ModuleTree module;
+    private final Comments comments;
+    // lazily built identity index of all trees in this unit
+    private volatile TreeIndex index;
+    // index of the unit this one was transformed from, until index is built from it
+    private volatile TreeIndex previousIndex;
+    // lazily computed scopes and bindings
+    private volatile SymbolTable symbols;
+    private volatile ConstantValues constants;
 
     CompilationUnitTreeImpl(final FunctionNode node,
             final List<? extends Tree> elements,
-            final ModuleTree module) {
+            final ModuleTree module,
+            final Comments comments) {
         super(node);
         this.funcNode = node;
         assert funcNode.getKind() == FunctionNode.Kind.SCRIPT ||
@@ -44,6 +54,7 @@ final class CompilationUnitTreeImpl extends TreeImpl
                 "script or module function expected";
         this.elements = elements;
         this.module = module;
+        this.comments = comments;
     }
 
     @Override
@@ -76,6 +87,69 @@ final class CompilationUnitTreeImpl extends TreeImpl
         return module;
     }
 
+    @Override
+    public Comments getComments() {
+        return comments;
+    }
+
+    @Override
+    public List<? extends Tree> getTreesOfKind(final Tree.Kind kind) {
+        return getIndex().getTrees(Objects.requireNonNull(kind));
+    }
+
+    TreeIndex getIndex() {
+        TreeIndex idx = index;
+        if (idx == null) {
+            synchronized (this) {
+                idx = index;
+                if (idx == null) {
+                    index = idx = TreeIndex.build(this, previousIndex);
+                    previousIndex = null;
+                }
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * Lets the index of this unit, when it is built, take the entries of the
+     * subtrees this unit shares with the given one over from that unit's
+     * index, if it has been built.
+     *
+     * @param original the unit this unit was transformed from
+     */
+    void deriveIndex(final CompilationUnitTreeImpl original) {
+        if (index == null) {
+            previousIndex = original.index;
+        }
+    }
+
+    SymbolTable getSymbolTable() {
+        SymbolTable table = symbols;
+        if (table == null) {
+            synchronized (this) {
+                table = symbols;
+                if (table == null) {
+                    symbols = table = Binder.bind(this);
+                }
+            }
+        }
+        return table;
+    }
+
+    ConstantValues getConstantValues() {
+        ConstantValues values = constants;
+        if (values == null) {
+            synchronized (this) {
+                values = constants;
+                if (values == null) {
+                    constants = values = ConstantValues.compute(this);
+                }
+            }
+        }
+        return values;
+    }
+
     @Override
     public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
         return visitor.visitCompilationUnit(this, data);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import org.joni.Matcher;
+import org.joni.Regex;
+
+/**
+ * A regular expression literal compiled for matching, see
+ * {@link RegExpLiteralTree#getCompiledRegExp()}.
+ *
+ * <p>The ECMAScript pattern is translated to a Java pattern, which is
+ * compiled by the joni regex engine. Compiled regular expressions are
+ * cached per pattern and options, so literals with the same pattern and
+ * options share one instance. Instances are immutable and safe to use
+ * from several threads; each match needs its own {@link Matcher}.
+ */
+public interface CompiledRegExp {
+    /**
+     * Regular expression pattern as written in the literal.
+     *
+     * @return regular expression pattern
+     */
+    String getPattern();
+
+    /**
+     * Regular expression matching options as written in the literal.
+     *
+     * @return options like "i" for ignoreCase used
+     */
+    String getOptions();
+
+    /**
+     * Returns if the "g" option is given.
+     *
+     * @return true for a global regular expression
+     */
+    boolean isGlobal();
+
+    /**
+     * Returns if the "i" option is given.
+     *
+     * @return true for a case insensitive regular expression
+     */
+    boolean isIgnoreCase();
+
+    /**
+     * Returns if the "m" option is given.
+     *
+     * @return true for a multiline regular expression
+     */
+    boolean isMultiline();
+
+    /**
+     * Java pattern the ECMAScript pattern was translated to.
+     *
+     * @return the translated pattern
+     */
+    String getJavaPattern();
+
+    /**
+     * The compiled joni regex. It matches UTF-16BE encoded input, so byte
+     * offsets reported by its matchers are twice the character offsets.
+     *
+     * @return the compiled regex
+     */
+    Regex getRegex();
+
+    /**
+     * Creates a matcher of the compiled regex for the given input.
+     *
+     * @param input the string to match
+     * @return a joni matcher over the UTF-16BE encoding of the input
+     */
+    Matcher matcher(String input);
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.nio.charset.StandardCharsets;
+import com.anatawa12.nashorn.internal.runtime.ParserException;
+import com.anatawa12.nashorn.internal.runtime.regexp.JoniRegExp;
+import com.anatawa12.nashorn.internal.runtime.regexp.RegExpFactory;
+import org.joni.Matcher;
+import org.joni.Regex;
+
+final class CompiledRegExpImpl implements CompiledRegExp {
+    private final JoniRegExp regexp;
+    private final String pattern;
+    private final String options;
+
+    CompiledRegExpImpl(final JoniRegExp regexp, final String pattern, final String options) {
+        this.regexp = regexp;
+        this.pattern = pattern;
+        this.options = options;
+    }
+
+    /**
+     * Compiles a regexp, or takes it from the regexp cache.
+     *
+     * @param pattern the pattern
+     * @param options the flags
+     * @return the compiled regexp
+     * @throws IllegalArgumentException if the pattern or flags are invalid
+     */
+    static CompiledRegExp compile(final String pattern, final String options) {
+        try {
+            return new CompiledRegExpImpl(RegExpFactory.create(pattern, options), pattern, options);
+        } catch (final ParserException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String getOptions() {
+        return options;
+    }
+
+    @Override
+    public boolean isGlobal() {
+        return regexp.isGlobal();
+    }
+
+    @Override
+    public boolean isIgnoreCase() {
+        return regexp.isIgnoreCase();
+    }
+
+    @Override
+    public boolean isMultiline() {
+        return regexp.isMultiline();
+    }
+
+    @Override
+    public String getJavaPattern() {
+        return regexp.getJavaPattern();
+    }
+
+    @Override
+    public Regex getRegex() {
+        return regexp.getRegex();
+    }
+
+    @Override
+    public Matcher matcher(final String input) {
+        final byte[] bytes = input.getBytes(StandardCharsets.UTF_16BE);
+        return regexp.getRegex().matcher(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public String toString() {
+        return "/" + pattern + "/" + options;
+    }
+}
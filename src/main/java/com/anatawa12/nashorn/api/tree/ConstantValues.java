@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.Objects;
+import com.anatawa12.nashorn.internal.runtime.JSType;
+import com.anatawa12.nashorn.internal.runtime.Undefined;
+
+/**
+ * Values of the constant expressions of a compilation unit.
+ *
+ * <p>An expression is constant if it is a number, string, boolean or
+ * {@code null} literal, or if it applies a unary, binary, conditional or
+ * comma operator to constant operands, such as {@code "a" + 1}, {@code !0},
+ * {@code 1/0} or {@code typeof "x"}. Operands that are not evaluated do not
+ * need to be constant: {@code false && f()} is constant. Template literals
+ * without a tag are constant if all their expressions are. Values follow the
+ * ECMAScript conversions and operator semantics exactly; evaluating a
+ * constant expression has no side effects.
+ *
+ * <p>The values are computed on first request by a single bottom-up pass
+ * over the compilation unit and then cached with it, so looking up the
+ * value of an expression takes constant time. Numbers are {@link Double}s,
+ * strings {@link String}s and booleans {@link Boolean}s; {@code null} is
+ * {@code null} and {@code undefined} is {@link #UNDEFINED}.
+ */
+public final class ConstantValues {
+    /**
+     * The value of {@code undefined}, as of {@code void 0}.
+     */
+    public static final Object UNDEFINED = Undefined.getUndefined();
+
+    // stands for the value null in values
+    private static final Object NULL = new Object();
+
+    private final TreeIndex index;
+    // value by tree id, null if the tree is not constant
+    private final Object[] values;
+
+    private ConstantValues(final TreeIndex index) {
+        this.index = index;
+        this.values = new Object[index.size()];
+        // ids are assigned in pre-order, so children are evaluated before their parents
+        for (int id = values.length - 1; id >= 0; id--) {
+            values[id] = evaluate(index.getTree(id));
+        }
+    }
+
+    static ConstantValues compute(final CompilationUnitTreeImpl unit) {
+        return new ConstantValues(unit.getIndex());
+    }
+
+    /**
+     * Returns the constant values of a compilation unit, computing them on first use.
+     *
+     * @param unit the compilation unit
+     * @return the constant values
+     * @throws NullPointerException if unit is null
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public static ConstantValues of(final CompilationUnitTree unit) {
+        if (!(Objects.requireNonNull(unit) instanceof CompilationUnitTreeImpl)) {
+            throw new IllegalArgumentException("unknown compilation unit: " + unit);
+        }
+        return ((CompilationUnitTreeImpl) unit).getConstantValues();
+    }
+
+    /**
+     * Returns if an expression is constant.
+     *
+     * @param tree the expression
+     * @return true if the expression is constant, false if it is not or is
+     * not part of this compilation unit
+     */
+    public boolean isConstant(final ExpressionTree tree) {
+        return stored(tree) != null;
+    }
+
+    /**
+     * Returns the value of a constant expression.
+     *
+     * @param tree the expression
+     * @return the value
+     * @throws IllegalArgumentException if the expression is not constant
+     */
+    public Object getValue(final ExpressionTree tree) {
+        final Object value = stored(tree);
+        if (value == null) {
+            throw new IllegalArgumentException("not a constant expression: " + tree);
+        }
+        return value == NULL? null : value;
+    }
+
+    /**
+     * Returns the value of an expression converted to boolean, as it
+     * decides conditions.
+     *
+     * @param tree the expression
+     * @return the boolean value, or null if the expression is not constant
+     */
+    public Boolean getBooleanValue(final ExpressionTree tree) {
+        final Object value = stored(tree);
+        return value == null? null : JSType.toBoolean(value == NULL? null : value);
+    }
+
+    private Object stored(final Tree tree) {
+        final int id = index.indexOf(tree);
+        return id < 0? null : values[id];
+    }
+
+    private Object evaluate(final Tree tree) {
+        switch (tree.getKind()) {
+        case NUMBER_LITERAL:
+            return ((Number) ((LiteralTree) tree).getValue()).doubleValue();
+        case STRING_LITERAL:
+        case BOOLEAN_LITERAL:
+            return ((LiteralTree) tree).getValue();
+        case NULL_LITERAL:
+            return NULL;
+        case PARENTHESIZED:
+            return stored(((ParenthesizedTree) tree).getExpression());
+        case TEMPLATE_LITERAL:
+            return template((TemplateLiteralTree) tree);
+        case CONDITIONAL_EXPRESSION:
+            return conditional((ConditionalExpressionTree) tree);
+        case UNARY_PLUS:
+        case UNARY_MINUS:
+        case BITWISE_COMPLEMENT:
+        case LOGICAL_COMPLEMENT:
+        case TYPEOF:
+        case VOID:
+            return unary(tree.getKind(), stored(((UnaryTree) tree).getExpression()));
+        case COMMA:
+        case CONDITIONAL_AND:
+        case CONDITIONAL_OR:
+            return sequence((BinaryTree) tree);
+        case MULTIPLY:
+        case DIVIDE:
+        case REMAINDER:
+        case PLUS:
+        case MINUS:
+        case LEFT_SHIFT:
+        case RIGHT_SHIFT:
+        case UNSIGNED_RIGHT_SHIFT:
+        case LESS_THAN:
+        case GREATER_THAN:
+        case LESS_THAN_EQUAL:
+        case GREATER_THAN_EQUAL:
+        case EQUAL_TO:
+        case NOT_EQUAL_TO:
+        case STRICT_EQUAL_TO:
+        case STRICT_NOT_EQUAL_TO:
+        case AND:
+        case XOR:
+        case OR: {
+            final BinaryTree binary = (BinaryTree) tree;
+            final Object left = stored(binary.getLeftOperand());
+            final Object right = stored(binary.getRightOperand());
+            return left == null || right == null? null : binary(tree.getKind(), value(left), value(right));
+        }
+        default:
+            return null;
+        }
+    }
+
+    private Object template(final TemplateLiteralTree tree) {
+        final StringBuilder sb = new StringBuilder();
+        for (final ExpressionTree expr : tree.getExpressions()) {
+            final Object value = stored(expr);
+            if (value == null) {
+                return null;
+            }
+            sb.append(JSType.toString(value(value)));
+        }
+        return sb.toString();
+    }
+
+    private Object conditional(final ConditionalExpressionTree tree) {
+        final Object condition = stored(tree.getCondition());
+        if (condition == null) {
+            return null;
+        }
+        return stored(JSType.toBoolean(value(condition))? tree.getTrueExpression() : tree.getFalseExpression());
+    }
+
+    // operators that may not evaluate their right operand
+    private Object sequence(final BinaryTree tree) {
+        final Object left = stored(tree.getLeftOperand());
+        if (left == null) {
+            return null;
+        }
+        switch (tree.getKind()) {
+        case CONDITIONAL_AND:
+            return JSType.toBoolean(value(left))? stored(tree.getRightOperand()) : left;
+        case CONDITIONAL_OR:
+            return JSType.toBoolean(value(left))? left : stored(tree.getRightOperand());
+        default:
+            // comma
+            return stored(tree.getRightOperand());
+        }
+    }
+
+    private static Object unary(final Tree.Kind kind, final Object operand) {
+        if (operand == null) {
+            return null;
+        }
+        final Object value = value(operand);
+        switch (kind) {
+        case UNARY_PLUS:
+            return JSType.toNumber(value);
+        case UNARY_MINUS:
+            return -JSType.toNumber(value);
+        case BITWISE_COMPLEMENT:
+            return (double) ~JSType.toInt32(JSType.toNumber(value));
+        case LOGICAL_COMPLEMENT:
+            return !JSType.toBoolean(value);
+        case TYPEOF:
+            return typeOf(value);
+        default:
+            // void
+            return UNDEFINED;
+        }
+    }
+
+    private static Object binary(final Tree.Kind kind, final Object left, final Object right) {
+        switch (kind) {
+        case PLUS:
+            // ECMA 11.6.1; primitives are their own ToPrimitive
+            if (left instanceof String || right instanceof String) {
+                return JSType.toString(left) + JSType.toString(right);
+            }
+            return JSType.toNumber(left) + JSType.toNumber(right);
+        case MINUS:
+            return JSType.toNumber(left) - JSType.toNumber(right);
+        case MULTIPLY:
+            return JSType.toNumber(left) * JSType.toNumber(right);
+        case DIVIDE:
+            return JSType.toNumber(left) / JSType.toNumber(right);
+        case REMAINDER:
+            // Java's floating point remainder truncates like ECMA 11.5.3
+            return JSType.toNumber(left) % JSType.toNumber(right);
+        case LEFT_SHIFT:
+            return (double) (toInt32(left) << shiftCount(right));
+        case RIGHT_SHIFT:
+            return (double) (toInt32(left) >> shiftCount(right));
+        case UNSIGNED_RIGHT_SHIFT:
+            return (double) (JSType.toUint32(JSType.toNumber(left)) >>> shiftCount(right));
+        case AND:
+            return (double) (toInt32(left) & toInt32(right));
+        case XOR:
+            return (double) (toInt32(left) ^ toInt32(right));
+        case OR:
+            return (double) (toInt32(left) | toInt32(right));
+        case LESS_THAN:
+            return lessThan(left, right) == Boolean.TRUE;
+        case GREATER_THAN:
+            return lessThan(right, left) == Boolean.TRUE;
+        case LESS_THAN_EQUAL:
+            return lessThan(right, left) == Boolean.FALSE;
+        case GREATER_THAN_EQUAL:
+            return lessThan(left, right) == Boolean.FALSE;
+        case EQUAL_TO:
+            return equals(left, right);
+        case NOT_EQUAL_TO:
+            return !equals(left, right);
+        case STRICT_EQUAL_TO:
+            return strictEquals(left, right);
+        default:
+            // strict not equal to
+            return !strictEquals(left, right);
+        }
+    }
+
+    private static int toInt32(final Object value) {
+        return JSType.toInt32(JSType.toNumber(value));
+    }
+
+    private static int shiftCount(final Object value) {
+        return (int) (JSType.toUint32(JSType.toNumber(value)) & 0x1f);
+    }
+
+    // ECMA 11.8.5 abstract relational comparison; null stands for undefined
+    private static Boolean lessThan(final Object left, final Object right) {
+        if (left instanceof String && right instanceof String) {
+            // compares UTF-16 code units
+            return ((String) left).compareTo((String) right) < 0;
+        }
+        final double l = JSType.toNumber(left);
+        final double r = JSType.toNumber(right);
+        if (Double.isNaN(l) || Double.isNaN(r)) {
+            return null;
+        }
+        return l < r;
+    }
+
+    // ECMA 11.9.3 abstract equality comparison
+    private static boolean equals(final Object left, final Object right) {
+        if (JSType.nullOrUndefined(left) || JSType.nullOrUndefined(right)) {
+            return JSType.nullOrUndefined(left) && JSType.nullOrUndefined(right);
+        }
+        if (left instanceof Boolean) {
+            return equals(JSType.toNumber(left), right);
+        }
+        if (right instanceof Boolean) {
+            return equals(left, JSType.toNumber(right));
+        }
+        if (left instanceof String && right instanceof String) {
+            return left.equals(right);
+        }
+        // at least one number, the other a number or string
+        return JSType.toNumber(left) == JSType.toNumber(right);
+    }
+
+    // ECMA 11.9.6 strict equality comparison
+    private static boolean strictEquals(final Object left, final Object right) {
+        if (left instanceof Double && right instanceof Double) {
+            // NaN is not equal to itself, +0 is equal to -0
+            return (Double) left == (double) (Double) right;
+        }
+        return left == null? right == null : left.equals(right);
+    }
+
+    private static String typeOf(final Object value) {
+        if (value == null) {
+            return "object";
+        } else if (value == UNDEFINED) {
+            return "undefined";
+        } else if (value instanceof Boolean) {
+            return "boolean";
+        } else if (value instanceof String) {
+            return "string";
+        }
+        return "number";
+    }
+
+    private static Object value(final Object stored) {
+        return stored == NULL? null : stored;
+    }
+}
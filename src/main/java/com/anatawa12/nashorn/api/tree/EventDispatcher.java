@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import com.anatawa12.nashorn.internal.ir.Statement;
+
+/**
+ * Delivers the trees of top level statements to a {@link ParseEventHandler}.
+ * The parser translates each statement as soon as it is parsed and walks it
+ * without recursion, so only the statement being delivered is reachable.
+ */
+final class EventDispatcher implements Consumer<Statement> {
+    private final ParseEventHandler handler;
+    private final IRTranslator translator = new IRTranslator();
+    // pending trees, with null marking the leave of the innermost open tree
+    private final List<Tree> pending = new ArrayList<>();
+    private final List<Tree> open = new ArrayList<>();
+    private final List<Tree> children = new ArrayList<>();
+
+    EventDispatcher(final ParseEventHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Delivers the source elements of a compilation unit that was parsed as
+     * a whole.
+     *
+     * @param unit the compilation unit, or null if it has errors
+     * @param handler to receive the trees of each top level statement
+     */
+    static void dispatch(final CompilationUnitTree unit, final ParseEventHandler handler) {
+        if (unit != null) {
+            final EventDispatcher dispatcher = new EventDispatcher(handler);
+            for (final Tree statement : unit.getSourceElements()) {
+                dispatcher.deliver(statement);
+            }
+        }
+    }
+
+    @Override
+    public void accept(final Statement statement) {
+        deliver(translator.translate(statement));
+    }
+
+    private void deliver(final Tree statement) {
+        pending.add(statement);
+        while (!pending.isEmpty()) {
+            final Tree tree = pending.remove(pending.size() - 1);
+            if (tree == null) {
+                handler.leave(open.remove(open.size() - 1));
+                continue;
+            }
+            handler.enter(tree);
+            open.add(tree);
+            pending.add(null);
+            children.clear();
+            TreeChildren.addChildren(tree, children);
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.add(children.get(i));
+            }
+        }
+        children.clear();
+    }
+}
@@ -48,6 +48,18 @@ final class FunctionDeclarationTreeImpl extends StatementTreeImpl
         this.body = body;
     }
 
+    // copy of the given function with other children, see TreeTransformer
+    FunctionDeclarationTreeImpl(final FunctionDeclarationTreeImpl original,
+            final IdentifierTree name,
+            final List<? extends ExpressionTree> params,
+            final BlockTree body) {
+        super((VarNode) original.node);
+        this.funcNode = original.funcNode;
+        this.funcName = name;
+        this.params = params;
+        this.body = body;
+    }
+
     @Override
     public Kind getKind() {
         return Kind.FUNCTION;
@@ -68,6 +80,12 @@ final class FunctionDeclarationTreeImpl extends StatementTreeImpl
         return body;
     }
 
+    // ES6 block level functions are lexically scoped, other function
+    // declarations are hoisted to the enclosing function like vars
+    boolean isBlockScoped() {
+        return ((VarNode) node).isBlockScoped();
+    }
+
     @Override
     public boolean isStrict() {
         return funcNode.isStrict();
@@ -59,6 +59,18 @@ final class FunctionExpressionTreeImpl extends ExpressionTreeImpl
         }
     }
 
+    // copy of the given function with other children, see TreeTransformer
+    FunctionExpressionTreeImpl(final FunctionExpressionTreeImpl original,
+            final IdentifierTree name,
+            final List<? extends ExpressionTree> params,
+            final Tree body) {
+        super(original.funcNode);
+        this.funcNode = original.funcNode;
+        this.funcName = name;
+        this.params = params;
+        this.body = body;
+    }
+
     @Override
     public Tree.Kind getKind() {
         return Tree.Kind.FUNCTION_EXPRESSION;
@@ -94,6 +106,11 @@ final class FunctionExpressionTreeImpl extends ExpressionTreeImpl
         return funcNode.getKind() == FunctionNode.Kind.GENERATOR;
     }
 
+    // true for concise methods and class methods, which do not bind their own name
+    boolean isMethod() {
+        return funcNode.getFlag(FunctionNode.ES6_IS_METHOD);
+    }
+
     @Override
     public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
         return visitor.visitFunctionExpression(this, data);
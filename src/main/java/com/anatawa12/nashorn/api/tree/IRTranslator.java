@@ -48,6 +48,7 @@ import com.anatawa12.nashorn.internal.ir.FunctionNode;
 import com.anatawa12.nashorn.internal.ir.IdentNode;
 import com.anatawa12.nashorn.internal.ir.IfNode;
 import com.anatawa12.nashorn.internal.ir.IndexNode;
+import com.anatawa12.nashorn.internal.ir.JoinPredecessorExpression;
 import com.anatawa12.nashorn.internal.ir.LabelNode;
 import com.anatawa12.nashorn.internal.ir.LiteralNode;
 import com.anatawa12.nashorn.internal.ir.Node;
@@ -73,8 +74,18 @@ import com.anatawa12.nashorn.internal.parser.TokenType;
 /**
  * This class translates from nashorn IR Node objects
  * to nashorn parser API Tree objects.
+ *
+ * <p>Chains of binary operators, property accesses, index accesses and
+ * calls, such as {@code a + b + c} or {@code a.b(c)[d]}, are the only
+ * nesting the parser builds iteratively, so generated code may nest them
+ * tens of thousands of levels deep. Their leftmost operands are translated
+ * recursively only up to a fixed depth, and by walking down the chain with
+ * an explicit stack below it; all other nesting is bounded by the
+ * recursion of the parser itself.
  */
 final class IRTranslator extends SimpleNodeVisitor {
+    // nesting of chain links up to which leftmost operands are translated recursively
+    private static final int MAX_CHAIN_DEPTH = 256;
 
     public IRTranslator() {
     }
@@ -83,9 +94,20 @@ final class IRTranslator extends SimpleNodeVisitor {
     private StatementTreeImpl curStat;
     // currently translated Expression
     private ExpressionTreeImpl curExpr;
+    // number of leftmost operands being translated recursively
+    private int chainDepth;
+    // links of the chains being translated without recursion, outermost first
+    private final List<Expression> chain = new ArrayList<>();
+    // tree of the leftmost operand of the link being built, see translateChain
+    private ExpressionTreeImpl baseTree;
 
     // entry point for translator
     CompilationUnitTree translate(final FunctionNode node) {
+        return translate(node, null);
+    }
+
+    // entry point for translator, with comment positions recorded by the parser (or null)
+    CompilationUnitTree translate(final FunctionNode node, final int[] commentSpans) {
         if (node == null) {
             return null;
         }
@@ -97,12 +119,18 @@ final class IRTranslator extends SimpleNodeVisitor {
         final Block body = node.getBody();
         return new CompilationUnitTreeImpl(node,
                 translateStats(body != null? getOrderedStatements(body.getStatements()) : null),
-                translateModule(node));
+                translateModule(node),
+                commentSpans != null? new CommentsImpl(node.getSource(), commentSpans) : null);
+    }
+
+    // entry point for translating a single top level statement
+    StatementTree translate(final Statement stat) {
+        return translateStat(stat);
     }
 
     @Override
     public boolean enterAccessNode(final AccessNode accessNode) {
-        curExpr = new MemberSelectTreeImpl(accessNode, translateExpr(accessNode.getBase()));
+        curExpr = new MemberSelectTreeImpl(accessNode, translateBase(accessNode.getBase()));
         return false;
     }
 
@@ -123,7 +151,7 @@ final class IRTranslator extends SimpleNodeVisitor {
                 curExpr = new CompoundAssignmentTreeImpl(binaryNode, destTree, srcTree);
             }
         } else {
-            final ExpressionTree leftTree = translateExpr(binaryNode.lhs());
+            final ExpressionTree leftTree = translateBase(binaryNode.lhs());
             final ExpressionTree rightTree = translateExpr(binaryNode.rhs());
 
             if (binaryNode.isTokenType(TokenType.INSTANCEOF)) {
@@ -144,9 +172,7 @@ final class IRTranslator extends SimpleNodeVisitor {
 
     @Override
     public boolean enterCallNode(final CallNode callNode) {
-        curExpr = null;
-        callNode.getFunction().accept(this);
-        final ExpressionTree funcTree = curExpr;
+        final ExpressionTree funcTree = translateBase(callNode.getFunction());
         final List<? extends ExpressionTree> argTrees = translateExprs(callNode.getArgs());
         curExpr = new FunctionCallTreeImpl(callNode, funcTree, argTrees);
         return false;
@@ -267,7 +293,7 @@ final class IRTranslator extends SimpleNodeVisitor {
     @Override
     public boolean enterIndexNode(final IndexNode indexNode) {
         curExpr = new ArrayAccessTreeImpl(indexNode,
-                translateExpr(indexNode.getBase()),
+                translateBase(indexNode.getBase()),
                 translateExpr(indexNode.getIndex()));
         return false;
     }
@@ -586,6 +612,66 @@ final class IRTranslator extends SimpleNodeVisitor {
         return curExpr;
     }
 
+    // translates the leftmost operand of a chain link
+    private ExpressionTreeImpl translateBase(final Expression base) {
+        final ExpressionTreeImpl tree = baseTree;
+        if (tree != null) {
+            // already translated by translateChain
+            baseTree = null;
+            return tree;
+        }
+        if (chainDepth >= MAX_CHAIN_DEPTH) {
+            return translateChain(base);
+        }
+
+        chainDepth++;
+        final ExpressionTreeImpl result = translateExpr(base);
+        chainDepth--;
+        return result;
+    }
+
+    // translates an expression and the chain links below it without
+    // recursion: the links are stacked on the way down, then translated
+    // on the way back up, each given the tree of the link below it
+    private ExpressionTreeImpl translateChain(final Expression expr) {
+        final int mark = chain.size();
+        Expression bottom = unwrap(expr);
+        Expression base = chainBase(bottom);
+        while (base != null) {
+            chain.add(bottom);
+            bottom = base;
+            base = chainBase(bottom);
+        }
+
+        ExpressionTreeImpl tree = translateExpr(bottom);
+        while (chain.size() > mark) {
+            baseTree = tree;
+            tree = translateExpr(chain.remove(chain.size() - 1));
+            assert baseTree == null : "leftmost operand not used";
+        }
+        return tree;
+    }
+
+    // leftmost operand of a chain link, or null if the expression is not a link
+    private static Expression chainBase(final Expression expr) {
+        if (expr instanceof AccessNode) {
+            return ((AccessNode) expr).getBase();
+        } else if (expr instanceof IndexNode) {
+            return ((IndexNode) expr).getBase();
+        } else if (expr instanceof CallNode) {
+            return ((CallNode) expr).getFunction();
+        } else if (expr instanceof BinaryNode && !((BinaryNode) expr).isAssignment()) {
+            return unwrap(((BinaryNode) expr).lhs());
+        }
+        return null;
+    }
+
+    // operands of && and || are wrapped, the wrapper has no tree of its own
+    private static Expression unwrap(final Expression expr) {
+        return expr instanceof JoinPredecessorExpression?
+                ((JoinPredecessorExpression) expr).getExpression() : expr;
+    }
+
     private StatementTreeImpl translateStat(final Statement stat) {
         if (stat == null) {
             return null;
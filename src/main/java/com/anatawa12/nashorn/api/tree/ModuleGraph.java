@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.anatawa12.nashorn.internal.runtime.Source;
+
+/**
+ * The graph of modules reachable from an entry module.
+ *
+ * <p>The graph is built by scanning the module record of each file with
+ * {@link Parser#scanModule(Path, DiagnosticListener)} and resolving its
+ * requested modules with a {@link Resolver}. Files are scanned in parallel
+ * on the common {@link ForkJoinPool}, and each file is scanned at most once
+ * per build. A {@link Cache} can be shared between builds so that only
+ * files changed since the previous build are scanned again.
+ */
+public final class ModuleGraph {
+    /**
+     * Resolves module specifiers to files.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * Resolves a module specifier.
+         *
+         * @param from the file of the requesting module
+         * @param specifier the module specifier, as written in the source
+         * @return the file of the requested module, or null if the module is
+         * not a file of the graph, for example a built-in or missing module
+         */
+        public Path resolve(Path from, String specifier);
+    }
+
+    /**
+     * Resolver of relative specifiers. Specifiers starting with "./", "../"
+     * or "/" are resolved against the directory of the requesting file, and
+     * are not resolved if no such file exists. Other specifiers are never
+     * resolved.
+     */
+    public static final Resolver RELATIVE = (from, specifier) -> {
+        if (!specifier.startsWith("./") && !specifier.startsWith("../") && !specifier.startsWith("/")) {
+            return null;
+        }
+        final Path dir = from.getParent();
+        final Path file = dir != null? dir.resolve(specifier) : from.getFileSystem().getPath(specifier);
+        return Files.isRegularFile(file)? file : null;
+    };
+
+    /**
+     * Cache of scanned module records, keyed by file. An entry is used as long
+     * as the size and modification time of its file are unchanged. Otherwise
+     * the file is read again, but only scanned again if the fingerprint of its
+     * content changed, so files that were only touched are not scanned. A
+     * cache is safe to use from several builds at once, but should only be
+     * used with parsers created with the same options.
+     */
+    public static final class Cache {
+        private final Map<Path, CacheEntry> entries = new ConcurrentHashMap<>();
+
+        /**
+         * Creates an empty cache.
+         */
+        public Cache() {
+        }
+
+        /**
+         * Returns the number of files in this cache.
+         *
+         * @return the number of cached files
+         */
+        public int size() {
+            return entries.size();
+        }
+
+        /**
+         * Removes all files from this cache.
+         */
+        public void clear() {
+            entries.clear();
+        }
+
+        ModuleTree scan(final Parser parser, final Path path, final DiagnosticListener listener) throws IOException {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            final CacheEntry cached = entries.get(path);
+            if (cached != null && cached.size == attrs.size() && cached.lastModified.equals(attrs.lastModifiedTime())) {
+                return cached.module;
+            }
+            if (!(parser instanceof ParserImpl)) {
+                final ModuleTree module = parser.scanModule(path, listener);
+                if (module != null) {
+                    entries.put(path, new CacheEntry(attrs.lastModifiedTime(), attrs.size(), null, module));
+                }
+                return module;
+            }
+            final Source source = Source.sourceFor(path.toString(), path);
+            final String fingerprint = source.getFingerprint();
+            if (cached != null && fingerprint.equals(cached.fingerprint)) {
+                entries.put(path, new CacheEntry(attrs.lastModifiedTime(), attrs.size(), fingerprint, cached.module));
+                return cached.module;
+            }
+            final ModuleTree module = ((ParserImpl) parser).scanModule(source, listener);
+            if (module != null) {
+                // modules with errors are scanned again so that errors are reported again
+                entries.put(path, new CacheEntry(attrs.lastModifiedTime(), attrs.size(), fingerprint, module));
+            }
+            return module;
+        }
+    }
+
+    private static final class CacheEntry {
+        final FileTime lastModified;
+        final long size;
+        // null if the module was not scanned by a ParserImpl
+        final String fingerprint;
+        final ModuleTree module;
+
+        CacheEntry(final FileTime lastModified, final long size, final String fingerprint, final ModuleTree module) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.fingerprint = fingerprint;
+            this.module = module;
+        }
+    }
+
+    private static final class Node {
+        final ModuleTree module;
+        final List<Path> dependencies;
+        final List<String> unresolved;
+
+        Node(final ModuleTree module, final List<Path> dependencies, final List<String> unresolved) {
+            this.module = module;
+            this.dependencies = dependencies;
+            this.unresolved = unresolved;
+        }
+    }
+
+    private final Path entry;
+    private final Map<Path, Node> nodes;
+    private final List<Path> modules;
+
+    private ModuleGraph(final Path entry, final Map<Path, Node> nodes) {
+        this.entry = entry;
+        this.nodes = nodes;
+        this.modules = Collections.unmodifiableList(depthFirstOrder(entry, nodes));
+    }
+
+    /**
+     * Builds the graph of modules reachable from the given file, resolving
+     * relative specifiers only.
+     *
+     * @param parser the parser to scan files with
+     * @param entry the entry module file
+     * @param listener to receive parse diagnostics, see {@link Parser#scanModule(Path, DiagnosticListener)}
+     * @return the module graph
+     * @throws IOException if reading any of the files fails
+     * @see #build(Parser, Path, Resolver, Cache, DiagnosticListener)
+     */
+    public static ModuleGraph build(final Parser parser, final Path entry, final DiagnosticListener listener) throws IOException {
+        return build(parser, entry, RELATIVE, null, listener);
+    }
+
+    /**
+     * Builds the graph of modules reachable from the given file.
+     *
+     * @param parser the parser to scan files with
+     * @param entry the entry module file
+     * @param resolver the resolver of module specifiers
+     * @param cache the cache of module records, or null to scan all files
+     * @param listener to receive parse diagnostics, see {@link Parser#scanModule(Path, DiagnosticListener)}.
+     * It may be called from several threads at once.
+     * @return the module graph
+     * @throws IOException if reading any of the files fails
+     */
+    public static ModuleGraph build(final Parser parser, final Path entry, final Resolver resolver,
+            final Cache cache, final DiagnosticListener listener) throws IOException {
+        Objects.requireNonNull(parser);
+        Objects.requireNonNull(resolver);
+        final Path start = entry.toAbsolutePath().normalize();
+        final Map<Path, Node> nodes = new ConcurrentHashMap<>();
+        final Set<Path> seen = ConcurrentHashMap.newKeySet();
+        seen.add(start);
+        ParallelIO.invoke(ForkJoinPool.commonPool(), new Crawl(start, parser, resolver, cache, listener, seen, nodes));
+        return new ModuleGraph(start, nodes);
+    }
+
+    // scans one file and forks a task for each dependency not seen before
+    private static final class Crawl extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path path;
+        private final transient Parser parser;
+        private final transient Resolver resolver;
+        private final transient Cache cache;
+        private final transient DiagnosticListener listener;
+        private final transient Set<Path> seen;
+        private final transient Map<Path, Node> nodes;
+
+        Crawl(final Path path, final Parser parser, final Resolver resolver, final Cache cache,
+                final DiagnosticListener listener, final Set<Path> seen, final Map<Path, Node> nodes) {
+            this.path = path;
+            this.parser = parser;
+            this.resolver = resolver;
+            this.cache = cache;
+            this.listener = listener;
+            this.seen = seen;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            final ModuleTree module;
+            try {
+                module = cache != null? cache.scan(parser, path, listener) : parser.scanModule(path, listener);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (module == null) {
+                nodes.put(path, new Node(null, Collections.emptyList(), Collections.emptyList()));
+                return;
+            }
+            final Set<Path> dependencies = new LinkedHashSet<>();
+            final List<String> unresolved = new ArrayList<>();
+            final List<Crawl> forks = new ArrayList<>();
+            for (final String specifier : module.getRequestedModules()) {
+                final Path resolved = resolver.resolve(path, specifier);
+                if (resolved == null) {
+                    unresolved.add(specifier);
+                    continue;
+                }
+                final Path dependency = resolved.toAbsolutePath().normalize();
+                if (dependencies.add(dependency) && seen.add(dependency)) {
+                    forks.add(new Crawl(dependency, parser, resolver, cache, listener, seen, nodes));
+                }
+            }
+            nodes.put(path, new Node(module,
+                    Collections.unmodifiableList(new ArrayList<>(dependencies)),
+                    Collections.unmodifiableList(unresolved)));
+            invokeAll(forks);
+        }
+    }
+
+    // pre-order, visiting dependencies in source order
+    private static List<Path> depthFirstOrder(final Path entry, final Map<Path, Node> nodes) {
+        final List<Path> order = new ArrayList<>(nodes.size());
+        final Set<Path> visited = new HashSet<>();
+        final Deque<Path> stack = new ArrayDeque<>();
+        stack.push(entry);
+        while (!stack.isEmpty()) {
+            final Path path = stack.pop();
+            if (!visited.add(path)) {
+                continue;
+            }
+            order.add(path);
+            final List<Path> dependencies = nodes.get(path).dependencies;
+            for (int i = dependencies.size() - 1; i >= 0; i--) {
+                stack.push(dependencies.get(i));
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns the entry module file, as an absolute normalized path.
+     *
+     * @return the entry file
+     */
+    public Path getEntry() {
+        return entry;
+    }
+
+    /**
+     * Returns the files of all modules of this graph. The entry comes first,
+     * followed by its dependencies in depth first order; the order does not
+     * depend on the order files were scanned in.
+     *
+     * @return the module files, as absolute normalized paths
+     */
+    public List<Path> getModules() {
+        return modules;
+    }
+
+    /**
+     * Returns the module record of a file of this graph.
+     *
+     * @param path a module file of this graph
+     * @return the module record, or null if the file has errors
+     * @throws IllegalArgumentException if path is not a module of this graph
+     */
+    public ModuleTree getModuleTree(final Path path) {
+        return node(path).module;
+    }
+
+    /**
+     * Returns the files requested by a module of this graph, in source order.
+     *
+     * @param path a module file of this graph
+     * @return the files of the requested modules
+     * @throws IllegalArgumentException if path is not a module of this graph
+     */
+    public List<Path> getDependencies(final Path path) {
+        return node(path).dependencies;
+    }
+
+    /**
+     * Returns the specifiers requested by a module of this graph that the
+     * resolver did not resolve to a file.
+     *
+     * @param path a module file of this graph
+     * @return the unresolved module specifiers
+     * @throws IllegalArgumentException if path is not a module of this graph
+     */
+    public List<String> getUnresolved(final Path path) {
+        return node(path).unresolved;
+    }
+
+    private Node node(final Path path) {
+        final Node node = nodes.get(path.toAbsolutePath().normalize());
+        if (node == null) {
+            throw new IllegalArgumentException("not a module of this graph: " + path);
+        }
+        return node;
+    }
+}
@@ -24,7 +24,12 @@
  */
 package com.anatawa12.nashorn.api.tree;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A Tree node for <a href="http://www.ecma-international.org/ecma-262/6.0/#sec-modules">Module information</a>.
@@ -33,6 +38,34 @@ import java.util.List;
 // * are deprecated with the intent to remove them in a future release.
  */
 public interface ModuleTree extends Tree {
+    /**
+     * Returns the specifiers of the modules requested by this module, in
+     * source order and without duplicates. This includes modules imported
+     * only for their side effects.
+     *
+     * <p>The default implementation collects the module requests of the
+     * import and export entries in the order of their positions, so it
+     * misses modules imported only for their side effects.
+     *
+     * @return the requested module specifiers
+     */
+    public default List<String> getRequestedModules() {
+        final List<Tree> entries = new ArrayList<>();
+        entries.addAll(getImportEntries());
+        entries.addAll(getIndirectExportEntries());
+        entries.addAll(getStarExportEntries());
+        entries.sort(Comparator.comparingLong(Tree::getStartPosition));
+        final Set<String> requests = new LinkedHashSet<>();
+        for (final Tree entry : entries) {
+            final IdentifierTree request = entry instanceof ImportEntryTree?
+                    ((ImportEntryTree) entry).getModuleRequest() : ((ExportEntryTree) entry).getModuleRequest();
+            if (request != null) {
+                requests.add(request.getName());
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(requests));
+    }
+
     /**
      * Returns the list of import entries.
      *
@@ -24,6 +24,7 @@
  */
 package com.anatawa12.nashorn.api.tree;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import com.anatawa12.nashorn.internal.ir.FunctionNode;
@@ -35,6 +36,7 @@ import static com.anatawa12.nashorn.api.tree.ImportEntryTreeImpl.createImportLis
 final class ModuleTreeImpl extends TreeImpl implements ModuleTree {
 
     private final Module mod;
+    private final List<String> requestedModules;
     private final List<? extends ImportEntryTree> imports;
     private final List<? extends ExportEntryTree> localExports;
     private final List<? extends ExportEntryTree> indirectExports;
@@ -48,6 +50,9 @@ final class ModuleTreeImpl extends TreeImpl implements ModuleTree {
         super(func);
         assert func.getKind() == FunctionNode.Kind.MODULE : "module function node expected";
         this.mod = func.getModule();
+        // the module node lists a module once per import or export declaration
+        this.requestedModules = Collections.unmodifiableList(
+                mod.getRequestedModules().stream().distinct().collect(Collectors.toList()));
         this.imports = imports;
         this.localExports = localExports;
         this.indirectExports = indirectExports;
@@ -68,6 +73,11 @@ final class ModuleTreeImpl extends TreeImpl implements ModuleTree {
         return Tree.Kind.MODULE;
     }
 
+    @Override
+    public List<String> getRequestedModules() {
+        return requestedModules;
+    }
+
     @Override
     public List<? extends ImportEntryTree> getImportEntries() {
         return imports;
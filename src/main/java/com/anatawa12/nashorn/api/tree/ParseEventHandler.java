@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+/**
+ * Receives the trees of a source as they are parsed by
+ * {@link Parser#parse(java.nio.file.Path, ParseEventHandler, DiagnosticListener)} and
+ * friends. For each top level statement, {@link #enter} and {@link #leave}
+ * are called for the statement and every tree below it, in pre-order for
+ * enter and post-order for leave, as soon as the statement has been parsed.
+ * The kind, positions and literal values of a construct are available from
+ * the tree passed in.
+ *
+ * <p>Trees are not retained by the parser once their events have been
+ * delivered. A handler that does not keep them itself lets them be
+ * collected, so memory use follows the nesting depth of the source rather
+ * than its size. There is no compilation unit tree to navigate to parents;
+ * handlers that need the enclosing trees should track them from the
+ * enter and leave calls.
+ */
+public interface ParseEventHandler {
+    /**
+     * Called before the children of a tree are delivered.
+     *
+     * @param tree the tree
+     */
+    void enter(Tree tree);
+
+    /**
+     * Called after the children of a tree have been delivered.
+     *
+     * @param tree the tree
+     */
+    void leave(Tree tree);
+}
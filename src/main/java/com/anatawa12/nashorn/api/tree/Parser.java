@@ -29,7 +29,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import com.anatawa12.nashorn.api.scripting.NashornException;
 
 /**
@@ -94,6 +101,33 @@ public interface Parser {
      */
     public CompilationUnitTree parse(final String name, Reader reader, final DiagnosticListener listener) throws IOException, NashornException;
 
+    /**
+     * Parses UTF-8 source read from the channel and returns compilation unit tree.
+     * The channel is read and decoded on a separate thread while it is parsed,
+     * so parsing starts before the whole source has arrived. The channel is
+     * closed when it has been read. Parsing stops at the first error, without
+     * waiting for the rest of the channel; reading is then cancelled, which
+     * closes an interruptible channel.
+     *
+     * <p>The default implementation decodes the channel on the calling
+     * thread through {@link #parse(String, Reader, DiagnosticListener)}.
+     *
+     * @param name name of the source file to parse
+     * @param channel blocking channel from which source is read
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return compilation unit tree
+     * @throws NullPointerException if name or channel is null
+     * @throws IOException if parse source read fails
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     */
+    public default CompilationUnitTree parse(final String name, final ReadableByteChannel channel, final DiagnosticListener listener) throws IOException, NashornException {
+        Objects.requireNonNull(name);
+        try (Reader reader = Channels.newReader(Objects.requireNonNull(channel), StandardCharsets.UTF_8.newDecoder(), -1)) {
+            return parse(name, reader, listener);
+        }
+    }
+
     /**
      * Parses the string source and returns compilation unit tree
      *
@@ -107,6 +141,198 @@ public interface Parser {
      */
     public CompilationUnitTree parse(final String name, String code, final DiagnosticListener listener) throws NashornException;
 
+    /**
+     * Parses the source Path asynchronously on the default executor.
+     *
+     * @param path source Path to parse
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the IOException or NashornException the blocking variant would throw
+     * @throws NullPointerException if path is null
+     * @see #parseAsync(Path, DiagnosticListener, Executor)
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final Path path, final DiagnosticListener listener) {
+        return parseAsync(path, listener, null);
+    }
+
+    /**
+     * Parses the source Path asynchronously on the given executor.
+     *
+     * @param path source Path to parse
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @param executor the executor to parse on, or null for the default executor, which
+     * starts a virtual thread per parse where the runtime supports them and uses
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()} otherwise
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the IOException or NashornException the blocking variant would throw
+     * @throws NullPointerException if path is null
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final Path path, final DiagnosticListener listener, final Executor executor) {
+        Objects.requireNonNull(path);
+        return AsyncParse.submit(() -> parse(path, listener), executor);
+    }
+
+    /**
+     * Parses the source url asynchronously on the default executor.
+     *
+     * @param url source file to parse
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the IOException or NashornException the blocking variant would throw
+     * @throws NullPointerException if url is null
+     * @see #parseAsync(Path, DiagnosticListener, Executor)
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final URL url, final DiagnosticListener listener) {
+        return parseAsync(url, listener, null);
+    }
+
+    /**
+     * Parses the source url asynchronously on the given executor.
+     *
+     * @param url source file to parse
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @param executor the executor to parse on, or null for the default executor
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the IOException or NashornException the blocking variant would throw
+     * @throws NullPointerException if url is null
+     * @see #parseAsync(Path, DiagnosticListener, Executor)
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final URL url, final DiagnosticListener listener, final Executor executor) {
+        Objects.requireNonNull(url);
+        return AsyncParse.submit(() -> parse(url, listener), executor);
+    }
+
+    /**
+     * Parses the string source asynchronously on the default executor.
+     *
+     * @param name of the source
+     * @param code string source
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the NashornException the blocking variant would throw
+     * @throws NullPointerException if name or code is null
+     * @see #parseAsync(Path, DiagnosticListener, Executor)
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final String name, final String code, final DiagnosticListener listener) {
+        return parseAsync(name, code, listener, null);
+    }
+
+    /**
+     * Parses the string source asynchronously on the given executor.
+     *
+     * @param name of the source
+     * @param code string source
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * It is called on the thread doing the parse.
+     * @param executor the executor to parse on, or null for the default executor
+     * @return future completed with the compilation unit tree, or exceptionally with
+     * the NashornException the blocking variant would throw
+     * @throws NullPointerException if name or code is null
+     * @see #parseAsync(Path, DiagnosticListener, Executor)
+     */
+    public default CompletableFuture<CompilationUnitTree> parseAsync(final String name, final String code, final DiagnosticListener listener, final Executor executor) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(code);
+        return AsyncParse.submit(() -> parse(name, code, listener), executor);
+    }
+
+    /**
+     * Parses the source Path and delivers its trees to the given handler
+     * as each top level statement is parsed. No compilation unit tree is
+     * built, and the trees of a statement are dropped once their events
+     * have been delivered. Imports and exports of a module are not reported,
+     * but statements of a module are.
+     *
+     * <p>The default implementation parses the whole compilation unit with
+     * {@link #parse(Path, DiagnosticListener)} before delivering its trees.
+     *
+     * @param path source Path to parse
+     * @param handler to receive the trees of each top level statement
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @throws NullPointerException if path or handler is null
+     * @throws IOException if parse source read fails
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     * @see ParseEventHandler
+     */
+    public default void parse(final Path path, final ParseEventHandler handler, final DiagnosticListener listener) throws IOException, NashornException {
+        Objects.requireNonNull(handler);
+        EventDispatcher.dispatch(parse(path, listener), handler);
+    }
+
+    /**
+     * Parses the reader and delivers its trees to the given handler as
+     * each top level statement is parsed.
+     *
+     * <p>The default implementation parses the whole compilation unit with
+     * {@link #parse(String, Reader, DiagnosticListener)} before delivering
+     * its trees.
+     *
+     * @param name name of the source file to parse
+     * @param reader from which source is read
+     * @param handler to receive the trees of each top level statement
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @throws NullPointerException if name, reader or handler is null
+     * @throws IOException if parse source read fails
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     * @see #parse(Path, ParseEventHandler, DiagnosticListener)
+     */
+    public default void parse(final String name, final Reader reader, final ParseEventHandler handler, final DiagnosticListener listener) throws IOException, NashornException {
+        Objects.requireNonNull(handler);
+        EventDispatcher.dispatch(parse(name, reader, listener), handler);
+    }
+
+    /**
+     * Scans the module record of the source Path. Only the import and export
+     * declarations are parsed; other statements, and function and class
+     * bodies, are skipped by matching brackets. This is much faster than a
+     * full parse when only the dependencies of a module are needed, but syntax
+     * errors outside of import and export declarations are not reported.
+     * The source is always scanned as a module, whatever the options of this
+     * parser.
+     *
+     * <p>The default implementation reads the file as UTF-8 and scans it with
+     * {@link #scanModule(String, String, DiagnosticListener)}.
+     *
+     * @param path source Path to scan
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return the module record, or null if the import and export declarations have errors
+     * @throws NullPointerException if path is null
+     * @throws IOException if parse source read fails
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     * @throws UnsupportedOperationException if this parser cannot scan module records
+     * @see ModuleGraph
+     */
+    public default ModuleTree scanModule(final Path path, final DiagnosticListener listener) throws IOException, NashornException {
+        final byte[] bytes = Files.readAllBytes(path);
+        return scanModule(path.toString(), new String(bytes, StandardCharsets.UTF_8), listener);
+    }
+
+    /**
+     * Scans the module record of the given code.
+     *
+     * @param name name of the source to scan
+     * @param code string source code to scan
+     * @param listener to receive diagnostic messages from the parser. This can be null.
+     * if null is passed, a NashornException is thrown on the first parse error.
+     * @return the module record, or null if the import and export declarations have errors
+     * @throws NullPointerException if name or code is null
+     * @throws NashornException is thrown if no listener is supplied and parser encounters error
+     * @throws UnsupportedOperationException if this parser cannot scan module
+     * records, as with the default implementation
+     * @see #scanModule(Path, DiagnosticListener)
+     */
+    public default ModuleTree scanModule(final String name, final String code, final DiagnosticListener listener) throws NashornException {
+        throw new UnsupportedOperationException("scanModule");
+    }
+
     /**
      * Factory method to create a new instance of Parser.
      *
@@ -122,8 +348,17 @@ public interface Parser {
      * <dt>"-strict"</dt><dd>enable ECMAScript strict mode</dd>
      * <dt>"--language=es6"</dt><dd>enable ECMAScript 6 parsing mode</dd>
      * <dt>"--es6-module"</dt><dd>enable ECMAScript 6 module parsing mode. This option implies --language=es6</dd>
+     * <dt>"--record-comments"</dt><dd>record comment positions, see {@link CompilationUnitTree#getComments()}</dd>
+     * <dt>"--check-regexp-backtracking"</dt><dd>warn about regexp literals that may backtrack catastrophically</dd>
      * </dl>
      *
+     * The {@code nashorn.args.prepend} and {@code nashorn.args} system
+     * properties hold further options, put before and after the given ones.
+     * They are read by every call. Parsers created with the same options
+     * and the same values of these properties may share the processed
+     * options, which keep no other state: {@code System.out} and
+     * {@code System.err} are looked up when something is written to them.
+     *
      * @throws NullPointerException if options array or any of its element is null
      * @throws IllegalArgumentException on unsupported option value.
      * @return a new Parser instance.
@@ -142,6 +377,8 @@ public interface Parser {
                 case "-strict":
                 case "--language=es6":
                 case "--es6-module":
+                case "--record-comments":
+                case "--check-regexp-backtracking":
                     break;
                 default:
                     throw new IllegalArgumentException(opt);
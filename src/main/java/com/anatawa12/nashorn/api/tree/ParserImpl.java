@@ -26,15 +26,21 @@ package com.anatawa12.nashorn.api.tree;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import com.anatawa12.nashorn.api.scripting.NashornException;
 import com.anatawa12.nashorn.internal.ir.FunctionNode;
 import com.anatawa12.nashorn.internal.runtime.ErrorManager;
+import com.anatawa12.nashorn.internal.runtime.LruCache;
 import com.anatawa12.nashorn.internal.runtime.ParserException;
 import com.anatawa12.nashorn.internal.runtime.ScriptEnvironment;
 import com.anatawa12.nashorn.internal.runtime.Source;
@@ -44,6 +50,8 @@ final class ParserImpl implements Parser {
 
     private final ScriptEnvironment env;
     private final boolean moduleMode;
+    private final boolean recordComments;
+    private final boolean checkRegExpBacktracking;
 
     ParserImpl(final String... args) throws IllegalArgumentException {
         Objects.requireNonNull(args);
@@ -67,14 +75,71 @@ final class ParserImpl implements Parser {
         }
         this.moduleMode = seenModuleOption;
 
+        // handle the parser specific "--record-comments" and
+        // "--check-regexp-backtracking" options. Nashorn does not know
+        // these options at all, so we drop them from the options.
+        final List<String> nashornArgs = new ArrayList<>(args.length + 1);
+        boolean seenCommentsOption = false;
+        boolean seenBacktrackingOption = false;
+        for (final String opt : args) {
+            if (opt.equals("--record-comments")) {
+                seenCommentsOption = true;
+            } else if (opt.equals("--check-regexp-backtracking")) {
+                seenBacktrackingOption = true;
+            } else {
+                nashornArgs.add(opt);
+            }
+        }
+        this.recordComments = seenCommentsOption;
+        this.checkRegExpBacktracking = seenBacktrackingOption;
+
         // append "--parse-only to signal to the Nashorn that it
         // is being used in "parse only" mode.
-        final String[] newArgs = Arrays.copyOf(args, args.length + 1, String[].class);
-        newArgs[args.length] = "--parse-only";
+        nashornArgs.add("--parse-only");
+        // the system properties add options, so they are part of the key
+        final List<Object> key = Arrays.asList(nashornArgs,
+                Options.getStringProperty(NASHORN_ARGS_PREPEND_PROPERTY, null),
+                Options.getStringProperty(NASHORN_ARGS_PROPERTY, null));
+        this.env = ENVIRONMENTS.get(key, k -> createEnvironment(nashornArgs));
+    }
+
+    private static final String NASHORN_ARGS_PREPEND_PROPERTY = "nashorn.args.prepend";
+    private static final String NASHORN_ARGS_PROPERTY = "nashorn.args";
+    private static final int MAX_ENVIRONMENTS = 64;
+
+    // Parsers with the same options share one (immutable) environment, so the
+    // options are processed once per option list rather than once per parser.
+    private static final LruCache<List<Object>, ScriptEnvironment> ENVIRONMENTS = new LruCache<>(MAX_ENVIRONMENTS);
+
+    private static ScriptEnvironment createEnvironment(final List<String> nashornArgs) {
         final Options options = new Options("nashorn");
-        options.process(newArgs);
-        this.env = new ScriptEnvironment(options,
-                new PrintWriter(System.out), new PrintWriter(System.err));
+        options.process(nashornArgs.toArray(new String[0]));
+        return new ScriptEnvironment(options, systemWriter(false), systemWriter(true));
+    }
+
+    // writes to System.out or System.err as they are when written to, not
+    // as they were when the shared environment was made
+    private static PrintWriter systemWriter(final boolean err) {
+        return new PrintWriter(new OutputStream() {
+            private PrintStream stream() {
+                return err? System.err : System.out;
+            }
+
+            @Override
+            public void write(final int b) {
+                stream().write(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                stream().write(b, off, len);
+            }
+
+            @Override
+            public void flush() {
+                stream().flush();
+            }
+        }, true);
     }
 
     @Override
@@ -83,7 +148,8 @@ final class ParserImpl implements Parser {
             return parseModule(file, listener);
         }
         final Source src = Source.sourceFor(Objects.requireNonNull(file).getName(), file);
-        return translate(makeParser(src, listener).parse());
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        return translate(parser.parse(), parser);
     }
 
     @Override
@@ -92,7 +158,8 @@ final class ParserImpl implements Parser {
             return parseModule(path, listener);
         }
         final Source src = Source.sourceFor(Objects.requireNonNull(path).toString(), path);
-        return translate(makeParser(src, listener).parse());
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        return translate(parser.parse(), parser);
     }
 
     @Override
@@ -101,7 +168,8 @@ final class ParserImpl implements Parser {
             return parseModule(url, listener);
         }
         final Source src = Source.sourceFor(url.toString(), url);
-        return translate(makeParser(src, listener).parse());
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        return translate(parser.parse(), parser);
     }
 
     @Override
@@ -110,7 +178,29 @@ final class ParserImpl implements Parser {
             return parseModule(name, reader, listener);
         }
         final Source src = Source.sourceFor(Objects.requireNonNull(name), Objects.requireNonNull(reader));
-        return translate(makeParser(src, listener).parse());
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        return translate(parser.parse(), parser);
+    }
+
+    @Override
+    public CompilationUnitTree parse(final String name, final ReadableByteChannel channel, final DiagnosticListener listener) throws IOException, NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(name), channel, null);
+        final ErrorManager errMgr = new StreamErrorManager(makeErrorManager(listener), src);
+        final CompilationUnitTree tree;
+        try {
+            if (moduleMode) {
+                tree = makeModule(src, errMgr);
+            } else {
+                final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, errMgr);
+                tree = translate(parser.parse(), parser);
+            }
+        } finally {
+            // the parse may have stopped early, on an error or an exception
+            src.cancel();
+        }
+        // a read failure cuts the source short, report that rather than the parse errors it causes
+        src.awaitComplete();
+        return tree;
     }
 
     @Override
@@ -119,7 +209,8 @@ final class ParserImpl implements Parser {
             return parseModule(name, code, listener);
         }
         final Source src = Source.sourceFor(name, code);
-        return translate(makeParser(src, listener).parse());
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        return translate(parser.parse(), parser);
     }
 
     private CompilationUnitTree parseModule(final File file, final DiagnosticListener listener) throws IOException, NashornException {
@@ -148,13 +239,118 @@ final class ParserImpl implements Parser {
     }
 
     private CompilationUnitTree makeModule(final Source src, final DiagnosticListener listener) {
-        final FunctionNode modFunc = makeParser(src, listener).parseModule(src.getName());
-        return new IRTranslator().translate(modFunc);
+        return makeModule(src, makeErrorManager(listener));
+    }
+
+    private CompilationUnitTree makeModule(final Source src, final ErrorManager errMgr) {
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, errMgr);
+        return translate(parser.parseModule(src.getName()), parser);
+    }
+
+    @Override
+    public void parse(final Path path, final ParseEventHandler handler, final DiagnosticListener listener) throws IOException, NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(path).toString(), path);
+        parseEvents(src, Objects.requireNonNull(handler), listener);
+    }
+
+    @Override
+    public void parse(final String name, final Reader reader, final ParseEventHandler handler, final DiagnosticListener listener) throws IOException, NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(name), Objects.requireNonNull(reader));
+        parseEvents(src, Objects.requireNonNull(handler), listener);
+    }
+
+    private void parseEvents(final Source src, final ParseEventHandler handler, final DiagnosticListener listener) {
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        // comment positions would accumulate over the whole source
+        parser.setRecordComments(false);
+        parser.setTopLevelStatementConsumer(new EventDispatcher(handler));
+        if (moduleMode) {
+            parser.parseModule(src.getName());
+        } else {
+            parser.parse();
+        }
+    }
+
+    @Override
+    public ModuleTree scanModule(final Path path, final DiagnosticListener listener) throws IOException, NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(path).toString(), path);
+        return scanModule(src, listener);
+    }
+
+    @Override
+    public ModuleTree scanModule(final String name, final String code, final DiagnosticListener listener) throws NashornException {
+        final Source src = Source.sourceFor(Objects.requireNonNull(name), Objects.requireNonNull(code));
+        return scanModule(src, listener);
+    }
+
+    ModuleTree scanModule(final Source src, final DiagnosticListener listener) {
+        final com.anatawa12.nashorn.internal.parser.Parser parser = makeParser(src, listener);
+        parser.setRecordComments(false);
+        parser.setModuleRecordOnly(true);
+        final FunctionNode node = parser.parseModule(src.getName());
+        return node != null? ModuleTreeImpl.create(node) : null;
     }
 
     private com.anatawa12.nashorn.internal.parser.Parser makeParser(final Source source, final DiagnosticListener listener) {
-        final ErrorManager errMgr = listener != null ? new ListenerErrorManager(listener) : new ErrorManager();
-        return new com.anatawa12.nashorn.internal.parser.Parser(env, source, errMgr);
+        return makeParser(source, makeErrorManager(listener));
+    }
+
+    private com.anatawa12.nashorn.internal.parser.Parser makeParser(final Source source, final ErrorManager errMgr) {
+        final com.anatawa12.nashorn.internal.parser.Parser parser = new com.anatawa12.nashorn.internal.parser.Parser(env, source, errMgr);
+        parser.setRecordComments(recordComments);
+        parser.setCheckRegExpBacktracking(checkRegExpBacktracking);
+        return parser;
+    }
+
+    private static ErrorManager makeErrorManager(final DiagnosticListener listener) {
+        return listener != null ? new ListenerErrorManager(listener) : new ErrorManager();
+    }
+
+    // Ends the parse of a source read from a channel at its first error, as the
+    // rest of the channel may never come: reading is cancelled, and the errors
+    // caused by cutting the source there are not reported.
+    private static final class StreamErrorManager extends ErrorManager {
+
+        private final ErrorManager errMgr;
+        private final Source source;
+        private boolean stopped;
+
+        StreamErrorManager(final ErrorManager errMgr, final Source source) {
+            this.errMgr = errMgr;
+            this.source = source;
+        }
+
+        @Override
+        public void error(final String msg) {
+            if (!stopped) {
+                stopped = true;
+                source.cancel();
+                errMgr.error(msg);
+            }
+        }
+
+        @Override
+        public void error(final ParserException e) {
+            if (!stopped) {
+                stopped = true;
+                source.cancel();
+                errMgr.error(e);
+            }
+        }
+
+        @Override
+        public void warning(final String msg) {
+            if (!stopped) {
+                errMgr.warning(msg);
+            }
+        }
+
+        @Override
+        public void warning(final ParserException e) {
+            if (!stopped) {
+                errMgr.warning(e);
+            }
+        }
     }
 
     private static class ListenerErrorManager extends ErrorManager {
@@ -188,7 +384,7 @@ final class ParserImpl implements Parser {
         }
     }
 
-    private static CompilationUnitTree translate(final FunctionNode node) {
-        return new IRTranslator().translate(node);
+    private static CompilationUnitTree translate(final FunctionNode node, final com.anatawa12.nashorn.internal.parser.Parser parser) {
+        return new IRTranslator().translate(node, parser.getCommentSpans());
     }
 }
@@ -47,4 +47,34 @@ public interface RegExpLiteralTree extends ExpressionTree {
      * @return options like "i" for ignoreCase used
      */
     public String getOptions();
+
+    /**
+     * Regular expression compiled for matching. It is compiled on first
+     * use and shared with other literals with the same pattern and options.
+     *
+     * <p>The default implementation compiles the pattern on every call,
+     * taking the compiled regexp from a cache shared with the parser.
+     *
+     * @return the compiled regular expression
+     * @throws IllegalArgumentException if the pattern or options of a tree
+     * that was not created by the parser are invalid
+     */
+    public default CompiledRegExp getCompiledRegExp() {
+        return CompiledRegExpImpl.compile(getPattern(), getOptions());
+    }
+
+    /**
+     * Syntax tree of the regular expression pattern. It is parsed on first
+     * use and shared with other literals with the same pattern.
+     *
+     * <p>The default implementation takes the tree from a cache shared
+     * with the parser, parsing the pattern if it is not cached.
+     *
+     * @return the disjunction node of the whole pattern
+     * @throws java.util.regex.PatternSyntaxException if the pattern of a tree
+     * that was not created by the parser is invalid
+     */
+    public default RegExpDisjunctionNode getPatternTree() {
+        return RegExpNodeTranslator.translate(getPattern());
+    }
 }
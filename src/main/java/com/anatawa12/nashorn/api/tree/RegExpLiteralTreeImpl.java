@@ -32,6 +32,11 @@ final class RegExpLiteralTreeImpl extends ExpressionTreeImpl
     implements RegExpLiteralTree {
     private final String pattern;
     private final String options;
+    // compiled on first use
+    private volatile CompiledRegExp compiled;
+    // parsed on first use
+    private volatile RegExpDisjunctionNode patternTree;
+
     RegExpLiteralTreeImpl(final LiteralNode<?> node) {
         super(node);
         assert node.getValue() instanceof Lexer.RegexToken : "regexp expected";
@@ -55,6 +60,27 @@ final class RegExpLiteralTreeImpl extends ExpressionTreeImpl
         return options;
     }
 
+    @Override
+    public CompiledRegExp getCompiledRegExp() {
+        CompiledRegExp result = compiled;
+        if (result == null) {
+            // the parser validated the literal, so this does not throw
+            result = CompiledRegExpImpl.compile(pattern, options);
+            compiled = result;
+        }
+        return result;
+    }
+
+    @Override
+    public RegExpDisjunctionNode getPatternTree() {
+        RegExpDisjunctionNode result = patternTree;
+        if (result == null) {
+            result = RegExpNodeTranslator.translate(pattern);
+            patternTree = result;
+        }
+        return result;
+    }
+
     @Override
     public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
         return visitor.visitRegExpLiteral(this, data);
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+/**
+ * Common interface for all nodes in the syntax tree of a regular expression
+ * pattern, see {@link RegExpLiteralTree#getPatternTree()}.
+ *
+ * <p>Positions are offsets in the pattern, not in the source; the pattern
+ * of a literal starts right after its opening slash. Trees are shared by
+ * all literals with the same pattern and are immutable.
+ */
+public interface RegExpNode {
+
+    /**
+     * Enumerates all kinds of regular expression nodes.
+     */
+    public enum Kind {
+        /**
+         * Used for instances of {@link RegExpDisjunctionNode}.
+         */
+        DISJUNCTION(RegExpDisjunctionNode.class),
+
+        /**
+         * Used for instances of {@link RegExpAlternativeNode}.
+         */
+        ALTERNATIVE(RegExpAlternativeNode.class),
+
+        /**
+         * Used for instances of {@link RegExpAssertionNode}.
+         */
+        ASSERTION(RegExpAssertionNode.class),
+
+        /**
+         * Used for instances of {@link RegExpCharacterNode}.
+         */
+        CHARACTER(RegExpCharacterNode.class),
+
+        /**
+         * Used for instances of {@link RegExpNode} representing
+         * {@code .}.
+         */
+        ANY_CHARACTER(RegExpNode.class),
+
+        /**
+         * Used for instances of {@link RegExpClassEscapeNode}.
+         */
+        CLASS_ESCAPE(RegExpClassEscapeNode.class),
+
+        /**
+         * Used for instances of {@link RegExpCharacterClassNode}.
+         */
+        CHARACTER_CLASS(RegExpCharacterClassNode.class),
+
+        /**
+         * Used for instances of {@link RegExpClassRangeNode}.
+         */
+        CLASS_RANGE(RegExpClassRangeNode.class),
+
+        /**
+         * Used for instances of {@link RegExpGroupNode} representing
+         * a capturing group {@code (...)}.
+         */
+        GROUP(RegExpGroupNode.class),
+
+        /**
+         * Used for instances of {@link RegExpGroupNode} representing
+         * a non-capturing group {@code (?:...)}.
+         */
+        NON_CAPTURING_GROUP(RegExpGroupNode.class),
+
+        /**
+         * Used for instances of {@link RegExpGroupNode} representing
+         * a lookahead {@code (?=...)}.
+         */
+        LOOKAHEAD(RegExpGroupNode.class),
+
+        /**
+         * Used for instances of {@link RegExpGroupNode} representing
+         * a negative lookahead {@code (?!...)}.
+         */
+        NEGATIVE_LOOKAHEAD(RegExpGroupNode.class),
+
+        /**
+         * Used for instances of {@link RegExpBackReferenceNode}.
+         */
+        BACK_REFERENCE(RegExpBackReferenceNode.class),
+
+        /**
+         * Used for instances of {@link RegExpQuantifierNode}.
+         */
+        QUANTIFIER(RegExpQuantifierNode.class);
+
+        Kind(final Class<? extends RegExpNode> intf) {
+            associatedInterface = intf;
+        }
+
+        /**
+         * Returns the associated interface type that uses this kind.
+         * @return the associated interface
+         */
+        public Class<? extends RegExpNode> asInterface() {
+            return associatedInterface;
+        }
+
+        private final Class<? extends RegExpNode> associatedInterface;
+    }
+
+    /**
+     * Gets the kind of this node.
+     *
+     * @return the kind of this node.
+     */
+    Kind getKind();
+
+    /**
+     * Returns the offset of this node in the pattern.
+     *
+     * @return the start offset
+     */
+    int getStartPosition();
+
+    /**
+     * Returns the offset after this node in the pattern.
+     *
+     * @return the end offset
+     */
+    int getEndPosition();
+
+    /**
+     * Accept method used to implement the visitor pattern.  The
+     * visitor pattern is used to implement operations on nodes.
+     *
+     * @param <R> result type of this operation.
+     * @param <D> type of additional data.
+     * @param visitor visitor to be called
+     * @param data additional data passed to visitor
+     * @return result from the visitor
+     */
+    <R,D> R accept(RegExpNodeVisitor<R,D> visitor, D data);
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.anatawa12.nashorn.internal.runtime.LruCache;
+import com.anatawa12.nashorn.internal.runtime.regexp.RegExpFactory;
+import com.anatawa12.nashorn.internal.runtime.regexp.RegExpSyntaxNode;
+
+/**
+ * Translates the syntax tree the regexp scanner builds for a pattern to
+ * {@link RegExpDisjunctionNode}s. Translated trees are cached per pattern,
+ * so literals with the same pattern share one tree.
+ */
+final class RegExpNodeTranslator {
+    private static final int MAX_CACHE_SIZE = 512;
+
+    /** Recently translated trees by pattern. */
+    private static final LruCache<String, RegExpDisjunctionNode> TREE_CACHE = new LruCache<>(MAX_CACHE_SIZE);
+
+    private RegExpNodeTranslator() {
+    }
+
+    static RegExpDisjunctionNode translate(final String pattern) {
+        return TREE_CACHE.get(pattern, p -> disjunction(RegExpFactory.parse(p)));
+    }
+
+    private static RegExpDisjunctionNode disjunction(final RegExpSyntaxNode node) {
+        final List<RegExpAlternativeNode> alternatives = new ArrayList<>(node.getChildCount());
+        for (int i = 0; i < node.getChildCount(); i++) {
+            final RegExpSyntaxNode alternative = node.getChild(i);
+            alternatives.add(new RegExpAlternativeNodeImpl(alternative.getStart(), alternative.getEnd(), children(alternative)));
+        }
+        return new RegExpDisjunctionNodeImpl(node.getStart(), node.getEnd(), Collections.unmodifiableList(alternatives));
+    }
+
+    private static List<? extends RegExpNode> children(final RegExpSyntaxNode node) {
+        final List<RegExpNode> children = new ArrayList<>(node.getChildCount());
+        for (int i = 0; i < node.getChildCount(); i++) {
+            children.add(translateNode(node.getChild(i)));
+        }
+        return Collections.unmodifiableList(children);
+    }
+
+    private static RegExpNode translateNode(final RegExpSyntaxNode node) {
+        final int start = node.getStart();
+        final int end = node.getEnd();
+        switch (node.getKind()) {
+        case ASSERTION:
+            return new RegExpAssertionNodeImpl(start, end, (char)node.getValue());
+        case CHARACTER:
+            return character(node);
+        case ANY_CHARACTER:
+            return new RegExpNodeImpl(start, end);
+        case CLASS_ESCAPE:
+            return new RegExpClassEscapeNodeImpl(start, end, (char)node.getValue());
+        case CHARACTER_CLASS:
+            return new RegExpCharacterClassNodeImpl(start, end, node.getFlag(), children(node));
+        case CLASS_RANGE:
+            return new RegExpClassRangeNodeImpl(start, end, character(node.getChild(0)), character(node.getChild(1)));
+        case GROUP:
+            return new RegExpGroupNodeImpl(RegExpNode.Kind.GROUP,
+                    start, end, disjunction(node.getChild(0)), node.getValue());
+        case NON_CAPTURING_GROUP:
+            return new RegExpGroupNodeImpl(RegExpNode.Kind.NON_CAPTURING_GROUP,
+                    start, end, disjunction(node.getChild(0)), 0);
+        case LOOKAHEAD:
+            return new RegExpGroupNodeImpl(RegExpNode.Kind.LOOKAHEAD,
+                    start, end, disjunction(node.getChild(0)), 0);
+        case NEGATIVE_LOOKAHEAD:
+            return new RegExpGroupNodeImpl(RegExpNode.Kind.NEGATIVE_LOOKAHEAD,
+                    start, end, disjunction(node.getChild(0)), 0);
+        case BACK_REFERENCE:
+            return new RegExpBackReferenceNodeImpl(start, end, node.getValue());
+        case QUANTIFIER:
+            return new RegExpQuantifierNodeImpl(start, end, translateNode(node.getChild(0)),
+                    node.getValue(), node.getMaximum(), node.getFlag());
+        default:
+            throw new AssertionError("unexpected regexp node: " + node.getKind());
+        }
+    }
+
+    private static RegExpCharacterNode character(final RegExpSyntaxNode node) {
+        return new RegExpCharacterNodeImpl(node.getStart(), node.getEnd(), (char)node.getValue());
+    }
+}
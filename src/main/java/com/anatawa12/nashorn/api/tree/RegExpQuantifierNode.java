@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+/**
+ * A quantified atom like {@code a*}, {@code (ab)+?} or {@code \d{2,4}}.
+ */
+public interface RegExpQuantifierNode extends RegExpNode {
+    /**
+     * Returns the atom quantified.
+     *
+     * @return the atom
+     */
+    RegExpNode getAtom();
+
+    /**
+     * Returns the minimum number of repetitions.
+     *
+     * @return the minimum
+     */
+    int getMinimum();
+
+    /**
+     * Returns the maximum number of repetitions.
+     *
+     * @return the maximum, -1 if unbounded
+     */
+    int getMaximum();
+
+    /**
+     * Returns if this quantifier is greedy, that is not followed by
+     * {@code ?}.
+     *
+     * @return true for a greedy quantifier
+     */
+    boolean isGreedy();
+}
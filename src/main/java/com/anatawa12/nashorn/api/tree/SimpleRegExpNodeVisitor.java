@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+/**
+ * A simple implementation of the RegExpNodeVisitor.
+ *
+ * <p>The visit methods walk the children of the given node by calling
+ * their accept method passing the current visitor and the additional
+ * parameter, and return null.
+ *
+ * <p> Methods in this class may be overridden subject to their
+ * general contract.  Note that annotating methods in concrete
+ * subclasses with {@link java.lang.Override @Override} will help
+ * ensure that methods are overridden as intended.
+ *
+ * @param <R> the return type of this visitor's methods.  Use {@link
+ *            Void} for visitors that do not need to return results.
+ * @param <P> the type of the additional parameter to this visitor's
+ *            methods.  Use {@code Void} for visitors that do not need an
+ *            additional parameter.
+ */
+public class SimpleRegExpNodeVisitor<R, P> implements RegExpNodeVisitor<R, P> {
+    @Override
+    public R visitDisjunction(final RegExpDisjunctionNode node, final P p) {
+        for (final RegExpAlternativeNode alternative : node.getAlternatives()) {
+            alternative.accept(this, p);
+        }
+        return null;
+    }
+
+    @Override
+    public R visitAlternative(final RegExpAlternativeNode node, final P p) {
+        for (final RegExpNode term : node.getTerms()) {
+            term.accept(this, p);
+        }
+        return null;
+    }
+
+    @Override
+    public R visitAssertion(final RegExpAssertionNode node, final P p) {
+        return null;
+    }
+
+    @Override
+    public R visitCharacter(final RegExpCharacterNode node, final P p) {
+        return null;
+    }
+
+    @Override
+    public R visitAnyCharacter(final RegExpNode node, final P p) {
+        return null;
+    }
+
+    @Override
+    public R visitClassEscape(final RegExpClassEscapeNode node, final P p) {
+        return null;
+    }
+
+    @Override
+    public R visitCharacterClass(final RegExpCharacterClassNode node, final P p) {
+        for (final RegExpNode element : node.getElements()) {
+            element.accept(this, p);
+        }
+        return null;
+    }
+
+    @Override
+    public R visitClassRange(final RegExpClassRangeNode node, final P p) {
+        node.getFrom().accept(this, p);
+        node.getTo().accept(this, p);
+        return null;
+    }
+
+    @Override
+    public R visitGroup(final RegExpGroupNode node, final P p) {
+        node.getBody().accept(this, p);
+        return null;
+    }
+
+    @Override
+    public R visitBackReference(final RegExpBackReferenceNode node, final P p) {
+        return null;
+    }
+
+    @Override
+    public R visitQuantifier(final RegExpQuantifierNode node, final P p) {
+        node.getAtom().accept(this, p);
+        return null;
+    }
+}
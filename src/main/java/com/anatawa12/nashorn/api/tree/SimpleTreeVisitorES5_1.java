@@ -30,7 +30,9 @@ package com.anatawa12.nashorn.api.tree;
  *
  * <p>The visit methods corresponding to ES 5.1 language constructs walk the
  * "components" of the given tree by calling accept method passing the
- * current visitor and the additional parameter.
+ * current visitor and the additional parameter. This recurses once per
+ * level of nesting; {@link TreeScanner} walks very deep trees, such as
+ * long operator chains in generated code, without recursion.
  *
  * <p>For constructs introduced in later versions, {@code visitUnknown}
  * is called instead which throws {@link UnknownTreeException}.
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Scopes and bindings of a compilation unit, and the binding each
+ * identifier refers to.
+ *
+ * <p>The table is computed on first request by a single pass over the
+ * compilation unit and then cached with it. Scopes and bindings are dense
+ * {@code int} handles starting at 0; all per-scope, per-binding and
+ * per-identifier data is kept in primitive arrays indexed by those handles,
+ * so no objects are allocated per binding or per reference. The scope of
+ * the compilation unit itself is always {@code 0}.
+ *
+ * <p>Declarations are hoisted the way ECMAScript does: {@code var}
+ * declarations bind in the closest function (or script/module) scope,
+ * while {@code let}, {@code const} and class declarations bind in the
+ * enclosing block. Function declarations nested in a block bind in the
+ * block with {@code --language=es6} and are hoisted like {@code var}
+ * otherwise, as the parser treats them. Uses of identifiers that are not declared in
+ * any enclosing scope (globals, implicit {@code arguments}, names brought
+ * in through {@code with} or {@code eval}) resolve to {@code -1}.
+ */
+public final class SymbolTable {
+    /**
+     * Kinds of scopes.
+     */
+    public enum ScopeKind {
+        /** Top level scope of a script. */
+        SCRIPT,
+        /** Top level scope of a module. */
+        MODULE,
+        /** Function scope, holding parameters and hoisted declarations. */
+        FUNCTION,
+        /** Block scope of a block, loop or switch statement. */
+        BLOCK,
+        /** Scope of a catch clause, holding the catch parameter. */
+        CATCH,
+        /** Scope of a class body, holding the name of a class expression. */
+        CLASS
+    }
+
+    /**
+     * Kinds of bindings.
+     */
+    public enum BindingKind {
+        /** {@code var} declaration. */
+        VAR,
+        /** {@code let} declaration. */
+        LET,
+        /** {@code const} declaration. */
+        CONST,
+        /** Function parameter. */
+        PARAMETER,
+        /** Function declaration or name of a named function expression. */
+        FUNCTION,
+        /** Class declaration or name of a named class expression. */
+        CLASS,
+        /** Module import. */
+        IMPORT,
+        /** Parameter of a catch clause. */
+        CATCH_PARAMETER
+    }
+
+    private static final ScopeKind[] SCOPE_KINDS = ScopeKind.values();
+    private static final BindingKind[] BINDING_KINDS = BindingKind.values();
+
+    private final TreeIndex index;
+
+    // per scope
+    private final int[] scopeParents;
+    private final byte[] scopeKinds;
+    private final int[] scopeTrees;
+    // bindings of scope s are scopeBindings[scopeBindingStart[s] .. scopeBindingStart[s + 1])
+    private final int[] scopeBindingStart;
+    private final int[] scopeBindings;
+
+    // per binding
+    private final String[] bindingNames;
+    private final byte[] bindingKinds;
+    private final int[] bindingScopes;
+    private final int[] bindingDecls;
+    // references of binding b are refs[refStart[b] .. refStart[b + 1])
+    private final int[] refStart;
+    private final int[] refs;
+
+    // per tree id
+    private final int[] resolved;
+    private final int[] treeScopes;
+
+    SymbolTable(final TreeIndex index,
+            final int[] scopeParents, final byte[] scopeKinds, final int[] scopeTrees,
+            final int[] scopeBindingStart, final int[] scopeBindings,
+            final String[] bindingNames, final byte[] bindingKinds,
+            final int[] bindingScopes, final int[] bindingDecls,
+            final int[] refStart, final int[] refs,
+            final int[] resolved, final int[] treeScopes) {
+        this.index = index;
+        this.scopeParents = scopeParents;
+        this.scopeKinds = scopeKinds;
+        this.scopeTrees = scopeTrees;
+        this.scopeBindingStart = scopeBindingStart;
+        this.scopeBindings = scopeBindings;
+        this.bindingNames = bindingNames;
+        this.bindingKinds = bindingKinds;
+        this.bindingScopes = bindingScopes;
+        this.bindingDecls = bindingDecls;
+        this.refStart = refStart;
+        this.refs = refs;
+        this.resolved = resolved;
+        this.treeScopes = treeScopes;
+    }
+
+    /**
+     * Returns the symbol table of a compilation unit, computing it on first use.
+     *
+     * @param unit the compilation unit
+     * @return the symbol table
+     * @throws NullPointerException if unit is null
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public static SymbolTable of(final CompilationUnitTree unit) {
+        if (!(Objects.requireNonNull(unit) instanceof CompilationUnitTreeImpl)) {
+            throw new IllegalArgumentException("unknown compilation unit: " + unit);
+        }
+        return ((CompilationUnitTreeImpl) unit).getSymbolTable();
+    }
+
+    /**
+     * Returns the binding an identifier refers to or declares.
+     *
+     * @param ident the identifier
+     * @return the binding, or -1 if the identifier is free, is not a
+     * variable reference (property name, {@code this}, ...) or is not
+     * part of this compilation unit
+     */
+    public int getBinding(final IdentifierTree ident) {
+        final int id = index.indexOf(ident);
+        return id < 0? -1 : resolved[id];
+    }
+
+    /**
+     * Returns the number of bindings.
+     *
+     * @return the binding count
+     */
+    public int getBindingCount() {
+        return bindingNames.length;
+    }
+
+    /**
+     * Returns the name of a binding.
+     *
+     * @param binding the binding
+     * @return the bound name
+     */
+    public String getName(final int binding) {
+        return bindingNames[binding];
+    }
+
+    /**
+     * Returns the kind of a binding.
+     *
+     * @param binding the binding
+     * @return the binding kind
+     */
+    public BindingKind getKind(final int binding) {
+        return BINDING_KINDS[bindingKinds[binding]];
+    }
+
+    /**
+     * Returns the scope a binding is declared in.
+     *
+     * @param binding the binding
+     * @return the declaring scope
+     */
+    public int getDeclaringScope(final int binding) {
+        return bindingScopes[binding];
+    }
+
+    /**
+     * Returns the identifier of the first declaration of a binding.
+     *
+     * @param binding the binding
+     * @return the declaring identifier
+     */
+    public IdentifierTree getDeclaration(final int binding) {
+        return (IdentifierTree) index.getTree(bindingDecls[binding]);
+    }
+
+    /**
+     * Returns the identifiers referring to a binding, in tree order (module
+     * export entries first, then source order). Declaring identifiers are
+     * not included.
+     *
+     * @param binding the binding
+     * @return the references
+     */
+    public List<IdentifierTree> getReferences(final int binding) {
+        return treeList(refs, refStart[binding], refStart[binding + 1]);
+    }
+
+    /**
+     * Returns the number of scopes.
+     *
+     * @return the scope count
+     */
+    public int getScopeCount() {
+        return scopeKinds.length;
+    }
+
+    /**
+     * Returns the kind of a scope.
+     *
+     * @param scope the scope
+     * @return the scope kind
+     */
+    public ScopeKind getScopeKind(final int scope) {
+        return SCOPE_KINDS[scopeKinds[scope]];
+    }
+
+    /**
+     * Returns the tree introducing a scope.
+     *
+     * @param scope the scope
+     * @return the tree introducing the scope
+     */
+    public Tree getScopeTree(final int scope) {
+        return index.getTree(scopeTrees[scope]);
+    }
+
+    /**
+     * Returns the enclosing scope of a scope.
+     *
+     * @param scope the scope
+     * @return the parent scope, or -1 for the compilation unit scope
+     */
+    public int getParentScope(final int scope) {
+        return scopeParents[scope];
+    }
+
+    /**
+     * Returns the bindings declared in a scope, in declaration order.
+     *
+     * @param scope the scope
+     * @return binding handles
+     */
+    public int[] getBindings(final int scope) {
+        final int from = scopeBindingStart[scope];
+        final int to = scopeBindingStart[scope + 1];
+        final int[] result = new int[to - from];
+        System.arraycopy(scopeBindings, from, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Returns the scope introduced by a tree.
+     *
+     * @param tree a function, block, loop, switch, catch, class or compilation unit tree
+     * @return the scope, or -1 if the tree does not introduce a scope
+     */
+    public int getScope(final Tree tree) {
+        final int id = index.indexOf(tree);
+        return id < 0? -1 : treeScopes[id];
+    }
+
+    /**
+     * Returns the innermost scope enclosing a tree. For a tree introducing
+     * a scope, this is the scope it introduces.
+     *
+     * @param tree the tree
+     * @return the enclosing scope, or -1 if the tree is not part of this compilation unit
+     */
+    public int getEnclosingScope(final Tree tree) {
+        for (int id = index.indexOf(tree); id >= 0; id = index.getParent(id)) {
+            if (treeScopes[id] >= 0) {
+                return treeScopes[id];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up a name starting from the given scope and moving outwards.
+     *
+     * @param scope the scope to start from
+     * @param name the name to look up
+     * @return the binding, or -1 if the name is not declared
+     */
+    public int lookup(final int scope, final String name) {
+        for (int s = scope; s >= 0; s = scopeParents[s]) {
+            for (int i = scopeBindingStart[s]; i < scopeBindingStart[s + 1]; i++) {
+                final int b = scopeBindings[i];
+                if (bindingNames[b].equals(name)) {
+                    return b;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private List<IdentifierTree> treeList(final int[] ids, final int from, final int to) {
+        if (from == to) {
+            return Collections.emptyList();
+        }
+        return new AbstractList<IdentifierTree>() {
+            @Override
+            public IdentifierTree get(final int i) {
+                if (i < 0 || i >= to - from) {
+                    throw new IndexOutOfBoundsException(Integer.toString(i));
+                }
+                return (IdentifierTree) index.getTree(ids[from + i]);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+}
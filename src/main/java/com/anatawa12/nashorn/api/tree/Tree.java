@@ -635,6 +635,35 @@ public interface Tree {
      */
     Kind getKind();
 
+    /**
+     * Returns a 64-bit hash of the structure of this tree. The hash covers
+     * the kinds, names, literal values and flags of this tree and all its
+     * subtrees but not their positions, so equal code at different places
+     * of a source, or in different sources, hashes the same.
+     *
+     * <p>For trees created by the parser, the hash is computed once,
+     * bottom-up, and cached on every subtree visited on the way. Other
+     * implementations are described through {@link #accept} and their hash
+     * is not cached.
+     *
+     * @return the structural hash of this tree
+     */
+    default long structuralHash() {
+        return TreeShape.hash(this);
+    }
+
+    /**
+     * Checks if the given tree has the same structure as this tree, in the
+     * sense of {@link #structuralHash()}. Subtrees with different hashes
+     * are rejected without being compared node by node.
+     *
+     * @param other the tree to compare with, may be null
+     * @return true if both trees have the same structure
+     */
+    default boolean structurallyEquals(final Tree other) {
+        return TreeShape.equals(this, other);
+    }
+
     /**
      * Accept method used to implement the visitor pattern.  The
      * visitor pattern is used to implement operations on trees.
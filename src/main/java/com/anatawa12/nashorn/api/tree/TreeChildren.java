@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enumerates the direct children of a tree in source order without
+ * descending into them. This is the building block of the non-recursive
+ * walks used by {@link TreeIndex} and friends: callers keep their own
+ * explicit stack and only ask for one level at a time.
+ */
+final class TreeChildren implements TreeVisitor<Void, List<Tree>> {
+    private static final TreeChildren INSTANCE = new TreeChildren();
+
+    private TreeChildren() {
+    }
+
+    /**
+     * Appends the non-null direct children of the given tree to the list.
+     *
+     * @param tree the parent tree
+     * @param out list receiving the children in source order
+     */
+    static void addChildren(final Tree tree, final List<Tree> out) {
+        tree.accept(INSTANCE, out);
+    }
+
+    /**
+     * Collects the trees of the given kind in the subtree of a root, root
+     * included, in pre-order.
+     *
+     * @param root the root of the subtree
+     * @param kind the tree kind
+     * @return the trees of the given kind
+     */
+    static List<Tree> ofKind(final Tree root, final Tree.Kind kind) {
+        final List<Tree> result = new ArrayList<>();
+        final List<Tree> stack = new ArrayList<>();
+        final List<Tree> children = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            final Tree tree = stack.remove(stack.size() - 1);
+            if (tree.getKind() == kind) {
+                result.add(tree);
+            }
+            children.clear();
+            addChildren(tree, children);
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.add(children.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static void add(final Tree tree, final List<Tree> out) {
+        if (tree != null) {
+            out.add(tree);
+        }
+    }
+
+    private static void addAll(final List<? extends Tree> trees, final List<Tree> out) {
+        if (trees != null) {
+            for (final Tree tree : trees) {
+                add(tree, out);
+            }
+        }
+    }
+
+    @Override
+    public Void visitAssignment(final AssignmentTree node, final List<Tree> out) {
+        add(node.getVariable(), out);
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitCompoundAssignment(final CompoundAssignmentTree node, final List<Tree> out) {
+        add(node.getVariable(), out);
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitBinary(final BinaryTree node, final List<Tree> out) {
+        add(node.getLeftOperand(), out);
+        add(node.getRightOperand(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitBlock(final BlockTree node, final List<Tree> out) {
+        addAll(node.getStatements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitBreak(final BreakTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitCase(final CaseTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        addAll(node.getStatements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitCatch(final CatchTree node, final List<Tree> out) {
+        add(node.getParameter(), out);
+        add(node.getCondition(), out);
+        add(node.getBlock(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitClassDeclaration(final ClassDeclarationTree node, final List<Tree> out) {
+        add(node.getName(), out);
+        add(node.getClassHeritage(), out);
+        add(node.getConstructor(), out);
+        addAll(node.getClassElements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitClassExpression(final ClassExpressionTree node, final List<Tree> out) {
+        add(node.getName(), out);
+        add(node.getClassHeritage(), out);
+        add(node.getConstructor(), out);
+        addAll(node.getClassElements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitConditionalExpression(final ConditionalExpressionTree node, final List<Tree> out) {
+        add(node.getCondition(), out);
+        add(node.getTrueExpression(), out);
+        add(node.getFalseExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitContinue(final ContinueTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitDebugger(final DebuggerTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitDoWhileLoop(final DoWhileLoopTree node, final List<Tree> out) {
+        add(node.getStatement(), out);
+        add(node.getCondition(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitErroneous(final ErroneousTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStatement(final ExpressionStatementTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitForLoop(final ForLoopTree node, final List<Tree> out) {
+        add(node.getInitializer(), out);
+        add(node.getCondition(), out);
+        add(node.getUpdate(), out);
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitForInLoop(final ForInLoopTree node, final List<Tree> out) {
+        add(node.getVariable(), out);
+        add(node.getExpression(), out);
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitForOfLoop(final ForOfLoopTree node, final List<Tree> out) {
+        add(node.getVariable(), out);
+        add(node.getExpression(), out);
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionCall(final FunctionCallTree node, final List<Tree> out) {
+        add(node.getFunctionSelect(), out);
+        addAll(node.getArguments(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionDeclaration(final FunctionDeclarationTree node, final List<Tree> out) {
+        add(node.getName(), out);
+        addAll(node.getParameters(), out);
+        add(node.getBody(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionExpression(final FunctionExpressionTree node, final List<Tree> out) {
+        add(node.getName(), out);
+        addAll(node.getParameters(), out);
+        add(node.getBody(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitIdentifier(final IdentifierTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitIf(final IfTree node, final List<Tree> out) {
+        add(node.getCondition(), out);
+        add(node.getThenStatement(), out);
+        add(node.getElseStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitArrayAccess(final ArrayAccessTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        add(node.getIndex(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitArrayLiteral(final ArrayLiteralTree node, final List<Tree> out) {
+        addAll(node.getElements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitLabeledStatement(final LabeledStatementTree node, final List<Tree> out) {
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteral(final LiteralTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitParenthesized(final ParenthesizedTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitReturn(final ReturnTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitMemberSelect(final MemberSelectTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitNew(final NewTree node, final List<Tree> out) {
+        add(node.getConstructorExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitObjectLiteral(final ObjectLiteralTree node, final List<Tree> out) {
+        addAll(node.getProperties(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitProperty(final PropertyTree node, final List<Tree> out) {
+        add(node.getKey(), out);
+        add(node.getValue(), out);
+        add(node.getGetter(), out);
+        add(node.getSetter(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitRegExpLiteral(final RegExpLiteralTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitTemplateLiteral(final TemplateLiteralTree node, final List<Tree> out) {
+        addAll(node.getExpressions(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitEmptyStatement(final EmptyStatementTree node, final List<Tree> out) {
+        return null;
+    }
+
+    @Override
+    public Void visitSpread(final SpreadTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitSwitch(final SwitchTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        addAll(node.getCases(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitThrow(final ThrowTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitCompilationUnit(final CompilationUnitTree node, final List<Tree> out) {
+        add(node.getModule(), out);
+        addAll(node.getSourceElements(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitModule(final ModuleTree node, final List<Tree> out) {
+        addAll(node.getImportEntries(), out);
+        addAll(node.getLocalExportEntries(), out);
+        addAll(node.getIndirectExportEntries(), out);
+        addAll(node.getStarExportEntries(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitExportEntry(final ExportEntryTree node, final List<Tree> out) {
+        add(node.getExportName(), out);
+        add(node.getModuleRequest(), out);
+        add(node.getImportName(), out);
+        add(node.getLocalName(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitImportEntry(final ImportEntryTree node, final List<Tree> out) {
+        add(node.getModuleRequest(), out);
+        add(node.getImportName(), out);
+        add(node.getLocalName(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitTry(final TryTree node, final List<Tree> out) {
+        add(node.getBlock(), out);
+        addAll(node.getCatches(), out);
+        add(node.getFinallyBlock(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitInstanceOf(final InstanceOfTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        add(node.getType(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitUnary(final UnaryTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitVariable(final VariableTree node, final List<Tree> out) {
+        add(node.getBinding(), out);
+        add(node.getInitializer(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileLoop(final WhileLoopTree node, final List<Tree> out) {
+        add(node.getCondition(), out);
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitWith(final WithTree node, final List<Tree> out) {
+        add(node.getScope(), out);
+        add(node.getStatement(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitYield(final YieldTree node, final List<Tree> out) {
+        add(node.getExpression(), out);
+        return null;
+    }
+
+    @Override
+    public Void visitUnknown(final Tree node, final List<Tree> out) {
+        return null;
+    }
+}
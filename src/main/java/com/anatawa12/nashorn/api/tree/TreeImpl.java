@@ -31,6 +31,11 @@ import com.anatawa12.nashorn.internal.parser.TokenType;
 
 abstract class TreeImpl implements Tree {
     protected final Node node;
+    // id of this tree in the TreeIndex of its compilation unit, -1 until indexed
+    int index = -1;
+    // structural hash of this subtree, 0 until computed by TreeShape; volatile
+    // so that a hash written by one thread is never read torn by another
+    volatile long structuralHash;
 
     TreeImpl(final Node node) {
         this.node = node;
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Identity index of all trees of a compilation unit. The index is built
+ * by a single non-recursive pre-order walk, after which every tree carries
+ * a small integer id (see {@link TreeImpl#index}) and per-tree data such as
+ * the parent link lives in primitive arrays indexed by that id.
+ */
+final class TreeIndex {
+    // trees by id; ids are assigned in pre-order
+    private final Tree[] trees;
+    // parent id by id, -1 for the compilation unit itself
+    private final int[] parents;
+    // ids of the trees of kind k are kindIds[kindStart[k] .. kindStart[k + 1]), in pre-order
+    private final int[] kindStart;
+    private final int[] kindIds;
+    // ids by tree, built on the first lookup of a tree whose id field was
+    // overwritten by another index; trees shared by transformed copies of
+    // a unit (see TreeTransformer) carry the id of the last unit indexed
+    private volatile Map<Tree, Integer> ids;
+
+    private TreeIndex(final Tree[] trees, final int[] parents) {
+        this.trees = trees;
+        this.parents = parents;
+
+        // counting sort of the ids by kind keeps pre-order within each kind
+        final int kindCount = Tree.Kind.values().length;
+        final byte[] kinds = new byte[trees.length];
+        this.kindStart = new int[kindCount + 1];
+        for (int id = 0; id < trees.length; id++) {
+            final int kind = trees[id].getKind().ordinal();
+            kinds[id] = (byte) kind;
+            kindStart[kind + 1]++;
+        }
+        for (int k = 0; k < kindCount; k++) {
+            kindStart[k + 1] += kindStart[k];
+        }
+        final int[] fill = Arrays.copyOf(kindStart, kindCount);
+        this.kindIds = new int[trees.length];
+        for (int id = 0; id < trees.length; id++) {
+            kindIds[fill[kinds[id]]++] = id;
+        }
+    }
+
+    /**
+     * Builds the index of a compilation unit. With the index of a unit it
+     * was transformed from, the entries of each subtree the two units share
+     * are copied from that index as one range instead of walking the subtree
+     * again; trees are immutable, so a shared subtree has not changed.
+     *
+     * @param unit the unit to index
+     * @param previous index of a unit sharing subtrees with this one, or null
+     * @return the index
+     */
+    static TreeIndex build(final CompilationUnitTreeImpl unit, final TreeIndex previous) {
+        Tree[] trees = new Tree[previous != null? previous.trees.length + 64 : 64];
+        int[] parents = new int[trees.length];
+        int count = 0;
+        final int[] ends = previous != null? previous.subtreeEnds() : null;
+
+        // explicit stack of (tree, parent id) pairs
+        final List<Tree> stack = new ArrayList<>();
+        int[] stackParents = new int[16];
+        final List<Tree> children = new ArrayList<>();
+
+        stack.add(unit);
+        stackParents[0] = -1;
+        while (!stack.isEmpty()) {
+            final int top = stack.size() - 1;
+            final Tree tree = stack.remove(top);
+            final int parent = stackParents[top];
+
+            final TreeImpl impl = (TreeImpl) tree;
+            if (impl.index >= 0 && impl.index < count && trees[impl.index] == tree) {
+                // already reached through another parent, don't index twice
+                continue;
+            }
+
+            // trees whose id was taken over by another index are walked again
+            final int old = previous != null? previous.indexedId(tree) : -1;
+            final int length = old >= 0? ends[old] - old : 1;
+            final int id = count;
+            count += length;
+            if (count > trees.length) {
+                trees = Arrays.copyOf(trees, Math.max(count, trees.length * 2));
+                parents = Arrays.copyOf(parents, trees.length);
+            }
+            if (old >= 0) {
+                // pre-order keeps the subtree together, ids just move by id - old
+                System.arraycopy(previous.trees, old, trees, id, length);
+                parents[id] = parent;
+                for (int k = 1; k < length; k++) {
+                    parents[id + k] = previous.parents[old + k] - old + id;
+                    ((TreeImpl) trees[id + k]).index = id + k;
+                }
+                impl.index = id;
+                continue;
+            }
+            trees[id] = tree;
+            parents[id] = parent;
+            impl.index = id;
+
+            children.clear();
+            TreeChildren.addChildren(tree, children);
+            for (int i = children.size() - 1; i >= 0; i--) {
+                final int pos = stack.size();
+                if (pos == stackParents.length) {
+                    stackParents = Arrays.copyOf(stackParents, pos * 2);
+                }
+                stack.add(children.get(i));
+                stackParents[pos] = id;
+            }
+        }
+
+        return new TreeIndex(Arrays.copyOf(trees, count), Arrays.copyOf(parents, count));
+    }
+
+    // end of the id range of the subtree at each id
+    private int[] subtreeEnds() {
+        final int[] ends = new int[trees.length];
+        // descendants have larger ids than their ancestors
+        for (int id = trees.length - 1; id >= 0; id--) {
+            ends[id] = Math.max(ends[id], id + 1);
+            final int parent = parents[id];
+            if (parent >= 0 && ends[parent] < ends[id]) {
+                ends[parent] = ends[id];
+            }
+        }
+        return ends;
+    }
+
+    /**
+     * Returns the number of indexed trees, including the compilation unit.
+     *
+     * @return the number of trees
+     */
+    int size() {
+        return trees.length;
+    }
+
+    /**
+     * Returns the id of the given tree in this index.
+     *
+     * @param tree the tree
+     * @return the id or -1 if the tree is not part of this compilation unit
+     */
+    int indexOf(final Tree tree) {
+        final int indexed = indexedId(tree);
+        if (indexed >= 0) {
+            return indexed;
+        }
+
+        Map<Tree, Integer> map = ids;
+        if (map == null) {
+            map = new IdentityHashMap<>(trees.length * 2);
+            for (int id = 0; id < trees.length; id++) {
+                map.put(trees[id], id);
+            }
+            ids = map;
+        }
+        final Integer id = map.get(tree);
+        return id == null? -1 : id;
+    }
+
+    // the id the tree carries if it belongs to this index, -1 otherwise
+    private int indexedId(final Tree tree) {
+        if (tree instanceof TreeImpl) {
+            final int id = ((TreeImpl) tree).index;
+            if (id >= 0 && id < trees.length && trees[id] == tree) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    Tree getTree(final int id) {
+        return trees[id];
+    }
+
+    int getParent(final int id) {
+        return parents[id];
+    }
+
+    /**
+     * Returns all trees of the given kind in pre-order.
+     *
+     * @param kind the tree kind
+     * @return read-only list view of the trees
+     */
+    List<Tree> getTrees(final Tree.Kind kind) {
+        final int from = kindStart[kind.ordinal()];
+        final int to = kindStart[kind.ordinal() + 1];
+        return from == to? Collections.emptyList() : new KindList(from, to);
+    }
+
+    private final class KindList extends AbstractList<Tree> implements RandomAccess {
+        private final int from, to;
+
+        KindList(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Tree get(final int i) {
+            if (i < 0 || i >= to - from) {
+                throw new IndexOutOfBoundsException(Integer.toString(i));
+            }
+            return trees[kindIds[from + i]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A path of tree nodes, typically used to represent the sequence of
+ * ancestor nodes of a tree node up to the top level {@link CompilationUnitTree}
+ * node.
+ *
+ * <p>Parent lookups are backed by an identity index of the compilation unit
+ * that is built once, on first use, by a single walk over the unit. After
+ * that {@link #getParent(CompilationUnitTree, Tree)} is a constant time
+ * array lookup and {@link #getPath(CompilationUnitTree, Tree)} is linear
+ * in the depth of the tree, so tools asking many "what encloses this node"
+ * questions need not re-run a visitor from the root for each of them.
+ */
+public final class TreePath implements Iterable<Tree> {
+    private final CompilationUnitTree unit;
+    private final Tree leaf;
+    private final TreePath parent;
+
+    /**
+     * Creates a TreePath for a root node.
+     *
+     * @param unit the compilation unit
+     */
+    public TreePath(final CompilationUnitTree unit) {
+        this(null, Objects.requireNonNull(unit));
+    }
+
+    /**
+     * Creates a TreePath for a child node.
+     *
+     * @param parent the path of the parent node
+     * @param leaf the child node
+     */
+    public TreePath(final TreePath parent, final Tree leaf) {
+        this.leaf = Objects.requireNonNull(leaf);
+        if (parent == null) {
+            this.unit = (CompilationUnitTree) leaf;
+        } else {
+            this.unit = parent.unit;
+        }
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the path for a node within a compilation unit.
+     *
+     * @param unit the compilation unit
+     * @param target the node to locate
+     * @return the path of the node, or null if it is not part of the compilation unit
+     * @throws NullPointerException if unit or target is null
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public static TreePath getPath(final CompilationUnitTree unit, final Tree target) {
+        Objects.requireNonNull(target);
+        final TreeIndex index = indexOf(unit);
+        int id = index.indexOf(target);
+        if (id < 0) {
+            return null;
+        }
+
+        // collect the ancestor ids, then build the path top-down
+        int depth = 0;
+        for (int p = id; p >= 0; p = index.getParent(p)) {
+            depth++;
+        }
+        final int[] ids = new int[depth];
+        for (int i = depth - 1; i >= 0; i--) {
+            ids[i] = id;
+            id = index.getParent(id);
+        }
+
+        TreePath path = new TreePath(unit);
+        for (int i = 1; i < depth; i++) {
+            path = new TreePath(path, index.getTree(ids[i]));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the parent of a node within a compilation unit.
+     *
+     * @param unit the compilation unit
+     * @param tree the node whose parent is requested
+     * @return the parent node, or null if tree is the compilation unit itself
+     * or is not part of it
+     * @throws NullPointerException if unit or tree is null
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public static Tree getParent(final CompilationUnitTree unit, final Tree tree) {
+        Objects.requireNonNull(tree);
+        final TreeIndex index = indexOf(unit);
+        final int id = index.indexOf(tree);
+        if (id < 0) {
+            return null;
+        }
+        final int parentId = index.getParent(id);
+        return parentId < 0? null : index.getTree(parentId);
+    }
+
+    /**
+     * Returns the closest enclosing node of the given kind, starting from
+     * the parent of the given node.
+     *
+     * @param unit the compilation unit
+     * @param tree the node to start from
+     * @param kind the kind of the enclosing node
+     * @return the enclosing node, or null if there is none
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public static Tree getEnclosing(final CompilationUnitTree unit, final Tree tree, final Tree.Kind kind) {
+        Objects.requireNonNull(tree);
+        Objects.requireNonNull(kind);
+        final TreeIndex index = indexOf(unit);
+        final int id = index.indexOf(tree);
+        if (id < 0) {
+            return null;
+        }
+        for (int p = index.getParent(id); p >= 0; p = index.getParent(p)) {
+            final Tree t = index.getTree(p);
+            if (t.getKind() == kind) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    private static TreeIndex indexOf(final CompilationUnitTree unit) {
+        if (!(Objects.requireNonNull(unit) instanceof CompilationUnitTreeImpl)) {
+            throw new IllegalArgumentException("unknown compilation unit: " + unit);
+        }
+        return ((CompilationUnitTreeImpl) unit).getIndex();
+    }
+
+    /**
+     * Returns the compilation unit associated with this path.
+     *
+     * @return the compilation unit
+     */
+    public CompilationUnitTree getCompilationUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the leaf node for this path.
+     *
+     * @return the leaf node
+     */
+    public Tree getLeaf() {
+        return leaf;
+    }
+
+    /**
+     * Returns the path for the enclosing node, or null if there is no
+     * enclosing node.
+     *
+     * @return the path of the parent node
+     */
+    public TreePath getParentPath() {
+        return parent;
+    }
+
+    /**
+     * Iterates from the leaf of this path up to the compilation unit.
+     *
+     * @return an iterator over the nodes of this path, leaf first
+     */
+    @Override
+    public Iterator<Tree> iterator() {
+        return new Iterator<Tree>() {
+            private TreePath next = TreePath.this;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Tree next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                final Tree t = next.leaf;
+                next = next.parent;
+                return t;
+            }
+        };
+    }
+}
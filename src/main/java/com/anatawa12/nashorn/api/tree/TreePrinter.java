@@ -0,0 +1,1659 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import com.anatawa12.nashorn.internal.parser.TokenType;
+import com.anatawa12.nashorn.internal.runtime.doubleconv.DoubleConversion;
+
+/**
+ * Prints trees back to ECMAScript source.
+ *
+ * <p>A pretty printer puts every statement on its own line and indents
+ * nested blocks; a minified printer only emits the whitespace needed to
+ * separate tokens. In both modes parentheses are only inserted where the
+ * operator precedence of the parser requires them, so parsing the printed
+ * source gives back a tree of the same shape. Comments and the original
+ * layout are not preserved.
+ *
+ * <p>Printers are immutable and can be shared between threads. Output is
+ * collected in a small buffer that is handed to the destination in chunks,
+ * and no string is created for the printed trees.
+ *
+ * <p>Chains of operators whose left operand comes first, such as
+ * {@code a + b + c}, {@code a.b.c} or {@code a()()}, are printed without
+ * recursion and may be nested arbitrarily deep. Other nestings, such as
+ * right associative assignments, unary operators, arguments and nested
+ * functions or blocks, are printed recursively and are limited by the
+ * stack size of the printing thread.
+ */
+public final class TreePrinter {
+    private static final TreePrinter PRETTY = new TreePrinter(false);
+    private static final TreePrinter MINIFIED = new TreePrinter(true);
+
+    // precedence of primary expressions, above member access and calls
+    private static final int PRIMARY = TokenType.PERIOD.getPrecedence() + 1;
+    private static final int MEMBER = TokenType.PERIOD.getPrecedence();
+    private static final int POSTFIX = TokenType.INCPREFIX.getPrecedence();
+    private static final int UNARY = TokenType.NOT.getPrecedence();
+    private static final int CONDITIONAL = TokenType.TERNARY.getPrecedence();
+    private static final int ASSIGNMENT = TokenType.ASSIGN.getPrecedence();
+
+    // operator precedence and operator of each kind of expression, by Tree.Kind ordinal
+    private static final int[] PRECEDENCE = new int[Tree.Kind.values().length];
+    private static final String[] OPERATOR = new String[Tree.Kind.values().length];
+
+    static {
+        Arrays.fill(PRECEDENCE, PRIMARY);
+        operator(Tree.Kind.COMMA, TokenType.COMMARIGHT);
+        operator(Tree.Kind.MULTIPLY, TokenType.MUL);
+        operator(Tree.Kind.DIVIDE, TokenType.DIV);
+        operator(Tree.Kind.REMAINDER, TokenType.MOD);
+        operator(Tree.Kind.PLUS, TokenType.ADD);
+        operator(Tree.Kind.MINUS, TokenType.SUB);
+        operator(Tree.Kind.LEFT_SHIFT, TokenType.SHL);
+        operator(Tree.Kind.RIGHT_SHIFT, TokenType.SAR);
+        operator(Tree.Kind.UNSIGNED_RIGHT_SHIFT, TokenType.SHR);
+        operator(Tree.Kind.LESS_THAN, TokenType.LT);
+        operator(Tree.Kind.GREATER_THAN, TokenType.GT);
+        operator(Tree.Kind.LESS_THAN_EQUAL, TokenType.LE);
+        operator(Tree.Kind.GREATER_THAN_EQUAL, TokenType.GE);
+        operator(Tree.Kind.IN, TokenType.IN);
+        operator(Tree.Kind.INSTANCE_OF, TokenType.INSTANCEOF);
+        operator(Tree.Kind.EQUAL_TO, TokenType.EQ);
+        operator(Tree.Kind.NOT_EQUAL_TO, TokenType.NE);
+        operator(Tree.Kind.STRICT_EQUAL_TO, TokenType.EQ_STRICT);
+        operator(Tree.Kind.STRICT_NOT_EQUAL_TO, TokenType.NE_STRICT);
+        operator(Tree.Kind.AND, TokenType.BIT_AND);
+        operator(Tree.Kind.XOR, TokenType.BIT_XOR);
+        operator(Tree.Kind.OR, TokenType.BIT_OR);
+        operator(Tree.Kind.CONDITIONAL_AND, TokenType.AND);
+        operator(Tree.Kind.CONDITIONAL_OR, TokenType.OR);
+        operator(Tree.Kind.ASSIGNMENT, TokenType.ASSIGN);
+        operator(Tree.Kind.MULTIPLY_ASSIGNMENT, TokenType.ASSIGN_MUL);
+        operator(Tree.Kind.DIVIDE_ASSIGNMENT, TokenType.ASSIGN_DIV);
+        operator(Tree.Kind.REMAINDER_ASSIGNMENT, TokenType.ASSIGN_MOD);
+        operator(Tree.Kind.PLUS_ASSIGNMENT, TokenType.ASSIGN_ADD);
+        operator(Tree.Kind.MINUS_ASSIGNMENT, TokenType.ASSIGN_SUB);
+        operator(Tree.Kind.LEFT_SHIFT_ASSIGNMENT, TokenType.ASSIGN_SHL);
+        operator(Tree.Kind.RIGHT_SHIFT_ASSIGNMENT, TokenType.ASSIGN_SAR);
+        operator(Tree.Kind.UNSIGNED_RIGHT_SHIFT_ASSIGNMENT, TokenType.ASSIGN_SHR);
+        operator(Tree.Kind.AND_ASSIGNMENT, TokenType.ASSIGN_BIT_AND);
+        operator(Tree.Kind.XOR_ASSIGNMENT, TokenType.ASSIGN_BIT_XOR);
+        operator(Tree.Kind.OR_ASSIGNMENT, TokenType.ASSIGN_BIT_OR);
+        operator(Tree.Kind.CONDITIONAL_EXPRESSION, TokenType.TERNARY);
+        operator(Tree.Kind.UNARY_PLUS, TokenType.POS);
+        operator(Tree.Kind.UNARY_MINUS, TokenType.NEG);
+        operator(Tree.Kind.BITWISE_COMPLEMENT, TokenType.BIT_NOT);
+        operator(Tree.Kind.LOGICAL_COMPLEMENT, TokenType.NOT);
+        operator(Tree.Kind.DELETE, TokenType.DELETE);
+        operator(Tree.Kind.TYPEOF, TokenType.TYPEOF);
+        operator(Tree.Kind.VOID, TokenType.VOID);
+        operator(Tree.Kind.PREFIX_INCREMENT, TokenType.INCPREFIX);
+        operator(Tree.Kind.PREFIX_DECREMENT, TokenType.DECPREFIX);
+        operator(Tree.Kind.POSTFIX_INCREMENT, TokenType.INCPREFIX);
+        operator(Tree.Kind.POSTFIX_DECREMENT, TokenType.DECPREFIX);
+        PRECEDENCE[Tree.Kind.YIELD.ordinal()] = ASSIGNMENT;
+        PRECEDENCE[Tree.Kind.SPREAD.ordinal()] = ASSIGNMENT;
+        PRECEDENCE[Tree.Kind.NEW.ordinal()] = MEMBER;
+        PRECEDENCE[Tree.Kind.FUNCTION_INVOCATION.ordinal()] = MEMBER;
+        PRECEDENCE[Tree.Kind.MEMBER_SELECT.ordinal()] = MEMBER;
+        PRECEDENCE[Tree.Kind.ARRAY_ACCESS.ordinal()] = MEMBER;
+    }
+
+    private static void operator(final Tree.Kind kind, final TokenType type) {
+        PRECEDENCE[kind.ordinal()] = type.getPrecedence();
+        OPERATOR[kind.ordinal()] = type.getName();
+    }
+
+    private final boolean minify;
+
+    private TreePrinter(final boolean minify) {
+        this.minify = minify;
+    }
+
+    /**
+     * Returns a printer that indents blocks and puts every statement on its own line.
+     *
+     * @return the pretty printer
+     */
+    public static TreePrinter pretty() {
+        return PRETTY;
+    }
+
+    /**
+     * Returns a printer that emits no optional whitespace.
+     *
+     * @return the minified printer
+     */
+    public static TreePrinter minified() {
+        return MINIFIED;
+    }
+
+    /**
+     * Returns true if this printer emits no optional whitespace.
+     *
+     * @return true for the minified printer
+     */
+    public boolean isMinified() {
+        return minify;
+    }
+
+    /**
+     * Prints a tree to a string.
+     *
+     * @param tree the tree to print
+     * @return the source of the tree
+     * @throws IllegalArgumentException if the tree contains an {@link ErroneousTree}
+     * @throws UnknownTreeException if the tree contains a tree of unknown kind
+     */
+    public String print(final Tree tree) {
+        final StringBuilder sb = new StringBuilder();
+        print(tree, new Printer(minify, new AppendableSink(sb)));
+        return sb.toString();
+    }
+
+    /**
+     * Prints a tree to an appendable. The output is handed to the appendable
+     * in chunks, and an appendable that is a {@link StringBuilder} or a
+     * {@link Writer} receives the chunks as character arrays.
+     *
+     * @param tree the tree to print
+     * @param out the appendable to print to
+     * @throws IOException if appending to out fails
+     * @throws IllegalArgumentException if the tree contains an {@link ErroneousTree}
+     * @throws UnknownTreeException if the tree contains a tree of unknown kind
+     */
+    public void print(final Tree tree, final Appendable out) throws IOException {
+        try {
+            print(tree, new Printer(minify, new AppendableSink(Objects.requireNonNull(out))));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Prints a tree to a byte buffer, encoded in UTF-8.
+     *
+     * @param tree the tree to print
+     * @param out the buffer to print to, from its current position
+     * @throws BufferOverflowException if the output does not fit in out; the
+     * contents and position of out are then unspecified
+     * @throws IllegalArgumentException if the tree contains an {@link ErroneousTree}
+     * @throws UnknownTreeException if the tree contains a tree of unknown kind
+     */
+    public void print(final Tree tree, final ByteBuffer out) {
+        print(tree, new Printer(minify, new ByteBufferSink(Objects.requireNonNull(out))));
+    }
+
+    private static void print(final Tree tree, final Printer printer) {
+        printer.tree(Objects.requireNonNull(tree));
+        printer.flush(true);
+    }
+
+    // destination of printed characters
+    private abstract static class Sink {
+        // writes a prefix of buf[0, length), returns the number of chars written
+        abstract int write(char[] buf, int length, boolean last);
+    }
+
+    private static final class AppendableSink extends Sink {
+        private final Appendable out;
+
+        AppendableSink(final Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        int write(final char[] buf, final int length, final boolean last) {
+            try {
+                if (out instanceof StringBuilder) {
+                    ((StringBuilder) out).append(buf, 0, length);
+                } else if (out instanceof Writer) {
+                    ((Writer) out).write(buf, 0, length);
+                } else {
+                    out.append(CharBuffer.wrap(buf, 0, length));
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return length;
+        }
+    }
+
+    private static final class ByteBufferSink extends Sink {
+        private final ByteBuffer out;
+
+        ByteBufferSink(final ByteBuffer out) {
+            this.out = out;
+        }
+
+        @Override
+        int write(final char[] buf, final int length, final boolean last) {
+            // keep a trailing high surrogate until its low surrogate is written
+            final int end = !last && length > 0 && Character.isHighSurrogate(buf[length - 1]) ? length - 1 : length;
+            for (int i = 0; i < end; i++) {
+                final char c = buf[i];
+                if (c < 0x80) {
+                    out.put((byte) c);
+                } else if (c < 0x800) {
+                    out.put((byte) (0xc0 | c >> 6));
+                    out.put((byte) (0x80 | c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(buf[i + 1])) {
+                    final int cp = Character.toCodePoint(c, buf[++i]);
+                    out.put((byte) (0xf0 | cp >> 18));
+                    out.put((byte) (0x80 | cp >> 12 & 0x3f));
+                    out.put((byte) (0x80 | cp >> 6 & 0x3f));
+                    out.put((byte) (0x80 | cp & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    out.put((byte) '?');
+                } else {
+                    out.put((byte) (0xe0 | c >> 12));
+                    out.put((byte) (0x80 | c >> 6 & 0x3f));
+                    out.put((byte) (0x80 | c & 0x3f));
+                }
+            }
+            return end;
+        }
+    }
+
+    // prints one tree; not thread safe
+    private static final class Printer {
+        private static final int BUFFER_SIZE = 8192;
+        private static final String INDENT = "    ";
+
+        private final boolean minify;
+        private final Sink sink;
+        private final char[] buf = new char[BUFFER_SIZE];
+        private int pos;
+        private int depth;
+        // local exports of the module being printed, or null
+        private List<? extends ExportEntryTree> localExports;
+        // number of local exports printed so far
+        private int localExportsPrinted;
+        // number of chars handed to the sink
+        private long flushed;
+        // expressions on the left spine being printed whose rest is still to
+        // be printed, innermost last; null closes a parenthesis
+        private final List<ExpressionTree> spine = new ArrayList<>();
+
+        Printer(final boolean minify, final Sink sink) {
+            this.minify = minify;
+            this.sink = sink;
+        }
+
+        // output
+
+        void flush(final boolean last) {
+            final int written = sink.write(buf, pos, last);
+            flushed += written;
+            System.arraycopy(buf, written, buf, 0, pos - written);
+            pos -= written;
+        }
+
+        private char last() {
+            return pos > 0 ? buf[pos - 1] : '\0';
+        }
+
+        private void ensure(final int length) {
+            if (pos + length > buf.length) {
+                flush(false);
+            }
+        }
+
+        private void raw(final char c) {
+            if (pos == buf.length) {
+                flush(false);
+            }
+            buf[pos++] = c;
+        }
+
+        private void raw(final String s) {
+            final int length = s.length();
+            int from = 0;
+            while (from < length) {
+                if (pos == buf.length) {
+                    flush(false);
+                }
+                final int n = Math.min(length - from, buf.length - pos);
+                s.getChars(from, from + n, buf, pos);
+                pos += n;
+                from += n;
+            }
+        }
+
+        // writes an identifier, keyword or number, separating it from a preceding one
+        private void word(final String s) {
+            if (isIdentifierPart(last()) && isIdentifierPart(s.charAt(0))) {
+                raw(' ');
+            }
+            raw(s);
+        }
+
+        // writes a punctuator, separating it from a preceding one it would merge with
+        private void punctuator(final String s) {
+            final char first = s.charAt(0);
+            final char last = last();
+            if ((first == '+' || first == '-' || first == '/') && last == first || first == '!' && last == '<') {
+                raw(' ');
+            }
+            raw(s);
+        }
+
+        private void operator(final String s) {
+            if (isIdentifierPart(s.charAt(0))) {
+                space();
+                word(s);
+                space();
+            } else {
+                space();
+                punctuator(s);
+                space();
+            }
+        }
+
+        private void space() {
+            if (!minify) {
+                raw(' ');
+            }
+        }
+
+        private void comma() {
+            raw(',');
+            space();
+        }
+
+        private void newline() {
+            if (!minify && flushed + pos > 0) {
+                raw('\n');
+                for (int i = 0; i < depth; i++) {
+                    raw(INDENT);
+                }
+            }
+        }
+
+        private void number(final Object value) {
+            final double d = ((Number) value).doubleValue();
+            if (Double.isInfinite(d)) {
+                word("1e400");
+                return;
+            }
+            if (isIdentifierPart(last())) {
+                raw(' ');
+            }
+            ensure(DoubleConversion.MAX_SHORTEST_LENGTH);
+            pos += DoubleConversion.toShortestChars(d, buf, pos);
+        }
+
+        private void string(final String s) {
+            raw('"');
+            final int length = s.length();
+            for (int i = 0; i < length; i++) {
+                final char c = s.charAt(i);
+                switch (c) {
+                case '"': raw("\\\""); break;
+                case '\\': raw("\\\\"); break;
+                case '\n': raw("\\n"); break;
+                case '\r': raw("\\r"); break;
+                case '\t': raw("\\t"); break;
+                case '\b': raw("\\b"); break;
+                case '\f': raw("\\f"); break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029' || isLoneSurrogate(s, i)) {
+                        unicodeEscape(c);
+                    } else {
+                        raw(c);
+                        if (Character.isHighSurrogate(c)) {
+                            raw(s.charAt(++i));
+                        }
+                    }
+                    break;
+                }
+            }
+            raw('"');
+        }
+
+        private void templateChars(final String s) {
+            final int length = s.length();
+            for (int i = 0; i < length; i++) {
+                final char c = s.charAt(i);
+                switch (c) {
+                case '`': raw("\\`"); break;
+                case '\\': raw("\\\\"); break;
+                case '\r': raw("\\r"); break;
+                case '$':
+                    if (i + 1 < length && s.charAt(i + 1) == '{') {
+                        raw('\\');
+                    }
+                    raw(c);
+                    break;
+                default:
+                    if (isLoneSurrogate(s, i)) {
+                        unicodeEscape(c);
+                    } else {
+                        raw(c);
+                        if (Character.isHighSurrogate(c)) {
+                            raw(s.charAt(++i));
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        private void unicodeEscape(final char c) {
+            raw("\\u");
+            for (int shift = 12; shift >= 0; shift -= 4) {
+                raw(Character.forDigit(c >> shift & 0xf, 16));
+            }
+        }
+
+        private static boolean isLoneSurrogate(final String s, final int i) {
+            final char c = s.charAt(i);
+            if (Character.isHighSurrogate(c)) {
+                return i + 1 == s.length() || !Character.isLowSurrogate(s.charAt(i + 1));
+            }
+            return Character.isLowSurrogate(c);
+        }
+
+        private static boolean isIdentifierPart(final char c) {
+            if (c < 0x80) {
+                return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '$' || c == '_' || c == '\\';
+            }
+            return Character.isUnicodeIdentifierPart(c);
+        }
+
+        private static boolean isIdentifierName(final String name) {
+            if (name.isEmpty() || name.charAt(0) >= '0' && name.charAt(0) <= '9') {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (!isIdentifierPart(name.charAt(i)) || name.charAt(i) == '\\') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // trees
+
+        void tree(final Tree tree) {
+            switch (tree.getKind()) {
+            case COMPILATION_UNIT:
+                compilationUnit((CompilationUnitTree) tree);
+                break;
+            case MODULE:
+                imports((ModuleTree) tree);
+                exports((ModuleTree) tree);
+                break;
+            case IMPORT_ENTRY:
+                importEntry((ImportEntryTree) tree);
+                break;
+            case EXPORT_ENTRY:
+                exportEntry((ExportEntryTree) tree);
+                break;
+            case CASE:
+                caseClause((CaseTree) tree);
+                break;
+            case CATCH:
+                catchClause((CatchTree) tree);
+                break;
+            case PROPERTY:
+                property((PropertyTree) tree, false);
+                break;
+            default:
+                if (tree instanceof StatementTree) {
+                    statement((StatementTree) tree);
+                } else if (tree instanceof ExpressionTree) {
+                    expression((ExpressionTree) tree, 0);
+                } else {
+                    throw new UnknownTreeException(tree, null);
+                }
+                break;
+            }
+        }
+
+        private void compilationUnit(final CompilationUnitTree unit) {
+            final ModuleTree module = unit.getModule();
+            if (module != null) {
+                localExports = module.getLocalExportEntries();
+                imports(module);
+            }
+            statements(unit.getSourceElements());
+            if (module != null) {
+                exports(module);
+            }
+        }
+
+        private void statements(final List<? extends Tree> statements) {
+            for (final Tree statement : statements) {
+                newline();
+                statement((StatementTree) statement);
+            }
+        }
+
+        // modules
+
+        private void imports(final ModuleTree module) {
+            final Map<String, List<ImportEntryTree>> byModule = new LinkedHashMap<>();
+            for (final ImportEntryTree entry : module.getImportEntries()) {
+                byModule.computeIfAbsent(entry.getModuleRequest().getName(), k -> new ArrayList<>()).add(entry);
+            }
+            for (final Map.Entry<String, List<ImportEntryTree>> e : byModule.entrySet()) {
+                ImportEntryTree defaultEntry = null;
+                final List<ImportEntryTree> named = new ArrayList<>();
+                for (final ImportEntryTree entry : e.getValue()) {
+                    final String importName = entry.getImportName().getName();
+                    if (importName.equals("*")) {
+                        importEntry(entry);
+                    } else if (importName.equals("default") && defaultEntry == null) {
+                        defaultEntry = entry;
+                    } else {
+                        named.add(entry);
+                    }
+                }
+                if (defaultEntry != null || !named.isEmpty()) {
+                    newline();
+                    word("import");
+                    if (defaultEntry != null) {
+                        raw(' ');
+                        word(defaultEntry.getLocalName().getName());
+                        if (!named.isEmpty()) {
+                            comma();
+                        }
+                    } else {
+                        space();
+                    }
+                    if (!named.isEmpty()) {
+                        raw('{');
+                        for (int i = 0; i < named.size(); i++) {
+                            if (i > 0) {
+                                comma();
+                            }
+                            specifier(named.get(i).getImportName().getName(), named.get(i).getLocalName().getName());
+                        }
+                        raw('}');
+                    }
+                    from(e.getKey());
+                }
+            }
+            // modules imported for their side effects only
+            for (final String request : module.getRequestedModules()) {
+                if (!byModule.containsKey(request) && !isExportedFrom(module, request)) {
+                    newline();
+                    word("import");
+                    space();
+                    string(request);
+                    raw(';');
+                }
+            }
+        }
+
+        private static boolean isExportedFrom(final ModuleTree module, final String request) {
+            for (final ExportEntryTree entry : module.getIndirectExportEntries()) {
+                if (entry.getModuleRequest().getName().equals(request)) {
+                    return true;
+                }
+            }
+            for (final ExportEntryTree entry : module.getStarExportEntries()) {
+                if (entry.getModuleRequest().getName().equals(request)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void exports(final ModuleTree module) {
+            if (localExports == null) {
+                localExports = module.getLocalExportEntries();
+            }
+            localExports(localExports.size(), true);
+            for (final ExportEntryTree entry : module.getIndirectExportEntries()) {
+                exportEntry(entry);
+            }
+            for (final ExportEntryTree entry : module.getStarExportEntries()) {
+                exportEntry(entry);
+            }
+        }
+
+        // prints the local exports not printed yet before the given index as one
+        // export list, so that entries keep their order around export default
+        private boolean localExports(final int end, final boolean onNewLine) {
+            boolean first = true;
+            for (int i = localExportsPrinted; i < end; i++) {
+                final ExportEntryTree entry = localExports.get(i);
+                final String localName = entry.getLocalName().getName();
+                // default exports of expressions are printed by their statement
+                if (!isIdentifierName(localName)) {
+                    continue;
+                }
+                if (first) {
+                    if (onNewLine) {
+                        newline();
+                    }
+                    word("export");
+                    space();
+                    raw('{');
+                    first = false;
+                } else {
+                    comma();
+                }
+                specifier(localName, entry.getExportName().getName());
+            }
+            if (!first) {
+                raw('}');
+                raw(';');
+            }
+            localExportsPrinted = Math.max(localExportsPrinted, end);
+            return !first;
+        }
+
+        private void exportDefault(final ExpressionTree expr) {
+            int index = localExportsPrinted;
+            while (index < localExports.size() && !localExports.get(index).getLocalName().getName().equals("*default*")) {
+                index++;
+            }
+            if (localExports(index, false)) {
+                newline();
+            }
+            localExportsPrinted = Math.min(index + 1, localExports.size());
+            word("export");
+            raw(' ');
+            word("default");
+            space();
+            expressionStatement(expr);
+        }
+
+        private void importEntry(final ImportEntryTree entry) {
+            newline();
+            word("import");
+            space();
+            final String importName = entry.getImportName().getName();
+            if (importName.equals("*")) {
+                raw('*');
+                space();
+                word("as");
+                raw(' ');
+                word(entry.getLocalName().getName());
+            } else if (importName.equals("default")) {
+                word(entry.getLocalName().getName());
+            } else {
+                raw('{');
+                specifier(importName, entry.getLocalName().getName());
+                raw('}');
+            }
+            from(entry.getModuleRequest().getName());
+        }
+
+        private void exportEntry(final ExportEntryTree entry) {
+            newline();
+            word("export");
+            space();
+            final IdentifierTree request = entry.getModuleRequest();
+            final IdentifierTree importName = entry.getImportName();
+            if (request != null && importName != null && importName.getName().equals("*")) {
+                raw('*');
+            } else {
+                raw('{');
+                final IdentifierTree local = request != null ? importName : entry.getLocalName();
+                specifier(local.getName(), entry.getExportName().getName());
+                raw('}');
+            }
+            if (request != null) {
+                from(request.getName());
+            } else {
+                raw(';');
+            }
+        }
+
+        private void specifier(final String name, final String as) {
+            word(name);
+            if (!name.equals(as)) {
+                raw(' ');
+                word("as");
+                raw(' ');
+                word(as);
+            }
+        }
+
+        private void from(final String request) {
+            space();
+            word("from");
+            space();
+            string(request);
+            raw(';');
+        }
+
+        // statements
+
+        private void statement(final StatementTree tree) {
+            switch (tree.getKind()) {
+            case BLOCK:
+                block(((BlockTree) tree).getStatements());
+                break;
+            case BREAK:
+                jump("break", ((BreakTree) tree).getLabel());
+                break;
+            case CONTINUE:
+                jump("continue", ((ContinueTree) tree).getLabel());
+                break;
+            case CLASS: {
+                final ClassDeclarationTree cls = (ClassDeclarationTree) tree;
+                classTail(cls.getName(), cls.getClassHeritage(), cls.getConstructor(), cls.getClassElements(), cls.getStartPosition());
+                break;
+            }
+            case DEBUGGER:
+                word("debugger");
+                raw(';');
+                break;
+            case DO_WHILE_LOOP: {
+                final DoWhileLoopTree loop = (DoWhileLoopTree) tree;
+                word("do");
+                body(loop.getStatement());
+                if (loop.getStatement().getKind() == Tree.Kind.BLOCK) {
+                    space();
+                } else {
+                    newline();
+                }
+                word("while");
+                parenthesized(loop.getCondition());
+                raw(';');
+                break;
+            }
+            case EMPTY_STATEMENT:
+                raw(';');
+                break;
+            case EXPRESSION_STATEMENT:
+                expressionStatement(((ExpressionStatementTree) tree).getExpression());
+                break;
+            case FOR_LOOP: {
+                final ForLoopTree loop = (ForLoopTree) tree;
+                word("for");
+                space();
+                raw('(');
+                final ExpressionTree init = loop.getInitializer();
+                if (init != null) {
+                    if (containsIn(init)) {
+                        raw('(');
+                        expression(init, 0);
+                        raw(')');
+                    } else {
+                        expression(init, 0);
+                    }
+                }
+                raw(';');
+                if (loop.getCondition() != null) {
+                    space();
+                    expression(loop.getCondition(), 0);
+                }
+                raw(';');
+                if (loop.getUpdate() != null) {
+                    space();
+                    expression(loop.getUpdate(), 0);
+                }
+                raw(')');
+                body(loop.getStatement());
+                break;
+            }
+            case FOR_IN_LOOP: {
+                if (tree instanceof ForOfLoopTree) {
+                    // for-of loops have the kind of for-in loops
+                    final ForOfLoopTree loop = (ForOfLoopTree) tree;
+                    word("for");
+                    space();
+                    raw('(');
+                    expression(loop.getVariable(), MEMBER);
+                    raw(' ');
+                    word("of");
+                    raw(' ');
+                    expression(loop.getExpression(), ASSIGNMENT);
+                    raw(')');
+                    body(loop.getStatement());
+                    break;
+                }
+                final ForInLoopTree loop = (ForInLoopTree) tree;
+                word("for");
+                if (loop.isForEach()) {
+                    raw(' ');
+                    word("each");
+                }
+                space();
+                raw('(');
+                expression(loop.getVariable(), MEMBER);
+                raw(' ');
+                word("in");
+                raw(' ');
+                expression(loop.getExpression(), 0);
+                raw(')');
+                body(loop.getStatement());
+                break;
+            }
+            case FUNCTION: {
+                final FunctionDeclarationTree func = (FunctionDeclarationTree) tree;
+                word("function");
+                if (func.isGenerator()) {
+                    raw('*');
+                }
+                raw(' ');
+                word(func.getName().getName());
+                parameters(func.getParameters());
+                space();
+                block(func.getBody().getStatements());
+                break;
+            }
+            case IF: {
+                final IfTree ifTree = (IfTree) tree;
+                word("if");
+                parenthesized(ifTree.getCondition());
+                final StatementTree then = ifTree.getThenStatement();
+                final StatementTree otherwise = ifTree.getElseStatement();
+                final boolean braced = otherwise != null && endsWithIfWithoutElse(then);
+                if (braced) {
+                    // keep the else from binding to the nested if
+                    space();
+                    block(Collections.singletonList(then));
+                } else {
+                    body(then);
+                }
+                if (otherwise != null) {
+                    if (braced || then.getKind() == Tree.Kind.BLOCK) {
+                        space();
+                    } else {
+                        newline();
+                    }
+                    word("else");
+                    if (otherwise.getKind() == Tree.Kind.IF) {
+                        raw(' ');
+                        statement(otherwise);
+                    } else {
+                        body(otherwise);
+                    }
+                }
+                break;
+            }
+            case LABELED_STATEMENT: {
+                final LabeledStatementTree labeled = (LabeledStatementTree) tree;
+                word(labeled.getLabel());
+                raw(':');
+                space();
+                statement(labeled.getStatement());
+                break;
+            }
+            case RETURN: {
+                final ExpressionTree expr = ((ReturnTree) tree).getExpression();
+                word("return");
+                if (expr != null) {
+                    space();
+                    expression(expr, 0);
+                }
+                raw(';');
+                break;
+            }
+            case SWITCH: {
+                final SwitchTree switchTree = (SwitchTree) tree;
+                word("switch");
+                parenthesized(switchTree.getExpression());
+                space();
+                raw('{');
+                depth++;
+                for (final CaseTree caseTree : switchTree.getCases()) {
+                    newline();
+                    caseClause(caseTree);
+                }
+                depth--;
+                newline();
+                raw('}');
+                break;
+            }
+            case THROW:
+                word("throw");
+                space();
+                expression(((ThrowTree) tree).getExpression(), 0);
+                raw(';');
+                break;
+            case TRY: {
+                final TryTree tryTree = (TryTree) tree;
+                word("try");
+                space();
+                block(tryTree.getBlock().getStatements());
+                for (final CatchTree catchTree : tryTree.getCatches()) {
+                    space();
+                    catchClause(catchTree);
+                }
+                if (tryTree.getFinallyBlock() != null) {
+                    space();
+                    word("finally");
+                    space();
+                    block(tryTree.getFinallyBlock().getStatements());
+                }
+                break;
+            }
+            case VARIABLE: {
+                final VariableTree var = (VariableTree) tree;
+                final ExpressionTree binding = var.getBinding();
+                if (localExports != null && binding.getKind() == Tree.Kind.IDENTIFIER
+                        && ((IdentifierTree) binding).getName().equals("*default*")) {
+                    exportDefault(var.getInitializer());
+                    break;
+                }
+                word(var.isConst() ? "const" : var.isLet() ? "let" : "var");
+                space();
+                expression(binding, ASSIGNMENT);
+                if (var.getInitializer() != null) {
+                    space();
+                    raw('=');
+                    space();
+                    expression(var.getInitializer(), ASSIGNMENT);
+                }
+                raw(';');
+                break;
+            }
+            case WHILE_LOOP: {
+                final WhileLoopTree loop = (WhileLoopTree) tree;
+                word("while");
+                parenthesized(loop.getCondition());
+                body(loop.getStatement());
+                break;
+            }
+            case WITH: {
+                final WithTree with = (WithTree) tree;
+                word("with");
+                parenthesized(with.getScope());
+                body(with.getStatement());
+                break;
+            }
+            default:
+                throw new UnknownTreeException(tree, null);
+            }
+        }
+
+        private void block(final List<? extends Tree> statements) {
+            raw('{');
+            if (!statements.isEmpty()) {
+                depth++;
+                statements(statements);
+                depth--;
+                newline();
+            }
+            raw('}');
+        }
+
+        // body of a compound statement
+        private void body(final StatementTree statement) {
+            if (statement.getKind() == Tree.Kind.BLOCK) {
+                space();
+                statement(statement);
+            } else if (statement.getKind() == Tree.Kind.EMPTY_STATEMENT) {
+                raw(';');
+            } else {
+                depth++;
+                newline();
+                statement(statement);
+                depth--;
+            }
+        }
+
+        private void jump(final String keyword, final String label) {
+            word(keyword);
+            if (label != null) {
+                raw(' ');
+                word(label);
+            }
+            raw(';');
+        }
+
+        private void parenthesized(final ExpressionTree expr) {
+            space();
+            raw('(');
+            expression(expr, 0);
+            raw(')');
+        }
+
+        private void caseClause(final CaseTree caseTree) {
+            if (caseTree.getExpression() != null) {
+                word("case");
+                space();
+                expression(caseTree.getExpression(), 0);
+            } else {
+                word("default");
+            }
+            raw(':');
+            depth++;
+            statements(caseTree.getStatements());
+            depth--;
+        }
+
+        private void catchClause(final CatchTree catchTree) {
+            word("catch");
+            space();
+            raw('(');
+            expression(catchTree.getParameter(), ASSIGNMENT);
+            if (catchTree.getCondition() != null) {
+                raw(' ');
+                word("if");
+                raw(' ');
+                expression(catchTree.getCondition(), 0);
+            }
+            raw(')');
+            space();
+            block(catchTree.getBlock().getStatements());
+        }
+
+        private void expressionStatement(final ExpressionTree expr) {
+            if (startsWithDeclarationKeyword(expr)) {
+                raw('(');
+                expression(expr, 0);
+                raw(')');
+            } else {
+                expression(expr, 0);
+            }
+            raw(';');
+        }
+
+        private static boolean endsWithIfWithoutElse(final StatementTree statement) {
+            StatementTree s = statement;
+            while (true) {
+                switch (s.getKind()) {
+                case IF:
+                    if (((IfTree) s).getElseStatement() == null) {
+                        return true;
+                    }
+                    s = ((IfTree) s).getElseStatement();
+                    break;
+                case LABELED_STATEMENT:
+                    s = ((LabeledStatementTree) s).getStatement();
+                    break;
+                case WHILE_LOOP:
+                case FOR_LOOP:
+                case FOR_IN_LOOP:
+                    s = ((LoopTree) s).getStatement();
+                    break;
+                case WITH:
+                    s = ((WithTree) s).getStatement();
+                    break;
+                default:
+                    return false;
+                }
+            }
+        }
+
+        // true if the printed expression would start with "{", "function" or "class"
+        private static boolean startsWithDeclarationKeyword(final ExpressionTree expr) {
+            ExpressionTree e = expr;
+            while (true) {
+                final ExpressionTree left = leftOperand(e);
+                if (left == null) {
+                    final Tree.Kind kind = e.getKind();
+                    return kind == Tree.Kind.OBJECT_LITERAL || kind == Tree.Kind.CLASS_EXPRESSION
+                            || kind == Tree.Kind.FUNCTION_EXPRESSION && !((FunctionExpressionTree) e).isArrow();
+                }
+                e = left;
+                if (precedence(e) < precedence(expr)) {
+                    // the operand is parenthesized
+                    return false;
+                }
+            }
+        }
+
+        private static boolean containsIn(final Tree tree) {
+            final List<Tree> pending = new ArrayList<>();
+            pending.add(tree);
+            while (!pending.isEmpty()) {
+                final Tree t = pending.remove(pending.size() - 1);
+                if (t.getKind() == Tree.Kind.IN) {
+                    return true;
+                } else if (t.getKind() != Tree.Kind.FUNCTION_EXPRESSION && t.getKind() != Tree.Kind.CLASS_EXPRESSION) {
+                    TreeChildren.addChildren(t, pending);
+                }
+            }
+            return false;
+        }
+
+        // expressions
+
+        private static int precedence(final ExpressionTree expr) {
+            if (expr.getKind() == Tree.Kind.FUNCTION_EXPRESSION && ((FunctionExpressionTree) expr).isArrow()) {
+                return ASSIGNMENT;
+            }
+            return PRECEDENCE[expr.getKind().ordinal()];
+        }
+
+        // prints an expression, parenthesized if it binds less tightly than minPrecedence
+        private void expression(final ExpressionTree expr, final int minPrecedence) {
+            // descend the left operands, which are printed first, and print
+            // the rest of each expression on the way back up
+            final int base = spine.size();
+            ExpressionTree e = expr;
+            int min = minPrecedence;
+            while (true) {
+                final int precedence = precedence(e);
+                if (precedence < min) {
+                    raw('(');
+                    spine.add(null);
+                    min = precedence;
+                }
+                final ExpressionTree left = leftOperand(e);
+                if (left == null) {
+                    break;
+                }
+                spine.add(e);
+                min = leftPrecedence(e, precedence);
+                e = left;
+            }
+            operand(e);
+            while (spine.size() > base) {
+                final ExpressionTree outer = spine.remove(spine.size() - 1);
+                if (outer == null) {
+                    raw(')');
+                } else {
+                    rest(outer);
+                }
+            }
+        }
+
+        // the operand printed first, if it is printed by rest
+        private static ExpressionTree leftOperand(final ExpressionTree expr) {
+            switch (expr.getKind()) {
+            case ARRAY_ACCESS:
+                return ((ArrayAccessTree) expr).getExpression();
+            case CONDITIONAL_EXPRESSION:
+                return ((ConditionalExpressionTree) expr).getCondition();
+            case FUNCTION_INVOCATION:
+                return ((FunctionCallTree) expr).getFunctionSelect();
+            case INSTANCE_OF:
+                return ((InstanceOfTree) expr).getExpression();
+            case MEMBER_SELECT: {
+                final ExpressionTree object = ((MemberSelectTree) expr).getExpression();
+                return object.getKind() != Tree.Kind.NUMBER_LITERAL? object : null;
+            }
+            case POSTFIX_INCREMENT:
+            case POSTFIX_DECREMENT:
+                return ((UnaryTree) expr).getExpression();
+            default:
+                if (expr instanceof BinaryTree) {
+                    return ((BinaryTree) expr).getLeftOperand();
+                } else if (expr instanceof AssignmentTree) {
+                    return ((AssignmentTree) expr).getVariable();
+                } else if (expr instanceof CompoundAssignmentTree) {
+                    return ((CompoundAssignmentTree) expr).getVariable();
+                }
+                return null;
+            }
+        }
+
+        // the minimum precedence of the left operand
+        private static int leftPrecedence(final ExpressionTree expr, final int precedence) {
+            switch (expr.getKind()) {
+            case CONDITIONAL_EXPRESSION:
+                return CONDITIONAL + 1;
+            case INSTANCE_OF:
+                return precedence;
+            default:
+                return expr instanceof BinaryTree? precedence : MEMBER;
+            }
+        }
+
+        // prints what follows the left operand of an expression
+        private void rest(final ExpressionTree expr) {
+            final Tree.Kind kind = expr.getKind();
+            switch (kind) {
+            case ARRAY_ACCESS:
+                raw('[');
+                expression(((ArrayAccessTree) expr).getIndex(), 0);
+                raw(']');
+                break;
+            case CONDITIONAL_EXPRESSION: {
+                final ConditionalExpressionTree cond = (ConditionalExpressionTree) expr;
+                operator("?");
+                expression(cond.getTrueExpression(), ASSIGNMENT);
+                operator(":");
+                expression(cond.getFalseExpression(), ASSIGNMENT);
+                break;
+            }
+            case FUNCTION_INVOCATION:
+                callArguments((FunctionCallTree) expr);
+                break;
+            case INSTANCE_OF:
+                operator(OPERATOR[kind.ordinal()]);
+                expression((ExpressionTree) ((InstanceOfTree) expr).getType(), precedence(expr) + 1);
+                break;
+            case MEMBER_SELECT:
+                raw('.');
+                raw(((MemberSelectTree) expr).getIdentifier());
+                break;
+            case POSTFIX_INCREMENT:
+            case POSTFIX_DECREMENT:
+                punctuator(OPERATOR[kind.ordinal()]);
+                break;
+            default:
+                if (kind == Tree.Kind.COMMA) {
+                    comma();
+                } else {
+                    operator(OPERATOR[kind.ordinal()]);
+                }
+                if (expr instanceof BinaryTree) {
+                    expression(((BinaryTree) expr).getRightOperand(), precedence(expr) + 1);
+                } else if (expr instanceof AssignmentTree) {
+                    expression(((AssignmentTree) expr).getExpression(), ASSIGNMENT);
+                } else {
+                    expression(((CompoundAssignmentTree) expr).getExpression(), ASSIGNMENT);
+                }
+                break;
+            }
+        }
+
+        // prints an expression that has no left operand
+        private void operand(final ExpressionTree expr) {
+            final Tree.Kind kind = expr.getKind();
+            switch (kind) {
+            case ARRAY_LITERAL: {
+                final List<? extends ExpressionTree> elements = ((ArrayLiteralTree) expr).getElements();
+                raw('[');
+                for (int i = 0; i < elements.size(); i++) {
+                    if (i > 0) {
+                        comma();
+                    }
+                    final ExpressionTree element = elements.get(i);
+                    if (element != null) {
+                        expression(element, ASSIGNMENT);
+                    } else if (i == elements.size() - 1) {
+                        // a trailing hole needs its own comma
+                        raw(',');
+                    }
+                }
+                raw(']');
+                break;
+            }
+            case CLASS_EXPRESSION: {
+                final ClassExpressionTree cls = (ClassExpressionTree) expr;
+                classTail(cls.getName(), cls.getClassHeritage(), cls.getConstructor(), cls.getClassElements(), cls.getStartPosition());
+                break;
+            }
+            case ERROR:
+                throw new IllegalArgumentException("erroneous tree at " + expr.getStartPosition());
+            case FUNCTION_EXPRESSION:
+                function((FunctionExpressionTree) expr, null);
+                break;
+            case IDENTIFIER: {
+                final IdentifierTree ident = (IdentifierTree) expr;
+                if (ident.isRestParameter()) {
+                    punctuator("...");
+                }
+                word(ident.getName());
+                break;
+            }
+            case MEMBER_SELECT: {
+                // "1.x" would be read as a number
+                final MemberSelectTree select = (MemberSelectTree) expr;
+                raw('(');
+                expression(select.getExpression(), 0);
+                raw(')');
+                raw('.');
+                raw(select.getIdentifier());
+                break;
+            }
+            case NEW: {
+                final ExpressionTree constructor = ((NewTree) expr).getConstructorExpression();
+                word("new");
+                raw(' ');
+                if (constructor.getKind() == Tree.Kind.FUNCTION_INVOCATION && !isTaggedTemplate((FunctionCallTree) constructor)) {
+                    final FunctionCallTree call = (FunctionCallTree) constructor;
+                    final ExpressionTree callee = call.getFunctionSelect();
+                    if (containsCall(callee)) {
+                        raw('(');
+                        expression(callee, 0);
+                        raw(')');
+                    } else {
+                        expression(callee, MEMBER);
+                    }
+                    arguments(call.getArguments(), 0);
+                } else {
+                    expression(constructor, PRIMARY);
+                }
+                break;
+            }
+            case OBJECT_LITERAL: {
+                final List<? extends PropertyTree> properties = ((ObjectLiteralTree) expr).getProperties();
+                raw('{');
+                for (int i = 0; i < properties.size(); i++) {
+                    if (i > 0) {
+                        comma();
+                    }
+                    property(properties.get(i), false);
+                }
+                raw('}');
+                break;
+            }
+            case PARENTHESIZED:
+                raw('(');
+                expression(((ParenthesizedTree) expr).getExpression(), 0);
+                raw(')');
+                break;
+            case REGEXP_LITERAL: {
+                final RegExpLiteralTree regexp = (RegExpLiteralTree) expr;
+                punctuator("/");
+                raw(regexp.getPattern());
+                raw('/');
+                raw(regexp.getOptions());
+                break;
+            }
+            case TEMPLATE_LITERAL: {
+                final List<? extends ExpressionTree> parts = ((TemplateLiteralTree) expr).getExpressions();
+                raw('`');
+                for (int i = 0; i < parts.size(); i++) {
+                    if ((i & 1) == 0) {
+                        templateChars(String.valueOf(((LiteralTree) parts.get(i)).getValue()));
+                    } else {
+                        raw("${");
+                        expression(parts.get(i), 0);
+                        raw('}');
+                    }
+                }
+                raw('`');
+                break;
+            }
+            case SPREAD:
+                punctuator("...");
+                expression(((SpreadTree) expr).getExpression(), ASSIGNMENT);
+                break;
+            case YIELD: {
+                final YieldTree yield = (YieldTree) expr;
+                word("yield");
+                if (yield.isStar()) {
+                    raw('*');
+                }
+                if (yield.getExpression() != null) {
+                    space();
+                    expression(yield.getExpression(), ASSIGNMENT);
+                }
+                break;
+            }
+            case NUMBER_LITERAL:
+                number(((LiteralTree) expr).getValue());
+                break;
+            case STRING_LITERAL:
+                string(String.valueOf(((LiteralTree) expr).getValue()));
+                break;
+            case BOOLEAN_LITERAL:
+                word(String.valueOf(((LiteralTree) expr).getValue()));
+                break;
+            case NULL_LITERAL:
+                word("null");
+                break;
+            default:
+                if (expr instanceof UnaryTree) {
+                    final String op = OPERATOR[kind.ordinal()];
+                    if (isIdentifierPart(op.charAt(0))) {
+                        word(op);
+                        raw(' ');
+                    } else {
+                        punctuator(op);
+                    }
+                    final boolean prefixUpdate = kind == Tree.Kind.PREFIX_INCREMENT || kind == Tree.Kind.PREFIX_DECREMENT;
+                    expression(((UnaryTree) expr).getExpression(), prefixUpdate ? MEMBER : UNARY);
+                } else {
+                    throw new UnknownTreeException(expr, null);
+                }
+                break;
+            }
+        }
+
+        // prints the arguments of a call, or the template of a tagged template
+        private void callArguments(final FunctionCallTree call) {
+            final List<? extends ExpressionTree> args = call.getArguments();
+            if (isTaggedTemplate(call)) {
+                final List<? extends ExpressionTree> strings = ((ArrayLiteralTree) args.get(0)).getElements();
+                raw('`');
+                for (int i = 0; i < strings.size(); i++) {
+                    if (i > 0) {
+                        raw("${");
+                        expression(args.get(i), 0);
+                        raw('}');
+                    }
+                    // the strings of a tagged template are kept raw
+                    raw(String.valueOf(((LiteralTree) strings.get(i)).getValue()));
+                }
+                raw('`');
+            } else {
+                arguments(args, 0);
+            }
+        }
+
+        // tagged templates are calls whose first argument is the array of template strings
+        private static boolean isTaggedTemplate(final FunctionCallTree call) {
+            final List<? extends ExpressionTree> args = call.getArguments();
+            if (args.isEmpty() || args.get(0).getKind() != Tree.Kind.ARRAY_LITERAL
+                    || args.get(0).getStartPosition() != call.getStartPosition()
+                    || call.getFunctionSelect().getStartPosition() == call.getStartPosition()) {
+                return false;
+            }
+            final List<? extends ExpressionTree> strings = ((ArrayLiteralTree) args.get(0)).getElements();
+            if (strings.size() != args.size()) {
+                return false;
+            }
+            for (final ExpressionTree s : strings) {
+                if (s == null || s.getKind() != Tree.Kind.STRING_LITERAL) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // true if the callee of a new expression would take the arguments of a call in it
+        private static boolean containsCall(final ExpressionTree callee) {
+            ExpressionTree e = callee;
+            while (true) {
+                switch (e.getKind()) {
+                case MEMBER_SELECT:
+                    e = ((MemberSelectTree) e).getExpression();
+                    break;
+                case ARRAY_ACCESS:
+                    e = ((ArrayAccessTree) e).getExpression();
+                    break;
+                case FUNCTION_INVOCATION:
+                    return true;
+                default:
+                    return precedence(e) < MEMBER;
+                }
+            }
+        }
+
+        private void arguments(final List<? extends ExpressionTree> args, final int from) {
+            raw('(');
+            for (int i = from; i < args.size(); i++) {
+                if (i > from) {
+                    comma();
+                }
+                expression(args.get(i), ASSIGNMENT);
+            }
+            raw(')');
+        }
+
+        private void parameters(final List<? extends ExpressionTree> params) {
+            arguments(params, 0);
+        }
+
+        // prints a function expression, or a method if key is given
+        private void function(final FunctionExpressionTree func, final PropertyTree key) {
+            if (func.isArrow()) {
+                parameters(func.getParameters());
+                operator("=>");
+                final Tree body = func.getBody();
+                if (body.getKind() == Tree.Kind.BLOCK) {
+                    block(((BlockTree) body).getStatements());
+                } else if (body.getKind() == Tree.Kind.OBJECT_LITERAL || startsWithDeclarationKeyword((ExpressionTree) body)) {
+                    raw('(');
+                    expression((ExpressionTree) body, 0);
+                    raw(')');
+                } else {
+                    expression((ExpressionTree) body, ASSIGNMENT);
+                }
+                return;
+            }
+            if (key != null) {
+                if (func.isGenerator()) {
+                    raw('*');
+                }
+                propertyKey(key);
+            } else {
+                word("function");
+                if (func.isGenerator()) {
+                    raw('*');
+                }
+                if (func.getName() != null) {
+                    raw(' ');
+                    word(func.getName().getName());
+                }
+            }
+            parameters(func.getParameters());
+            space();
+            final Tree body = func.getBody();
+            if (body.getKind() == Tree.Kind.BLOCK) {
+                block(((BlockTree) body).getStatements());
+            } else {
+                // expression closure
+                expression((ExpressionTree) body, ASSIGNMENT);
+            }
+        }
+
+        private void classTail(final IdentifierTree name, final ExpressionTree heritage, final PropertyTree constructor,
+                final List<? extends PropertyTree> elements, final long start) {
+            word("class");
+            if (name != null) {
+                raw(' ');
+                word(name.getName());
+            }
+            if (heritage != null) {
+                raw(' ');
+                word("extends");
+                raw(' ');
+                expression(heritage, MEMBER);
+            }
+            space();
+            raw('{');
+            depth++;
+            // a constructor that starts with the class itself was not written in the source
+            if (constructor != null && constructor.getStartPosition() != start) {
+                newline();
+                property(constructor, true);
+            }
+            for (final PropertyTree element : elements) {
+                newline();
+                property(element, true);
+            }
+            depth--;
+            if (constructor != null && constructor.getStartPosition() != start || !elements.isEmpty()) {
+                newline();
+            }
+            raw('}');
+        }
+
+        private void property(final PropertyTree property, final boolean classElement) {
+            if (property.isStatic()) {
+                word("static");
+                raw(' ');
+            }
+            if (property.getGetter() != null || property.getSetter() != null) {
+                if (property.getGetter() != null) {
+                    accessor("get", property, property.getGetter());
+                }
+                if (property.getSetter() != null) {
+                    if (property.getGetter() != null) {
+                        if (classElement) {
+                            newline();
+                        } else {
+                            comma();
+                        }
+                        if (property.isStatic()) {
+                            word("static");
+                            raw(' ');
+                        }
+                    }
+                    accessor("set", property, property.getSetter());
+                }
+                return;
+            }
+            final ExpressionTree value = property.getValue();
+            if (value != null && value.getKind() == Tree.Kind.FUNCTION_EXPRESSION && isMethod(property, (FunctionExpressionTree) value, classElement)) {
+                function((FunctionExpressionTree) value, property);
+                return;
+            }
+            propertyKey(property);
+            if (value != null) {
+                raw(':');
+                space();
+                expression(value, ASSIGNMENT);
+            }
+        }
+
+        private void accessor(final String kind, final PropertyTree property, final FunctionExpressionTree func) {
+            word(kind);
+            raw(' ');
+            propertyKey(property);
+            parameters(func.getParameters());
+            space();
+            block(((BlockTree) func.getBody()).getStatements());
+        }
+
+        // class elements are all methods; in object literals, methods are named after their key
+        private static boolean isMethod(final PropertyTree property, final FunctionExpressionTree func, final boolean classElement) {
+            if (classElement) {
+                return true;
+            }
+            if (func.isArrow() || func.getName() == null || func.getBody().getKind() != Tree.Kind.BLOCK) {
+                return false;
+            }
+            final ExpressionTree key = property.getKey();
+            return !property.isComputed() && key.getKind() == Tree.Kind.IDENTIFIER
+                    && ((IdentifierTree) key).getName().equals(func.getName().getName());
+        }
+
+        private void propertyKey(final PropertyTree property) {
+            final ExpressionTree key = property.getKey();
+            if (property.isComputed()) {
+                raw('[');
+                expression(key, ASSIGNMENT);
+                raw(']');
+            } else if (key.getKind() == Tree.Kind.IDENTIFIER) {
+                word(((IdentifierTree) key).getName());
+            } else {
+                expression(key, PRIMARY);
+            }
+        }
+    }
+}
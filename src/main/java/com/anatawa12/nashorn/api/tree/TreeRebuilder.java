@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.anatawa12.nashorn.internal.ir.AccessNode;
+import com.anatawa12.nashorn.internal.ir.BinaryNode;
+import com.anatawa12.nashorn.internal.ir.Block;
+import com.anatawa12.nashorn.internal.ir.BlockStatement;
+import com.anatawa12.nashorn.internal.ir.BreakNode;
+import com.anatawa12.nashorn.internal.ir.CallNode;
+import com.anatawa12.nashorn.internal.ir.CaseNode;
+import com.anatawa12.nashorn.internal.ir.CatchNode;
+import com.anatawa12.nashorn.internal.ir.ClassNode;
+import com.anatawa12.nashorn.internal.ir.ContinueNode;
+import com.anatawa12.nashorn.internal.ir.DebuggerNode;
+import com.anatawa12.nashorn.internal.ir.EmptyNode;
+import com.anatawa12.nashorn.internal.ir.ErrorNode;
+import com.anatawa12.nashorn.internal.ir.Expression;
+import com.anatawa12.nashorn.internal.ir.ExpressionStatement;
+import com.anatawa12.nashorn.internal.ir.ForNode;
+import com.anatawa12.nashorn.internal.ir.FunctionNode;
+import com.anatawa12.nashorn.internal.ir.IdentNode;
+import com.anatawa12.nashorn.internal.ir.IfNode;
+import com.anatawa12.nashorn.internal.ir.LabelNode;
+import com.anatawa12.nashorn.internal.ir.LiteralNode;
+import com.anatawa12.nashorn.internal.ir.ObjectNode;
+import com.anatawa12.nashorn.internal.ir.PropertyNode;
+import com.anatawa12.nashorn.internal.ir.ReturnNode;
+import com.anatawa12.nashorn.internal.ir.SwitchNode;
+import com.anatawa12.nashorn.internal.ir.TernaryNode;
+import com.anatawa12.nashorn.internal.ir.ThrowNode;
+import com.anatawa12.nashorn.internal.ir.TryNode;
+import com.anatawa12.nashorn.internal.ir.UnaryNode;
+import com.anatawa12.nashorn.internal.ir.VarNode;
+import com.anatawa12.nashorn.internal.ir.WhileNode;
+import com.anatawa12.nashorn.internal.ir.WithNode;
+
+/**
+ * Rebuilds a single tree around the transformed versions of its direct
+ * children, used by {@link TreeTransformer}. A tree none of whose children
+ * changed is returned as is, and so are child lists without changes, so
+ * only the trees on the path from a change to the root are copied. A copy
+ * wraps the same IR node as the original and so keeps its positions.
+ *
+ * <p>In copying mode every tree is rebuilt, whether or not its children
+ * changed, which {@link TreeTransformer} uses to copy a replacement that is
+ * placed a second time. Module records and their entries are never rebuilt.
+ */
+final class TreeRebuilder implements TreeVisitor<Tree, Void> {
+    // transformed trees by original tree; a null value means "removed"
+    private final Map<Tree, Tree> results;
+    // true to rebuild every tree
+    private final boolean copying;
+    // set when any child looked up since the last reset differs
+    private boolean changed;
+
+    TreeRebuilder(final Map<Tree, Tree> results, final boolean copying) {
+        this.results = results;
+        this.copying = copying;
+    }
+
+    /**
+     * Returns the given tree with its direct children replaced by their
+     * transformed versions.
+     *
+     * @param tree the original tree
+     * @return the tree itself if no child changed and not copying, a copy otherwise
+     * @throws IllegalArgumentException if a child was replaced by a tree
+     *         that does not fit where it is used, or a child the tree
+     *         cannot do without was removed
+     */
+    Tree rebuild(final Tree tree) {
+        changed = copying;
+        return tree.accept(this, null);
+    }
+
+    // a child the parent cannot do without
+    private <T extends Tree> T child(final T original, final Class<T> type, final Tree parent) {
+        final T result = optionalChild(original, type, parent);
+        if (result == null && original != null) {
+            throw new IllegalArgumentException("cannot remove " + original.getKind() + " from " + parent.getKind());
+        }
+        return result;
+    }
+
+    // a child whose place may be left empty
+    private <T extends Tree> T optionalChild(final T original, final Class<T> type, final Tree parent) {
+        if (original == null || !results.containsKey(original)) {
+            return original;
+        }
+        final Tree result = results.get(original);
+        if (result != original) {
+            changed = true;
+        }
+        return checked(result, type, original, parent);
+    }
+
+    private <T extends Tree> List<? extends T> children(final List<? extends T> originals, final Class<T> type, final Tree parent) {
+        if (originals == null) {
+            return null;
+        }
+
+        List<T> copy = null;
+        for (int i = 0; i < originals.size(); i++) {
+            final T original = originals.get(i);
+            if (original == null || !results.containsKey(original)) {
+                if (copy != null) {
+                    copy.add(original);
+                }
+                continue;
+            }
+            final Tree result = results.get(original);
+            if (result == original && copy == null) {
+                continue;
+            }
+            if (copy == null) {
+                copy = new ArrayList<>(originals.subList(0, i));
+            }
+            if (result != null) {
+                // removed elements are simply left out
+                copy.add(checked(result, type, original, parent));
+            }
+        }
+        if (copy == null) {
+            return originals;
+        }
+        changed = true;
+        return copy;
+    }
+
+    private static <T extends Tree> T checked(final Tree result, final Class<T> type, final Tree original, final Tree parent) {
+        if (result != null && !type.isInstance(result)) {
+            throw new IllegalArgumentException("cannot replace " + original.getKind() + " by " +
+                    result.getKind() + " in " + parent.getKind());
+        }
+        return type.cast(result);
+    }
+
+    private static <N> N node(final Tree tree, final Class<N> type) {
+        return type.cast(((TreeImpl) tree).node);
+    }
+
+    @Override
+    public Tree visitAssignment(final AssignmentTree node, final Void r) {
+        final ExpressionTree var = child(node.getVariable(), ExpressionTree.class, node);
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new AssignmentTreeImpl(node(node, BinaryNode.class), var, expr) : node;
+    }
+
+    @Override
+    public Tree visitCompoundAssignment(final CompoundAssignmentTree node, final Void r) {
+        final ExpressionTree var = child(node.getVariable(), ExpressionTree.class, node);
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new CompoundAssignmentTreeImpl(node(node, BinaryNode.class), var, expr) : node;
+    }
+
+    @Override
+    public Tree visitBinary(final BinaryTree node, final Void r) {
+        final ExpressionTree left = child(node.getLeftOperand(), ExpressionTree.class, node);
+        final ExpressionTree right = child(node.getRightOperand(), ExpressionTree.class, node);
+        return changed? new BinaryTreeImpl(node(node, BinaryNode.class), left, right) : node;
+    }
+
+    @Override
+    public Tree visitBlock(final BlockTree node, final Void r) {
+        final List<? extends StatementTree> stats = children(node.getStatements(), StatementTree.class, node);
+        if (!changed) {
+            return node;
+        }
+        final Object block = ((TreeImpl) node).node;
+        return block instanceof BlockStatement?
+            new BlockTreeImpl((BlockStatement) block, stats) :
+            new BlockTreeImpl((Block) block, stats);
+    }
+
+    @Override
+    public Tree visitBreak(final BreakTree node, final Void r) {
+        return changed? new BreakTreeImpl(node(node, BreakNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitCase(final CaseTree node, final Void r) {
+        final ExpressionTree expr = optionalChild(node.getExpression(), ExpressionTree.class, node);
+        final List<? extends StatementTree> stats = children(node.getStatements(), StatementTree.class, node);
+        return changed? new CaseTreeImpl(node(node, CaseNode.class), expr, stats) : node;
+    }
+
+    @Override
+    public Tree visitCatch(final CatchTree node, final Void r) {
+        final ExpressionTree param = child(node.getParameter(), ExpressionTree.class, node);
+        final ExpressionTree cond = optionalChild(node.getCondition(), ExpressionTree.class, node);
+        final BlockTree block = child(node.getBlock(), BlockTree.class, node);
+        return changed? new CatchTreeImpl(node(node, CatchNode.class), param, block, cond) : node;
+    }
+
+    @Override
+    public Tree visitClassDeclaration(final ClassDeclarationTree node, final Void r) {
+        final IdentifierTree name = child(node.getName(), IdentifierTree.class, node);
+        final ExpressionTree heritage = optionalChild(node.getClassHeritage(), ExpressionTree.class, node);
+        final PropertyTree constructor = optionalChild(node.getConstructor(), PropertyTree.class, node);
+        final List<? extends PropertyTree> elements = children(node.getClassElements(), PropertyTree.class, node);
+        return changed? new ClassDeclarationTreeImpl(node(node, VarNode.class), name, heritage, constructor, elements) : node;
+    }
+
+    @Override
+    public Tree visitClassExpression(final ClassExpressionTree node, final Void r) {
+        final IdentifierTree name = optionalChild(node.getName(), IdentifierTree.class, node);
+        final ExpressionTree heritage = optionalChild(node.getClassHeritage(), ExpressionTree.class, node);
+        final PropertyTree constructor = optionalChild(node.getConstructor(), PropertyTree.class, node);
+        final List<? extends PropertyTree> elements = children(node.getClassElements(), PropertyTree.class, node);
+        return changed? new ClassExpressionTreeImpl(node(node, ClassNode.class), name, heritage, constructor, elements) : node;
+    }
+
+    @Override
+    public Tree visitConditionalExpression(final ConditionalExpressionTree node, final Void r) {
+        final ExpressionTree cond = child(node.getCondition(), ExpressionTree.class, node);
+        final ExpressionTree trueExpr = child(node.getTrueExpression(), ExpressionTree.class, node);
+        final ExpressionTree falseExpr = child(node.getFalseExpression(), ExpressionTree.class, node);
+        return changed? new ConditionalExpressionTreeImpl(node(node, TernaryNode.class), cond, trueExpr, falseExpr) : node;
+    }
+
+    @Override
+    public Tree visitContinue(final ContinueTree node, final Void r) {
+        return changed? new ContinueTreeImpl(node(node, ContinueNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitDebugger(final DebuggerTree node, final Void r) {
+        return changed? new DebuggerTreeImpl(node(node, DebuggerNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitDoWhileLoop(final DoWhileLoopTree node, final Void r) {
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        final ExpressionTree cond = child(node.getCondition(), ExpressionTree.class, node);
+        return changed? new DoWhileLoopTreeImpl(node(node, WhileNode.class), cond, stat) : node;
+    }
+
+    @Override
+    public Tree visitErroneous(final ErroneousTree node, final Void r) {
+        return changed? new ErroneousTreeImpl(node(node, ErrorNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitExpressionStatement(final ExpressionStatementTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new ExpressionStatementTreeImpl(node(node, ExpressionStatement.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitForLoop(final ForLoopTree node, final Void r) {
+        final ExpressionTree init = optionalChild(node.getInitializer(), ExpressionTree.class, node);
+        final ExpressionTree cond = optionalChild(node.getCondition(), ExpressionTree.class, node);
+        final ExpressionTree update = optionalChild(node.getUpdate(), ExpressionTree.class, node);
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new ForLoopTreeImpl(node(node, ForNode.class), init, cond, update, stat) : node;
+    }
+
+    @Override
+    public Tree visitForInLoop(final ForInLoopTree node, final Void r) {
+        final ExpressionTree var = child(node.getVariable(), ExpressionTree.class, node);
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new ForInLoopTreeImpl(node(node, ForNode.class), var, expr, stat) : node;
+    }
+
+    @Override
+    public Tree visitForOfLoop(final ForOfLoopTree node, final Void r) {
+        final ExpressionTree var = child(node.getVariable(), ExpressionTree.class, node);
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new ForOfLoopTreeImpl(node(node, ForNode.class), var, expr, stat) : node;
+    }
+
+    @Override
+    public Tree visitFunctionCall(final FunctionCallTree node, final Void r) {
+        final ExpressionTree function = child(node.getFunctionSelect(), ExpressionTree.class, node);
+        final List<? extends ExpressionTree> args = children(node.getArguments(), ExpressionTree.class, node);
+        return changed? new FunctionCallTreeImpl(node(node, CallNode.class), function, args) : node;
+    }
+
+    @Override
+    public Tree visitFunctionDeclaration(final FunctionDeclarationTree node, final Void r) {
+        final IdentifierTree name = child(node.getName(), IdentifierTree.class, node);
+        final List<? extends ExpressionTree> params = children(node.getParameters(), ExpressionTree.class, node);
+        final BlockTree body = child(node.getBody(), BlockTree.class, node);
+        return changed? new FunctionDeclarationTreeImpl((FunctionDeclarationTreeImpl) node, name, params, body) : node;
+    }
+
+    @Override
+    public Tree visitFunctionExpression(final FunctionExpressionTree node, final Void r) {
+        final IdentifierTree name = optionalChild(node.getName(), IdentifierTree.class, node);
+        final List<? extends ExpressionTree> params = children(node.getParameters(), ExpressionTree.class, node);
+        // the body of an arrow function may be an expression
+        final Tree body = child(node.getBody(), Tree.class, node);
+        return changed? new FunctionExpressionTreeImpl((FunctionExpressionTreeImpl) node, name, params, body) : node;
+    }
+
+    @Override
+    public Tree visitIdentifier(final IdentifierTree node, final Void r) {
+        return changed? new IdentifierTreeImpl(node(node, IdentNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitIf(final IfTree node, final Void r) {
+        final ExpressionTree cond = child(node.getCondition(), ExpressionTree.class, node);
+        final StatementTree thenStat = child(node.getThenStatement(), StatementTree.class, node);
+        final StatementTree elseStat = optionalChild(node.getElseStatement(), StatementTree.class, node);
+        return changed? new IfTreeImpl(node(node, IfNode.class), cond, thenStat, elseStat) : node;
+    }
+
+    @Override
+    public Tree visitArrayAccess(final ArrayAccessTree node, final Void r) {
+        final ExpressionTree base = child(node.getExpression(), ExpressionTree.class, node);
+        final ExpressionTree index = child(node.getIndex(), ExpressionTree.class, node);
+        return changed? new ArrayAccessTreeImpl(node(node, Expression.class), base, index) : node;
+    }
+
+    @Override
+    public Tree visitArrayLiteral(final ArrayLiteralTree node, final Void r) {
+        final List<? extends ExpressionTree> elements = children(node.getElements(), ExpressionTree.class, node);
+        return changed? new ArrayLiteralTreeImpl(node(node, LiteralNode.class), elements) : node;
+    }
+
+    @Override
+    public Tree visitLabeledStatement(final LabeledStatementTree node, final Void r) {
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new LabeledStatementTreeImpl(node(node, LabelNode.class), stat) : node;
+    }
+
+    @Override
+    public Tree visitLiteral(final LiteralTree node, final Void r) {
+        return changed? new LiteralTreeImpl(node(node, LiteralNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitParenthesized(final ParenthesizedTree node, final Void r) {
+        // never produced by the parser
+        return node;
+    }
+
+    @Override
+    public Tree visitReturn(final ReturnTree node, final Void r) {
+        final ExpressionTree expr = optionalChild(node.getExpression(), ExpressionTree.class, node);
+        return changed? new ReturnTreeImpl(node(node, ReturnNode.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitMemberSelect(final MemberSelectTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new MemberSelectTreeImpl(node(node, AccessNode.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitNew(final NewTree node, final Void r) {
+        final ExpressionTree constr = child(node.getConstructorExpression(), ExpressionTree.class, node);
+        return changed? new NewTreeImpl(node(node, UnaryNode.class), constr) : node;
+    }
+
+    @Override
+    public Tree visitObjectLiteral(final ObjectLiteralTree node, final Void r) {
+        final List<? extends PropertyTree> props = children(node.getProperties(), PropertyTree.class, node);
+        return changed? new ObjectLiteralTreeImpl(node(node, ObjectNode.class), props) : node;
+    }
+
+    @Override
+    public Tree visitProperty(final PropertyTree node, final Void r) {
+        final ExpressionTree key = child(node.getKey(), ExpressionTree.class, node);
+        final ExpressionTree value = child(node.getValue(), ExpressionTree.class, node);
+        final FunctionExpressionTree getter = optionalChild(node.getGetter(), FunctionExpressionTree.class, node);
+        final FunctionExpressionTree setter = optionalChild(node.getSetter(), FunctionExpressionTree.class, node);
+        return changed? new PropertyTreeImpl(node(node, PropertyNode.class), key, value, getter, setter) : node;
+    }
+
+    @Override
+    public Tree visitRegExpLiteral(final RegExpLiteralTree node, final Void r) {
+        return changed? new RegExpLiteralTreeImpl(node(node, LiteralNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitTemplateLiteral(final TemplateLiteralTree node, final Void r) {
+        final List<? extends ExpressionTree> exprs = children(node.getExpressions(), ExpressionTree.class, node);
+        return changed? new TemplateLiteralTreeImpl(node(node, Expression.class), exprs) : node;
+    }
+
+    @Override
+    public Tree visitEmptyStatement(final EmptyStatementTree node, final Void r) {
+        return changed? new EmptyStatementTreeImpl(node(node, EmptyNode.class)) : node;
+    }
+
+    @Override
+    public Tree visitSpread(final SpreadTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new SpreadTreeImpl(node(node, Expression.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitSwitch(final SwitchTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        final List<? extends CaseTree> cases = children(node.getCases(), CaseTree.class, node);
+        return changed? new SwitchTreeImpl(node(node, SwitchNode.class), expr, cases) : node;
+    }
+
+    @Override
+    public Tree visitThrow(final ThrowTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new ThrowTreeImpl(node(node, ThrowNode.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitCompilationUnit(final CompilationUnitTree node, final Void r) {
+        final ModuleTree module = child(node.getModule(), ModuleTree.class, node);
+        final List<? extends Tree> elements = children(node.getSourceElements(), Tree.class, node);
+        return changed? new CompilationUnitTreeImpl(node(node, FunctionNode.class), elements, module, node.getComments()) : node;
+    }
+
+    @Override
+    public Tree visitModule(final ModuleTree node, final Void r) {
+        return node;
+    }
+
+    @Override
+    public Tree visitExportEntry(final ExportEntryTree node, final Void r) {
+        return node;
+    }
+
+    @Override
+    public Tree visitImportEntry(final ImportEntryTree node, final Void r) {
+        return node;
+    }
+
+    @Override
+    public Tree visitTry(final TryTree node, final Void r) {
+        final BlockTree block = child(node.getBlock(), BlockTree.class, node);
+        final List<? extends CatchTree> catches = children(node.getCatches(), CatchTree.class, node);
+        final BlockTree finallyBlock = optionalChild(node.getFinallyBlock(), BlockTree.class, node);
+        return changed? new TryTreeImpl(node(node, TryNode.class), block, catches, finallyBlock) : node;
+    }
+
+    @Override
+    public Tree visitInstanceOf(final InstanceOfTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        final ExpressionTree type = child((ExpressionTree) node.getType(), ExpressionTree.class, node);
+        return changed? new InstanceOfTreeImpl(node(node, BinaryNode.class), expr, type) : node;
+    }
+
+    @Override
+    public Tree visitUnary(final UnaryTree node, final Void r) {
+        final ExpressionTree expr = child(node.getExpression(), ExpressionTree.class, node);
+        return changed? new UnaryTreeImpl(node(node, UnaryNode.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitVariable(final VariableTree node, final Void r) {
+        final ExpressionTree binding = child(node.getBinding(), ExpressionTree.class, node);
+        final ExpressionTree init = optionalChild(node.getInitializer(), ExpressionTree.class, node);
+        if (!changed) {
+            return node;
+        }
+        if (node instanceof DestructuringDeclTreeImpl) {
+            return new DestructuringDeclTreeImpl(node(node, ExpressionStatement.class), binding, init);
+        }
+        return new VariableTreeImpl(node(node, VarNode.class), checked(binding, IdentifierTree.class, node.getBinding(), node), init);
+    }
+
+    @Override
+    public Tree visitWhileLoop(final WhileLoopTree node, final Void r) {
+        final ExpressionTree cond = child(node.getCondition(), ExpressionTree.class, node);
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new WhileLoopTreeImpl(node(node, WhileNode.class), cond, stat) : node;
+    }
+
+    @Override
+    public Tree visitWith(final WithTree node, final Void r) {
+        final ExpressionTree scope = child(node.getScope(), ExpressionTree.class, node);
+        final StatementTree stat = child(node.getStatement(), StatementTree.class, node);
+        return changed? new WithTreeImpl(node(node, WithNode.class), scope, stat) : node;
+    }
+
+    @Override
+    public Tree visitYield(final YieldTree node, final Void r) {
+        final ExpressionTree expr = optionalChild(node.getExpression(), ExpressionTree.class, node);
+        return changed? new YieldTreeImpl(node(node, Expression.class), expr) : node;
+    }
+
+    @Override
+    public Tree visitUnknown(final Tree node, final Void r) {
+        return node;
+    }
+}
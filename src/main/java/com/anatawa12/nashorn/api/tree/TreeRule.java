@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A check run by a {@link TreeRuleRunner}. A rule declares the tree kinds
+ * it is interested in and is called back for every tree of those kinds,
+ * in pre-order, during the single traversal the runner makes over each
+ * compilation unit. Rules do not traverse by themselves.
+ *
+ * <p>A runner may call the same rule concurrently for different
+ * compilation units, so rules should keep per-unit state in the
+ * {@link Context} results rather than in fields.
+ *
+ * @param <R> the type of results reported by this rule
+ */
+public interface TreeRule<R> {
+    /**
+     * Returns the kinds of trees this rule wants to visit.
+     *
+     * @return set of tree kinds
+     */
+    Set<Tree.Kind> getKinds();
+
+    /**
+     * Called for each tree whose kind is in {@link #getKinds()}.
+     *
+     * @param tree the tree being visited
+     * @param context the context to report results to
+     */
+    void visit(Tree tree, Context<R> context);
+
+    /**
+     * Per compilation unit context passed to rules.
+     *
+     * @param <R> the type of reported results
+     */
+    public interface Context<R> {
+        /**
+         * Returns the compilation unit being checked.
+         *
+         * @return the compilation unit
+         */
+        CompilationUnitTree getCompilationUnit();
+
+        /**
+         * Returns the parent of a tree of the compilation unit being checked.
+         *
+         * @param tree the tree
+         * @return the parent or null for the compilation unit
+         * @see TreePath#getParent(CompilationUnitTree, Tree)
+         */
+        Tree getParent(Tree tree);
+
+        /**
+         * Reports a result for the compilation unit being checked.
+         *
+         * @param result the result
+         */
+        void report(R result);
+    }
+
+    /**
+     * Adapts a tree visitor to a rule. The visitor is called through
+     * {@link Tree#accept} for each tree of the given kinds and must not
+     * visit children by itself; a {@link SimpleTreeVisitorES6} subclass
+     * whose overridden visit methods do not call {@code super} does this.
+     *
+     * @param <R> the type of reported results
+     * @param visitor the visitor
+     * @param first the first kind the visitor is interested in
+     * @param rest the other kinds the visitor is interested in
+     * @return a rule delegating to the visitor
+     */
+    public static <R> TreeRule<R> fromVisitor(final TreeVisitor<?, Context<R>> visitor,
+            final Tree.Kind first, final Tree.Kind... rest) {
+        Objects.requireNonNull(visitor);
+        final Set<Tree.Kind> kinds = Collections.unmodifiableSet(EnumSet.of(first, rest));
+        return new TreeRule<R>() {
+            @Override
+            public Set<Tree.Kind> getKinds() {
+                return kinds;
+            }
+
+            @Override
+            public void visit(final Tree tree, final Context<R> context) {
+                tree.accept(visitor, context);
+            }
+        };
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a set of {@link TreeRule}s over compilation units.
+ *
+ * <p>All rules are fused into a single pre-order traversal of each
+ * compilation unit: rules are grouped by the tree kinds they declare and
+ * each tree is only dispatched to the rules interested in its kind. Several
+ * compilation units (or files) are processed in parallel on a
+ * {@link ForkJoinPool}. Every unit collects its results privately, and
+ * results are returned in the order of the input, independent of
+ * scheduling.
+ *
+ * @param <R> the type of results reported by the rules
+ */
+public final class TreeRuleRunner<R> {
+    // rules interested in each kind, by Tree.Kind ordinal
+    private final TreeRule<R>[][] rulesByKind;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a runner using the common fork-join pool.
+     *
+     * @param rules the rules to run
+     * @throws NullPointerException if rules or any of its elements is null
+     */
+    public TreeRuleRunner(final List<? extends TreeRule<R>> rules) {
+        this(rules, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a runner using the given fork-join pool.
+     *
+     * @param rules the rules to run
+     * @param pool the pool parallel runs are executed in
+     * @throws NullPointerException if any argument or any rule is null
+     */
+    @SuppressWarnings("unchecked")
+    public TreeRuleRunner(final List<? extends TreeRule<R>> rules, final ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+        final Tree.Kind[] kinds = Tree.Kind.values();
+        final List<List<TreeRule<R>>> byKind = new ArrayList<>(kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            byKind.add(new ArrayList<>());
+        }
+        for (final TreeRule<R> rule : rules) {
+            for (final Tree.Kind kind : rule.getKinds()) {
+                byKind.get(kind.ordinal()).add(rule);
+            }
+        }
+        this.rulesByKind = (TreeRule<R>[][]) new TreeRule<?>[kinds.length][];
+        for (int i = 0; i < kinds.length; i++) {
+            rulesByKind[i] = (TreeRule<R>[]) byKind.get(i).toArray(new TreeRule<?>[0]);
+        }
+    }
+
+    /**
+     * Runs all rules over one compilation unit.
+     *
+     * @param unit the compilation unit
+     * @return results reported by the rules, in traversal order
+     * @throws IllegalArgumentException if unit was not produced by a {@link Parser}
+     */
+    public List<R> run(final CompilationUnitTree unit) {
+        if (!(Objects.requireNonNull(unit) instanceof CompilationUnitTreeImpl)) {
+            throw new IllegalArgumentException("unknown compilation unit: " + unit);
+        }
+        final TreeIndex index = ((CompilationUnitTreeImpl) unit).getIndex();
+        final RuleContext<R> context = new RuleContext<>(unit, index);
+        final int size = index.size();
+        for (int id = 0; id < size; id++) {
+            final Tree tree = index.getTree(id);
+            for (final TreeRule<R> rule : rulesByKind[tree.getKind().ordinal()]) {
+                rule.visit(tree, context);
+            }
+        }
+        return context.getResults();
+    }
+
+    /**
+     * Runs all rules over several compilation units in parallel.
+     *
+     * @param units the compilation units
+     * @return results of each unit, in the order of the units
+     */
+    public List<List<R>> run(final List<? extends CompilationUnitTree> units) {
+        final CompilationUnitTree[] input = units.toArray(new CompilationUnitTree[0]);
+        final Object[] results = new Object[input.length];
+        pool.invoke(new Task(0, input.length, i -> results[i] = run(input[i])));
+        return resultList(results);
+    }
+
+    /**
+     * Parses and checks several files in parallel. Each file is parsed
+     * and checked by the same worker, so the tree of a file is not kept
+     * alive after its results are collected.
+     *
+     * @param parser the parser to parse files with
+     * @param paths the files to check
+     * @param listener to receive parse diagnostics, see {@link Parser#parse(Path, DiagnosticListener)}
+     * @return results of each file, in the order of the paths; files that
+     * could not be parsed have an empty result list
+     * @throws IOException if reading any of the files fails
+     */
+    public List<List<R>> run(final Parser parser, final List<? extends Path> paths,
+            final DiagnosticListener listener) throws IOException {
+        Objects.requireNonNull(parser);
+        final Path[] input = paths.toArray(new Path[0]);
+        final Object[] results = new Object[input.length];
+        ParallelIO.invoke(pool, new Task(0, input.length, i -> {
+            final CompilationUnitTree unit;
+            try {
+                unit = parser.parse(input[i], listener);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            results[i] = unit != null? run(unit) : Collections.emptyList();
+        }));
+        return resultList(results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<R>> resultList(final Object[] results) {
+        return Collections.unmodifiableList((List<List<R>>) (List<?>) Arrays.asList(results));
+    }
+
+    // splits [from, to) until ranges are small enough to run sequentially
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+        private final IntConsumer action;
+
+        Task(final int from, final int to, final IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+            } else if (to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new Task(from, mid, action), new Task(mid, to, action));
+            }
+        }
+    }
+
+    private static final class RuleContext<R> implements TreeRule.Context<R> {
+        private final CompilationUnitTree unit;
+        private final TreeIndex index;
+        private final List<R> results = new ArrayList<>();
+
+        RuleContext(final CompilationUnitTree unit, final TreeIndex index) {
+            this.unit = unit;
+            this.index = index;
+        }
+
+        @Override
+        public CompilationUnitTree getCompilationUnit() {
+            return unit;
+        }
+
+        @Override
+        public Tree getParent(final Tree tree) {
+            final int id = index.indexOf(tree);
+            if (id < 0) {
+                return null;
+            }
+            final int parent = index.getParent(id);
+            return parent < 0? null : index.getTree(parent);
+        }
+
+        @Override
+        public void report(final R result) {
+            results.add(result);
+        }
+
+        List<R> getResults() {
+            return results;
+        }
+    }
+}
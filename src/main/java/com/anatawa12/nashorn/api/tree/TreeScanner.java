@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.Objects;
+
+/**
+ * Walks a tree and all its subtrees in source order. Unlike a
+ * {@link SimpleTreeVisitorES6} that visits children by calling
+ * {@link Tree#accept(TreeVisitor, Object)} on them, the walk keeps its
+ * own explicit stack, so chains nested a hundred thousand levels deep, such
+ * as a long concatenation or member chain in generated code, do not
+ * overflow the Java stack. It is the same walk a {@link TreeTransformer}
+ * makes.
+ *
+ * <p>Subclasses override {@link #enter(Tree)} to look at a tree before
+ * its children and to prune the walk, and {@link #leave(Tree)} to look at
+ * it after them. Absent children are skipped. A module record is entered
+ * and left, but its import and export entries are not walked.
+ */
+public abstract class TreeScanner {
+    /**
+     * Constructor for subclasses.
+     */
+    protected TreeScanner() {
+    }
+
+    /**
+     * Called before the children of a tree are walked.
+     *
+     * @param tree the tree
+     * @return false to skip the children of the tree; {@link #leave(Tree)}
+     * is then not called for it either
+     */
+    protected boolean enter(final Tree tree) {
+        return true;
+    }
+
+    /**
+     * Called after the children of a tree have been walked.
+     *
+     * @param tree the tree
+     */
+    protected void leave(final Tree tree) {
+    }
+
+    /**
+     * Walks a tree and its subtrees.
+     *
+     * @param tree the tree to start at
+     */
+    public final void scan(final Tree tree) {
+        Objects.requireNonNull(tree);
+        new TreeWalk() {
+            @Override
+            boolean enter(final Tree t) {
+                return TreeScanner.this.enter(t);
+            }
+
+            @Override
+            boolean leave(final Tree t, final boolean childChanged) {
+                TreeScanner.this.leave(t);
+                return false;
+            }
+        }.walk(tree);
+    }
+}
@@ -0,0 +1,798 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tree shaking analysis of a set of modules: which exports, top level
+ * statements and modules are needed to run a set of entry modules.
+ *
+ * <p>All exports of the entry modules are used. Every module reachable from
+ * an entry module through its requested modules is evaluated, and the top
+ * level statements of evaluated modules that may have side effects are
+ * retained. A statement declaring a top level binding is retained if the
+ * binding is referenced from a retained statement or is exported under a
+ * used name, and an imported binding that is referenced uses the export it
+ * imports. Exports are followed through indirect and star exports. A
+ * namespace import only uses the exports selected from it by name, as in
+ * {@code ns.name}, unless it is used in any other way.
+ *
+ * <p>Side effects are detected conservatively: declarations of functions,
+ * and declarations of variables and classes that only evaluate literals,
+ * function and class expressions, references to declared bindings and
+ * operators that cannot call back into scripts are free of side effects.
+ * Any other statement, such as a call or an assignment, is retained. A
+ * module that calls {@code eval} retains all its statements.
+ *
+ * <p>Each module is analyzed on its own in parallel on the common
+ * {@link ForkJoinPool}; only following uses across modules is sequential.
+ */
+public final class TreeShaking {
+    // names of globals that can be read without side effects
+    private static final Set<String> PURE_GLOBALS = new HashSet<>(Arrays.asList("undefined", "NaN", "Infinity"));
+
+    // kinds of pending work
+    private static final int STATEMENT = 0;
+    private static final int BINDING = 1;
+    private static final int NAMESPACE = 2;
+    private static final int EXPORT = 3;
+    private static final int ALL_EXPORTS = 4;
+
+    // states of ModuleInfo.allExports
+    private static final int NONE = 0;
+    private static final int ALL_BUT_DEFAULT = 1;
+    private static final int ALL = 2;
+
+    private static final class Work {
+        final int kind;
+        final ModuleInfo module;
+        final int index;
+        final String name;
+
+        Work(final int kind, final ModuleInfo module, final int index, final String name) {
+            this.kind = kind;
+            this.module = module;
+            this.index = index;
+            this.name = name;
+        }
+    }
+
+    private static final class Import {
+        final Path target;
+        final String importName;
+
+        Import(final Path target, final String importName) {
+            this.target = target;
+            this.importName = importName;
+        }
+    }
+
+    // the analysis of a single module, and the marks of the shaking
+    private static final class ModuleInfo {
+        final Path path;
+        final CompilationUnitTree unit;
+        final List<? extends Tree> statements;
+
+        // computed in parallel
+        List<Path> dependencies;
+        boolean[] sideEffects;
+        // top level bindings mentioned by statement s are mentions[mentionStart[s] .. mentionStart[s + 1])
+        int[] mentionStart;
+        int[] mentions;
+        // namespace imports used by statement s are namespaces[namespaceStart[s] .. namespaceStart[s + 1]),
+        // each selecting the export of the same index in namespaceNames, or all exports if that is null
+        int[] namespaceStart;
+        int[] namespaces;
+        String[] namespaceNames;
+        // statements declaring binding b are declarers[declarerStart[b] .. declarerStart[b + 1])
+        int[] declarerStart;
+        int[] declarers;
+        // by binding
+        Import[] imports;
+        // by export name
+        Map<String, Integer> localExports;
+        Map<String, Import> indirectExports;
+        List<Path> starExports;
+
+        // marks
+        boolean evaluated;
+        boolean[] retained;
+        boolean[] used;
+        final Set<String> requested = new HashSet<>();
+        final Set<String> usedExports = new LinkedHashSet<>();
+        int allExports;
+
+        ModuleInfo(final Path path, final CompilationUnitTree unit) {
+            this.path = path;
+            this.unit = unit;
+            this.statements = unit.getSourceElements();
+        }
+    }
+
+    private final Map<Path, ModuleInfo> modules;
+    private final List<Path> included;
+
+    private TreeShaking(final Map<Path, ModuleInfo> modules) {
+        this.modules = modules;
+        final List<Path> list = new ArrayList<>();
+        for (final ModuleInfo info : modules.values()) {
+            if (info.evaluated && contains(info.retained)) {
+                list.add(info.path);
+            }
+        }
+        this.included = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Analyzes which parts of a set of modules are needed to run the
+     * given entry modules.
+     *
+     * @param modules the modules by file
+     * @param entries the files of the entry modules
+     * @param resolver the resolver of module specifiers, such as
+     * {@link ModuleGraph#RELATIVE}. Specifiers resolved to files that are not
+     * keys of modules are treated like unresolved ones. It may be called from
+     * several threads at once.
+     * @return the analysis
+     * @throws IllegalArgumentException if an entry is not a key of modules, or
+     * a compilation unit was not produced by a {@link Parser}
+     */
+    public static TreeShaking analyze(final Map<Path, ? extends CompilationUnitTree> modules,
+            final Collection<Path> entries, final ModuleGraph.Resolver resolver) {
+        return analyze(modules, entries, resolver, true);
+    }
+
+    // analyzes the modules one after another in this thread unless parallel
+    static TreeShaking analyze(final Map<Path, ? extends CompilationUnitTree> modules,
+            final Collection<Path> entries, final ModuleGraph.Resolver resolver, final boolean parallel) {
+        Objects.requireNonNull(resolver);
+        final Map<Path, ModuleInfo> infos = new LinkedHashMap<>();
+        for (final Map.Entry<Path, ? extends CompilationUnitTree> entry : modules.entrySet()) {
+            final Path path = entry.getKey().toAbsolutePath().normalize();
+            final CompilationUnitTree unit = entry.getValue();
+            if (!(Objects.requireNonNull(unit) instanceof CompilationUnitTreeImpl)) {
+                throw new IllegalArgumentException("unknown compilation unit: " + unit);
+            }
+            infos.put(path, new ModuleInfo(path, unit));
+        }
+        final List<ModuleInfo> starts = new ArrayList<>();
+        for (final Path entry : entries) {
+            final ModuleInfo info = infos.get(entry.toAbsolutePath().normalize());
+            if (info == null) {
+                throw new IllegalArgumentException("not one of the modules: " + entry);
+            }
+            starts.add(info);
+        }
+
+        final ModuleInfo[] array = infos.values().toArray(new ModuleInfo[0]);
+        if (!parallel) {
+            for (final ModuleInfo info : array) {
+                new ModuleAnalyzer(info, resolver).analyze();
+            }
+        } else if (array.length > 0) {
+            ForkJoinPool.commonPool().invoke(new Analyze(array, 0, array.length, resolver));
+        }
+        new Shaker(infos).shake(starts);
+        return new TreeShaking(infos);
+    }
+
+    // analyzes the modules in a range of the array, splitting the range in halves
+    private static final class Analyze extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ModuleInfo[] modules;
+        private final int from;
+        private final int to;
+        private final transient ModuleGraph.Resolver resolver;
+
+        Analyze(final ModuleInfo[] modules, final int from, final int to, final ModuleGraph.Resolver resolver) {
+            this.modules = modules;
+            this.from = from;
+            this.to = to;
+            this.resolver = resolver;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                new ModuleAnalyzer(modules[from], resolver).analyze();
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Analyze(modules, from, middle, resolver), new Analyze(modules, middle, to, resolver));
+            }
+        }
+    }
+
+    // builds the reference graph of the top level bindings and statements of a module
+    private static final class ModuleAnalyzer {
+        private final ModuleInfo info;
+        private final ModuleGraph.Resolver resolver;
+        private final TreeIndex index;
+        private final SymbolTable symbols;
+        private final ConstantValues constants;
+        private final Map<String, Path> resolved = new HashMap<>();
+
+        ModuleAnalyzer(final ModuleInfo info, final ModuleGraph.Resolver resolver) {
+            this.info = info;
+            this.resolver = resolver;
+            this.index = ((CompilationUnitTreeImpl) info.unit).getIndex();
+            this.symbols = SymbolTable.of(info.unit);
+            this.constants = ConstantValues.of(info.unit);
+        }
+
+        void analyze() {
+            final int count = info.statements.size();
+            final int bindingCount = symbols.getBindingCount();
+            // statement of each top level tree id
+            final int[] statementOf = new int[index.size()];
+            Arrays.fill(statementOf, -1);
+            for (int s = 0; s < count; s++) {
+                statementOf[index.indexOf(info.statements.get(s))] = s;
+            }
+
+            info.imports = new Import[bindingCount];
+            info.localExports = new HashMap<>();
+            info.indirectExports = new HashMap<>();
+            info.starExports = new ArrayList<>();
+            final Set<Path> dependencies = new LinkedHashSet<>();
+            final ModuleTree module = info.unit.getModule();
+            if (module != null) {
+                for (final String specifier : module.getRequestedModules()) {
+                    final Path target = resolve(specifier);
+                    if (target != null) {
+                        dependencies.add(target);
+                    }
+                }
+                for (final ImportEntryTree entry : module.getImportEntries()) {
+                    final int binding = symbols.lookup(0, entry.getLocalName().getName());
+                    if (binding >= 0) {
+                        info.imports[binding] = new Import(resolve(entry.getModuleRequest().getName()), entry.getImportName().getName());
+                    }
+                }
+                for (final ExportEntryTree entry : module.getLocalExportEntries()) {
+                    info.localExports.put(entry.getExportName().getName(), symbols.lookup(0, entry.getLocalName().getName()));
+                }
+                for (final ExportEntryTree entry : module.getIndirectExportEntries()) {
+                    info.indirectExports.put(entry.getExportName().getName(),
+                            new Import(resolve(entry.getModuleRequest().getName()), entry.getImportName().getName()));
+                }
+                for (final ExportEntryTree entry : module.getStarExportEntries()) {
+                    final Path target = resolve(entry.getModuleRequest().getName());
+                    if (target != null) {
+                        info.starExports.add(target);
+                    }
+                }
+            }
+            info.dependencies = Collections.unmodifiableList(new ArrayList<>(dependencies));
+
+            // mentions of top level bindings, in a single pass in pre-order
+            final int[] owner = new int[index.size()];
+            final IntList mentions = new IntList();
+            final IntList[] byStatement = new IntList[count];
+            final List<List<String>> namespaceNames = new ArrayList<>(count);
+            final IntList[] namespaces = new IntList[count];
+            // statement that last mentioned each binding, to drop duplicates
+            final int[] lastMention = new int[bindingCount];
+            Arrays.fill(lastMention, -1);
+            boolean usesEval = false;
+            owner[0] = -1;
+            for (int s = 0; s < count; s++) {
+                byStatement[s] = new IntList();
+                namespaces[s] = new IntList();
+                namespaceNames.add(new ArrayList<>());
+            }
+            for (int id = 1; id < owner.length; id++) {
+                final int parent = index.getParent(id);
+                final int s = parent == 0? statementOf[id] : owner[parent];
+                owner[id] = s;
+                final Tree tree = index.getTree(id);
+                if (s < 0 || tree.getKind() != Tree.Kind.IDENTIFIER) {
+                    continue;
+                }
+                final IdentifierTree ident = (IdentifierTree) tree;
+                final int binding = symbols.getBinding(ident);
+                if (binding < 0) {
+                    // a direct eval may refer to any binding
+                    final Tree enclosing = index.getTree(parent);
+                    usesEval |= ident.getName().equals("eval") && enclosing.getKind() == Tree.Kind.FUNCTION_INVOCATION
+                            && ((FunctionCallTree) enclosing).getFunctionSelect() == ident;
+                    continue;
+                }
+                if (symbols.getDeclaringScope(binding) != 0) {
+                    continue;
+                }
+                final Import imported = info.imports[binding];
+                if (imported != null && imported.importName.equals("*")) {
+                    final Tree enclosing = index.getTree(parent);
+                    final boolean selected = enclosing.getKind() == Tree.Kind.MEMBER_SELECT
+                            && ((MemberSelectTree) enclosing).getExpression() == ident;
+                    namespaces[s].add(binding);
+                    namespaceNames.get(s).add(selected? ((MemberSelectTree) enclosing).getIdentifier() : null);
+                } else if (lastMention[binding] != s) {
+                    lastMention[binding] = s;
+                    byStatement[s].add(binding);
+                }
+            }
+
+            info.mentionStart = new int[count + 1];
+            info.namespaceStart = new int[count + 1];
+            for (int s = 0; s < count; s++) {
+                info.mentionStart[s + 1] = info.mentionStart[s] + byStatement[s].size;
+                info.namespaceStart[s + 1] = info.namespaceStart[s] + namespaces[s].size;
+            }
+            info.mentions = new int[info.mentionStart[count]];
+            info.namespaces = new int[info.namespaceStart[count]];
+            info.namespaceNames = new String[info.namespaceStart[count]];
+            for (int s = 0; s < count; s++) {
+                System.arraycopy(byStatement[s].values, 0, info.mentions, info.mentionStart[s], byStatement[s].size);
+                System.arraycopy(namespaces[s].values, 0, info.namespaces, info.namespaceStart[s], namespaces[s].size);
+                for (int i = 0; i < namespaces[s].size; i++) {
+                    info.namespaceNames[info.namespaceStart[s] + i] = namespaceNames.get(s).get(i);
+                }
+            }
+
+            // declarations and side effects
+            final int[] declared = new int[count];
+            info.sideEffects = new boolean[count];
+            info.declarerStart = new int[bindingCount + 1];
+            for (int s = 0; s < count; s++) {
+                final Tree statement = info.statements.get(s);
+                final IdentifierTree name = declaredName(statement);
+                declared[s] = name != null? symbols.getBinding(name) : -1;
+                if (declared[s] >= 0) {
+                    info.declarerStart[declared[s] + 1]++;
+                }
+                info.sideEffects[s] = usesEval || hasSideEffects(statement);
+            }
+            for (int b = 0; b < bindingCount; b++) {
+                info.declarerStart[b + 1] += info.declarerStart[b];
+            }
+            info.declarers = new int[info.declarerStart[bindingCount]];
+            final int[] fill = Arrays.copyOf(info.declarerStart, bindingCount);
+            for (int s = 0; s < count; s++) {
+                if (declared[s] >= 0) {
+                    info.declarers[fill[declared[s]]++] = s;
+                }
+            }
+
+            info.retained = new boolean[count];
+            info.used = new boolean[bindingCount];
+        }
+
+        private Path resolve(final String specifier) {
+            if (resolved.containsKey(specifier)) {
+                return resolved.get(specifier);
+            }
+            final Path target = resolver.resolve(info.path, specifier);
+            final Path result = target != null? target.toAbsolutePath().normalize() : null;
+            resolved.put(specifier, result);
+            return result;
+        }
+
+        // the name declared by a declaration statement, null for other statements
+        private static IdentifierTree declaredName(final Tree statement) {
+            switch (statement.getKind()) {
+            case VARIABLE: {
+                final ExpressionTree binding = ((VariableTree) statement).getBinding();
+                return binding instanceof IdentifierTree? (IdentifierTree) binding : null;
+            }
+            case FUNCTION:
+                return ((FunctionDeclarationTree) statement).getName();
+            case CLASS:
+                return ((ClassDeclarationTree) statement).getName();
+            default:
+                return null;
+            }
+        }
+
+        private boolean hasSideEffects(final Tree statement) {
+            switch (statement.getKind()) {
+            case EMPTY_STATEMENT:
+            case FUNCTION:
+                return false;
+            case VARIABLE: {
+                final VariableTree variable = (VariableTree) statement;
+                // destructuring may call getters and iterators
+                return !(variable.getBinding() instanceof IdentifierTree)
+                        || variable.getInitializer() != null && !isPure(variable.getInitializer());
+            }
+            case CLASS: {
+                final ClassDeclarationTree declaration = (ClassDeclarationTree) statement;
+                return !isPure(declaration.getClassHeritage(), declaration.getClassElements());
+            }
+            case EXPRESSION_STATEMENT:
+                return !isPure(((ExpressionStatementTree) statement).getExpression());
+            default:
+                return true;
+            }
+        }
+
+        private boolean isPure(final ExpressionTree heritage, final List<? extends PropertyTree> elements) {
+            if (heritage != null && !isPure(heritage)) {
+                return false;
+            }
+            for (final PropertyTree element : elements) {
+                if (element.isComputed() && !isPure(element.getKey())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // whether evaluating an expression has no side effects and cannot throw
+        private boolean isPure(final ExpressionTree expression) {
+            final Deque<ExpressionTree> pending = new ArrayDeque<>();
+            pending.push(expression);
+            while (!pending.isEmpty()) {
+                final ExpressionTree tree = pending.pop();
+                switch (tree.getKind()) {
+                case NUMBER_LITERAL:
+                case STRING_LITERAL:
+                case BOOLEAN_LITERAL:
+                case NULL_LITERAL:
+                case REGEXP_LITERAL:
+                case FUNCTION_EXPRESSION:
+                    break;
+                case IDENTIFIER: {
+                    final IdentifierTree ident = (IdentifierTree) tree;
+                    if (!ident.isThis() && symbols.getBinding(ident) < 0 && !PURE_GLOBALS.contains(ident.getName())) {
+                        return false;
+                    }
+                    break;
+                }
+                case CLASS_EXPRESSION: {
+                    final ClassExpressionTree expr = (ClassExpressionTree) tree;
+                    if (!isPure(expr.getClassHeritage(), expr.getClassElements())) {
+                        return false;
+                    }
+                    break;
+                }
+                case OBJECT_LITERAL:
+                    for (final PropertyTree property : ((ObjectLiteralTree) tree).getProperties()) {
+                        if (property.isComputed()) {
+                            pending.push(property.getKey());
+                        }
+                        if (property.getValue() != null) {
+                            pending.push(property.getValue());
+                        }
+                    }
+                    break;
+                case ARRAY_LITERAL:
+                    for (final ExpressionTree element : ((ArrayLiteralTree) tree).getElements()) {
+                        if (element != null) {
+                            pending.push(element);
+                        }
+                    }
+                    break;
+                case PARENTHESIZED:
+                    pending.push(((ParenthesizedTree) tree).getExpression());
+                    break;
+                case CONDITIONAL_EXPRESSION: {
+                    final ConditionalExpressionTree expr = (ConditionalExpressionTree) tree;
+                    pending.push(expr.getCondition());
+                    pending.push(expr.getTrueExpression());
+                    pending.push(expr.getFalseExpression());
+                    break;
+                }
+                case COMMA:
+                case CONDITIONAL_AND:
+                case CONDITIONAL_OR:
+                case STRICT_EQUAL_TO:
+                case STRICT_NOT_EQUAL_TO:
+                    pending.push(((BinaryTree) tree).getLeftOperand());
+                    pending.push(((BinaryTree) tree).getRightOperand());
+                    break;
+                case TYPEOF:
+                    // typeof does not throw for undeclared names
+                    if (((UnaryTree) tree).getExpression().getKind() == Tree.Kind.IDENTIFIER) {
+                        break;
+                    }
+                    pending.push(((UnaryTree) tree).getExpression());
+                    break;
+                case LOGICAL_COMPLEMENT:
+                case VOID:
+                    pending.push(((UnaryTree) tree).getExpression());
+                    break;
+                default:
+                    // other operators may convert objects to primitives
+                    if (!constants.isConstant(tree)) {
+                        return false;
+                    }
+                    break;
+                }
+            }
+            return true;
+        }
+    }
+
+    // growable int array
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // follows uses across modules with a work list, so that long chains of
+    // declarations or re-exports do not overflow the stack
+    private static final class Shaker {
+        private final Map<Path, ModuleInfo> modules;
+        private final Deque<Work> pending = new ArrayDeque<>();
+
+        Shaker(final Map<Path, ModuleInfo> modules) {
+            this.modules = modules;
+        }
+
+        void shake(final List<ModuleInfo> entries) {
+            final Deque<ModuleInfo> evaluate = new ArrayDeque<>();
+            for (final ModuleInfo entry : entries) {
+                pending.add(new Work(ALL_EXPORTS, entry, ALL, null));
+                if (!entry.evaluated) {
+                    entry.evaluated = true;
+                    evaluate.add(entry);
+                }
+            }
+            while (!evaluate.isEmpty()) {
+                final ModuleInfo info = evaluate.poll();
+                for (int s = 0; s < info.sideEffects.length; s++) {
+                    if (info.sideEffects[s]) {
+                        pending.add(new Work(STATEMENT, info, s, null));
+                    }
+                }
+                for (final Path dependency : info.dependencies) {
+                    final ModuleInfo target = modules.get(dependency);
+                    if (target != null && !target.evaluated) {
+                        target.evaluated = true;
+                        evaluate.add(target);
+                    }
+                }
+            }
+            while (!pending.isEmpty()) {
+                final Work work = pending.poll();
+                switch (work.kind) {
+                case STATEMENT:
+                    retain(work.module, work.index);
+                    break;
+                case BINDING:
+                    use(work.module, work.index);
+                    break;
+                case NAMESPACE:
+                    useNamespace(work.module.imports[work.index].target, work.name);
+                    break;
+                case EXPORT:
+                    useExport(work.module, work.name);
+                    break;
+                default:
+                    useAllExports(work.module, work.index);
+                    break;
+                }
+            }
+        }
+
+        private void retain(final ModuleInfo info, final int s) {
+            if (info.retained[s]) {
+                return;
+            }
+            info.retained[s] = true;
+            for (int i = info.mentionStart[s]; i < info.mentionStart[s + 1]; i++) {
+                pending.add(new Work(BINDING, info, info.mentions[i], null));
+            }
+            for (int i = info.namespaceStart[s]; i < info.namespaceStart[s + 1]; i++) {
+                pending.add(new Work(NAMESPACE, info, info.namespaces[i], info.namespaceNames[i]));
+            }
+        }
+
+        private void use(final ModuleInfo info, final int binding) {
+            if (binding < 0 || info.used[binding]) {
+                return;
+            }
+            info.used[binding] = true;
+            for (int i = info.declarerStart[binding]; i < info.declarerStart[binding + 1]; i++) {
+                pending.add(new Work(STATEMENT, info, info.declarers[i], null));
+            }
+            final Import imported = info.imports[binding];
+            if (imported != null) {
+                if (imported.importName.equals("*")) {
+                    useNamespace(imported.target, null);
+                } else {
+                    requestExport(imported.target, imported.importName);
+                }
+            }
+        }
+
+        // uses one export of a namespace, or all of them if name is null
+        private void useNamespace(final Path target, final String name) {
+            if (name == null) {
+                requestAllExports(target, ALL);
+            } else {
+                requestExport(target, name);
+            }
+        }
+
+        private void requestExport(final Path target, final String name) {
+            final ModuleInfo info = target != null? modules.get(target) : null;
+            if (info != null) {
+                pending.add(new Work(EXPORT, info, 0, name));
+            }
+        }
+
+        private void requestAllExports(final Path target, final int all) {
+            final ModuleInfo info = target != null? modules.get(target) : null;
+            if (info != null) {
+                pending.add(new Work(ALL_EXPORTS, info, all, null));
+            }
+        }
+
+        private void useExport(final ModuleInfo info, final String name) {
+            if (!info.requested.add(name)) {
+                return;
+            }
+            final Integer local = info.localExports.get(name);
+            if (local != null) {
+                info.usedExports.add(name);
+                final Import imported = local >= 0? info.imports[local] : null;
+                if (imported != null && imported.importName.equals("*")) {
+                    // re-exported namespace
+                    info.used[local] = true;
+                    useNamespace(imported.target, null);
+                } else {
+                    pending.add(new Work(BINDING, info, local, null));
+                }
+                return;
+            }
+            final Import indirect = info.indirectExports.get(name);
+            if (indirect != null) {
+                info.usedExports.add(name);
+                useNamespace(indirect.target, indirect.importName.equals("*")? null : indirect.importName);
+                return;
+            }
+            // star exports never provide the default export
+            if (!name.equals("default")) {
+                for (final Path star : info.starExports) {
+                    requestExport(star, name);
+                }
+            }
+        }
+
+        private void useAllExports(final ModuleInfo info, final int all) {
+            if (info.allExports >= all) {
+                return;
+            }
+            info.allExports = all;
+            for (final String name : info.localExports.keySet()) {
+                if (all == ALL || !name.equals("default")) {
+                    pending.add(new Work(EXPORT, info, 0, name));
+                }
+            }
+            for (final String name : info.indirectExports.keySet()) {
+                if (all == ALL || !name.equals("default")) {
+                    pending.add(new Work(EXPORT, info, 0, name));
+                }
+            }
+            for (final Path star : info.starExports) {
+                requestAllExports(star, ALL_BUT_DEFAULT);
+            }
+        }
+    }
+
+    private static boolean contains(final boolean[] marks) {
+        for (final boolean mark : marks) {
+            if (mark) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the files of the modules that are evaluated and have at least
+     * one retained statement, in the order of the analyzed modules.
+     *
+     * @return the files of the included modules, as absolute normalized paths
+     */
+    public List<Path> getIncludedModules() {
+        return included;
+    }
+
+    /**
+     * Returns the names of the exports of a module that are used, including
+     * indirect exports but not names only provided through star exports.
+     *
+     * @param path the file of an analyzed module
+     * @return the used export names
+     * @throws IllegalArgumentException if path is not one of the analyzed modules
+     */
+    public Set<String> getUsedExports(final Path path) {
+        return Collections.unmodifiableSet(info(path).usedExports);
+    }
+
+    /**
+     * Returns if a top level statement of a module is retained.
+     *
+     * @param path the file of an analyzed module
+     * @param statement a source element of the compilation unit of that module
+     * @return true if the statement is needed
+     * @throws IllegalArgumentException if path is not one of the analyzed
+     * modules or statement is not a source element of it
+     */
+    public boolean isRetained(final Path path, final Tree statement) {
+        final ModuleInfo info = info(path);
+        for (int s = 0; s < info.statements.size(); s++) {
+            if (info.statements.get(s) == statement) {
+                return info.retained[s];
+            }
+        }
+        throw new IllegalArgumentException("not a source element of " + path + ": " + statement);
+    }
+
+    /**
+     * Returns the retained top level statements of a module, in source order.
+     *
+     * @param path the file of an analyzed module
+     * @return the retained source elements
+     * @throws IllegalArgumentException if path is not one of the analyzed modules
+     */
+    public List<Tree> getRetainedStatements(final Path path) {
+        final ModuleInfo info = info(path);
+        final List<Tree> list = new ArrayList<>();
+        for (int s = 0; s < info.statements.size(); s++) {
+            if (info.retained[s]) {
+                list.add(info.statements.get(s));
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private ModuleInfo info(final Path path) {
+        final ModuleInfo info = modules.get(path.toAbsolutePath().normalize());
+        if (info == null) {
+            throw new IllegalArgumentException("not one of the analyzed modules: " + path);
+        }
+        return info;
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position independent description of a single tree: its kind, the
+ * non-tree attributes that distinguish it from other trees of the same
+ * kind (names, literal values, flags) and its child slots in source order.
+ * Unlike {@link TreeChildren}, absent children are kept as {@code null}
+ * slots so that {@code for (a;;)} and {@code for (;a;)} differ.
+ *
+ * <p>The structural hash of a tree is computed bottom-up from the shapes
+ * of all its subtrees in a single non-recursive pass, and every
+ * {@link TreeImpl} visited on the way caches its own hash, so hashing a
+ * compilation unit once makes the hash of every function in it free.
+ */
+final class TreeShape implements TreeVisitor<Void, Void> {
+    // hash value standing in for an absent child
+    private static final long NULL_HASH = 0x6A09E667F3BCC909L;
+    // tag for for-of loops, whose kind is reported as FOR_IN_LOOP
+    private static final int FOR_OF_TAG = Tree.Kind.values().length;
+
+    private int tag;
+    private final List<Object> attributes = new ArrayList<>();
+    private final List<Tree> slots = new ArrayList<>();
+
+    private TreeShape() {
+    }
+
+    private TreeShape describe(final Tree tree) {
+        tag = tree.getKind().ordinal();
+        attributes.clear();
+        slots.clear();
+        tree.accept(this, null);
+        return this;
+    }
+
+    /**
+     * Computes the structural hash of the given tree, caching the hash of
+     * every {@link TreeImpl} subtree that was not hashed yet.
+     *
+     * @param root the tree to hash
+     * @return the structural hash, never {@code 0}
+     */
+    static long hash(final TreeImpl root) {
+        final long cached = root.structuralHash;
+        if (cached != 0L) {
+            return cached;
+        }
+
+        // pre-order list of the trees still to hash; a parent always comes
+        // before its children, so hashing in reverse order is bottom-up
+        final TreeShape shape = new TreeShape();
+        final List<TreeImpl> pending = new ArrayList<>();
+        final List<TreeImpl> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            final TreeImpl tree = stack.remove(stack.size() - 1);
+            pending.add(tree);
+            for (final Tree child : shape.describe(tree).slots) {
+                if (child instanceof TreeImpl && ((TreeImpl) child).structuralHash == 0L) {
+                    stack.add((TreeImpl) child);
+                }
+            }
+        }
+
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            final TreeImpl tree = pending.get(i);
+            if (tree.structuralHash != 0L) {
+                // shared subtree reached twice
+                continue;
+            }
+            tree.structuralHash = shape.describe(tree).combine();
+        }
+        return root.structuralHash;
+    }
+
+    /**
+     * Computes the structural hash of a tree that is not a {@link TreeImpl}
+     * from the hashes of its children. Nothing is cached for the tree
+     * itself.
+     *
+     * @param root the tree to hash
+     * @return the structural hash, never {@code 0}
+     */
+    static long hash(final Tree root) {
+        if (root instanceof TreeImpl) {
+            return hash((TreeImpl) root);
+        }
+        return new TreeShape().describe(root).combine();
+    }
+
+    // the hash of the described tree, from the hashes of its children
+    private long combine() {
+        long h = mix(0L, tag);
+        for (final Object attribute : attributes) {
+            h = mix(h, attributeHash(attribute));
+        }
+        for (final Tree child : slots) {
+            h = mix(h, child == null ? NULL_HASH : child.structuralHash());
+        }
+        h = finish(h ^ slots.size());
+        return h == 0L ? NULL_HASH : h;
+    }
+
+    /**
+     * Compares two trees structurally, ignoring positions. Subtrees whose
+     * hashes differ are rejected without being walked.
+     *
+     * @param first the first tree
+     * @param second the second tree
+     * @return true if both trees have the same structure
+     */
+    static boolean equals(final Tree first, final Tree second) {
+        final TreeShape left = new TreeShape();
+        final TreeShape right = new TreeShape();
+        // pairs of trees still to compare, flattened
+        final List<Tree> stack = new ArrayList<>();
+        stack.add(first);
+        stack.add(second);
+        while (!stack.isEmpty()) {
+            final Tree b = stack.remove(stack.size() - 1);
+            final Tree a = stack.remove(stack.size() - 1);
+            if (a == b) {
+                continue;
+            }
+            if (a == null || b == null || a.structuralHash() != b.structuralHash()) {
+                return false;
+            }
+
+            left.describe(a);
+            right.describe(b);
+            if (left.tag != right.tag
+                    || left.attributes.size() != right.attributes.size()
+                    || left.slots.size() != right.slots.size()) {
+                return false;
+            }
+            for (int i = 0; i < left.attributes.size(); i++) {
+                if (!attributeEquals(left.attributes.get(i), right.attributes.get(i))) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < left.slots.size(); i++) {
+                stack.add(left.slots.get(i));
+                stack.add(right.slots.get(i));
+            }
+        }
+        return true;
+    }
+
+    private static long attributeHash(final Object attribute) {
+        if (attribute == null) {
+            return NULL_HASH;
+        } else if (attribute instanceof String) {
+            // 64-bit FNV-1a, String.hashCode() is too narrow for clone detection
+            final String str = (String) attribute;
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < str.length(); i++) {
+                h = (h ^ str.charAt(i)) * 0x100000001B3L;
+            }
+            return h;
+        } else if (attribute instanceof Number) {
+            // 1 and 1.0 are the same JavaScript number
+            return Double.doubleToLongBits(((Number) attribute).doubleValue());
+        } else if (attribute instanceof Boolean) {
+            return (Boolean) attribute ? 1L : 2L;
+        } else {
+            return attribute.hashCode();
+        }
+    }
+
+    private static boolean attributeEquals(final Object a, final Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return Double.doubleToLongBits(((Number) a).doubleValue()) == Double.doubleToLongBits(((Number) b).doubleValue());
+        }
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static long mix(final long h, final long value) {
+        return Long.rotateLeft(h + value * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+    }
+
+    // finalizer of MurmurHash3
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void attribute(final Object value) {
+        attributes.add(value);
+    }
+
+    private void slot(final Tree tree) {
+        slots.add(tree);
+    }
+
+    private void slots(final List<? extends Tree> trees) {
+        if (trees != null) {
+            slots.addAll(trees);
+        } else {
+            slots.add(null);
+        }
+    }
+
+    @Override
+    public Void visitAssignment(final AssignmentTree node, final Void r) {
+        slot(node.getVariable());
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitCompoundAssignment(final CompoundAssignmentTree node, final Void r) {
+        slot(node.getVariable());
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitBinary(final BinaryTree node, final Void r) {
+        slot(node.getLeftOperand());
+        slot(node.getRightOperand());
+        return null;
+    }
+
+    @Override
+    public Void visitBlock(final BlockTree node, final Void r) {
+        slots(node.getStatements());
+        return null;
+    }
+
+    @Override
+    public Void visitBreak(final BreakTree node, final Void r) {
+        attribute(node.getLabel());
+        return null;
+    }
+
+    @Override
+    public Void visitCase(final CaseTree node, final Void r) {
+        slot(node.getExpression());
+        slots(node.getStatements());
+        return null;
+    }
+
+    @Override
+    public Void visitCatch(final CatchTree node, final Void r) {
+        slot(node.getParameter());
+        slot(node.getCondition());
+        slot(node.getBlock());
+        return null;
+    }
+
+    @Override
+    public Void visitClassDeclaration(final ClassDeclarationTree node, final Void r) {
+        slot(node.getName());
+        slot(node.getClassHeritage());
+        slot(node.getConstructor());
+        slots(node.getClassElements());
+        return null;
+    }
+
+    @Override
+    public Void visitClassExpression(final ClassExpressionTree node, final Void r) {
+        slot(node.getName());
+        slot(node.getClassHeritage());
+        slot(node.getConstructor());
+        slots(node.getClassElements());
+        return null;
+    }
+
+    @Override
+    public Void visitConditionalExpression(final ConditionalExpressionTree node, final Void r) {
+        slot(node.getCondition());
+        slot(node.getTrueExpression());
+        slot(node.getFalseExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitContinue(final ContinueTree node, final Void r) {
+        attribute(node.getLabel());
+        return null;
+    }
+
+    @Override
+    public Void visitDebugger(final DebuggerTree node, final Void r) {
+        return null;
+    }
+
+    @Override
+    public Void visitDoWhileLoop(final DoWhileLoopTree node, final Void r) {
+        slot(node.getStatement());
+        slot(node.getCondition());
+        return null;
+    }
+
+    @Override
+    public Void visitErroneous(final ErroneousTree node, final Void r) {
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStatement(final ExpressionStatementTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitForLoop(final ForLoopTree node, final Void r) {
+        slot(node.getInitializer());
+        slot(node.getCondition());
+        slot(node.getUpdate());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitForInLoop(final ForInLoopTree node, final Void r) {
+        attribute(node.isForEach());
+        slot(node.getVariable());
+        slot(node.getExpression());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitForOfLoop(final ForOfLoopTree node, final Void r) {
+        tag = FOR_OF_TAG;
+        slot(node.getVariable());
+        slot(node.getExpression());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionCall(final FunctionCallTree node, final Void r) {
+        slot(node.getFunctionSelect());
+        slots(node.getArguments());
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionDeclaration(final FunctionDeclarationTree node, final Void r) {
+        attribute(node.isStrict());
+        attribute(node.isGenerator());
+        slot(node.getName());
+        slots(node.getParameters());
+        slot(node.getBody());
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionExpression(final FunctionExpressionTree node, final Void r) {
+        attribute(node.isStrict());
+        attribute(node.isArrow());
+        attribute(node.isGenerator());
+        slot(node.getName());
+        slots(node.getParameters());
+        slot(node.getBody());
+        return null;
+    }
+
+    @Override
+    public Void visitIdentifier(final IdentifierTree node, final Void r) {
+        attribute(node.getName());
+        attribute(node.isRestParameter());
+        return null;
+    }
+
+    @Override
+    public Void visitIf(final IfTree node, final Void r) {
+        slot(node.getCondition());
+        slot(node.getThenStatement());
+        slot(node.getElseStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitArrayAccess(final ArrayAccessTree node, final Void r) {
+        slot(node.getExpression());
+        slot(node.getIndex());
+        return null;
+    }
+
+    @Override
+    public Void visitArrayLiteral(final ArrayLiteralTree node, final Void r) {
+        slots(node.getElements());
+        return null;
+    }
+
+    @Override
+    public Void visitLabeledStatement(final LabeledStatementTree node, final Void r) {
+        attribute(node.getLabel());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitLiteral(final LiteralTree node, final Void r) {
+        attribute(node.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visitParenthesized(final ParenthesizedTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitReturn(final ReturnTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitMemberSelect(final MemberSelectTree node, final Void r) {
+        attribute(node.getIdentifier());
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitNew(final NewTree node, final Void r) {
+        slot(node.getConstructorExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitObjectLiteral(final ObjectLiteralTree node, final Void r) {
+        slots(node.getProperties());
+        return null;
+    }
+
+    @Override
+    public Void visitProperty(final PropertyTree node, final Void r) {
+        attribute(node.isStatic());
+        attribute(node.isComputed());
+        slot(node.getKey());
+        slot(node.getValue());
+        slot(node.getGetter());
+        slot(node.getSetter());
+        return null;
+    }
+
+    @Override
+    public Void visitRegExpLiteral(final RegExpLiteralTree node, final Void r) {
+        attribute(node.getPattern());
+        attribute(node.getOptions());
+        return null;
+    }
+
+    @Override
+    public Void visitTemplateLiteral(final TemplateLiteralTree node, final Void r) {
+        slots(node.getExpressions());
+        return null;
+    }
+
+    @Override
+    public Void visitEmptyStatement(final EmptyStatementTree node, final Void r) {
+        return null;
+    }
+
+    @Override
+    public Void visitSpread(final SpreadTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitSwitch(final SwitchTree node, final Void r) {
+        slot(node.getExpression());
+        slots(node.getCases());
+        return null;
+    }
+
+    @Override
+    public Void visitThrow(final ThrowTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitCompilationUnit(final CompilationUnitTree node, final Void r) {
+        // the source name is where the code came from, not what it is
+        attribute(node.isStrict());
+        slot(node.getModule());
+        slots(node.getSourceElements());
+        return null;
+    }
+
+    @Override
+    public Void visitModule(final ModuleTree node, final Void r) {
+        for (final String request : node.getRequestedModules()) {
+            attribute(request);
+        }
+        slots(node.getImportEntries());
+        slots(node.getLocalExportEntries());
+        slots(node.getIndirectExportEntries());
+        slots(node.getStarExportEntries());
+        return null;
+    }
+
+    @Override
+    public Void visitExportEntry(final ExportEntryTree node, final Void r) {
+        slot(node.getExportName());
+        slot(node.getModuleRequest());
+        slot(node.getImportName());
+        slot(node.getLocalName());
+        return null;
+    }
+
+    @Override
+    public Void visitImportEntry(final ImportEntryTree node, final Void r) {
+        slot(node.getModuleRequest());
+        slot(node.getImportName());
+        slot(node.getLocalName());
+        return null;
+    }
+
+    @Override
+    public Void visitTry(final TryTree node, final Void r) {
+        slot(node.getBlock());
+        slots(node.getCatches());
+        slot(node.getFinallyBlock());
+        return null;
+    }
+
+    @Override
+    public Void visitInstanceOf(final InstanceOfTree node, final Void r) {
+        slot(node.getExpression());
+        slot(node.getType());
+        return null;
+    }
+
+    @Override
+    public Void visitUnary(final UnaryTree node, final Void r) {
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitVariable(final VariableTree node, final Void r) {
+        attribute(node.isConst());
+        attribute(node.isLet());
+        slot(node.getBinding());
+        slot(node.getInitializer());
+        return null;
+    }
+
+    @Override
+    public Void visitWhileLoop(final WhileLoopTree node, final Void r) {
+        slot(node.getCondition());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitWith(final WithTree node, final Void r) {
+        slot(node.getScope());
+        slot(node.getStatement());
+        return null;
+    }
+
+    @Override
+    public Void visitYield(final YieldTree node, final Void r) {
+        attribute(node.isStar());
+        slot(node.getExpression());
+        return null;
+    }
+
+    @Override
+    public Void visitUnknown(final Tree node, final Void r) {
+        return null;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Produces modified copies of trees. Trees are immutable, so a
+ * transformation rebuilds only the trees on the path from each changed
+ * tree up to the root and shares every unchanged subtree with the original
+ * by reference. Changing one call site of a large compilation unit thus
+ * copies a handful of trees, not the unit.
+ *
+ * <p>Subclasses override {@link #enter(Tree)} to prune the walk and
+ * {@link #leave(Tree)} to replace trees, much like the leave methods of
+ * the IR {@code NodeVisitor}. A replacement can be any tree that fits
+ * where the original was used, for example a tree taken from another
+ * part of the unit or from a separately parsed snippet. Every tree has
+ * a single place, so a replacement that was already placed by an earlier
+ * {@code leave}, or that is taken from a part of the transformed tree
+ * other than the tree it replaces, is copied; the copy wraps the same IR
+ * nodes. A rebuilt tree keeps the positions of the tree it replaces, and
+ * a replacement keeps its own.
+ *
+ * <p>Data derived from a tree stays valid for the shared parts: their
+ * {@link Tree#structuralHash() structural hashes}, once computed, are
+ * reused when hashing the result, so only the rebuilt path is hashed
+ * again. When the index of the trees of a transformed compilation unit
+ * has been built, as by {@link CompilationUnitTree#getTreesOfKind}, the
+ * index of the result is derived from it, taking the entries of shared
+ * subtrees over in bulk rather than walking them again.
+ *
+ * <p>The walk is the non-recursive one of {@link TreeScanner}, so deeply
+ * nested trees do not overflow the stack. The import and export entries of
+ * a module record are left as they are; the walk does not descend into
+ * them.
+ */
+public abstract class TreeTransformer {
+    // true to rebuild every tree, see Copier
+    private final boolean copying;
+
+    /**
+     * Constructor for subclasses.
+     */
+    protected TreeTransformer() {
+        this(false);
+    }
+
+    private TreeTransformer(final boolean copying) {
+        this.copying = copying;
+    }
+
+    // copies a replacement tree that would otherwise have two places
+    private static final class Copier extends TreeTransformer {
+        Copier() {
+            super(true);
+        }
+    }
+
+    /**
+     * Called before the children of a tree are transformed.
+     *
+     * @param tree the original tree
+     * @return false to leave the tree and all its subtrees unchanged,
+     * without calling {@link #leave(Tree)} for them
+     */
+    protected boolean enter(final Tree tree) {
+        return true;
+    }
+
+    /**
+     * Called after the children of a tree have been transformed.
+     *
+     * @param tree the tree with its transformed children; the original tree
+     * itself if no child changed
+     * @return the replacement tree, the given tree to keep it, or null to
+     * remove the tree from the list it belongs to or to leave a place empty
+     * that may be, like a missing else branch or initializer
+     */
+    protected Tree leave(final Tree tree) {
+        return tree;
+    }
+
+    /**
+     * Transforms a compilation unit.
+     *
+     * @param unit the compilation unit
+     * @return the transformed unit, the given unit itself if nothing changed
+     * @throws IllegalArgumentException if a tree was replaced by a tree that
+     *         does not fit where it is used, a tree that cannot be left out
+     *         was removed, or the unit was replaced by something other than
+     *         a compilation unit
+     */
+    public final CompilationUnitTree transform(final CompilationUnitTree unit) {
+        final Tree result = transform((Tree) unit);
+        if (!(result instanceof CompilationUnitTree)) {
+            throw new IllegalArgumentException("compilation unit replaced by " +
+                    (result == null? "null" : result.getKind().toString()));
+        }
+        return (CompilationUnitTree) result;
+    }
+
+    /**
+     * Transforms a tree.
+     *
+     * @param tree the tree
+     * @return the transformed tree, possibly null, or the given tree itself
+     *         if nothing changed
+     * @throws IllegalArgumentException if a tree was replaced by a tree that
+     *         does not fit where it is used, or a tree that cannot be left
+     *         out was removed
+     */
+    public final Tree transform(final Tree tree) {
+        Objects.requireNonNull(tree);
+
+        // transformed trees by original, only for trees that changed
+        final Map<Tree, Tree> results = new IdentityHashMap<>();
+        final TreeRebuilder rebuilder = new TreeRebuilder(results, copying);
+        // replacements placed so far, and where the input trees are
+        final Map<Tree, Boolean> placed = new IdentityHashMap<>();
+        final Origin origin = new Origin(tree);
+
+        new TreeWalk() {
+            @Override
+            boolean enter(final Tree current) {
+                return TreeTransformer.this.enter(current);
+            }
+
+            @Override
+            boolean leave(final Tree current, final boolean childChanged) {
+                // unchanged trees skip the rebuild
+                final Tree rebuilt = childChanged || copying? rebuilder.rebuild(current) : current;
+                Tree result = TreeTransformer.this.leave(rebuilt);
+                if (result != null && result != rebuilt && result != current) {
+                    if (placed.containsKey(result) || origin.isOutside(result, current)) {
+                        result = new Copier().transform(result);
+                    }
+                    placed.put(result, Boolean.TRUE);
+                }
+                if (result == current) {
+                    return false;
+                }
+                results.put(current, result);
+                return true;
+            }
+
+            @Override
+            void addChildren(final Tree current, final List<Tree> out) {
+                // only trees of the parser can be rebuilt
+                if (current instanceof TreeImpl) {
+                    super.addChildren(current, out);
+                }
+            }
+        }.walk(tree);
+
+        final Tree result = results.containsKey(tree)? results.get(tree) : tree;
+        if (result != tree && result instanceof CompilationUnitTreeImpl && tree instanceof CompilationUnitTreeImpl) {
+            ((CompilationUnitTreeImpl) result).deriveIndex((CompilationUnitTreeImpl) tree);
+        }
+        return result;
+    }
+
+    // The input of a transform, to tell whether a tree of it keeps its place
+    // when it is also used as a replacement. The parent links are looked up
+    // on the first such replacement, in the index of a compilation unit.
+    private static final class Origin {
+        private final Tree root;
+        private TreeIndex index;
+        private Map<Tree, Tree> parents;
+
+        Origin(final Tree root) {
+            this.root = root;
+        }
+
+        // true if tree is part of the input but not of the subtree at within
+        boolean isOutside(final Tree tree, final Tree within) {
+            if (root instanceof CompilationUnitTreeImpl) {
+                if (index == null) {
+                    index = ((CompilationUnitTreeImpl) root).getIndex();
+                }
+                final int id = index.indexOf(tree);
+                if (id < 0) {
+                    return false;
+                }
+                final int withinId = index.indexOf(within);
+                for (int p = id; p >= 0; p = index.getParent(p)) {
+                    if (p == withinId) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            if (parents == null) {
+                parents = new IdentityHashMap<>();
+                parents.put(root, null);
+                new TreeScanner() {
+                    private final List<Tree> children = new ArrayList<>();
+
+                    @Override
+                    protected boolean enter(final Tree t) {
+                        children.clear();
+                        TreeChildren.addChildren(t, children);
+                        for (final Tree child : children) {
+                            parents.put(child, t);
+                        }
+                        return true;
+                    }
+                }.scan(root);
+            }
+            if (!parents.containsKey(tree)) {
+                return false;
+            }
+            for (Tree t = tree; t != null; t = parents.get(t)) {
+                if (t == within) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
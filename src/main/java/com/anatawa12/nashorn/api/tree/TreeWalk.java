@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The walk behind {@link TreeScanner} and {@link TreeTransformer}. It visits
+ * a tree and its subtrees in source order and keeps its own explicit stack,
+ * so chains nested a hundred thousand levels deep, such as a long
+ * concatenation or member chain in generated code, do not overflow the Java
+ * stack. The entries of a module record are not walked.
+ */
+abstract class TreeWalk {
+    // states of the entries of the stack
+    private static final byte FRESH = 0, ENTERED = 1, CHANGED = 2;
+
+    /**
+     * Called before the children of a tree are walked.
+     *
+     * @param tree the tree
+     * @return false to skip the children of the tree and the tree's own
+     * {@link #leave(Tree, boolean)}
+     */
+    abstract boolean enter(Tree tree);
+
+    /**
+     * Called after the children of a tree have been walked.
+     *
+     * @param tree the tree
+     * @param childChanged true if leave returned true for one of its children
+     * @return true if the tree changed, to tell its parent
+     */
+    abstract boolean leave(Tree tree, boolean childChanged);
+
+    /**
+     * Appends the children of a tree that are walked.
+     *
+     * @param tree the parent tree
+     * @param out list receiving the children in source order
+     */
+    void addChildren(final Tree tree, final List<Tree> out) {
+        if (tree.getKind() != Tree.Kind.MODULE) {
+            TreeChildren.addChildren(tree, out);
+        }
+    }
+
+    /**
+     * Walks a tree and its subtrees.
+     *
+     * @param root the tree to start at
+     */
+    final void walk(final Tree root) {
+        // a tree is on the stack once before its children are pushed and
+        // once more, entered, to be left after them. Each entry knows the
+        // position of its parent's entered entry, which is marked when a
+        // child changes.
+        Tree[] trees = new Tree[32];
+        int[] parents = new int[32];
+        byte[] states = new byte[32];
+        int size = 0;
+        final List<Tree> children = new ArrayList<>();
+
+        trees[size] = root;
+        parents[size] = -1;
+        states[size++] = FRESH;
+        while (size > 0) {
+            final int top = --size;
+            final Tree current = trees[top];
+            trees[top] = null;
+            final int parent = parents[top];
+            if (states[top] != FRESH) {
+                if (leave(current, states[top] == CHANGED) && parent >= 0) {
+                    states[parent] = CHANGED;
+                }
+                continue;
+            }
+            if (!enter(current)) {
+                continue;
+            }
+
+            children.clear();
+            addChildren(current, children);
+            final int needed = size + children.size() + 1;
+            if (needed > trees.length) {
+                final int length = Math.max(needed, trees.length * 2);
+                trees = Arrays.copyOf(trees, length);
+                parents = Arrays.copyOf(parents, length);
+                states = Arrays.copyOf(states, length);
+            }
+            trees[size] = current;
+            parents[size] = parent;
+            states[size++] = ENTERED;
+            // last child first, so that children are popped in source order
+            for (int i = children.size() - 1; i >= 0; i--) {
+                trees[size] = children.get(i);
+                parents[size] = top;
+                states[size++] = FRESH;
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@
 package com.anatawa12.nashorn.internal.codegen;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Abstraction for labels, separating a label from the underlying
@@ -37,7 +38,7 @@ public final class Label implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /** Next id for debugging purposes, remove if footprint becomes unmanageable */
-    private static int nextId = 0;
+    private static final AtomicInteger nextId = new AtomicInteger();
 
     /** Name of this label */
     private final String name;
@@ -53,7 +54,7 @@ public final class Label implements Serializable {
     public Label(final String name) {
         super();
         this.name = name;
-        this.id   = nextId++;
+        this.id   = nextId.getAndIncrement();
     }
 
     /**
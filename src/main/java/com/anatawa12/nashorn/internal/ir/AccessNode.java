@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 
@@ -53,8 +52,8 @@ public final class AccessNode extends BaseNode {
     }
 
     private AccessNode(final AccessNode accessNode, final Expression base, final String property, final boolean isFunction,
-                       final Type type, final boolean isSuper) {
-        super(accessNode, base, isFunction, type, isSuper);
+                       final boolean isSuper) {
+        super(accessNode, base, isFunction, isSuper);
         this.property = property;
     }
 
@@ -84,7 +83,7 @@ public final class AccessNode extends BaseNode {
         if (this.base == base) {
             return this;
         }
-        return new AccessNode(this, base, property, isFunction(), type, isSuper());
+        return new AccessNode(this, base, property, isFunction(), isSuper());
     }
 
     @Override
@@ -92,6 +91,6 @@ public final class AccessNode extends BaseNode {
         if (isSuper()) {
             return this;
         }
-        return new AccessNode(this, base, property, isFunction(), type, true);
+        return new AccessNode(this, base, property, isFunction(), true);
     }
 }
@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 
 /**
@@ -43,12 +42,12 @@ public abstract class BaseNode extends Expression implements Optimistic {
 
     private final boolean isFunction;
 
-    /** Callsite type for this node, if overridden optimistically or conservatively depending on coercion */
-    protected final Type type;
-
     /** Super property access. */
     private final boolean isSuper;
 
+    /** Start of source range, that of the base. */
+    private final int start;
+
     /**
      * Constructor
      *
@@ -59,11 +58,11 @@ public abstract class BaseNode extends Expression implements Optimistic {
      * @param isSuper is this a super property access
      */
     public BaseNode(final long token, final int finish, final Expression base, final boolean isFunction, final boolean isSuper) {
-        super(token, base.getStart(), finish);
+        super(token, finish);
         this.base           = base;
         this.isFunction     = isFunction;
-        this.type = null;
         this.isSuper        = isSuper;
+        this.start          = base.getStart();
     }
 
     /**
@@ -71,15 +70,19 @@ public abstract class BaseNode extends Expression implements Optimistic {
      * @param baseNode node to inherit from
      * @param base base
      * @param isFunction is this a function
-     * @param callSiteType  the callsite type for this base node, either optimistic or conservative
      * @param isSuper is this a super property access
      */
-    protected BaseNode(final BaseNode baseNode, final Expression base, final boolean isFunction, final Type callSiteType, final boolean isSuper) {
+    protected BaseNode(final BaseNode baseNode, final Expression base, final boolean isFunction, final boolean isSuper) {
         super(baseNode);
         this.base           = base;
         this.isFunction     = isFunction;
-        this.type = callSiteType;
         this.isSuper        = isSuper;
+        this.start          = baseNode.start;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
     }
 
     /**
@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 import com.anatawa12.nashorn.internal.parser.TokenType;
@@ -42,7 +41,8 @@ public final class BinaryNode extends Expression implements Assignment<Expressio
 
     private final Expression rhs;
 
-    private final Type type;
+    /** Start of source range, that of the left hand side. */
+    private final int start;
 
     /**
      * Constructor
@@ -52,18 +52,23 @@ public final class BinaryNode extends Expression implements Assignment<Expressio
      * @param rhs    right hand side
      */
     public BinaryNode(final long token, final Expression lhs, final Expression rhs) {
-        super(token, lhs.getStart(), rhs.getFinish());
+        super(token, rhs.getFinish());
         assert !(isTokenType(TokenType.AND) || isTokenType(TokenType.OR)) || lhs instanceof JoinPredecessorExpression;
         this.lhs   = lhs;
         this.rhs   = rhs;
-        this.type = null;
+        this.start = lhs.getStart();
     }
 
-    private BinaryNode(final BinaryNode binaryNode, final Expression lhs, final Expression rhs, final Type type) {
+    private BinaryNode(final BinaryNode binaryNode, final Expression lhs, final Expression rhs) {
         super(binaryNode);
         this.lhs = lhs;
         this.rhs = rhs;
-        this.type = type;
+        this.start = binaryNode.start;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
     }
 
     /**
@@ -175,7 +180,7 @@ public final class BinaryNode extends Expression implements Assignment<Expressio
         if (this.lhs == lhs) {
             return this;
         }
-        return new BinaryNode(this, lhs, rhs, type);
+        return new BinaryNode(this, lhs, rhs);
     }
 
     /**
@@ -187,7 +192,7 @@ public final class BinaryNode extends Expression implements Assignment<Expressio
         if (this.rhs == rhs) {
             return this;
         }
-        return new BinaryNode(this, lhs, rhs, type);
+        return new BinaryNode(this, lhs, rhs);
     }
 
 }
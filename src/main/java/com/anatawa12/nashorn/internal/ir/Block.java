@@ -43,11 +43,8 @@ public class Block extends Node implements BreakableNode, Terminal, Flags<Block>
     /** List of statements */
     protected final List<Statement> statements;
 
-    /** Entry label. */
-    private final Label entryLabel;
-
-    /** Break label. */
-    private final Label breakLabel;
+    /** Break label, only needed by code generation and created on first request. */
+    private Label breakLabel;
 
     /** Does the block/function need a new scope? Is this synthetic? */
     protected final int flags;
@@ -104,9 +101,7 @@ public class Block extends Node implements BreakableNode, Terminal, Flags<Block>
     public Block(final long token, final int finish, final int flags, final Statement... statements) {
         super(token, finish);
 
-        this.statements = Arrays.asList(statements);
-        this.entryLabel = new Label("block_entry");
-        this.breakLabel = new Label("block_break");
+        this.statements = asList(statements);
         final int len = statements.length;
         final int terminalFlags = len > 0 && statements[len - 1].hasTerminalFlags() ? IS_TERMINAL : 0;
         this.flags = terminalFlags | flags;
@@ -146,12 +141,23 @@ public class Block extends Node implements BreakableNode, Terminal, Flags<Block>
         this(token, finish, flags, statements.toArray(new Statement[0]));
     }
 
+    // empty and single statement blocks are common enough to share the list instances
+    private static List<Statement> asList(final Statement[] statements) {
+        switch (statements.length) {
+        case 0:
+            return Collections.emptyList();
+        case 1:
+            return Collections.singletonList(statements[0]);
+        default:
+            return Arrays.asList(statements);
+        }
+    }
+
     private Block(final Block block, final int finish, final List<Statement> statements, final int flags) {
         super(block, finish);
         this.statements = statements;
         this.flags      = flags;
-        this.entryLabel = new Label(block.entryLabel);
-        this.breakLabel = new Label(block.breakLabel);
+        this.breakLabel = block.breakLabel;
     }
 
     /**
@@ -185,6 +191,9 @@ public class Block extends Node implements BreakableNode, Terminal, Flags<Block>
 
     @Override
     public Label getBreakLabel() {
+        if (breakLabel == null) {
+            breakLabel = new Label("block_break");
+        }
         return breakLabel;
     }
 
@@ -34,8 +34,8 @@ import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 abstract class BreakableStatement extends LexicalContextStatement implements BreakableNode {
     private static final long serialVersionUID = 1L;
 
-    /** break label. */
-    protected final Label breakLabel;
+    /** break label, only needed by code generation and created on first request. */
+    private Label breakLabel;
 
     /**
      * Constructor
@@ -43,11 +43,9 @@ abstract class BreakableStatement extends LexicalContextStatement implements Bre
      * @param lineNumber line number
      * @param token      token
      * @param finish     finish
-     * @param breakLabel break label
      */
-    protected BreakableStatement(final int lineNumber, final long token, final int finish, final Label breakLabel) {
+    protected BreakableStatement(final int lineNumber, final long token, final int finish) {
         super(lineNumber, token, finish);
-        this.breakLabel = breakLabel;
     }
 
     /**
@@ -57,7 +55,7 @@ abstract class BreakableStatement extends LexicalContextStatement implements Bre
      */
     protected BreakableStatement(final BreakableStatement breakableNode) {
         super(breakableNode);
-        this.breakLabel = new Label(breakableNode.getBreakLabel());
+        this.breakLabel = breakableNode.breakLabel;
     }
 
     /**
@@ -76,6 +74,9 @@ abstract class BreakableStatement extends LexicalContextStatement implements Bre
      */
     @Override
     public Label getBreakLabel() {
+        if (breakLabel == null) {
+            breakLabel = new Label(isLoop() ? "while_break" : "switch_break");
+        }
         return breakLabel;
     }
 }
@@ -25,10 +25,8 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 
@@ -52,56 +50,6 @@ public final class CallNode extends LexicalContextExpression implements Optimist
 
     private final int lineNumber;
 
-    private final Type optimisticType;
-
-    /**
-     * Arguments to be passed to builtin {@code eval} function
-     */
-    public static class EvalArgs implements Serializable {
-        private static final long serialVersionUID = 1L;
-        private final List<Expression> args;
-
-        /** location string for the eval call */
-        private final String location;
-
-        /**
-         * Constructor
-         *
-         * @param args     arguments to eval
-         * @param location location for the eval call
-         */
-        public EvalArgs(final List<Expression> args, final String location) {
-            this.args = args;
-            this.location = location;
-        }
-
-        /**
-         * Return the code that is to be eval:ed by this eval function
-         * @return code as an AST node
-         */
-        public List<Expression> getArgs() {
-            return Collections.unmodifiableList(args);
-        }
-
-        private EvalArgs setArgs(final List<Expression> args) {
-            if (this.args == args) {
-                return this;
-            }
-            return new EvalArgs(args, location);
-        }
-
-        /**
-         * Get the human readable location for this eval call
-         * @return the location
-         */
-        public String getLocation() {
-            return this.location;
-        }
-    }
-
-    /** arguments for 'eval' call. Non-null only if this call node is 'eval' */
-    private final EvalArgs evalArgs;
-
     /**
      * Constructors
      *
@@ -118,19 +66,15 @@ public final class CallNode extends LexicalContextExpression implements Optimist
         this.function       = function;
         this.args           = args;
         this.flags          = isNew ? IS_NEW : 0;
-        this.evalArgs       = null;
         this.lineNumber     = lineNumber;
-        this.optimisticType = null;
     }
 
-    private CallNode(final CallNode callNode, final Expression function, final List<Expression> args, final int flags, final Type optimisticType, final EvalArgs evalArgs) {
+    private CallNode(final CallNode callNode, final Expression function, final List<Expression> args, final int flags) {
         super(callNode);
         this.lineNumber = callNode.lineNumber;
         this.function = function;
         this.args = args;
         this.flags = flags;
-        this.evalArgs = evalArgs;
-        this.optimisticType = optimisticType;
     }
 
     /**
@@ -153,10 +97,7 @@ public final class CallNode extends LexicalContextExpression implements Optimist
         if (visitor.enterCallNode(this)) {
             final CallNode newCallNode = (CallNode)visitor.leaveCallNode(
                     setFunction((Expression)function.accept(visitor)).
-                    setArgs(Node.accept(visitor, args)).
-                    setEvalArgs(evalArgs == null ?
-                            null :
-                            evalArgs.setArgs(Node.accept(visitor, evalArgs.getArgs()))));
+                    setArgs(Node.accept(visitor, args)));
             // Theoretically, we'd need to instead pass lc to every setter and do a replacement on each. In practice,
             // setType from TypeOverride can't accept a lc, and we don't necessarily want to go there now.
             if (this != newCallNode) {
@@ -184,21 +125,7 @@ public final class CallNode extends LexicalContextExpression implements Optimist
         if (this.args == args) {
             return this;
         }
-        return new CallNode(this, function, args, flags, optimisticType, evalArgs);
-    }
-
-    /**
-     * Set the EvalArgs structure for this call, if it has been determined it is an
-     * {@code eval}
-     *
-     * @param evalArgs eval args
-     * @return same node or new one on state change
-     */
-    public CallNode setEvalArgs(final EvalArgs evalArgs) {
-        if (this.evalArgs == evalArgs) {
-            return this;
-        }
-        return new CallNode(this, function, args, flags, optimisticType, evalArgs);
+        return new CallNode(this, function, args, flags);
     }
 
     /**
@@ -218,7 +145,7 @@ public final class CallNode extends LexicalContextExpression implements Optimist
         if (this.function == function) {
             return this;
         }
-        return new CallNode(this, function, args, flags, optimisticType, evalArgs);
+        return new CallNode(this, function, args, flags);
     }
 
 }
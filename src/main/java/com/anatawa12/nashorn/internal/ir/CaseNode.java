@@ -43,8 +43,8 @@ public final class CaseNode extends Node implements JoinPredecessor, Labels, Ter
     /** Statements. */
     private final Block body;
 
-    /** Case entry label. */
-    private final Label entry;
+    /** Case entry label, only needed by code generation and created on first request. */
+    private Label entry;
 
     /**
      * Constructors
@@ -59,7 +59,6 @@ public final class CaseNode extends Node implements JoinPredecessor, Labels, Ter
 
         this.test  = test;
         this.body  = body;
-        this.entry = new Label("entry");
     }
 
     CaseNode(final CaseNode caseNode, final Expression test, final Block body) {
@@ -67,7 +66,7 @@ public final class CaseNode extends Node implements JoinPredecessor, Labels, Ter
 
         this.test  = test;
         this.body  = body;
-        this.entry = new Label(caseNode.entry);
+        this.entry = caseNode.entry;
     }
 
     /**
@@ -99,6 +98,9 @@ public final class CaseNode extends Node implements JoinPredecessor, Labels, Ter
      * @return the entry label
      */
     public Label getEntry() {
+        if (entry == null) {
+            entry = new Label("entry");
+        }
         return entry;
     }
 
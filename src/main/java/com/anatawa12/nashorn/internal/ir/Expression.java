@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 
 /**
  * Common superclass for all expression nodes. Expression nodes can have
@@ -35,10 +34,6 @@ import com.anatawa12.nashorn.internal.codegen.types.Type;
 public abstract class Expression extends Node {
     private static final long serialVersionUID = 1L;
 
-    protected Expression(final long token, final int start, final int finish) {
-        super(token, start, finish);
-    }
-
     Expression(final long token, final int finish) {
         super(token, finish);
     }
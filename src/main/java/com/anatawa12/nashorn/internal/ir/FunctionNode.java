@@ -28,9 +28,7 @@ package com.anatawa12.nashorn.internal.ir;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import com.anatawa12.nashorn.internal.codegen.CompileUnit;
 import com.anatawa12.nashorn.internal.codegen.Namespace;
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 import com.anatawa12.nashorn.internal.runtime.Source;
@@ -63,12 +61,6 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
     /** Source of entity. */
     private transient final Source source;
 
-    /**
-     * Opaque object representing parser state at the end of the function. Used when reparsing outer functions
-     * to skip parsing inner functions.
-     */
-    private final Object endParserState;
-
     /** External function identifier. */
     private final IdentNode ident;
 
@@ -78,9 +70,6 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
     /** Internal function name. */
     private final String name;
 
-    /** Compilation unit. */
-    private final CompileUnit compileUnit;
-
     /** Function kind. */
     private final Kind kind;
 
@@ -99,24 +88,15 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
     /** Method's namespace. */
     private transient final Namespace namespace;
 
-    /** Number of properties of "this" object assigned in this function */
-    private final int thisProperties;
-
     /** Function flags. */
     private final int flags;
 
     /** Line number of function start */
     private final int lineNumber;
 
-    /** Root class for function */
-    private final Class<?> rootClass;
-
     /** The ES6 module */
     private final Module module;
 
-    /** The debug flags */
-    private final int debugFlags;
-
     /** Is anonymous function flag. */
     public static final int IS_ANONYMOUS                = 1 << 0;
 
@@ -192,9 +172,6 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
 
     // callsite tracing, profiling within this function
 
-    /** What is the return type of this function? */
-    public Type returnType = Type.UNKNOWN;
-
     /**
      * Constructor
      *
@@ -212,9 +189,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
      * @param kind       kind of function as in {@link FunctionNode.Kind}
      * @param flags      initial flags
      * @param body       body of the function
-     * @param endParserState The parser state at the end of the parsing.
      * @param module     the module
-     * @param debugFlags the debug flags
      */
     public FunctionNode(
         final Source source,
@@ -231,9 +206,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         final FunctionNode.Kind kind,
         final int flags,
         final Block body,
-        final Object endParserState,
-        final Module module,
-        final int debugFlags) {
+        final Module module) {
         super(token, finish);
 
         this.source           = source;
@@ -247,42 +220,27 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.lastToken        = lastToken;
         this.namespace        = namespace;
         this.flags            = flags;
-        this.compileUnit      = null;
         this.body             = body;
-        this.thisProperties   = 0;
-        this.rootClass        = null;
-        this.endParserState   = endParserState;
         this.module           = module;
-        this.debugFlags       = debugFlags;
     }
 
     private FunctionNode(
         final FunctionNode functionNode,
         final long lastToken,
-        final Object endParserState,
         final int flags,
         final String name,
-        final Type returnType,
-        final CompileUnit compileUnit,
         final Block body,
         final List<IdentNode> parameters,
-        final int thisProperties,
-        final Class<?> rootClass,
         final Source source, final Namespace namespace) {
         super(functionNode);
 
-        this.endParserState    = endParserState;
         this.lineNumber       = functionNode.lineNumber;
         this.flags            = flags;
         this.name             = name;
-        this.returnType       = returnType;
-        this.compileUnit      = compileUnit;
         this.lastToken        = lastToken;
         this.body             = body;
         this.parameters       = parameters;
         this.parameterExpressions = functionNode.parameterExpressions;
-        this.thisProperties   = thisProperties;
-        this.rootClass        = rootClass;
         this.source           = source;
         this.namespace        = namespace;
 
@@ -291,7 +249,6 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.kind            = functionNode.kind;
         this.firstToken      = functionNode.firstToken;
         this.module          = functionNode.module;
-        this.debugFlags      = functionNode.debugFlags;
     }
 
     @Override
@@ -331,15 +288,11 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         return new FunctionNode(
             this,
             lastToken,
-            endParserState,
             flags,
             name,
-            returnType,
-            compileUnit,
             body,
             parameters,
-            thisProperties,
-            rootClass, source, namespace);
+            source, namespace);
     }
 
     /**
@@ -391,15 +344,11 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
                 new FunctionNode(
                         this,
                         lastToken,
-                        endParserState,
                         flags,
                         name,
-                        returnType,
-                        compileUnit,
                         body,
                         parameters,
-                        thisProperties,
-                        rootClass, source, namespace));
+                        source, namespace));
     }
 
     @Override
@@ -445,18 +394,14 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
                 new FunctionNode(
                         this,
                         lastToken,
-                        endParserState,
                         flags |
                             (body.needsScope() ?
                                     FunctionNode.HAS_SCOPE_BLOCK :
                                     0),
                         name,
-                        returnType,
-                        compileUnit,
                         body,
                         parameters,
-                        thisProperties,
-                        rootClass, source, namespace));
+                        source, namespace));
     }
 
     /**
@@ -29,7 +29,6 @@ import static com.anatawa12.nashorn.internal.codegen.CompilerConstants.__DIR__;
 import static com.anatawa12.nashorn.internal.codegen.CompilerConstants.__FILE__;
 import static com.anatawa12.nashorn.internal.codegen.CompilerConstants.__LINE__;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 import com.anatawa12.nashorn.internal.parser.Token;
@@ -56,9 +55,6 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
     /** Identifier. */
     private final String name;
 
-    /** Optimistic type */
-    private final Type type;
-
     private final int flags;
 
 
@@ -72,14 +68,12 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
     public IdentNode(final long token, final int finish, final String name) {
         super(token, finish);
         this.name = name;
-        this.type = null;
         this.flags = 0;
     }
 
-    private IdentNode(final IdentNode identNode, final String name, final Type type, final int flags) {
+    private IdentNode(final IdentNode identNode, final String name, final int flags) {
         super(identNode);
         this.name = name;
-        this.type = type;
         this.flags = flags;
     }
 
@@ -91,7 +85,6 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
     public IdentNode(final IdentNode identNode) {
         super(identNode);
         this.name = identNode.getName();
-        this.type = identNode.type;
         this.flags = identNode.flags;
     }
 
@@ -138,7 +131,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
         if (isPropertyName()) {
             return this;
         }
-        return new IdentNode(this, name, type, flags | PROPERTY_NAME);
+        return new IdentNode(this, name, flags | PROPERTY_NAME);
     }
 
     /**
@@ -157,7 +150,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
         if (isFutureStrictName()) {
             return this;
         }
-        return new IdentNode(this, name, type, flags | FUTURESTRICT_NAME);
+        return new IdentNode(this, name, flags | FUTURESTRICT_NAME);
     }
 
     /**
@@ -176,7 +169,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
         if (isInitializedHere()) {
             return this;
         }
-        return new IdentNode(this, name, type, flags | INITIALIZED_HERE);
+        return new IdentNode(this, name, flags | INITIALIZED_HERE);
     }
 
     /**
@@ -194,7 +187,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return a new IdentNode equivalent to this but marked as dead.
      */
     public IdentNode markDead() {
-        return new IdentNode(this, name, type, flags | IS_DEAD);
+        return new IdentNode(this, name, flags | IS_DEAD);
     }
 
     /**
@@ -215,7 +208,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
         if (isDeclaredHere()) {
             return this;
         }
-        return new IdentNode(this, name, type, flags | IS_DECLARED_HERE);
+        return new IdentNode(this, name, flags | IS_DECLARED_HERE);
     }
 
     /**
@@ -253,7 +246,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return the new identifier
      */
     public IdentNode setIsDirectSuper() {
-        return new IdentNode(this, name, type, flags | DIRECT_SUPER);
+        return new IdentNode(this, name, flags | DIRECT_SUPER);
     }
 
     /**
@@ -271,7 +264,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return the new identifier
      */
     public IdentNode setIsRestParameter() {
-        return new IdentNode(this, name, type, flags | REST_PARAMETER);
+        return new IdentNode(this, name, flags | REST_PARAMETER);
     }
 
     /**
@@ -289,7 +282,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return the new identifier
      */
     public IdentNode setIsProtoPropertyName() {
-        return new IdentNode(this, name, type, flags | PROTO_PROPERTY);
+        return new IdentNode(this, name, flags | PROTO_PROPERTY);
     }
 
     /**
@@ -307,7 +300,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return the new identifier
      */
     public IdentNode setIsDefaultParameter() {
-        return new IdentNode(this, name, type, flags | DEFAULT_PARAMETER);
+        return new IdentNode(this, name, flags | DEFAULT_PARAMETER);
     }
 
     /**
@@ -325,7 +318,7 @@ public final class IdentNode extends Expression implements PropertyKey, Optimist
      * @return the new identifier
      */
     public IdentNode setIsDestructuredParameter() {
-        return new IdentNode(this, name, type, flags | DESTRUCTURED_PARAMETER);
+        return new IdentNode(this, name, flags | DESTRUCTURED_PARAMETER);
     }
 
     /**
@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 /**
@@ -52,8 +51,8 @@ public final class IndexNode extends BaseNode {
     }
 
     private IndexNode(final IndexNode indexNode, final Expression base, final Expression index, final boolean isFunction,
-                      final Type type, final boolean isSuper) {
-        super(indexNode, base, isFunction, type, isSuper);
+                      final boolean isSuper) {
+        super(indexNode, base, isFunction, isSuper);
         this.index = index;
     }
 
@@ -79,7 +78,7 @@ public final class IndexNode extends BaseNode {
         if (this.base == base) {
             return this;
         }
-        return new IndexNode(this, base, index, isFunction(), type, isSuper());
+        return new IndexNode(this, base, index, isFunction(), isSuper());
     }
 
     /**
@@ -91,7 +90,7 @@ public final class IndexNode extends BaseNode {
         if(this.index == index) {
             return this;
         }
-        return new IndexNode(this, base, index, isFunction(), type, isSuper());
+        return new IndexNode(this, base, index, isFunction(), isSuper());
     }
 
     @Override
@@ -99,6 +98,6 @@ public final class IndexNode extends BaseNode {
         if (isSuper()) {
             return this;
         }
-        return new IndexNode(this, base, index, isFunction(), type, true);
+        return new IndexNode(this, base, index, isFunction(), true);
     }
 }
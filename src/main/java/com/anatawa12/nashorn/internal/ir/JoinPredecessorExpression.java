@@ -50,7 +50,7 @@ public class JoinPredecessorExpression extends Expression implements JoinPredece
      * @param expression the expression to wrap
      */
     public JoinPredecessorExpression(final Expression expression) {
-        super(expression == null ? 0L : expression.getToken(), expression == null ? 0 : expression.getStart(), expression == null ? 0 : expression.getFinish());
+        super(expression == null ? 0L : expression.getToken(), expression == null ? 0 : expression.getFinish());
         this.expression = expression;
     }
 
@@ -72,6 +72,11 @@ public class JoinPredecessorExpression extends Expression implements JoinPredece
         return expression;
     }
 
+    @Override
+    public int getStart() {
+        return expression == null ? 0 : expression.getStart();
+    }
+
     /**
      * Sets the underlying expression.
      * @param expression the new underlying expression
@@ -25,9 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import java.util.List;
-import com.anatawa12.nashorn.internal.codegen.Label;
-
 /**
  * Interface that can be used to get a list of all labels in a node
  */
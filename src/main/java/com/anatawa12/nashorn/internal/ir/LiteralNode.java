@@ -29,7 +29,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 import com.anatawa12.nashorn.internal.parser.Lexer.LexerToken;
@@ -376,15 +375,6 @@ public abstract class LiteralNode<T> extends Expression implements PropertyKey {
     public static final class ArrayLiteralNode extends LiteralNode<Expression[]> implements LexicalContextNode, Splittable {
         private static final long serialVersionUID = 1L;
 
-        /** Array element type. */
-        private final Type elementType;
-
-        /** Preset constant array. */
-        private final Object presets;
-
-        /** Indices of array elements requiring computed post sets. */
-        private final int[] postsets;
-
         /** Does this array literal have a spread element? */
         private final boolean hasSpread;
 
@@ -419,9 +409,6 @@ public abstract class LiteralNode<T> extends Expression implements PropertyKey {
          */
         protected ArrayLiteralNode(final long token, final int finish, final Expression[] value, final boolean hasSpread, final boolean hasTrailingComma) {
             super(Token.recast(token, TokenType.ARRAY), finish, value);
-            this.elementType = Type.UNKNOWN;
-            this.presets     = null;
-            this.postsets    = null;
             this.hasSpread        = hasSpread;
             this.hasTrailingComma = hasTrailingComma;
         }
@@ -430,11 +417,8 @@ public abstract class LiteralNode<T> extends Expression implements PropertyKey {
          * Copy constructor
          * @param node source array literal node
          */
-        private ArrayLiteralNode(final ArrayLiteralNode node, final Expression[] value, final Type elementType, final int[] postsets, final Object presets) {
+        private ArrayLiteralNode(final ArrayLiteralNode node, final Expression[] value) {
             super(node, value);
-            this.elementType = elementType;
-            this.postsets    = postsets;
-            this.presets     = presets;
             this.hasSpread        = node.hasSpread;
             this.hasTrailingComma = node.hasTrailingComma;
         }
@@ -465,16 +449,6 @@ public abstract class LiteralNode<T> extends Expression implements PropertyKey {
             return Collections.unmodifiableList(Arrays.asList(value));
         }
 
-        /**
-         * Get indices of arrays containing computed post sets. post sets
-         * are things like non literals e.g. "x+y" instead of i or 17
-         * @return post set indices
-         */
-        public int[] getPostsets() {
-            assert postsets != null : this + " elementType=" + elementType + " has no postsets";
-            return postsets;
-        }
-
         @Override
         public Node accept(final NodeVisitor<? extends LexicalContext> visitor) {
             return Acceptor.accept(this, visitor);
@@ -494,7 +468,7 @@ public abstract class LiteralNode<T> extends Expression implements PropertyKey {
             if (this.value == value) {
                 return this;
             }
-            return Node.replaceInLexicalContext(lc, this, new ArrayLiteralNode(this, value, elementType, postsets, presets));
+            return Node.replaceInLexicalContext(lc, this, new ArrayLiteralNode(this, value));
         }
 
         private ArrayLiteralNode setValue(final LexicalContext lc, final List<Expression> value) {
@@ -33,8 +33,8 @@ import com.anatawa12.nashorn.internal.codegen.Label;
 public abstract class LoopNode extends BreakableStatement {
     private static final long serialVersionUID = 1L;
 
-    /** loop continue label. */
-    protected final Label continueLabel;
+    /** loop continue label, only needed by code generation and created on first request. */
+    private Label continueLabel;
 
     /** Loop test node, null if infinite */
     protected final JoinPredecessorExpression test;
@@ -56,8 +56,7 @@ public abstract class LoopNode extends BreakableStatement {
      * @param controlFlowEscapes controlFlowEscapes
      */
     protected LoopNode(final int lineNumber, final long token, final int finish, final Block body, final JoinPredecessorExpression test, final boolean controlFlowEscapes) {
-        super(lineNumber, token, finish, new Label("while_break"));
-        this.continueLabel = new Label("while_continue");
+        super(lineNumber, token, finish);
         this.body = body;
         this.controlFlowEscapes = controlFlowEscapes;
         this.test = test;
@@ -74,7 +73,7 @@ public abstract class LoopNode extends BreakableStatement {
     protected LoopNode(final LoopNode loopNode, final JoinPredecessorExpression test, final Block body,
                        final boolean controlFlowEscapes) {
         super(loopNode);
-        this.continueLabel = new Label(loopNode.continueLabel);
+        this.continueLabel = loopNode.continueLabel;
         this.test = test;
         this.body = body;
         this.controlFlowEscapes = controlFlowEscapes;
@@ -92,6 +91,9 @@ public abstract class LoopNode extends BreakableStatement {
      * @return continue label
      */
     public Label getContinueLabel() {
+        if (continueLabel == null) {
+            continueLabel = new Label("while_continue");
+        }
         return continueLabel;
     }
 
@@ -47,13 +47,10 @@ public abstract class Node implements Cloneable, Serializable {
     /** Constant used for synthetic AST nodes that have no finish. */
     public static final int NO_FINISH = 0;
 
-    /** Start of source range. */
-    protected final int start;
-
     /** End of source range. */
     protected final int finish;
 
-    /** Token descriptor. */
+    /** Token descriptor, its position is the start of source range. */
     private final long token;
 
     /**
@@ -64,23 +61,9 @@ public abstract class Node implements Cloneable, Serializable {
      */
     public Node(final long token, final int finish) {
         this.token  = token;
-        this.start  = Token.descPosition(token);
         this.finish = finish;
     }
 
-    /**
-     * Constructor
-     *
-     * @param token   token
-     * @param start   start
-     * @param finish  finish
-     */
-    protected Node(final long token, final int start, final int finish) {
-        this.start = start;
-        this.finish = finish;
-        this.token = token;
-    }
-
     /**
      * Copy constructor
      *
@@ -88,7 +71,6 @@ public abstract class Node implements Cloneable, Serializable {
      */
     protected Node(final Node node) {
         this.token  = node.token;
-        this.start  = node.start;
         this.finish = node.finish;
     }
 
@@ -100,7 +82,6 @@ public abstract class Node implements Cloneable, Serializable {
      */
     protected Node(final Node node, final int finish) {
         this.token = node.token;
-        this.start = node.start;
         this.finish = finish;
     }
 
@@ -143,7 +124,7 @@ public abstract class Node implements Cloneable, Serializable {
      * @return start position
      */
     public int getStart() {
-        return start;
+        return Token.descPosition(token);
     }
 
     /**
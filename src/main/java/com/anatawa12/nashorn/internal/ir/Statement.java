@@ -47,19 +47,6 @@ public abstract class Statement extends Node implements Terminal {
         this.lineNumber = lineNumber;
     }
 
-    /**
-     * Constructor
-     *
-     * @param lineNumber line number
-     * @param token      token
-     * @param start      start
-     * @param finish     finish
-     */
-    protected Statement(final int lineNumber, final long token, final int start, final int finish) {
-        super(token, start, finish);
-        this.lineNumber = lineNumber;
-    }
-
     /**
      * Copy constructor
      *
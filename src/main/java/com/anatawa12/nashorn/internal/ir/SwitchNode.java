@@ -27,7 +27,6 @@ package com.anatawa12.nashorn.internal.ir;
 
 import java.util.Collections;
 import java.util.List;
-import com.anatawa12.nashorn.internal.codegen.Label;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 
@@ -62,7 +61,7 @@ public final class SwitchNode extends BreakableStatement {
      * @param defaultCase the default case node - null if none, otherwise has to be present in cases list
      */
     public SwitchNode(final int lineNumber, final long token, final int finish, final Expression expression, final List<CaseNode> cases, final CaseNode defaultCase) {
-        super(lineNumber, token, finish, new Label("switch_break"));
+        super(lineNumber, token, finish);
         this.expression       = expression;
         this.cases            = cases;
         this.defaultCaseIndex = defaultCase == null ? -1 : cases.indexOf(defaultCase);
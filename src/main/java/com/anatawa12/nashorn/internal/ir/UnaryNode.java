@@ -25,7 +25,6 @@
 
 package com.anatawa12.nashorn.internal.ir;
 
-import com.anatawa12.nashorn.internal.codegen.types.Type;
 import com.anatawa12.nashorn.internal.ir.annotations.Immutable;
 import com.anatawa12.nashorn.internal.ir.visitor.NodeVisitor;
 import com.anatawa12.nashorn.internal.parser.Token;
@@ -40,7 +39,8 @@ public final class UnaryNode extends Expression implements Assignment<Expression
     /** Right hand side argument. */
     private final Expression expression;
 
-    private final Type type;
+    /** Start of source range, that of the expression for postfix operators. */
+    private final int start;
 
     /**
      * Constructor
@@ -61,16 +61,21 @@ public final class UnaryNode extends Expression implements Assignment<Expression
      * @param expression expression
      */
     public UnaryNode(final long token, final int start, final int finish, final Expression expression) {
-        super(token, start, finish);
+        super(token, finish);
         this.expression   = expression;
-        this.type = null;
+        this.start        = start;
     }
 
 
-    private UnaryNode(final UnaryNode unaryNode, final Expression expression, final Type type) {
+    private UnaryNode(final UnaryNode unaryNode, final Expression expression) {
         super(unaryNode);
         this.expression   = expression;
-        this.type = type;
+        this.start        = unaryNode.start;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
     }
 
     /**
@@ -139,7 +144,7 @@ public final class UnaryNode extends Expression implements Assignment<Expression
         if (this.expression == expression) {
             return this;
         }
-        return new UnaryNode(this, expression, type);
+        return new UnaryNode(this, expression);
     }
 
 }
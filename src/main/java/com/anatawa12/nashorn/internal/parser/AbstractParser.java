@@ -30,6 +30,7 @@ import static com.anatawa12.nashorn.internal.parser.TokenType.DIRECTIVE_COMMENT;
 import static com.anatawa12.nashorn.internal.parser.TokenType.EOF;
 import static com.anatawa12.nashorn.internal.parser.TokenType.EOL;
 import static com.anatawa12.nashorn.internal.parser.TokenType.IDENT;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import com.anatawa12.nashorn.internal.ir.IdentNode;
@@ -41,6 +42,7 @@ import com.anatawa12.nashorn.internal.runtime.ErrorManager;
 import com.anatawa12.nashorn.internal.runtime.JSErrorType;
 import com.anatawa12.nashorn.internal.runtime.ParserException;
 import com.anatawa12.nashorn.internal.runtime.Source;
+import com.anatawa12.nashorn.internal.runtime.regexp.BacktrackingAnalysis;
 import com.anatawa12.nashorn.internal.runtime.regexp.RegExpFactory;
 
 /**
@@ -94,6 +96,15 @@ public abstract class AbstractParser {
 
     private final Map<String, String> canonicalNames = new HashMap<>();
 
+    /** Should regexp literals be checked for catastrophic backtracking? */
+    private boolean checkRegExpBacktracking;
+
+    /** Start and end positions of consumed comments, in pairs; null if comments are not recorded. */
+    private int[] commentSpans;
+
+    /** Number of ints used in {@link #commentSpans}. */
+    private int commentSpansLength;
+
     /**
      * Construct a parser.
      *
@@ -103,7 +114,8 @@ public abstract class AbstractParser {
      * @param lineOffset Offset from which lines should be counted
      */
     protected AbstractParser(final Source source, final ErrorManager errors, final boolean strict, final int lineOffset) {
-        if (source.getLength() > Token.LENGTH_MASK) {
+        // A source still being read checks the size limit as it reads.
+        if (source.isComplete() && source.getLength() > Token.LENGTH_MASK) {
             throw new RuntimeException("Source exceeds size limit of " + Token.LENGTH_MASK + " bytes");
         }
         this.source       = source;
@@ -228,11 +240,61 @@ public abstract class AbstractParser {
                 start = Token.descPosition(token);
             }
 
+            if (commentSpans != null && (type == COMMENT || type == DIRECTIVE_COMMENT)) {
+                recordComment(token);
+            }
         }
 
         return type;
     }
 
+    /**
+     * Enable or disable recording of comment positions. Comments are
+     * recorded as they are consumed by the parser, so this has to be set
+     * before parsing starts.
+     *
+     * @param record true to record comments
+     */
+    public final void setRecordComments(final boolean record) {
+        commentSpans = record? new int[32] : null;
+        commentSpansLength = 0;
+    }
+
+    /**
+     * Enable or disable the backtracking check of regexp literals. When
+     * enabled, every regexp literal that may backtrack catastrophically is
+     * reported as a warning to the error manager.
+     *
+     * @param check true to check regexp literals
+     */
+    public final void setCheckRegExpBacktracking(final boolean check) {
+        checkRegExpBacktracking = check;
+    }
+
+    /**
+     * Get the positions of all comments seen by the last parse, in source
+     * order. Element {@code 2 * i} is the start and element {@code 2 * i + 1}
+     * the end position of the i-th comment.
+     *
+     * @return comment positions, or null if comments are not recorded
+     */
+    public final int[] getCommentSpans() {
+        return commentSpans == null? null : Arrays.copyOf(commentSpans, commentSpansLength);
+    }
+
+    private void recordComment(final long commentToken) {
+        final int pos = Token.descPosition(commentToken);
+        // tokens are consumed in source order, ignore anything already seen
+        if (commentSpansLength > 0 && pos < commentSpans[commentSpansLength - 1]) {
+            return;
+        }
+        if (commentSpansLength == commentSpans.length) {
+            commentSpans = Arrays.copyOf(commentSpans, commentSpansLength * 2);
+        }
+        commentSpans[commentSpansLength++] = pos;
+        commentSpans[commentSpansLength++] = pos + Token.descLength(commentToken);
+    }
+
     /**
      * Get the message string for a message ID and arguments
      *
@@ -537,6 +599,9 @@ public abstract class AbstractParser {
                 } catch (final ParserException e) {
                     throw error(e.getMessage());
                 }
+                if (checkRegExpBacktracking) {
+                    checkBacktracking(literalToken, regex);
+                }
             }
             node = LiteralNode.newInstance(literalToken, finish, (LexerToken)value);
         } else {
@@ -545,4 +610,13 @@ public abstract class AbstractParser {
 
         return node;
     }
+
+    private void checkBacktracking(final long regexToken, final RegexToken regex) {
+        // the pattern starts after the opening slash of the literal
+        final int patternStart = Token.descPosition(regexToken) + 1;
+        for (final BacktrackingAnalysis.Finding finding : RegExpFactory.checkBacktracking(regex.getExpression(), regex.getOptions())) {
+            final long findingToken = Token.toDesc(Token.descType(regexToken), patternStart + finding.getStart(), finding.getEnd() - finding.getStart());
+            warning(JSErrorType.SYNTAX_ERROR, message(finding.getKind().getMessageKey()), findingToken);
+        }
+    }
 }
@@ -99,6 +99,12 @@ public class Lexer extends Scanner {
 
     private int templateExpressionOpenBraces;
 
+    /** True while the segment to lex is not all in content yet. */
+    private boolean streaming;
+
+    /** End of the segment to lex. */
+    private int streamEnd;
+
     private static final String JAVASCRIPT_OTHER_WHITESPACE =
         "\u2028" + // line separator
         "\u2029" + // paragraph separator
@@ -199,9 +205,11 @@ public class Lexer extends Scanner {
      * @param pauseOnFunctionBody if true, lexer will return from {@link #lexify()} when it encounters a
      * function body. This is used with the feature where the parser is skipping nested function bodies to
      * avoid reading ahead unnecessarily when we skip the function bodies.
+     * If the source is still being read, lexing starts on the content read so far and waits
+     * for more as it goes; {@code len} may then exceed the final length of the source.
      */
     public Lexer(final Source source, final int start, final int len, final TokenStream stream, final boolean scripting, final boolean es6, final boolean pauseOnFunctionBody) {
-        super(source.getContent(), 1, start, len);
+        super(source.getAvailableContent(), 1, start, 0);
         this.source      = source;
         this.stream      = stream;
         this.scripting   = scripting;
@@ -211,6 +219,11 @@ public class Lexer extends Scanner {
         this.last        = EOL;
 
         this.pauseOnFunctionBody = pauseOnFunctionBody;
+
+        // Content is pulled in by fill, waiting for it if the source is still being read.
+        this.streaming   = len > 0;
+        this.streamEnd   = start + len;
+        reset(position);
     }
 
     private Lexer(final Lexer lexer, final State state) {
@@ -226,6 +239,42 @@ public class Lexer extends Scanner {
         linePosition = state.linePosition;
         last = EOL;
         pauseOnFunctionBody = false;
+
+        // A sub-lexer that scans to the end of what its parent has read, as for the
+        // expression of a template, keeps reading the source. Segments bounded by the
+        // parent (edited strings, the rest of a here string line) end before the limit.
+        streaming = lexer.streaming && state.limit == lexer.limit;
+        streamEnd = lexer.streamEnd;
+    }
+
+    @Override
+    protected boolean fill(final int i) {
+        if (!streaming) {
+            return false;
+        }
+        final int wanted = Math.min(i + 1, streamEnd);
+        final int available = source.awaitLength(wanted);
+        final int oldLimit = limit;
+        content = source.getAvailableContent();
+        limit = Math.min(available, streamEnd);
+        if (limit == streamEnd || available < wanted) {
+            // Either the segment is all in content or the source has been read completely.
+            streaming = false;
+        }
+        return limit > oldLimit;
+    }
+
+    /**
+     * Continue scanning where a sub-lexer stopped, taking over the content it
+     * has read. The limit only grows, since the sub-lexer started at ours.
+     *
+     * @param lexer the sub-lexer
+     */
+    private void continueAfter(final Lexer lexer) {
+        content   = lexer.content;
+        limit     = Math.max(limit, lexer.limit);
+        streaming = lexer.streaming;
+        restoreState(lexer.saveState());
     }
 
     static class State extends Scanner.State {
@@ -952,9 +1001,10 @@ public class Lexer extends Scanner {
                 sb.append('\n');
                 skip(ch1 == '\n' ? 2 : 1);
             } else {
-                // Add regular character.
-                sb.append(ch0);
-                skip(1);
+                // Add the run of regular characters up to the next escape or CR.
+                final int runEnd = plainEnd(position + 1, end, '\\');
+                sb.append(content, position, runEnd - position);
+                reset(runEnd);
             }
         }
 
@@ -964,6 +1014,52 @@ public class Lexer extends Scanner {
         return sb.toString();
     }
 
+    /**
+     * Find the end of a run of characters that can be copied from the source
+     * as they are, that is the first CR or {@code stop} character.
+     *
+     * @param from  Start position in source content.
+     * @param end   End position in source content.
+     * @param stop  Character ending the run besides CR.
+     * @return Position of the first CR or stop character, or end.
+     */
+    private int plainEnd(final int from, final int end, final char stop) {
+        final char[] chars = content;
+        int i = from;
+        while (i < end) {
+            final char ch = chars[i];
+            if (ch == stop || ch == '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skip the run of characters of a string or template literal that can
+     * not end it or start an escape or substitution, without the per
+     * character bookkeeping of {@link #skip(int)}. Stops at the current limit;
+     * the caller's loop deals with anything beyond.
+     *
+     * @param quote  Closing quote of the literal.
+     */
+    private void skipLiteralChars(final char quote) {
+        final char[] chars = content;
+        final int end = limit;
+        int i = position;
+        while (i < end) {
+            final char ch = chars[i];
+            if (ch == quote || ch == '\\' || ch == '$' || isJSEOL(ch)) {
+                break;
+            }
+            i++;
+        }
+        if (i != position) {
+            reset(i);
+        }
+    }
+
     /**
      * Scan over a string literal.
      * @param add true if we are not just scanning but should actually modify the token stream
@@ -981,6 +1077,13 @@ public class Lexer extends Scanner {
 
         // Scan until close quote or end of line.
         while (!atEOF() && ch0 != quote && !isEOL(ch0)) {
+            if (ch0 != '\\' && ch0 != '$') {
+                // Skip the run of plain characters at once.
+                skipLiteralChars(quote);
+                if (position == limit || ch0 == quote || isEOL(ch0)) {
+                    continue;
+                }
+            }
             // Skip over escaped character.
             if (ch0 == '\\') {
                 type = ESCSTRING;
@@ -1051,6 +1154,11 @@ public class Lexer extends Scanner {
 
         // Scan until close quote
         while (!atEOF()) {
+            // Skip the run of plain characters at once.
+            skipLiteralChars('`');
+            if (position == limit) {
+                continue;
+            }
             // Skip over escaped character.
             if (ch0 == '`') {
                 skip(1);
@@ -1067,7 +1175,7 @@ public class Lexer extends Scanner {
                 final Lexer expressionLexer = new Lexer(this, saveState());
                 expressionLexer.templateExpressionOpenBraces = 1;
                 expressionLexer.lexify();
-                restoreState(expressionLexer.saveState());
+                continueAfter(expressionLexer);
 
                 // scan next middle or tail of the template literal
                 assert ch0 == '}';
@@ -1645,11 +1753,19 @@ public class Lexer extends Scanner {
 
     /**
      * Breaks source content down into lex units, adding tokens to the token
-     * stream. The routine scans until the stream buffer is full. Can be called
+     * stream. The routine scans until the stream buffer is full, or while the
+     * source is still being read, until it has added a token. Can be called
      * repeatedly until EOF is detected.
      */
     public void lexify() {
+        // Reading ahead of the parser would wait for content the parse may not need,
+        // as when it stops at an error.
+        final int first = stream.last();
         while (!stream.isFull() || nested) {
+            if (streaming && !nested && stream.last() != first) {
+                break;
+            }
+
             // Skip over whitespace.
             skipWhitespace(true);
 
@@ -1778,6 +1894,10 @@ public class Lexer extends Scanner {
         case TEMPLATE_HEAD:
         case TEMPLATE_MIDDLE:
         case TEMPLATE_TAIL:
+            if (plainEnd(start, start + len, '\\') == start + len) {
+                // No escapes and no CR to normalize.
+                return new String(content, start, len); // String
+            }
             return valueOfString(start, len, true); // String
         case XML:
             return valueOfXML(start, len); // XMLToken::LexerToken
@@ -1800,6 +1920,11 @@ public class Lexer extends Scanner {
         final int start  = Token.descPosition(token);
         final int length = Token.descLength(token);
 
+        if (plainEnd(start, start + length, '\r') == start + length) {
+            // No CR to normalize.
+            return new String(content, start, length);
+        }
+
         // Save the current position.
         final int savePosition = position;
         // Calculate the end position.
@@ -1817,9 +1942,10 @@ public class Lexer extends Scanner {
                 sb.append('\n');
                 skip(ch1 == '\n' ? 2 : 1);
             } else {
-                // Add regular character.
-                sb.append(ch0);
-                skip(1);
+                // Add the run of regular characters up to the next CR.
+                final int runEnd = plainEnd(position + 1, end, '\r');
+                sb.append(content, position, runEnd - position);
+                reset(runEnd);
             }
         }
 
@@ -82,6 +82,7 @@ import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -155,6 +156,7 @@ public class Parser extends AbstractParser implements Loggable {
     private static final String CONSTRUCTOR_NAME = "constructor";
     private static final String GET_NAME = "get";
     private static final String SET_NAME = "set";
+    private static final String ARROW_FUNCTION_NAME = NameCodec.encode("=>:");
 
     /** Current env. */
     private final ScriptEnvironment env;
@@ -164,6 +166,15 @@ public class Parser extends AbstractParser implements Loggable {
 
     private List<Statement> functionDeclarations;
 
+    /** Receiver of completed top level statements, or null to keep them in the program body. */
+    private Consumer<Statement> topLevelStatementConsumer;
+
+    /** Program body whose statements are handed to {@link #topLevelStatementConsumer}. */
+    private ParserContextBlockNode topLevelBody;
+
+    /** True to only collect the imports and exports of a module, see {@link #setModuleRecordOnly(boolean)}. */
+    private boolean moduleRecordOnly;
+
     private final ParserContext lc;
     private final Deque<Object> defaultNames;
 
@@ -253,7 +264,33 @@ public class Parser extends AbstractParser implements Loggable {
      * @return function node resulting from successful parse
      */
     public FunctionNode parse() {
-        return parse(PROGRAM.symbolName(), 0, source.getLength(), 0);
+        return parse(PROGRAM.symbolName(), 0, sourceLength(), 0);
+    }
+
+    /**
+     * Set a consumer that is handed each top level statement of the script or
+     * module as soon as it has been parsed. Statements handed to the consumer
+     * are dropped from the program body, so the parse result only holds the
+     * statement being parsed rather than the whole program. Function
+     * declarations are handed over in source order with the other statements.
+     *
+     * @param consumer the consumer, or null to keep statements in the program body
+     */
+    public void setTopLevelStatementConsumer(final Consumer<Statement> consumer) {
+        this.topLevelStatementConsumer = consumer;
+    }
+
+    /**
+     * Set whether {@link #parseModule(String)} should only collect the module
+     * record. Top level statements other than imports and exports are then
+     * skipped token by token, and function bodies are skipped by matching
+     * braces, so the returned function node has a complete {@link Module} but
+     * an incomplete body. Syntax errors in skipped code are not reported.
+     *
+     * @param recordOnly true to only collect the module record
+     */
+    public void setModuleRecordOnly(final boolean recordOnly) {
+        this.moduleRecordOnly = recordOnly;
     }
 
     /**
@@ -337,7 +374,15 @@ public class Parser extends AbstractParser implements Loggable {
      * @return the parsed module
      */
     public FunctionNode parseModule(final String moduleName) {
-        return parseModule(moduleName, 0, source.getLength());
+        return parseModule(moduleName, 0, sourceLength());
+    }
+
+    /**
+     * Length of the source to parse. A source still being read is lexed as it
+     * arrives, so its length is not waited for and the lexer stops at its end.
+     */
+    private int sourceLength() {
+        return source.isComplete() ? source.getLength() : Token.LENGTH_MASK;
     }
 
     private void handleParseException(final Exception e) {
@@ -419,19 +464,10 @@ public class Parser extends AbstractParser implements Loggable {
     }
 
     private ParserContextFunctionNode createParserContextFunctionNode(final IdentNode ident, final long functionToken, final FunctionNode.Kind kind, final int functionLine, final List<IdentNode> parameters) {
-        // Build function name.
-        final StringBuilder sb = new StringBuilder();
-
         final ParserContextFunctionNode parentFunction = lc.getCurrentFunction();
-        if (parentFunction != null && !parentFunction.isProgram()) {
-            sb.append(parentFunction.getName()).append(CompilerConstants.NESTED_FUNCTION_SEPARATOR.symbolName());
-        }
 
         assert ident.getName() != null;
-        sb.append(ident.getName());
-
-        final String name = namespace.uniqueName(sb.toString());
-        assert parentFunction != null || kind == FunctionNode.Kind.MODULE || name.equals(PROGRAM.symbolName()) : "name = " + name;
+        assert parentFunction != null || kind == FunctionNode.Kind.MODULE || ident.getName().equals(PROGRAM.symbolName()) : "name = " + ident.getName();
 
         int flags = 0;
         if (isStrictMode) {
@@ -441,8 +477,13 @@ public class Parser extends AbstractParser implements Loggable {
             flags |= FunctionNode.IS_PROGRAM;
         }
 
-        final ParserContextFunctionNode functionNode = new ParserContextFunctionNode(functionToken, ident, name, namespace, functionLine, kind, parameters);
+        final ParserContextFunctionNode nameParent = parentFunction != null && !parentFunction.isProgram() ? parentFunction : null;
+        final ParserContextFunctionNode functionNode = new ParserContextFunctionNode(functionToken, ident, nameParent, namespace, functionLine, kind, parameters);
         functionNode.setFlag(flags);
+        if (!env._parse_only) {
+            // Reserve the internal name now so unique name suffixes follow source order.
+            functionNode.getName();
+        }
         return functionNode;
     }
 
@@ -459,15 +500,13 @@ public class Parser extends AbstractParser implements Loggable {
                 function.getLastToken(),
                 namespace,
                 ident,
-                function.getName(),
+                env._parse_only ? null : function.getName(),
                 parameters,
                 function.getParameterExpressions(),
                 kind,
                 function.getFlags(),
                 body,
-                function.getEndParserState(),
-                function.getModule(),
-                function.getDebugFlags());
+                function.getModule());
 
         printAST(functionNode);
 
@@ -712,13 +751,14 @@ public class Parser extends AbstractParser implements Loggable {
      */
     private FunctionNode program(final String scriptName, final int reparseFlags) {
         // Make a pseudo-token for the script holding its start and length.
-        final long functionToken = Token.toDesc(FUNCTION, Token.descPosition(Token.withDelimiter(token)), source.getLength());
+        final int  functionStart = Token.descPosition(Token.withDelimiter(token));
+        final long startToken    = Token.toDesc(FUNCTION, functionStart, source.isComplete() ? source.getLength() : 0);
         final int  functionLine  = line;
 
-        final IdentNode ident = new IdentNode(functionToken, Token.descPosition(functionToken), scriptName);
+        final IdentNode ident = new IdentNode(startToken, functionStart, scriptName);
         final ParserContextFunctionNode script = createParserContextFunctionNode(
                 ident,
-                functionToken,
+                startToken,
                 FunctionNode.Kind.SCRIPT,
                 functionLine,
                 Collections.<IdentNode>emptyList());
@@ -726,10 +766,14 @@ public class Parser extends AbstractParser implements Loggable {
         final ParserContextBlockNode body = newBlock();
 
         functionDeclarations = new ArrayList<>();
+        topLevelBody = topLevelStatementConsumer != null ? body : null;
         sourceElements(reparseFlags);
+        topLevelBody = null;
         addFunctionDeclarations(script);
         functionDeclarations = null;
 
+        // The length of a source that was still being read is known once it has been scanned.
+        final long functionToken = Token.toDesc(FUNCTION, functionStart, source.getLength());
         restoreBlock(body);
         body.setFlag(Block.NEEDS_SCOPE);
         final Block programBody = new Block(functionToken, finish, body.getFlags() | Block.IS_SYNTHETIC | Block.IS_BODY, body.getStatements());
@@ -849,6 +893,10 @@ public class Parser extends AbstractParser implements Loggable {
                     appendStatement(expressionStatement);
                 }
 
+                if (topLevelBody != null && lc.getCurrentBlock() == topLevelBody) {
+                    flushTopLevelStatements();
+                }
+
                 // No backtracking from here on.
                 stream.commit(k);
             }
@@ -1204,8 +1252,7 @@ public class Parser extends AbstractParser implements Loggable {
                 constructor = createDefaultClassConstructor(classLineNumber, classToken, lastToken, className, classHeritage != null);
             }
 
-            classElements.trimToSize();
-            return new ClassNode(classLineNumber, classToken, finish, className, classHeritage, constructor, classElements, isStatement);
+            return new ClassNode(classLineNumber, classToken, finish, className, classHeritage, constructor, optimizeList(classElements), isStatement);
         } finally {
             isStrictMode = oldStrictMode;
         }
@@ -2850,7 +2897,7 @@ public class Parser extends AbstractParser implements Loggable {
 
         // Object context.
         // Prepare to accumulate elements.
-        final List<PropertyNode> elements = new ArrayList<>();
+        final ArrayList<PropertyNode> elements = new ArrayList<>();
         final Map<String, Integer> map = new HashMap<>();
 
         // Create a block for the object literal.
@@ -2928,7 +2975,7 @@ public class Parser extends AbstractParser implements Loggable {
             }
         }
 
-        return new ObjectNode(objectToken, finish, elements);
+        return new ObjectNode(objectToken, finish, optimizeList(elements));
     }
 
     private void checkPropertyRedefinition(final PropertyNode property, final Expression value, final FunctionNode getter, final FunctionNode setter, final Expression prevValue, final FunctionNode prevGetter, final FunctionNode prevSetter) {
@@ -3120,7 +3167,7 @@ public class Parser extends AbstractParser implements Loggable {
         final boolean computed = type == LBRACKET;
         final Expression propertyName = propertyName();
         final String getterName = propertyName instanceof PropertyKey ? ((PropertyKey) propertyName).getPropertyName() : getDefaultValidFunctionName(functionLine, false);
-        final IdentNode getNameNode = createIdentNode((propertyName).getToken(), finish, NameCodec.encode("get " + getterName));
+        final IdentNode getNameNode = createIdentNode((propertyName).getToken(), finish, syntheticFunctionName("get ", getterName));
         expect(LPAREN);
         expect(RPAREN);
 
@@ -3160,7 +3207,7 @@ public class Parser extends AbstractParser implements Loggable {
         final boolean computed = type == LBRACKET;
         final Expression propertyName = propertyName();
         final String setterName = propertyName instanceof PropertyKey ? ((PropertyKey) propertyName).getPropertyName() : getDefaultValidFunctionName(functionLine, false);
-        final IdentNode setNameNode = createIdentNode((propertyName).getToken(), finish, NameCodec.encode("set " + setterName));
+        final IdentNode setNameNode = createIdentNode((propertyName).getToken(), finish, syntheticFunctionName("set ", setterName));
         expect(LPAREN);
         // be sloppy and allow missing setter parameter even though
         // spec does not permit it!
@@ -3813,6 +3860,18 @@ public class Parser extends AbstractParser implements Loggable {
         return ANON_FUNCTION_PREFIX.symbolName() + functionLine;
     }
 
+    /**
+     * Name for the identifier of a synthetic accessor function. The encoded
+     * name only feeds the internal function name used by code generation, so
+     * parse only mode skips building it and uses the bare prefix.
+     */
+    private String syntheticFunctionName(final String prefix, final String name) {
+        if (env._parse_only) {
+            return prefix;
+        }
+        return NameCodec.encode(prefix + name);
+    }
+
     private static boolean isValidIdentifier(final String name) {
         if (name == null || name.isEmpty()) {
             return false;
@@ -3996,8 +4055,7 @@ public class Parser extends AbstractParser implements Loggable {
             parameters.add(ident);
         }
 
-        parameters.trimToSize();
-        return parameters;
+        return optimizeList(parameters);
     }
 
     private void verifyDestructuringParameterBindingPattern(final Expression pattern, final long paramToken, final int paramLine, final String contextString) {
@@ -4046,7 +4104,7 @@ public class Parser extends AbstractParser implements Loggable {
             }
             assert functionNode != null;
             final int functionId = functionNode.getId();
-            parseBody = true;
+            parseBody = !moduleRecordOnly;
             // Nashorn extension: expression closures
             if ((!env._no_syntax_extensions || functionNode.getKind() == FunctionNode.Kind.ARROW) && type != LBRACE) {
                 /*
@@ -4133,8 +4191,77 @@ public class Parser extends AbstractParser implements Loggable {
     }
 
     private boolean skipFunctionBody(final ParserContextFunctionNode functionNode) {
-        // Not reparsing, so don't skip any function body.
-        return false;
+        if (!moduleRecordOnly) {
+            // Not reparsing, so don't skip any function body.
+            return false;
+        }
+        skipBalanced(false);
+        return true;
+    }
+
+    /**
+     * Skip tokens without parsing them, keeping track of bracket nesting. A slash
+     * is taken to start a regular expression literal when the token before it
+     * cannot end an expression.
+     *
+     * @param toModuleItem if true, stop at an import or export at nesting level
+     *        zero or at the end of input; if false, the current token is an opening
+     *        brace and skipping stops at the matching closing brace
+     */
+    private void skipBalanced(final boolean toModuleItem) {
+        int depth = 0;
+        TokenType previous = null;
+        while (type != EOF) {
+            switch (type) {
+            case LBRACE:
+            case LPAREN:
+            case LBRACKET:
+                depth++;
+                break;
+            case RBRACE:
+            case RPAREN:
+            case RBRACKET:
+                depth = Math.max(depth - 1, 0);
+                if (!toModuleItem && depth == 0) {
+                    return;
+                }
+                break;
+            case IMPORT:
+            case EXPORT:
+                if (toModuleItem && depth == 0 && previous != PERIOD) {
+                    return;
+                }
+                break;
+            case DIV:
+            case ASSIGN_DIV:
+                if (canPrecedeRegExp(previous)) {
+                    lexer.scanLiteral(token, type, lineInfoReceiver);
+                }
+                break;
+            default:
+                break;
+            }
+            previous = type;
+            next();
+        }
+    }
+
+    private static boolean canPrecedeRegExp(final TokenType previous) {
+        if (previous == null) {
+            return true;
+        }
+        switch (previous) {
+        case RPAREN:
+        case RBRACKET:
+        case THIS:
+        case SUPER:
+            return false;
+        case TEMPLATE_HEAD:
+        case TEMPLATE_MIDDLE:
+            return true;
+        default:
+            return previous.getKind() != TokenKind.LITERAL;
+        }
     }
 
     /**
@@ -4159,6 +4286,28 @@ public class Parser extends AbstractParser implements Loggable {
     private void printAST(final FunctionNode functionNode) {
     }
 
+    /**
+     * Hand the statements parsed so far at top level to the top level statement
+     * consumer, in source order, and drop them from the program body.
+     */
+    private void flushTopLevelStatements() {
+        final List<Statement> statements = topLevelBody.getStatements();
+        if (statements.isEmpty() && functionDeclarations.isEmpty()) {
+            return;
+        }
+        final List<Statement> completed = new ArrayList<>(statements.size() + functionDeclarations.size());
+        completed.addAll(functionDeclarations);
+        completed.addAll(statements);
+        if (!functionDeclarations.isEmpty()) {
+            completed.sort(Comparator.comparingInt(Node::getSourceOrder));
+        }
+        statements.clear();
+        functionDeclarations.clear();
+        for (final Statement statement : completed) {
+            topLevelStatementConsumer.accept(statement);
+        }
+    }
+
     private void addFunctionDeclarations(final ParserContextFunctionNode functionNode) {
         VarNode lastDecl = null;
         for (int i = functionDeclarations.size() - 1; i >= 0; i--) {
@@ -4597,7 +4746,7 @@ public class Parser extends AbstractParser implements Loggable {
         expect(ARROW);
 
         final long functionToken = Token.recast(startToken, ARROW);
-        final IdentNode name = new IdentNode(functionToken, Token.descPosition(functionToken), NameCodec.encode("=>:") + functionLine);
+        final IdentNode name = new IdentNode(functionToken, Token.descPosition(functionToken), env._parse_only ? ARROW_FUNCTION_NAME : ARROW_FUNCTION_NAME + functionLine);
         final ParserContextFunctionNode functionNode = createParserContextFunctionNode(name, functionToken, FunctionNode.Kind.ARROW, functionLine, null);
         functionNode.setFlag(FunctionNode.IS_ANONYMOUS);
 
@@ -4958,13 +5107,13 @@ public class Parser extends AbstractParser implements Loggable {
 
             // Make a pseudo-token for the script holding its start and length.
             final int functionStart = Math.min(Token.descPosition(Token.withDelimiter(token)), finish);
-            final long functionToken = Token.toDesc(FUNCTION, functionStart, source.getLength() - functionStart);
+            final long startToken = Token.toDesc(FUNCTION, functionStart, source.isComplete() ? source.getLength() - functionStart : 0);
             final int  functionLine  = line;
 
-            final IdentNode ident = new IdentNode(functionToken, Token.descPosition(functionToken), moduleName);
+            final IdentNode ident = new IdentNode(startToken, functionStart, moduleName);
             final ParserContextFunctionNode script = createParserContextFunctionNode(
                             ident,
-                            functionToken,
+                            startToken,
                             FunctionNode.Kind.MODULE,
                             functionLine,
                             Collections.<IdentNode>emptyList());
@@ -4976,10 +5125,14 @@ public class Parser extends AbstractParser implements Loggable {
             final ParserContextBlockNode body = newBlock();
 
             functionDeclarations = new ArrayList<>();
+            topLevelBody = topLevelStatementConsumer != null ? body : null;
             moduleBody();
+            topLevelBody = null;
             addFunctionDeclarations(script);
             functionDeclarations = null;
 
+            // The length of a source that was still being read is known once it has been scanned.
+            final long functionToken = Token.toDesc(FUNCTION, functionStart, source.getLength() - functionStart);
             restoreBlock(body);
             body.setFlag(Block.NEEDS_SCOPE);
             final Block programBody = new Block(functionToken, finish, body.getFlags() | Block.IS_SYNTHETIC | Block.IS_BODY, body.getStatements());
@@ -5025,9 +5178,16 @@ public class Parser extends AbstractParser implements Loggable {
                 break;
             default:
                 // StatementListItem
-                statement(true, 0, false, false);
+                if (moduleRecordOnly) {
+                    skipBalanced(true);
+                } else {
+                    statement(true, 0, false, false);
+                }
                 break;
             }
+            if (topLevelBody != null) {
+                flushTopLevelStatements();
+            }
         }
     }
 
@@ -5070,11 +5230,13 @@ public class Parser extends AbstractParser implements Loggable {
             } else if (isBindingIdentifier()) {
                 // ImportedDefaultBinding
                 final IdentNode importedDefaultBinding = bindingIdentifier("ImportedBinding");
-                final Module.ImportEntry defaultImport = Module.ImportEntry.importSpecifier(importedDefaultBinding, startPosition, finish);
+                final IdentNode defaultName = createIdentNode(importedDefaultBinding.getToken(), importedDefaultBinding.getFinish(), Module.DEFAULT_NAME);
+                final Module.ImportEntry defaultImport = Module.ImportEntry.importSpecifier(defaultName, importedDefaultBinding, startPosition, finish);
 
                 if (type == COMMARIGHT) {
                     next();
                     importEntries = new ArrayList<>();
+                    importEntries.add(defaultImport);
                     if (type == MUL) {
                         importEntries.add(nameSpaceImport(startPosition));
                     } else if (type == LBRACE) {
@@ -5231,13 +5393,23 @@ public class Parser extends AbstractParser implements Loggable {
                 final boolean declaration;
                 switch (type) {
                     case FUNCTION:
-                        assignmentExpression = functionExpression(false, true);
-                        ident = ((FunctionNode) assignmentExpression).getIdent();
+                        if (lookaheadIsNamedDeclaration()) {
+                            assignmentExpression = functionExpression(true, true);
+                            ident = ((FunctionNode) assignmentExpression).getIdent();
+                        } else {
+                            assignmentExpression = functionExpression(false, true);
+                            ident = null;
+                        }
                         declaration = true;
                         break;
                     case CLASS:
-                        assignmentExpression = classDeclaration(true);
-                        ident = ((ClassNode) assignmentExpression).getIdent();
+                        if (lookaheadIsNamedDeclaration()) {
+                            assignmentExpression = classDeclaration(false);
+                            ident = ((ClassNode) assignmentExpression).getIdent();
+                        } else {
+                            assignmentExpression = classDeclaration(true);
+                            ident = null;
+                        }
                         declaration = true;
                         break;
                     default:
@@ -5284,6 +5456,27 @@ public class Parser extends AbstractParser implements Loggable {
         }
     }
 
+    /**
+     * Returns if the function or class after export default has a name, in
+     * which case it is a declaration of that name.
+     *
+     * @return true if the function or class is named
+     */
+    private boolean lookaheadIsNamedDeclaration() {
+        assert type == FUNCTION || type == CLASS;
+        for (int i = 1;; i++) {
+            final TokenType t = T(k + i);
+            switch (t) {
+            case EOL:
+            case COMMENT:
+            case MUL:
+                continue;
+            default:
+                return t != LPAREN && t != LBRACE && t != EXTENDS;
+            }
+        }
+    }
+
     /**
      * ExportClause :
      *     { }
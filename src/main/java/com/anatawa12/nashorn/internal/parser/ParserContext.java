@@ -189,7 +189,9 @@ class ParserContext {
     public ParserContextBlockNode getFunctionBody(final ParserContextFunctionNode functionNode) {
         for (int i = sp - 1; i >= 0 ; i--) {
             if (stack[i] == functionNode) {
-                return (ParserContextBlockNode)stack[i + 1];
+                // the body of a module is nested in its module node
+                final int body = stack[i + 1] instanceof ParserContextModuleNode ? i + 2 : i + 1;
+                return (ParserContextBlockNode)stack[body];
             }
         }
         throw new AssertionError(functionNode.getName() + " not on context stack");
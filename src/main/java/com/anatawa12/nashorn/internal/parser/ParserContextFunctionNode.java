@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import com.anatawa12.nashorn.internal.codegen.CompilerConstants;
 import com.anatawa12.nashorn.internal.codegen.Namespace;
 import com.anatawa12.nashorn.internal.ir.Expression;
 import com.anatawa12.nashorn.internal.ir.FunctionNode;
@@ -39,8 +40,11 @@ import com.anatawa12.nashorn.internal.ir.Module;
  */
 class ParserContextFunctionNode extends ParserContextBaseNode {
 
-    /** Function name */
-    private final String name;
+    /** Function name, computed on first request */
+    private String name;
+
+    /** Enclosing function whose name prefixes this one, or null for top level functions */
+    private final ParserContextFunctionNode parent;
 
     /** Function identifier node */
     private final IdentNode ident;
@@ -78,26 +82,39 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
     /**
      * @param token The token for the function
      * @param ident External function name
-     * @param name  Internal name of the function
+     * @param parent Enclosing function whose internal name prefixes this one, or null
      * @param namespace Function's namespace
      * @param line  The source line of the function
      * @param kind  Function kind
      * @param parameters The parameters of the function
      */
-    public ParserContextFunctionNode(final long token, final IdentNode ident, final String name, final Namespace namespace, final int line, final FunctionNode.Kind kind, final List<IdentNode> parameters) {
+    public ParserContextFunctionNode(final long token, final IdentNode ident, final ParserContextFunctionNode parent, final Namespace namespace, final int line, final FunctionNode.Kind kind, final List<IdentNode> parameters) {
         this.ident      = ident;
         this.namespace  = namespace;
         this.line       = line;
         this.kind       = kind;
-        this.name       = name;
+        this.parent     = parent;
         this.parameters = parameters;
         this.token      = token;
     }
 
     /**
+     * Get the internal name of the function. The name is made unique in the
+     * namespace the first time it is requested, so functions whose names are
+     * never requested do not pay for building them.
+     *
      * @return Internal name of the function
      */
     public String getName() {
+        if (name == null) {
+            final String base;
+            if (parent != null) {
+                base = parent.getName() + CompilerConstants.NESTED_FUNCTION_SEPARATOR.symbolName() + ident.getName();
+            } else {
+                base = ident.getName();
+            }
+            name = namespace.uniqueName(base);
+        }
         return name;
     }
 
@@ -31,13 +31,13 @@ package com.anatawa12.nashorn.internal.parser;
  */
 public class Scanner {
     /** Characters to scan. */
-    protected final char[] content;
+    protected char[] content;
 
     /** Position in content. */
     protected int position;
 
     /** Scan limit. */
-    protected final int limit;
+    protected int limit;
 
     /** Current line number. */
     protected int line;
@@ -150,7 +150,7 @@ public class Scanner {
      * @return true if no more input
      */
     protected final boolean atEOF() {
-        return position == limit;
+        return position == limit && !fill(position);
     }
 
     /**
@@ -160,7 +160,21 @@ public class Scanner {
      */
     protected final char charAt(final int i) {
         // Get a character from the content, '\0' if beyond the end of file.
-        return i < limit ? content[i] : '\0';
+        if (i < limit) {
+            return content[i];
+        }
+        return fill(i) && i < limit ? content[i] : '\0';
+    }
+
+    /**
+     * Called when a character at or beyond the scan limit is needed. Scanners
+     * over content that is still being read override this to wait for more of
+     * it, updating {@link #content} and {@link #limit}.
+     * @param i Index of the character needed.
+     * @return true if the limit was raised.
+     */
+    protected boolean fill(final int i) {
+        return false;
     }
 
     /**
@@ -26,8 +26,6 @@
 package com.anatawa12.nashorn.internal.runtime;
 
 import java.text.MessageFormat;
-import java.util.Locale;
-import java.util.ResourceBundle;
 import com.anatawa12.nashorn.internal.codegen.CompilerConstants;
 import com.anatawa12.nashorn.internal.scripts.JS;
 
@@ -35,13 +33,6 @@ import com.anatawa12.nashorn.internal.scripts.JS;
  * Helper class to throw various standard "ECMA error" exceptions such as Error, ReferenceError, TypeError etc.
  */
 public final class ECMAErrors {
-    private static final String MESSAGES_RESOURCE = "com.anatawa12.nashorn.internal.runtime.resources.Messages";
-
-    private static final ResourceBundle MESSAGES_BUNDLE;
-    static {
-        MESSAGES_BUNDLE = ResourceBundle.getBundle(MESSAGES_RESOURCE, Locale.getDefault());
-    }
-
     /** We assume that compiler generates script classes into the known package. */
     private static final String scriptPackage;
     static {
@@ -63,11 +54,12 @@ public final class ECMAErrors {
      * @return the filled out error string
      */
     public static String getMessage(final String msgId, final String... args) {
-        try {
-            return new MessageFormat(MESSAGES_BUNDLE.getString(msgId)).format(args);
-        } catch (final java.util.MissingResourceException e) {
+        // messages come from a table generated out of resources/Messages.properties
+        final String msg = MessagesTable.getMessage(msgId);
+        if (msg == null) {
             throw new RuntimeException("no message resource found for message id: "+ msgId);
         }
+        return new MessageFormat(msg).format(args);
     }
 
 
@@ -25,6 +25,7 @@
 
 package com.anatawa12.nashorn.internal.runtime;
 
+import com.anatawa12.nashorn.internal.parser.Lexer;
 import com.anatawa12.nashorn.internal.runtime.doubleconv.DoubleConversion;
 
 /**
@@ -37,6 +38,11 @@ public enum JSType {
     // Minimum and maximum range between which every long value can be precisely represented as a double.
     private static final long MAX_PRECISE_DOUBLE = 1L << 53;
 
+    /** Max value for an uint32 in JavaScript */
+    public static final long MAX_UINT = 0xFFFF_FFFFL;
+
+    private static final double INT32_LIMIT = 4294967296.0;
+
     /**
      * Constructor
      *
@@ -137,6 +143,200 @@ public enum JSType {
         return true;
     }
 
+    /**
+     * JavaScript compliant conversion of a primitive to number
+     * See ECMA 9.3 ToNumber
+     *
+     * @param obj a primitive, see {@link #isPrimitive(Object)}, or undefined
+     *
+     * @return a number
+     */
+    public static double toNumber(final Object obj) {
+        if (obj instanceof Number) {
+            return ((Number)obj).doubleValue();
+        }
+
+        if (obj instanceof String) {
+            return toNumber((String)obj);
+        }
+
+        if (obj instanceof Boolean) {
+            return (Boolean)obj? 1 : +0.0;
+        }
+
+        if (obj == null) {
+            return +0.0;
+        }
+
+        if (obj == Undefined.getUndefined()) {
+            return Double.NaN;
+        }
+
+        return toNumber(toPrimitive(obj, Number.class));
+    }
+
+    /**
+     * JavaScript compliant conversion of string to number
+     * See ECMA 9.3.1 ToNumber Applied to the String Type
+     *
+     * @param str a string
+     *
+     * @return a number
+     */
+    public static double toNumber(final String str) {
+        int end = str.length();
+        int start = 0;
+        while (start < end && Lexer.isJSWhitespace(str.charAt(start))) {
+            start++;
+        }
+        if (start == end) {
+            return +0.0; // Empty or all whitespace string
+        }
+        while (Lexer.isJSWhitespace(str.charAt(end - 1))) {
+            end--;
+        }
+
+        final char f = str.charAt(start);
+        if (end - start > 2 && f == '0' && (str.charAt(start + 1) == 'x' || str.charAt(start + 1) == 'X')) {
+            // HexIntegerLiteral, without a sign
+            return hexValue(str, start + 2, end);
+        }
+
+        final boolean negative = f == '-';
+        if (f == '-' || f == '+') {
+            start++;
+        }
+        if (end - start == 8 && str.regionMatches(start, "Infinity", 0, 8)) {
+            return negative? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // StrUnsignedDecimalLiteral: digits with an optional fraction and exponent,
+        // checked here as Double.parseDouble accepts more
+        int i = start;
+        int digits = 0;
+        while (i < end && isDigit(str.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < end && str.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(str.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (i < end && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+                i++;
+            }
+            final int exponentStart = i;
+            while (i < end && isDigit(str.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return Double.NaN;
+            }
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+
+        final double value = Double.parseDouble(str.substring(start, end));
+        return negative? -value : value;
+    }
+
+    private static boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    // value of a hex digit, or -1; only ASCII digits count, unlike with Character.digit
+    private static int hexDigit(final char ch) {
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        } else if (ch >= 'a' && ch <= 'f') {
+            return ch - 'a' + 10;
+        } else if (ch >= 'A' && ch <= 'F') {
+            return ch - 'A' + 10;
+        }
+        return -1;
+    }
+
+    // value of the hex digits in str from start to end, rounded to nearest even
+    private static double hexValue(final String str, final int start, final int end) {
+        // the leading digits, up to 60 bits, and whether the digits after them are all 0
+        long bits = 0;
+        int dropped = 0;
+        boolean sticky = false;
+        for (int i = start; i < end; i++) {
+            final int digit = hexDigit(str.charAt(i));
+            if (digit < 0) {
+                return Double.NaN;
+            }
+            if (bits >>> 56 == 0) {
+                bits = bits << 4 | digit;
+            } else {
+                dropped++;
+                sticky |= digit != 0;
+            }
+        }
+
+        // round to the 53 bits of a double
+        final int excess = 64 - Long.numberOfLeadingZeros(bits) - 53;
+        if (excess <= 0) {
+            return bits;
+        }
+        final long rest = bits & (1L << excess) - 1;
+        final long half = 1L << excess - 1;
+        bits >>>= excess;
+        if (rest > half || rest == half && (sticky || (bits & 1) != 0)) {
+            bits++;
+        }
+        // beyond 2^1024 the value is infinite anyway
+        return Math.scalb((double) bits, excess + 4 * Math.min(dropped, 256));
+    }
+
+    /**
+     * JavaScript compliant conversion of number to int32
+     * See ECMA 9.5 ToInt32
+     *
+     * @param num a number
+     *
+     * @return an int32
+     */
+    public static int toInt32(final double num) {
+        return (int)doubleToInt32(num);
+    }
+
+    /**
+     * JavaScript compliant conversion of number to uint32
+     * See ECMA 9.6 ToUint32
+     *
+     * @param num a number
+     *
+     * @return an uint32, in a long
+     */
+    public static long toUint32(final double num) {
+        return doubleToInt32(num) & MAX_UINT;
+    }
+
+    private static long doubleToInt32(final double num) {
+        final int exponent = Math.getExponent(num);
+        if (exponent < 31) {
+            return (long) num;  // Fits into 32 bits
+        }
+        if (exponent >= 84) {
+            // Either infinite or NaN or so large that shift / modulo will produce 0
+            // (52 bit mantissa + 32 bit target width).
+            return 0;
+        }
+        final double d = num >= 0? Math.floor(num) : Math.ceil(num);
+        return (long)(d % INT32_LIMIT);
+    }
+
 
     /**
      * JavaScript compliant converter of Object to String
@@ -213,7 +413,7 @@ public enum JSType {
      * @return true if null or undefined
      */
     public static boolean nullOrUndefined(final Object obj) {
-        return obj == null;
+        return obj == null || obj == Undefined.getUndefined();
     }
 
     static String toStringImpl(final Object obj) {
@@ -229,6 +429,10 @@ public enum JSType {
             return "null";
         }
 
+        if (obj == Undefined.getUndefined()) {
+            return "undefined";
+        }
+
         if (obj instanceof Boolean) {
             return obj.toString();
         }
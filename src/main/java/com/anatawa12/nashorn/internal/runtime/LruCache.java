@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.internal.runtime;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache of a bounded number of values, dropping the least
+ * recently used ones first.
+ *
+ * <p>Lookups take no lock: the values are kept in a concurrent map, and a
+ * hit only records when the value was used. When the cache grows past its
+ * size, the thread that notices it drops the values used longest ago
+ * until a quarter of the room is free again. The order is approximate, a
+ * value used while the cache is trimmed may still be dropped, and values
+ * added during the trim may briefly exceed the size.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LruCache<K, V> {
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    // true while one thread drops values
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private static final class Entry<V> {
+        final V value;
+        // System.nanoTime() of the last use
+        volatile long used;
+
+        Entry(final V value) {
+            this.value = value;
+            this.used = System.nanoTime();
+        }
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param maxSize the number of values kept at most
+     */
+    public LruCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the value cached for a key, creating and caching it if there is none
+     *
+     * @param key    the key
+     * @param create creates the value of a key, must not return null
+     * @return the value
+     */
+    public V get(final K key, final Function<? super K, ? extends V> create) {
+        final Entry<V> entry = map.get(key);
+        if (entry != null) {
+            entry.used = System.nanoTime();
+            return entry.value;
+        }
+        // created outside of any lock; racing threads may both create, all get the value cached first
+        final Entry<V> created = new Entry<>(create.apply(key));
+        final Entry<V> existing = map.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.value;
+        }
+        if (map.size() > maxSize) {
+            trim();
+        }
+        return created.value;
+    }
+
+    // drops the values used longest ago until a quarter of the room is free
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long[] used = new long[map.size()];
+            int count = 0;
+            for (final Entry<V> entry : map.values()) {
+                if (count == used.length) {
+                    used = Arrays.copyOf(used, count * 2);
+                }
+                used[count++] = entry.used;
+            }
+            final int drop = count - maxSize * 3 / 4;
+            if (drop <= 0) {
+                return;
+            }
+            Arrays.sort(used, 0, count);
+            final long cutoff = used[drop - 1];
+            for (final Map.Entry<K, Entry<V>> e : map.entrySet()) {
+                if (e.getValue().used <= cutoff) {
+                    map.remove(e.getKey(), e.getValue());
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
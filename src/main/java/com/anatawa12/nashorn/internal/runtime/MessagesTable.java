@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+// Generated by scripts/GenerateResourceTables.java from resources/Messages.properties, do not edit.
+
+package com.anatawa12.nashorn.internal.runtime;
+
+/**
+ * Messages of {@code Messages.properties}, compiled into a string switch.
+ */
+final class MessagesTable {
+    private MessagesTable() {
+    }
+
+    /**
+     * Get a message
+     *
+     * @param key message id
+     * @return the message, or null if there is no such message
+     */
+    static String getMessage(final String key) {
+        switch (key) {
+        case "config.error.eagerCompilationConflictsWithOptimisticTypes":
+            return "{0}=false (eager compilation) is not compatible with {1}=true.";
+        case "config.error.no.dest":
+            return "no destination directory supplied";
+        case "io.error.cant.write":
+            return "cannot write \"{0}\"";
+        case "lexer.error.edit.string.missing.brace":
+            return "Edit string expression missing closing brace";
+        case "lexer.error.here.missing.end.marker":
+            return "Here string missing end marker \"{0}\"";
+        case "lexer.error.here.non.matching.delimiter":
+            return "Quoted here string end marker must have matching delimiters";
+        case "lexer.error.illegal.identifier.character":
+            return "Illegal character in identifier";
+        case "lexer.error.invalid.escape.char":
+            return "Invalid escape character";
+        case "lexer.error.invalid.hex":
+            return "Invalid hex digit";
+        case "lexer.error.json.invalid.number":
+            return "Invalid JSON number format";
+        case "lexer.error.missing.close.quote":
+            return "Missing close quote";
+        case "lexer.error.missing.space.after.number":
+            return "Missing space after numeric literal";
+        case "lexer.error.strict.no.octal":
+            return "cannot use octal escapes in strict mode";
+        case "list.adapter.null.global":
+            return "Attempted to create the adapter from outside a JavaScript execution context.";
+        case "parser.error.accessor.constructor":
+            return "Class constructor must not be an accessor";
+        case "parser.error.duplicate.default.in.switch":
+            return "Switch already has default case";
+        case "parser.error.duplicate.label":
+            return "Duplicate Label \"{0}\"";
+        case "parser.error.expected":
+            return "Expected {0} but found {1}";
+        case "parser.error.expected.arrow.parameter":
+            return "expected arrow function parameter list";
+        case "parser.error.expected.as":
+            return "expected 'as'";
+        case "parser.error.expected.binding":
+            return "expected BindingIdentifier or BindingPattern";
+        case "parser.error.expected.binding.identifier":
+            return "expected BindingIdentifier";
+        case "parser.error.expected.comma":
+            return "Expected comma but found {0}";
+        case "parser.error.expected.from":
+            return "expected 'from'";
+        case "parser.error.expected.import":
+            return "expected ImportClause or ModuleSpecifier";
+        case "parser.error.expected.literal":
+            return "Expected a literal but found {0}";
+        case "parser.error.expected.lvalue":
+            return "Expected l-value but found {0}";
+        case "parser.error.expected.named.import":
+            return "expected NameSpaceImport or NamedImports";
+        case "parser.error.expected.operand":
+            return "Expected an operand but found {0}";
+        case "parser.error.expected.property.id":
+            return "Expected property id but found {0}";
+        case "parser.error.expected.stmt":
+            return "Expected statement but found {0}";
+        case "parser.error.expected.target":
+            return "expected 'target'";
+        case "parser.error.for.each.without.in":
+            return "for each can only be used with for..in";
+        case "parser.error.for.in.loop.initializer":
+            return "for..{0] loop declaration must not have an initializer";
+        case "parser.error.generator.constructor":
+            return "Class constructor must not be a generator";
+        case "parser.error.illegal.break.stmt":
+            return "Illegal break statement";
+        case "parser.error.illegal.continue.stmt":
+            return "Illegal continue statement";
+        case "parser.error.invalid.arrow.parameter":
+            return "invalid arrow function parameter";
+        case "parser.error.invalid.export":
+            return "invalid export declaration";
+        case "parser.error.invalid.lvalue":
+            return "Invalid left hand side for assignment";
+        case "parser.error.invalid.return":
+            return "Invalid return statement";
+        case "parser.error.invalid.super":
+            return "invalid use of keyword super";
+        case "parser.error.keyword.escaped.character":
+            return "Keyword must not contain escaped characters";
+        case "parser.error.let.binding.for":
+            return "'let' is not a valid binding name in a for loop";
+        case "parser.error.many.vars.in.for.in.loop":
+            return "Only one variable allowed in for..{0} loop";
+        case "parser.error.missing.catch.or.finally":
+            return "Missing catch or finally after try";
+        case "parser.error.missing.const.assignment":
+            return "Missing assignment to constant \"{0}\"";
+        case "parser.error.missing.destructuring.assignment":
+            return "Missing assignment in destructuring declaration";
+        case "parser.error.multiple.constructors":
+            return "Class contains more than one constructor";
+        case "parser.error.multiple.proto.key":
+            return "property name __proto__ appears more than once in object literal";
+        case "parser.error.new.target.in.function":
+            return "new.target expression is only allowed in functions";
+        case "parser.error.no.func.decl.here":
+            return "Function declarations can only occur at program or function body level. You should use a function expression here instead.";
+        case "parser.error.no.func.decl.here.warn":
+            return "Function declarations should only occur at program or function body level. Function declaration in nested block was converted to a function expression.";
+        case "parser.error.not.lvalue.for.in.loop":
+            return "Invalid left side value of for..{0} loop";
+        case "parser.error.property.redefinition":
+            return "Property \"{0}\" already defined";
+        case "parser.error.regex.adjacent.quantifiers.warn":
+            return "Adjacent quantifiers in regular expression overlap and may cause polynomial backtracking";
+        case "parser.error.regex.nested.quantifier.warn":
+            return "Nested quantifiers in regular expression may cause exponential backtracking";
+        case "parser.error.regex.overlapping.alternatives.warn":
+            return "Repeated alternatives in regular expression overlap and may cause exponential backtracking";
+        case "parser.error.regex.repeated.flag":
+            return "Repeated RegExp flag: {0}";
+        case "parser.error.regex.syntax":
+            return "{0}";
+        case "parser.error.regex.unsupported.flag":
+            return "Unsupported RegExp flag: {0}";
+        case "parser.error.static.prototype.method":
+            return "Static class method must not be named 'prototype'";
+        case "parser.error.strict.cant.delete.ident":
+            return "cannot delete identifier \"{0}\" in strict mode";
+        case "parser.error.strict.name":
+            return "\"{0}\" cannot be used as {1} in strict mode";
+        case "parser.error.strict.no.func.decl.here":
+            return "In strict mode, function declarations can only occur at program or function body level. You should use a function expression here instead.";
+        case "parser.error.strict.no.octal":
+            return "cannot use octal value in strict mode";
+        case "parser.error.strict.no.with":
+            return "\"with\" statement cannot be used in strict mode";
+        case "parser.error.strict.param.redefinition":
+            return "strict mode function cannot have duplicate parameter name \"{0}\"";
+        case "parser.error.trailing.comma.in.json":
+            return "Trailing comma is not allowed in JSON";
+        case "parser.error.undefined.label":
+            return "Undefined Label \"{0}\"";
+        case "parser.error.unexpected.token":
+            return "Unexpected token: {0}";
+        case "parser.error.unterminated.template.expression":
+            return "Expected } after expression in template literal";
+        case "range.error.concat.string.too.big":
+            return "Concatenated String is too big";
+        case "range.error.dataview.constructor.offset":
+            return "Wrong offset or length in DataView constructor";
+        case "range.error.dataview.offset":
+            return "Offset is outside the bounds of the DataView";
+        case "range.error.exec.file.not.exist":
+            return "$EXEC File or directory does not exist : {0}";
+        case "range.error.exec.not.directory":
+            return "$EXEC Not a directory : {0}";
+        case "range.error.exec.returned.non.zero":
+            return "$EXEC returned non-zero exit code: {0}";
+        case "range.error.exec.timeout":
+            return "$EXEC Command timeout : {0}";
+        case "range.error.exec.unknown.command":
+            return "$EXEC Unknown command : {0}";
+        case "range.error.inappropriate.array.buffer.length":
+            return "inappropriate array buffer length: {0}";
+        case "range.error.inappropriate.array.length":
+            return "inappropriate array length: {0}";
+        case "range.error.invalid.date":
+            return "Invalid Date";
+        case "range.error.invalid.fraction.digits":
+            return "fractionDigits argument to {0} must be in [0, 20]";
+        case "range.error.invalid.precision":
+            return "precision argument toPrecision() must be in [1, 21]";
+        case "range.error.invalid.radix":
+            return "radix argument must be in [2, 36]";
+        case "range.error.too.many.errors":
+            return "Script contains too many errors: {0} errors";
+        case "reference.error.cant.be.used.as.lhs":
+            return "\"{0}\" can not be used as the left-hand side of assignment";
+        case "reference.error.not.defined":
+            return "\"{0}\" is not defined";
+        case "syntax.error.duplicate.parameter":
+            return "Duplicate parameter name \"{0}\"";
+        case "syntax.error.invalid.json":
+            return "Invalid JSON: {0}";
+        case "syntax.error.redeclare.variable":
+            return "Variable \"{0}\" has already been declared";
+        case "syntax.error.strict.cant.delete":
+            return "cannot delete \"{0}\" in strict mode";
+        case "syntax.error.unprotected.switch.declaration":
+            return "Unsupported {0} declaration in unprotected switch statement";
+        case "type.error.JSON.stringify.cyclic":
+            return "JSON.stringify got a cyclic data structure";
+        case "type.error.__proto__.set.non.extensible":
+            return "Cannot set __proto__ of non-extensible {0}";
+        case "type.error.array.reduce.invalid.init":
+            return "invalid initialValue for Array.prototype.reduce";
+        case "type.error.array.reduceright.invalid.init":
+            return "invalid initialValue for Array.prototype.reduceRight";
+        case "type.error.assign.constant":
+            return "Assignment to constant \"{0}\"";
+        case "type.error.bad.default.value":
+            return "bad default value: {0}";
+        case "type.error.cannot.convert.to.interface":
+            return "object {0} cannot be converted to {1} due to \"{2}\"";
+        case "type.error.cannot.get.default.number":
+            return "Cannot get default number value";
+        case "type.error.cannot.get.default.string":
+            return "Cannot get default string value";
+        case "type.error.cannot.get.iterator":
+            return "Cannot get iterator from {1}";
+        case "type.error.cant.apply.with.to.non.scriptobject":
+            return "Cannot apply \"with\" to non script object. Consider using \"with(Object.bindProperties('{'}, nonScriptObject))\".";
+        case "type.error.cant.apply.with.to.null":
+            return "Cannot apply \"with\" to null";
+        case "type.error.cant.apply.with.to.undefined":
+            return "Cannot apply \"with\" to undefined";
+        case "type.error.cant.call.undefined":
+            return "Cannot call undefined";
+        case "type.error.cant.convert.number.to.char":
+            return "Cannot convert number to character; it is out of 0-65535 range";
+        case "type.error.cant.convert.string.to.char":
+            return "Cannot convert string to character; its length must be exactly 1";
+        case "type.error.cant.convert.to.java.number":
+            return "Cannot convert object of type {0} to a Java argument of number type";
+        case "type.error.cant.convert.to.java.string":
+            return "Cannot convert object of type {0} to a Java argument of string type";
+        case "type.error.cant.convert.to.javascript.array":
+            return "Can only convert Java arrays and lists to JavaScript arrays. Cannot convert object of type {0}.";
+        case "type.error.cant.delete.property":
+            return "Cannot delete property \"{0}\" of {1}";
+        case "type.error.cant.delete.property.of.undefined":
+            return "Cannot delete property \"{0}\" of undefined";
+        case "type.error.cant.get.property":
+            return "Cannot get property \"{0}\" of {1}";
+        case "type.error.cant.load.script":
+            return "Cannot load script from {0}";
+        case "type.error.cant.read.property.of.undefined":
+            return "Cannot read property \"{0}\" from undefined";
+        case "type.error.cant.redefine.property":
+            return "Cannot redefine property \"{0}\" of {1}";
+        case "type.error.cant.set.property":
+            return "Cannot set property \"{0}\" of {1}";
+        case "type.error.cant.set.property.of.undefined":
+            return "Cannot set property \"{0}\" of undefined";
+        case "type.error.cant.set.proto.to.non.object":
+            return "Cannot set Object {0}''s __proto__ to be a non-object like {1}";
+        case "type.error.circular.__proto__.set":
+            return "Cannot create__proto__ cycle for {0}";
+        case "type.error.constructor.requires.new":
+            return "Constructor {0} requires \"new\".";
+        case "type.error.env.not.object":
+            return "$ENV must be an Object.";
+        case "type.error.extend.ERROR_FINAL_CLASS":
+            return "Can not extend final class {0}.";
+        case "type.error.extend.ERROR_FINAL_FINALIZER":
+            return "Can not extend class because {0} has a final finalize method.";
+        case "type.error.extend.ERROR_MULTIPLE_SUPERCLASSES":
+            return "Can not extend multiple classes {0}. At most one of the specified types can be a class, the rest must all be interfaces.";
+        case "type.error.extend.ERROR_NON_PUBLIC_CLASS":
+            return "Can not extend/implement non-public class/interface {0}.";
+        case "type.error.extend.ERROR_NO_ACCESSIBLE_CONSTRUCTOR":
+            return "Can not extend class {0} as it has no public or protected constructors.";
+        case "type.error.extend.ERROR_NO_COMMON_LOADER":
+            return "Can not find a common class loader for ScriptObject and {0}.";
+        case "type.error.extend.ERROR_OTHER":
+            return "Can not extend/implement {0} because of {1}";
+        case "type.error.extend.ambiguous.defining.class":
+            return "There is no class loader that can see all of {0} at once.";
+        case "type.error.extend.expects.at.least.one.argument":
+            return "Java.extend needs at least one argument.";
+        case "type.error.extend.expects.at.least.one.type.argument":
+            return "Java.extend needs at least one type argument.";
+        case "type.error.extend.expects.java.types":
+            return "Java.extend needs Java types as its arguments.";
+        case "type.error.function.apply.expects.array":
+            return "Function.prototype.apply expects an Array for second argument";
+        case "type.error.improper.constructor.signature":
+            return "Java constructor signature invalid: {0}";
+        case "type.error.in.with.non.object":
+            return "Right hand side of \"in\" cannot be non-Object, found {0}";
+        case "type.error.inconsistent.property.descriptor":
+            return "inconsistent property descriptor";
+        case "type.error.instanceof.on.non.object":
+            return "instanceof must be called with a javascript or java object as the right-hand argument";
+        case "type.error.invalid.weak.key":
+            return "primitive value {0} used as weak key.";
+        case "type.error.java.array.conversion.failed":
+            return "Java.to conversion to array type {0} failed";
+        case "type.error.method.not.constructor":
+            return "Java method {0} cannot be used as a constructor.";
+        case "type.error.new.on.nonpublic.javatype":
+            return "new cannot be used with non-public java type {0}.";
+        case "type.error.no.constructor.matches.args":
+            return "Can not create new object with constructor {0} with the passed arguments; they do not match any of its method signatures.";
+        case "type.error.no.method.matches.args":
+            return "Can not invoke method {0} with the passed arguments; they do not match any of its method signatures.";
+        case "type.error.no.reflection.with.classfilter":
+            return "Java reflection not supported when class filter is present";
+        case "type.error.no.such.function":
+            return "{1} has no such function \"{0}\"";
+        case "type.error.no.such.java.class":
+            return "No such Java class: {0}";
+        case "type.error.no.such.java.constructor":
+            return "No such Java constructor: {0}";
+        case "type.error.not.a.array.iterator":
+            return "{0} is not an Array iterator";
+        case "type.error.not.a.boolean":
+            return "{0} is not a Boolean";
+        case "type.error.not.a.bytebuffer":
+            return "{0} is not a java.nio.ByteBuffer";
+        case "type.error.not.a.constructor":
+            return "{0} is not a constructor function";
+        case "type.error.not.a.date":
+            return "{0} is not a Date";
+        case "type.error.not.a.file":
+            return "{0} is not a File";
+        case "type.error.not.a.function":
+            return "{0} is not a function";
+        case "type.error.not.a.function.value":
+            return "{0}, which has value {1}, is not a function";
+        case "type.error.not.a.java.importer":
+            return "{0} is not a JavaImporter object";
+        case "type.error.not.a.map":
+            return "{0} is not a Map object";
+        case "type.error.not.a.map.iterator":
+            return "{0} is not a Map iterator";
+        case "type.error.not.a.number":
+            return "{0} is not a Number";
+        case "type.error.not.a.numeric.array":
+            return "{0} is not a numeric array";
+        case "type.error.not.a.regexp":
+            return "{0} is not a RegExp";
+        case "type.error.not.a.set":
+            return "{0} is not a Set object";
+        case "type.error.not.a.set.iterator":
+            return "{0} is not a Set iterator";
+        case "type.error.not.a.string":
+            return "{0} is not a String";
+        case "type.error.not.a.string.iterator":
+            return "{0} is not a String iterator";
+        case "type.error.not.a.symbol":
+            return "{0} is not a symbol.";
+        case "type.error.not.a.weak.map":
+            return "{0} is not a WeakMap object";
+        case "type.error.not.a.weak.set":
+            return "{0} is not a WeakSet object";
+        case "type.error.not.an.arraybuffer.in.dataview":
+            return "First argument to DataView constructor must be an ArrayBuffer";
+        case "type.error.not.an.object":
+            return "{0} is not an Object";
+        case "type.error.object.non.extensible":
+            return "Cannot add new property \"{0}\" to non-extensible {1}";
+        case "type.error.property.has.no.setter":
+            return "Cannot set property \"{0}\" of {1} that has only a getter";
+        case "type.error.property.not.writable":
+            return "\"{0}\" is not a writable property of {1}";
+        case "type.error.prototype.not.an.object":
+            return "\"prototype\" of {0} is not an Object, it is {1}";
+        case "type.error.regex.cant.supply.flags":
+            return "Cannot supply flags when constructing one RegExp from another";
+        case "type.error.strict.getter.setter.poison":
+            return "In strict mode, \"caller\", \"callee\", and \"arguments\" properties can not be accessed on functions or the arguments object";
+        case "type.error.symbol.as.constructor":
+            return "Symbol is not a constructor.";
+        case "type.error.symbol.to.number":
+            return "Can not convert Symbol value to number.";
+        case "type.error.symbol.to.string":
+            return "Can not convert Symbol value to string.";
+        case "type.error.unsupported.java.to.type":
+            return "Unsupported Java.to target type {0}.";
+        case "unimplemented.es6.class":
+            return "ES6 class declarations and expressions are not yet implemented";
+        case "unimplemented.es6.destructuring":
+            return "ES6 destructuring is not yet implemented";
+        case "unimplemented.es6.generator":
+            return "ES6 generator is not yet implemented";
+        case "unimplemented.es6.module":
+            return "ES6 modules are not yet implemented";
+        case "unimplemented.es6.rest.param":
+            return "ES6 function rest parameter declaration is not yet implemented";
+        case "unimplemented.es6.spread":
+            return "ES6 spread operator is not yet implemented";
+        case "unimplemented.es6.super":
+            return "ES6 super keyword is not yet implemented";
+        case "unimplemented.es6.yield":
+            return "ES6 yield and yield* are not yet implemented";
+        case "uri.error.bad.uri":
+            return "Bad URI \"{0}\" near offset {1}";
+        default:
+            return null;
+        }
+    }
+}
@@ -37,6 +37,9 @@ import com.anatawa12.nashorn.internal.runtime.options.Options;
 /**
  * Script environment consists of command line options, arguments, script files
  * and output and error writers, top level Namespace etc.
+ *
+ * An environment is immutable once created and may be shared by parsers on
+ * different threads; parsers only ever add names to their own child Namespace.
  */
 public final class ScriptEnvironment {
 
@@ -38,7 +38,13 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -49,6 +55,8 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import com.anatawa12.nashorn.internal.parser.Token;
 import com.anatawa12.nashorn.internal.runtime.logging.Loggable;
 /**
@@ -58,6 +66,9 @@ public final class Source implements Loggable {
     private static final int BUF_SIZE = 8 * 1024;
     private static final Cache CACHE = new Cache();
 
+    /** Guards {@link #CACHE}; a lock rather than a monitor so waiting virtual threads stay unmounted. */
+    private static final ReentrantLock CACHE_LOCK = new ReentrantLock();
+
     // Message digest to file name encoder
     private final static Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
 
@@ -84,6 +95,9 @@ public final class Source implements Loggable {
     /** Base64-encoded SHA1 digest of this source object */
     private volatile byte[] digest;
 
+    /** Base64-encoded content fingerprint of this source object */
+    private volatile byte[] fingerprint;
+
     /** source URL set via //@ sourceURL or //# sourceURL directive */
     private String explicitURL;
 
@@ -94,10 +108,15 @@ public final class Source implements Loggable {
         this.data = data;
     }
 
-    private static synchronized Source sourceFor(final String name, final String base, final URLData data) throws IOException {
+    // Blocking I/O is done outside of the cache lock, so that concurrent loads
+    // neither wait for each other nor pin the carrier of a virtual thread.
+    private static Source sourceFor(final String name, final String base, final URLData data) throws IOException {
         try {
             final Source newSource = new Source(name, base, data);
-            final Source existingSource = CACHE.get(newSource);
+            // The cache compares the metadata of the data, load it before taking the lock.
+            data.loadMeta();
+
+            Source existingSource = getCached(newSource);
             if (existingSource != null) {
                 // Force any access errors
                 data.checkPermissionAndClose();
@@ -106,7 +125,17 @@ public final class Source implements Loggable {
 
             // All sources in cache must be fully loaded
             data.load();
-            CACHE.put(newSource, newSource);
+            CACHE_LOCK.lock();
+            try {
+                existingSource = CACHE.get(newSource);
+                if (existingSource != null) {
+                    // loaded concurrently by another thread
+                    return existingSource;
+                }
+                CACHE.put(newSource, newSource);
+            } finally {
+                CACHE_LOCK.unlock();
+            }
 
             return newSource;
         } catch (final RuntimeException e) {
@@ -118,6 +147,15 @@ public final class Source implements Loggable {
         }
     }
 
+    private static Source getCached(final Source source) {
+        CACHE_LOCK.lock();
+        try {
+            return CACHE.get(source);
+        } finally {
+            CACHE_LOCK.unlock();
+        }
+    }
+
     private static class Cache extends WeakHashMap<Source, WeakReference<Source>> {
         public Source get(final Source key) {
             final WeakReference<Source> ref = super.get(key);
@@ -229,11 +267,12 @@ public final class Source implements Loggable {
             this.cs = cs;
         }
 
+        // URLs are compared by their text, as URL.equals and URL.hashCode may resolve the host
         @Override
         public int hashCode() {
             int h = hash;
             if (h == 0) {
-                h = hash = url.hashCode();
+                h = hash = url.toExternalForm().hashCode();
             }
             return h;
         }
@@ -249,8 +288,8 @@ public final class Source implements Loggable {
 
             final URLData otherData = (URLData) other;
 
-            if (url.equals(otherData.url)) {
-                // Make sure both have meta data loaded
+            if (url.toExternalForm().equals(otherData.url.toExternalForm())) {
+                // Make sure both have meta data loaded; sourceFor loads it before the cache is searched
                 try {
                     if (isDeferred()) {
                         // Data in cache is always loaded, and we only compare to cached data.
@@ -374,6 +413,291 @@ public final class Source implements Loggable {
         }
     }
 
+    // Content decoded from a channel by a reader thread while it is being scanned.
+    // The array is replaced by a larger copy before length grows past it, so the
+    // array read after the length holds at least that many characters. Waiting
+    // uses a lock rather than a monitor, so that parses on virtual threads
+    // unmount while they wait for more content.
+    private static class StreamData implements Data {
+        private volatile char[] array = new char[BUF_SIZE];
+        private volatile int length;
+        private volatile boolean complete;
+        private IOException failure;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        // set before the reader thread starts, interrupted to cancel reading
+        private Thread reader;
+        // updated with each chunk, so the content is not scanned again
+        private final Fingerprint fingerprint = new Fingerprint();
+
+        @Override
+        public String toString() {
+            return new String(array());
+        }
+
+        @Override
+        public URL url() {
+            return null;
+        }
+
+        @Override
+        public int length() {
+            return array().length;
+        }
+
+        @Override
+        public long lastModified() {
+            return 0;
+        }
+
+        @Override
+        public char[] array() {
+            lock.lock();
+            try {
+                awaitCompleteLocked();
+                if (array.length != length) {
+                    array = Arrays.copyOf(array, length);
+                }
+                return array;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isEvalCode() {
+            return false;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        int awaitLength(final int wanted) {
+            final int current = length;
+            if (current >= wanted) {
+                return current;
+            }
+            lock.lock();
+            try {
+                while (length < wanted && !complete) {
+                    await();
+                }
+                return length;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        char[] available() {
+            return array;
+        }
+
+        void awaitComplete() throws IOException {
+            lock.lock();
+            try {
+                awaitCompleteLocked();
+                if (failure != null) {
+                    throw failure;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        byte[] fingerprint() {
+            lock.lock();
+            try {
+                awaitCompleteLocked();
+                return fingerprint.digest();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // ends the content at what has been read so far and stops the reader
+        void cancel() {
+            if (finish(null)) {
+                // an interruptible channel is closed by this, ending a blocked read
+                reader.interrupt();
+            }
+        }
+
+        private void awaitCompleteLocked() {
+            while (!complete) {
+                await();
+            }
+        }
+
+        private void await() {
+            try {
+                changed.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void append(final CharBuffer chars) throws IOException {
+            lock.lock();
+            try {
+                if (complete) {
+                    // cancelled, the content must not change any more
+                    return;
+                }
+                final int count = chars.remaining();
+                if (length + count > Token.LENGTH_MASK) {
+                    throw new IOException("Source exceeds size limit of " + Token.LENGTH_MASK + " bytes");
+                }
+                if (length + count > array.length) {
+                    array = Arrays.copyOf(array, Math.max(array.length * 2, length + count));
+                }
+                chars.get(array, length, count);
+                fingerprint.update(array, length, length + count);
+                length += count;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean finish(final IOException e) {
+            lock.lock();
+            try {
+                if (complete) {
+                    return false;
+                }
+                failure = e;
+                complete = true;
+                changed.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Runs on the reader thread; decodes the channel in chunks until end of stream
+        private void read(final ReadableByteChannel channel, final CharsetDecoder decoder) {
+            final ByteBuffer in = ByteBuffer.allocate(BUF_SIZE);
+            final CharBuffer out = CharBuffer.allocate(BUF_SIZE);
+            boolean first = true;
+            try (ReadableByteChannel ch = channel) {
+                boolean eof = false;
+                while (!eof) {
+                    eof = ch.read(in) < 0;
+                    in.flip();
+                    CoderResult result;
+                    do {
+                        result = decoder.decode(in, out, eof);
+                        out.flip();
+                        if (first && out.hasRemaining()) {
+                            // skip the byte order mark like readFully does
+                            if (out.get(0) == '\uFEFF') {
+                                out.get();
+                            }
+                            first = false;
+                        }
+                        append(out);
+                        out.clear();
+                    } while (result.isOverflow());
+                    in.compact();
+                }
+                while (decoder.flush(out).isOverflow()) {
+                    out.flip();
+                    append(out);
+                    out.clear();
+                }
+                out.flip();
+                append(out);
+                finish(null);
+            } catch (final IOException e) {
+                finish(e);
+            } catch (final RuntimeException | Error e) {
+                finish(new IOException(e));
+                throw e;
+            }
+        }
+    }
+
+    // MurmurHash3 (x64, 128 bit, seed 0) of the UTF-16LE encoding of a sequence
+    // of chars, fed in chunks of any size. Chars are read directly, eight to a block.
+    private static final class Fingerprint {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        // chars of the incomplete block, and their number
+        private long k1;
+        private long k2;
+        private int pending;
+        private long length;
+
+        void update(final char[] chars, final int from, final int to) {
+            int i = from;
+            while (pending != 0 && i < to) {
+                add(chars[i++]);
+            }
+            for (; to - i >= 8; i += 8) {
+                mix(chars[i] | (long)chars[i + 1] << 16 | (long)chars[i + 2] << 32 | (long)chars[i + 3] << 48,
+                    chars[i + 4] | (long)chars[i + 5] << 16 | (long)chars[i + 6] << 32 | (long)chars[i + 7] << 48);
+            }
+            while (i < to) {
+                add(chars[i++]);
+            }
+            length += to - from;
+        }
+
+        private void add(final char c) {
+            if (pending < 4) {
+                k1 |= (long)c << (pending * 16);
+            } else {
+                k2 |= (long)c << ((pending - 4) * 16);
+            }
+            if (++pending == 8) {
+                mix(k1, k2);
+                k1 = k2 = pending = 0;
+            }
+        }
+
+        private void mix(final long k1, final long k2) {
+            h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+            h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+            h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+            h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+        }
+
+        // does not change the state, so more chars may still be added
+        byte[] digest() {
+            long a = h1 ^ Long.rotateLeft(k1 * C1, 31) * C2;
+            long b = h2 ^ Long.rotateLeft(k2 * C2, 33) * C1;
+            a ^= length * 2;
+            b ^= length * 2;
+            a += b;
+            b += a;
+            a = fmix(a);
+            b = fmix(b);
+            a += b;
+            b += a;
+            final byte[] bytes = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                bytes[i] = (byte)(a >>> (i * 8));
+                bytes[i + 8] = (byte)(b >>> (i * 8));
+            }
+            return bytes;
+        }
+
+        private static long fmix(final long k) {
+            long h = k;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
     private static void debug(final Object... msg) {
     }
 
@@ -381,6 +705,16 @@ public final class Source implements Loggable {
         return data.array();
     }
 
+    // content holding at least the first length characters, without waiting for the rest
+    private char[] data(final int length) {
+        if (data instanceof StreamData) {
+            final StreamData stream = (StreamData)data;
+            stream.awaitLength(length);
+            return stream.available();
+        }
+        return data.array();
+    }
+
     /**
      * Returns a Source instance
      *
@@ -526,6 +860,31 @@ public final class Source implements Loggable {
         return new Source(name, baseName(name), new RawData(reader));
     }
 
+    /**
+     * Returns a Source instance whose content is read from a channel on a separate
+     * thread. The source is returned right away; a {@code Lexer} scans the content as
+     * it is decoded instead of waiting for the whole channel, while methods that need
+     * all of the content, such as {@link #getLength()}, wait until it has been read.
+     * The channel is closed once it has been read.
+     *
+     * @param name   source name
+     * @param channel blocking channel to read the content from
+     * @param cs     charset of the content, or null for UTF-8
+     * @return source instance
+     */
+    public static Source sourceFor(final String name, final ReadableByteChannel channel, final Charset cs) {
+        Objects.requireNonNull(channel);
+        final StreamData data = new StreamData();
+        final CharsetDecoder decoder = (cs != null ? cs : StandardCharsets.UTF_8).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final Thread reader = new Thread(() -> data.read(channel, decoder), "Source reader for " + name);
+        reader.setDaemon(true);
+        data.reader = reader;
+        reader.start();
+        return new Source(name, baseName(name), data);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -586,7 +945,7 @@ public final class Source implements Loggable {
      * @return Source content portion.
      */
     public String getString(final int start, final int len) {
-        return new String(data(), start, len);
+        return new String(data(start + len), start, len);
     }
 
     /**
@@ -597,7 +956,7 @@ public final class Source implements Loggable {
     public String getString(final long token) {
         final int start = Token.descPosition(token);
         final int len = Token.descLength(token);
-        return new String(data(), start, len);
+        return new String(data(start + len), start, len);
     }
 
     /**
@@ -641,7 +1000,7 @@ public final class Source implements Loggable {
      * @return Index of first character of line.
      */
     private int findBOLN(final int position) {
-        final char[] d = data();
+        final char[] d = data(position);
         for (int i = position - 1; i > 0; i--) {
             final char ch = d[i];
 
@@ -659,17 +1018,22 @@ public final class Source implements Loggable {
      * @return Index of last character of line.
      */
     private int findEOLN(final int position) {
-        final char[] d = data();
-        final int length = d.length;
-        for (int i = position; i < length; i++) {
-            final char ch = d[i];
+        // of a source still being read, only wait for the rest of the line
+        int i = position;
+        for (;;) {
+            final int length = awaitLength(i + 1);
+            if (length <= i) {
+                return length - 1;
+            }
+            final char[] d = data(length);
+            for (; i < length; i++) {
+                final char ch = d[i];
 
-            if (ch == '\n' || ch == '\r') {
-                return i - 1;
+                if (ch == '\n' || ch == '\r') {
+                    return i - 1;
+                }
             }
         }
-
-        return length - 1;
     }
 
     /**
@@ -682,7 +1046,7 @@ public final class Source implements Loggable {
      * @return Line number.
      */
     public int getLine(final int position) {
-        final char[] d = data();
+        final char[] d = data(position);
         // Line count starts at 1.
         int line = 1;
 
@@ -718,7 +1082,7 @@ public final class Source implements Loggable {
         // Find end of this line.
         final int last = findEOLN(position);
 
-        return new String(data(), first, last - first + 1);
+        return new String(data(last + 1), first, last - first + 1);
     }
 
     /**
@@ -742,6 +1106,62 @@ public final class Source implements Loggable {
         return data.length();
     }
 
+    /**
+     * Returns true if all content of this source has been read. This is only
+     * false for sources still being read from a channel.
+     * @return true if the content is complete
+     */
+    public boolean isComplete() {
+        return !(data instanceof StreamData) || ((StreamData)data).isComplete();
+    }
+
+    /**
+     * Wait until at least {@code length} characters of content have been read or
+     * all of it has, whichever comes first.
+     * @param length number of characters wanted
+     * @return number of characters read so far
+     */
+    public int awaitLength(final int length) {
+        if (data instanceof StreamData) {
+            return ((StreamData)data).awaitLength(length);
+        }
+        return data.length();
+    }
+
+    /**
+     * Get the content read so far as a char array. Of a source still being read,
+     * only the number of characters last returned by {@link #awaitLength(int)} are
+     * valid; otherwise this is the same as {@link #getContent()}.
+     * @return content read so far
+     */
+    public char[] getAvailableContent() {
+        if (data instanceof StreamData) {
+            return ((StreamData)data).available();
+        }
+        return data();
+    }
+
+    /**
+     * Wait until all content of this source has been read.
+     * @throws IOException if reading the content failed
+     */
+    public void awaitComplete() throws IOException {
+        if (data instanceof StreamData) {
+            ((StreamData)data).awaitComplete();
+        }
+    }
+
+    /**
+     * Stop reading a source that is still being read from a channel. Its content
+     * ends with what has been read so far. Does nothing if all content has been
+     * read or reading has failed.
+     */
+    public void cancel() {
+        if (data instanceof StreamData) {
+            ((StreamData)data).cancel();
+        }
+    }
+
     /**
      * Read all of the source until end of file. Return it as char array
      *
@@ -832,12 +1252,6 @@ public final class Source implements Loggable {
         byte[] ldigest = digest;
         if (ldigest == null) {
             final char[] content = data();
-            final byte[] bytes = new byte[content.length * 2];
-
-            for (int i = 0; i < content.length; i++) {
-                bytes[i * 2]     = (byte)  (content[i] & 0x00ff);
-                bytes[i * 2 + 1] = (byte) ((content[i] & 0xff00) >> 8);
-            }
 
             try {
                 final MessageDigest md = MessageDigest.getInstance("SHA-1");
@@ -850,7 +1264,17 @@ public final class Source implements Loggable {
                 if (getURL() != null) {
                     md.update(getURL().toString().getBytes(StandardCharsets.UTF_8));
                 }
-                digest = ldigest = BASE64.encode(md.digest(bytes));
+                // widen the content to little endian bytes a buffer at a time
+                final byte[] bytes = new byte[Math.min(content.length * 2, BUF_SIZE)];
+                for (int start = 0; start < content.length; start += bytes.length / 2) {
+                    final int end = Math.min(content.length, start + bytes.length / 2);
+                    for (int i = start; i < end; i++) {
+                        bytes[(i - start) * 2]     = (byte)  (content[i] & 0x00ff);
+                        bytes[(i - start) * 2 + 1] = (byte) ((content[i] & 0xff00) >> 8);
+                    }
+                    md.update(bytes, 0, (end - start) * 2);
+                }
+                digest = ldigest = BASE64.encode(md.digest());
             } catch (final NoSuchAlgorithmException e) {
                 throw new RuntimeException(e);
             }
@@ -858,6 +1282,32 @@ public final class Source implements Loggable {
         return ldigest;
     }
 
+    /**
+     * Get a Base64-encoded 128-bit fingerprint of the content of this source.
+     * Unlike {@link #getDigest()}, the fingerprint only depends on the content,
+     * is computed over the characters without copying them, and is not
+     * cryptographically secure: use it to detect changes, not tampering. The
+     * fingerprint of a source read from a channel is computed while it is read.
+     *
+     * @return a Base64-encoded fingerprint of the content of this source
+     */
+    public String getFingerprint() {
+        byte[] lfingerprint = fingerprint;
+        if (lfingerprint == null) {
+            final byte[] hash;
+            if (data instanceof StreamData) {
+                hash = ((StreamData)data).fingerprint();
+            } else {
+                final char[] content = data();
+                final Fingerprint f = new Fingerprint();
+                f.update(content, 0, content.length);
+                hash = f.digest();
+            }
+            fingerprint = lfingerprint = BASE64.encode(hash);
+        }
+        return new String(lfingerprint, StandardCharsets.US_ASCII);
+    }
+
     /**
      * Returns the base directory or URL for the given URL. Used to implement __DIR__.
      * @param url a URL
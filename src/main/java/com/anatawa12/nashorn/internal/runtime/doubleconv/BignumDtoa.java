@@ -61,6 +61,11 @@ package com.anatawa12.nashorn.internal.runtime.doubleconv;
 // all conversion modes but slightly slower than the specialized implementations.
 class BignumDtoa {
 
+    // Numerator, denominator, delta_minus and delta_plus of each thread. Every
+    // conversion assigns all four before use, so they can be reused.
+    private static final ThreadLocal<Bignum[]> scratch = ThreadLocal.withInitial(
+            () -> new Bignum[] { new Bignum(), new Bignum(), new Bignum(), new Bignum() });
+
     private static int normalizedExponent(long significand, int exponent) {
         assert (significand != 0);
         while ((significand & IeeeDouble.kHiddenBit) == 0) {
@@ -133,10 +138,11 @@ class BignumDtoa {
             return;
         }
 
-        final Bignum numerator = new Bignum();
-        final Bignum denominator = new Bignum();
-        final Bignum delta_minus = new Bignum();
-        final Bignum delta_plus = new Bignum();
+        final Bignum[] bignums = scratch.get();
+        final Bignum numerator = bignums[0];
+        final Bignum denominator = bignums[1];
+        final Bignum delta_minus = bignums[2];
+        final Bignum delta_plus = bignums[3];
         // Make sure the bignum can grow large enough. The smallest double equals
         // 4e-324. In this case the denominator needs fewer than 324*4 binary digits.
         // The maximum double is 1.7976931348623157e308 which needs fewer than
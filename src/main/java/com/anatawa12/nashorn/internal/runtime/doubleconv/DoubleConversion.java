@@ -64,6 +64,16 @@ public final class DoubleConversion {
 
     private final static int BUFFER_LENGTH = 30;
 
+    /**
+     * The maximum number of characters written by {@link #toShortestChars(double, char[], int)}.
+     */
+    public final static int MAX_SHORTEST_LENGTH = 25;
+
+    // Scratch space of each thread. Conversions never call back into user
+    // code, so a thread never uses these for two conversions at once.
+    private static final ThreadLocal<DtoaBuffer> dtoaBuffer = ThreadLocal.withInitial(() -> new DtoaBuffer(BUFFER_LENGTH));
+    private static final ThreadLocal<StringBuilder> charBuffer = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_LENGTH));
+
     /**
      * Converts a double number to its shortest string representation.
      *
@@ -71,19 +81,66 @@ public final class DoubleConversion {
      * @return formatted number
      */
     public static String toShortestString(final double value) {
-        final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
-        final double absValue = Math.abs(value);
+        final StringBuilder sb = charBuffer.get();
+        sb.setLength(0);
+        shortest(value, dtoaBuffer.get()).format(DtoaMode.SHORTEST, 0, sb);
+        return sb.toString();
+    }
 
-        if (value < 0) {
-            buffer.isNegative = true;
+    /**
+     * Appends the shortest string representation of a double number to a string
+     * builder, as specified for Number.prototype.toString with no radix. Unlike
+     * {@link #toShortestString(double)}, any number is accepted, including zero,
+     * infinities and NaN. No objects are allocated unless the string builder grows.
+     *
+     * @param value number to convert
+     * @param sb the string builder to append to
+     * @return the string builder
+     */
+    public static StringBuilder appendShortest(final double value, final StringBuilder sb) {
+        if (value == 0) {
+            // +0 and -0
+            return sb.append('0');
+        } else if ((int) value == value) {
+            return sb.append((int) value);
+        } else if (Double.isNaN(value)) {
+            return sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            return sb.append(value > 0 ? "Infinity" : "-Infinity");
         }
+        shortest(value, dtoaBuffer.get()).format(DtoaMode.SHORTEST, 0, sb);
+        return sb;
+    }
+
+    /**
+     * Writes the shortest string representation of a double number to a char
+     * array, as {@link #appendShortest(double, StringBuilder)} does.
+     *
+     * @param value number to convert
+     * @param dst the array to write to
+     * @param offset the index of the first char written
+     * @return the number of chars written, at most {@link #MAX_SHORTEST_LENGTH}
+     * @throws IndexOutOfBoundsException if the representation does not fit in dst
+     */
+    public static int toShortestChars(final double value, final char[] dst, final int offset) {
+        final StringBuilder sb = charBuffer.get();
+        sb.setLength(0);
+        appendShortest(value, sb);
+        final int length = sb.length();
+        sb.getChars(0, length, dst, offset);
+        return length;
+    }
+
+    private static DtoaBuffer shortest(final double value, final DtoaBuffer buffer) {
+        final double absValue = Math.abs(value);
+        buffer.reset();
+        buffer.isNegative = value < 0;
 
         if (!fastDtoaShortest(absValue, buffer)) {
             buffer.reset();
             bignumDtoa(absValue, DtoaMode.SHORTEST, 0, buffer);
         }
-
-        return buffer.format(DtoaMode.SHORTEST, 0);
+        return buffer;
     }
 
     /**
@@ -95,12 +152,10 @@ public final class DoubleConversion {
      * @return formatted number
      */
     public static String toFixed(final double value, final int requestedDigits) {
-        final DtoaBuffer buffer = new DtoaBuffer(BUFFER_LENGTH);
+        final DtoaBuffer buffer = dtoaBuffer.get();
         final double absValue = Math.abs(value);
-
-        if (value < 0) {
-            buffer.isNegative = true;
-        }
+        buffer.reset();
+        buffer.isNegative = value < 0;
 
         if (value == 0) {
             buffer.append('0');
@@ -110,7 +165,10 @@ public final class DoubleConversion {
             bignumDtoa(absValue, DtoaMode.FIXED, requestedDigits, buffer);
         }
 
-        return buffer.format(DtoaMode.FIXED, requestedDigits);
+        final StringBuilder sb = charBuffer.get();
+        sb.setLength(0);
+        buffer.format(DtoaMode.FIXED, requestedDigits, sb);
+        return sb.toString();
     }
 
     /**
@@ -45,7 +45,7 @@ import java.util.logging.LoggingPermission;
 public final class DebugLogger {
 
     /** Disabled logger used for all loggers that need an instance, but shouldn't output anything */
-    public static final DebugLogger DISABLED_LOGGER = new DebugLogger("disabled", Level.OFF, false);
+    public static final DebugLogger DISABLED_LOGGER = new DebugLogger();
 
     private final Logger  logger;
     private final boolean isEnabled;
@@ -71,6 +71,16 @@ public final class DebugLogger {
         this.isEnabled = getLevel() != Level.OFF;
     }
 
+    /**
+     * Constructor for the disabled logger. It has no backing {@link Logger}, so
+     * that parsing with logging off never initializes {@code java.util.logging}.
+     */
+    private DebugLogger() {
+        this.logger    = null;
+        this.isQuiet   = false;
+        this.isEnabled = false;
+    }
+
     private static Logger instantiateLogger(final String name, final Level level) {
         final Logger logger = java.util.logging.Logger.getLogger(name);
         AccessController.doPrivileged(new PrivilegedAction<Void>() {
@@ -113,7 +123,7 @@ public final class DebugLogger {
      * @return level
      */
     public Level getLevel() {
-        return logger.getLevel() == null ? Level.OFF : logger.getLevel();
+        return logger == null || logger.getLevel() == null ? Level.OFF : logger.getLevel();
     }
 
     /**
@@ -27,11 +27,10 @@ package com.anatawa12.nashorn.internal.runtime.options;
 
 import java.util.Locale;
 import java.util.TimeZone;
-import com.anatawa12.nashorn.internal.runtime.QuotedStringTokenizer;
 
 /**
- * This describes the valid input for an option, as read from the resource
- * bundle file. Metainfo such as parameters and description is here as well
+ * This describes the valid input for an option, as declared in the options
+ * properties file. Metainfo such as parameters and description is here as well
  * for context sensitive help generation.
  */
 public final class OptionTemplate implements Comparable<OptionTemplate> {
@@ -85,12 +84,12 @@ public final class OptionTemplate implements Comparable<OptionTemplate> {
      */
     private boolean repeated;
 
-    OptionTemplate(final String resource, final String key, final String value, final boolean isHelp, final boolean isXHelp) {
+    OptionTemplate(final String resource, final String key, final boolean isHelp, final boolean isXHelp, final String... attributes) {
         this.resource = resource;
         this.key = key;
         this.isHelp = isHelp;
         this.isXHelp = isXHelp;
-        parse(value);
+        initialize(attributes);
     }
 
     /**
@@ -239,26 +238,13 @@ public final class OptionTemplate implements Comparable<OptionTemplate> {
         return repeated;
     }
 
-    private static String strip(final String value, final char start, final char end) {
-        final int len = value.length();
-        if (len > 1 && value.charAt(0) == start && value.charAt(len - 1) == end) {
-            return value.substring(1, len - 1);
-        }
-        return null;
-    }
-
-    private void parse(final String origValue) {
-        String value = origValue.trim();
-
+    private void initialize(final String[] attributes) {
         try {
-            value = OptionTemplate.strip(value, '{', '}');
-            final QuotedStringTokenizer keyValuePairs = new QuotedStringTokenizer(value, ",");
-
-            while (keyValuePairs.hasMoreTokens()) {
-                final String                keyValue = keyValuePairs.nextToken();
-                final QuotedStringTokenizer st       = new QuotedStringTokenizer(keyValue, "=");
-                final String                keyToken = st.nextToken();
-                final String                arg      = st.nextToken();
+            // attributes are the key/value pairs of the template in the properties file,
+            // already split by scripts/GenerateResourceTables.java
+            for (int i = 0; i < attributes.length; i += 2) {
+                final String keyToken = attributes[i];
+                final String arg      = attributes[i + 1];
 
                 switch (keyToken) {
                 case "is_undocumented":
@@ -315,11 +301,11 @@ public final class OptionTemplate implements Comparable<OptionTemplate> {
             }
 
         } catch (final Exception e) {
-            throw new IllegalArgumentException(origValue);
+            throw new IllegalArgumentException(key);
         }
 
         if (name == null && shortName == null) {
-            throw new IllegalArgumentException(origValue);
+            throw new IllegalArgumentException(key);
         }
 
         if (this.repeated && !"string".equals(this.type)) {
@@ -33,22 +33,18 @@ import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.PropertyPermission;
-import java.util.ResourceBundle;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import com.anatawa12.nashorn.internal.runtime.QuotedStringTokenizer;
 
 /**
@@ -306,15 +302,14 @@ public final class Options {
     }
 
     static String getMsg(final String msgId, final String... args) {
-        try {
-            final String msg = Options.bundle.getString(msgId);
-            if (args.length == 0) {
-                return msg;
-            }
-            return new MessageFormat(msg).format(args);
-        } catch (final MissingResourceException e) {
-            throw new IllegalArgumentException(e);
+        final String msg = OptionsTable.getMessage(msgId);
+        if (msg == null) {
+            throw new IllegalArgumentException(msgId);
+        }
+        if (args.length == 0) {
+            return msg;
         }
+        return new MessageFormat(msg).format(args);
     }
 
     /**
@@ -544,25 +539,10 @@ public final class Options {
         }
     }
 
-    /**
-     * Resource name for properties file
-     */
-    private static final String MESSAGES_RESOURCE = "com.anatawa12.nashorn.internal.runtime.resources.Options";
-
-    /**
-     * Resource bundle for properties file
-     */
-    private static ResourceBundle bundle;
-
-    /**
-     * Usages per resource from properties file
-     */
-    private static HashMap<Object, Object> usage;
-
     /**
      * Valid options from templates in properties files
      */
-    private static Collection<OptionTemplate> validOptions;
+    private static final Collection<OptionTemplate> validOptions;
 
     /**
      * Help option
@@ -580,50 +560,18 @@ public final class Options {
     private static String definePropPrefix;
 
     static {
-        Options.bundle = ResourceBundle.getBundle(Options.MESSAGES_RESOURCE, Locale.getDefault());
-        Options.validOptions = new TreeSet<>();
-        Options.usage        = new HashMap<>();
-
-        for (final Enumeration<String> keys = Options.bundle.getKeys(); keys.hasMoreElements(); ) {
-            final String key = keys.nextElement();
-            final StringTokenizer st = new StringTokenizer(key, ".");
-            String resource = null;
-            String type = null;
-
-            if (st.countTokens() > 0) {
-                resource = st.nextToken(); // e.g. "nashorn"
-            }
+        // the templates come precomputed and sorted, see scripts/GenerateResourceTables.java
+        final OptionTemplate[] templates = OptionsTable.createTemplates();
+        validOptions = Collections.unmodifiableList(Arrays.asList(templates));
 
-            if (st.countTokens() > 0) {
-                type = st.nextToken(); // e.g. "option"
+        for (final OptionTemplate t : templates) {
+            if (t.isHelp()) {
+                helpOptionTemplate = t;
             }
 
-            if ("option".equals(type)) {
-                String helpKey = null;
-                String xhelpKey = null;
-                String definePropKey = null;
-                try {
-                    helpKey = Options.bundle.getString(resource + ".options.help.key");
-                    xhelpKey = Options.bundle.getString(resource + ".options.xhelp.key");
-                    definePropKey = Options.bundle.getString(resource + ".options.D.key");
-                } catch (final MissingResourceException e) {
-                    //ignored: no help
-                }
-                final boolean        isHelp = key.equals(helpKey);
-                final boolean        isXHelp = key.equals(xhelpKey);
-                final OptionTemplate t      = new OptionTemplate(resource, key, Options.bundle.getString(key), isHelp, isXHelp);
-
-                Options.validOptions.add(t);
-                if (isHelp) {
-                    helpOptionTemplate = t;
-                }
-
-                if (key.equals(definePropKey)) {
-                    definePropPrefix = t.getName();
-                    definePropTemplate = t;
-                }
-            } else if (resource != null && "options".equals(type)) {
-                Options.usage.put(resource, Options.bundle.getObject(key));
+            if (t.getKey().equals(OptionsTable.getMessage(t.getResource() + ".options.D.key"))) {
+                definePropPrefix = t.getName();
+                definePropTemplate = t;
             }
         }
     }
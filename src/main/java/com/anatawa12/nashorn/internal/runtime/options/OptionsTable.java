@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+// Generated by scripts/GenerateResourceTables.java from resources/Options.properties, do not edit.
+
+package com.anatawa12.nashorn.internal.runtime.options;
+
+/**
+ * Option templates and messages of {@code Options.properties}, parsed ahead of time.
+ */
+final class OptionsTable {
+    private OptionsTable() {
+    }
+
+    /**
+     * Get a message that is not an option template
+     *
+     * @param key message key
+     * @return the message, or null if there is no such message
+     */
+    static String getMessage(final String key) {
+        switch (key) {
+        case "nashorn.options":
+            return "Usage: jjs [option=value]* [filename.js]+ [-- options...]\n\nValid options are:";
+        case "nashorn.options.D.key":
+            return "nashorn.option.D";
+        case "nashorn.options.default":
+            return "default";
+        case "nashorn.options.help.key":
+            return "nashorn.option.help";
+        case "nashorn.options.param":
+            return "param";
+        case "nashorn.options.xhelp.key":
+            return "nashorn.option.xhelp";
+        case "option.error.invalid.option":
+            return "\"{0}\" is not a recognized option. Use \"{1}\" or \"{2}\" to see a list of all supported options.";
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Create the templates for all options, sorted by key
+     *
+     * @return the option templates
+     */
+    static OptionTemplate[] createTemplates() {
+        return new OptionTemplate[] {
+            new OptionTemplate("nashorn", "nashorn.option.D", false, false,
+                    "name", "-D",
+                    "desc", "-Dname=value. Set a system property. This option can be repeated.",
+                    "type", "String"),
+            new OptionTemplate("nashorn", "nashorn.option.add.modules", false, false,
+                    "name", "--add-modules",
+                    "desc", "--add-modules modules. Specify the root user java modules.",
+                    "repeated", "true",
+                    "value_next_arg", "true",
+                    "type", "String"),
+            new OptionTemplate("nashorn", "nashorn.option.anonymous.classes", false, false,
+                    "name", "--anonymous-classes",
+                    "is_undocumented", "true",
+                    "params", "[auto|true|false]",
+                    "default", "auto",
+                    "type", "string",
+                    "desc", "Use VM anonymous classes for compiled scripts."),
+            new OptionTemplate("nashorn", "nashorn.option.class.cache.size", false, false,
+                    "name", "--class-cache-size",
+                    "short_name", "-ccs",
+                    "desc", "Size of the Class cache size per global scope.",
+                    "is_undocumented", "true",
+                    "type", "Integer",
+                    "default", "50"),
+            new OptionTemplate("nashorn", "nashorn.option.classpath", false, false,
+                    "name", "-classpath",
+                    "short_name", "-cp",
+                    "desc", "-cp path. Specify where to find user class files.",
+                    "value_next_arg", "true",
+                    "type", "String"),
+            new OptionTemplate("nashorn", "nashorn.option.compile.only", false, false,
+                    "name", "--compile-only",
+                    "short_name", "-co",
+                    "is_undocumented", "true",
+                    "desc", "Compile without running.",
+                    "type", "Boolean"),
+            new OptionTemplate("nashorn", "nashorn.option.const.as.var", false, false,
+                    "name", "--const-as-var",
+                    "is_undocumented", "true",
+                    "desc", "Replace 'const' with 'var'.",
+                    "type", "Boolean"),
+            new OptionTemplate("nashorn", "nashorn.option.d", false, false,
+                    "name", "--dump-debug-dir",
+                    "short_name", "-d",
+                    "is_undocumented", "true",
+                    "params", "<path>",
+                    "desc", "specify a destination directory to dump source and class files.",
+                    "type", "String"),
+            new OptionTemplate("nashorn", "nashorn.option.debug.lines", false, false,
+                    "name", "--debug-lines",
+                    "is_undocumented", "true",
+                    "desc", "Generate line number table in .class files.",
+                    "default", "true"),
+            new OptionTemplate("nashorn", "nashorn.option.debug.locals", false, false,
+                    "name", "--debug-locals",
+                    "is_undocumented", "true",
+                    "desc", "Generate local variable table in .class files."),
+            new OptionTemplate("nashorn", "nashorn.option.debug.scopes", false, false,
+                    "name", "--debug-scopes",
+                    "is_undocumented", "true",
+                    "desc", "Put all variables in scopes to make them debuggable."),
+            new OptionTemplate("nashorn", "nashorn.option.doe", false, false,
+                    "name", "-dump-on-error",
+                    "short_name", "-doe",
+                    "desc", "Dump a stack trace on errors."),
+            new OptionTemplate("nashorn", "nashorn.option.early.lvalue.error", false, false,
+                    "name", "--early-lvalue-error",
+                    "is_undocumented", "true",
+                    "desc", "invalid lvalue expressions should be reported as early errors.",
+                    "type", "Boolean",
+                    "default", "true"),
+            new OptionTemplate("nashorn", "nashorn.option.empty.statements", false, false,
+                    "name", "--empty-statements",
+                    "is_undocumented", "true",
+                    "desc", "Preserve empty statements in AST."),
+            new OptionTemplate("nashorn", "nashorn.option.fullversion", false, false,
+                    "name", "-fullversion",
+                    "short_name", "-fv",
+                    "desc", "Print full version info of Nashorn."),
+            new OptionTemplate("nashorn", "nashorn.option.function.statement.error", false, false,
+                    "name", "--function-statement-error",
+                    "desc", "Report an error when function declaration is used as a statement.",
+                    "is_undocumented", "true",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.function.statement.warning", false, false,
+                    "name", "--function-statement-warning",
+                    "desc", "Warn when function declaration is used as a statement.",
+                    "is_undocumented", "true",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.fx", false, false,
+                    "name", "-fx",
+                    "desc", "Launch script as an fx application.",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.global.per.engine", false, false,
+                    "name", "--global-per-engine",
+                    "desc", "Use single Global instance per script engine instance.",
+                    "is_undocumented", "true",
+                    "type", "Boolean",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.help", true, false,
+                    "name", "--help",
+                    "short_name", "-h",
+                    "desc", "Print this help message."),
+            new OptionTemplate("nashorn", "nashorn.option.language", false, false,
+                    "name", "--language",
+                    "type", "String",
+                    "params", "[es5|es6]",
+                    "default", "es5",
+                    "desc", "Specify ECMAScript language version."),
+            new OptionTemplate("nashorn", "nashorn.option.lazy.compilation", false, false,
+                    "name", "--lazy-compilation",
+                    "is_undocumented", "true",
+                    "desc", "Use lazy code generation strategies - do not compile the entire script at once.",
+                    "default", "true"),
+            new OptionTemplate("nashorn", "nashorn.option.loader.per.compile", false, false,
+                    "name", "--loader-per-compile",
+                    "is_undocumented", "true",
+                    "desc", "Create a new class loader per compile.",
+                    "default", "true"),
+            new OptionTemplate("nashorn", "nashorn.option.locale", false, false,
+                    "name", "--locale",
+                    "short_name", "-l",
+                    "is_undocumented", "true",
+                    "params", "<locale>",
+                    "desc", "Set Locale for script execution.",
+                    "type", "Locale"),
+            new OptionTemplate("nashorn", "nashorn.option.log", false, false,
+                    "name", "--log",
+                    "is_undocumented", "true",
+                    "params", "<module:level>,*",
+                    "desc", "Enable logging of a given level for a given number of sub systems. [for example: --log=fields:finest,codegen:info].",
+                    "type", "Log"),
+            new OptionTemplate("nashorn", "nashorn.option.module.path", false, false,
+                    "name", "--module-path",
+                    "desc", "--module-path path. Specify where to find user java modules.",
+                    "value_next_arg", "true",
+                    "type", "String"),
+            new OptionTemplate("nashorn", "nashorn.option.no.deprecation.warning", false, false,
+                    "name", "--no-deprecation-warning",
+                    "type", "Boolean",
+                    "default", "false",
+                    "desc", "Do not show nashorn deprecation warning."),
+            new OptionTemplate("nashorn", "nashorn.option.no.java", false, false,
+                    "name", "--no-java",
+                    "short_name", "-nj",
+                    "is_undocumented", "true",
+                    "desc", "Disable Java support.",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.no.syntax.extensions", false, false,
+                    "name", "--no-syntax-extensions",
+                    "short_name", "-nse",
+                    "is_undocumented", "true",
+                    "desc", "Disallow non-standard syntax extensions.",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.no.typed.arrays", false, false,
+                    "name", "--no-typed-arrays",
+                    "short_name", "-nta",
+                    "is_undocumented", "true",
+                    "desc", "Disable typed arrays support.",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.optimistic.types", false, false,
+                    "name", "--optimistic-types",
+                    "short_name", "-ot",
+                    "desc", "Use optimistic type assumptions with deoptimizing recompilation. This makes the compiler try, for any program symbol whose type cannot be proven at compile time, to type it as narrow and primitive as possible. If the runtime encounters an error because symbol type is too narrow, a wider method will be generated until steady stage is reached. While this produces as optimal Java Bytecode as possible, erroneous type guesses will lead to longer warmup. Optimistic typing is currently enabled by default, but can be disabled for faster startup performance.",
+                    "default", "true"),
+            new OptionTemplate("nashorn", "nashorn.option.parse.only", false, false,
+                    "name", "--parse-only",
+                    "is_undocumented", "true",
+                    "desc", "Parse without compiling."),
+            new OptionTemplate("nashorn", "nashorn.option.persistent.code.cache", false, false,
+                    "name", "--persistent-code-cache",
+                    "short_name", "-pcc",
+                    "desc", "Enable disk cache for compiled scripts.",
+                    "is_undocumented", "true",
+                    "default", "false"),
+            new OptionTemplate("nashorn", "nashorn.option.print.ast", false, false,
+                    "name", "--print-ast",
+                    "is_undocumented", "true",
+                    "desc", "Print abstract syntax tree."),
+            new OptionTemplate("nashorn", "nashorn.option.print.code", false, false,
+                    "name", "--print-code",
+                    "short_name", "-pc",
+                    "is_undocumented", "true",
+                    "params", "[dir:<output-dir>,function:<name>]",
+                    "type", "keyvalues",
+                    "desc", "Print generated bytecode. If a directory is specified, nothing will be dumped to stderr. Also, in that case, .dot files will be generated for all functions or for the function with the specified name only."),
+            new OptionTemplate("nashorn", "nashorn.option.print.lower.ast", false, false,
+                    "name", "--print-lower-ast",
+                    "is_undocumented", "true",
+                    "desc", "Print lowered abstract syntax tree."),
+            new OptionTemplate("nashorn", "nashorn.option.print.lower.parse", false, false,
+                    "name", "--print-lower-parse",
+                    "short_name", "-plp",
+                    "is_undocumented", "true",
+                    "desc", "Print the parse tree after lowering."),
+            new OptionTemplate("nashorn", "nashorn.option.print.no.newline", false, false,
+                    "name", "--print-no-newline",
+                    "is_undocumented", "true",
+                    "desc", "Print function will not print new line char."),
+            new OptionTemplate("nashorn", "nashorn.option.print.parse", false, false,
+                    "name", "--print-parse",
+                    "short_name", "-pp",
+                    "is_undocumented", "true",
+                    "desc", "Print the parse tree."),
+            new OptionTemplate("nashorn", "nashorn.option.print.symbols", false, false,
+                    "name", "--print-symbols",
+                    "is_undocumented", "true",
+                    "desc", "Print the symbol table."),
+            new OptionTemplate("nashorn", "nashorn.option.profile.callsites", false, false,
+                    "name", "--profile-callsites",
+                    "short_name", "-pcs",
+                    "is_undocumented", "true",
+                    "desc", "Dump callsite profile data."),
+            new OptionTemplate("nashorn", "nashorn.option.scripting", false, false,
+                    "name", "-scripting",
+                    "desc", "Enable scripting features."),
+            new OptionTemplate("nashorn", "nashorn.option.stderr", false, false,
+                    "name", "--stderr",
+                    "is_undocumented", "true",
+                    "type", "String",
+                    "params", "<output console>",
+                    "desc", "Redirect stderr to a filename or to another tty, e.g. stdout."),
+            new OptionTemplate("nashorn", "nashorn.option.stdout", false, false,
+                    "name", "--stdout",
+                    "is_undocumented", "true",
+                    "type", "String",
+                    "params", "<output console>",
+                    "desc", "Redirect stdout to a filename or to another tty, e.g. stderr."),
+            new OptionTemplate("nashorn", "nashorn.option.strict", false, false,
+                    "name", "-strict",
+                    "desc", "Run scripts in strict mode."),
+            new OptionTemplate("nashorn", "nashorn.option.timezone", false, false,
+                    "name", "-timezone",
+                    "short_name", "-t",
+                    "params", "<timezone>",
+                    "desc", "Set timezone for script execution.",
+                    "type", "TimeZone"),
+            new OptionTemplate("nashorn", "nashorn.option.trace.callsites", false, false,
+                    "name", "--trace-callsites",
+                    "short_name", "-tcs",
+                    "is_undocumented", "true",
+                    "type", "keyvalues",
+                    "params", "[=[option,]*]",
+                    "desc", "Enable callsite trace mode. Options are: miss [trace callsite misses]  enterexit [trace callsite enter/exit], objects [print object properties]."),
+            new OptionTemplate("nashorn", "nashorn.option.unstable.relink.threshold", false, false,
+                    "name", "--unstable-relink-threshold",
+                    "short_name", "-urt",
+                    "desc", "Number of times a dynamic call site has to be       relinked before it is considered unstable, when the       runtime will try to link it as if it is megamorphic.",
+                    "is_undocumented", "true",
+                    "type", "Integer",
+                    "default", "-1"),
+            new OptionTemplate("nashorn", "nashorn.option.verify.code", false, false,
+                    "name", "--verify-code",
+                    "is_undocumented", "true",
+                    "desc", "Verify byte code before running."),
+            new OptionTemplate("nashorn", "nashorn.option.version", false, false,
+                    "name", "-version",
+                    "short_name", "-v",
+                    "desc", "Print version info of Nashorn."),
+            new OptionTemplate("nashorn", "nashorn.option.xhelp", false, true,
+                    "name", "-xhelp",
+                    "is_undocumented", "true",
+                    "desc", "Print extended help for command line flags."),
+        };
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.internal.runtime.regexp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static analysis of a regexp for catastrophic backtracking, run by the
+ * {@link RegExpScanner} while it scans the pattern.
+ *
+ * <p>The scanner reports each atom, sequence, alternation and quantifier it
+ * has scanned, and this class folds them into a {@link Summary} of constant
+ * size: the characters a match may start with, end with or consume, whether
+ * the match may be empty, and the characters of unbounded repetitions a match
+ * may consume, start or end with. Characters are approximated by ASCII bit sets plus a
+ * single bit for all other characters. Every step is a constant number of
+ * set operations, so the analysis is linear in the length of the pattern.
+ *
+ * <p>Three shapes are reported:
+ * <ul>
+ * <li>an unbounded repetition of a body that itself contains an unbounded
+ * repetition, where one iteration of the body may be split into two, as in
+ * {@code (a+)+}, {@code (\w+\s?)*} or {@code (.*a)+}: a failing match may
+ * try exponentially many ways to split the input;</li>
+ * <li>an unbounded repetition of alternatives that may start with the same
+ * character, as in {@code (a|ab)*}: also exponential;</li>
+ * <li>two unbounded repetitions over overlapping characters with nothing
+ * but optional parts in between, as in {@code \d+\d*}: a failing match may
+ * try polynomially many splits.</li>
+ * </ul>
+ * The approximations err on the side of reporting; a reported pattern may
+ * be harmless for the inputs it actually gets.
+ */
+public final class BacktrackingAnalysis {
+    /**
+     * Kinds of findings.
+     */
+    public enum Kind {
+        /** Unbounded repetition of an unbounded repetition. */
+        NESTED_QUANTIFIER("regex.nested.quantifier.warn"),
+        /** Unbounded repetition of overlapping alternatives. */
+        OVERLAPPING_ALTERNATIVES("regex.overlapping.alternatives.warn"),
+        /** Adjacent unbounded repetitions of overlapping characters. */
+        ADJACENT_QUANTIFIERS("regex.adjacent.quantifiers.warn");
+
+        private final String messageKey;
+
+        Kind(final String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        /**
+         * Get the key of the parser message for this kind of finding.
+         *
+         * @return the message key
+         */
+        public String getMessageKey() {
+            return messageKey;
+        }
+    }
+
+    /**
+     * A part of a pattern that may backtrack catastrophically.
+     */
+    public static final class Finding {
+        private final Kind kind;
+        private final int start;
+        private final int end;
+
+        Finding(final Kind kind, final int start, final int end) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Get the kind of this finding.
+         *
+         * @return the kind
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Get the offset in the pattern where the repetition found starts.
+         *
+         * @return the start offset
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Get the offset in the pattern after the repetition found.
+         *
+         * @return the end offset
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return kind + "@" + start + "-" + end;
+        }
+    }
+
+    /**
+     * Approximate set of characters: one bit per ASCII character and one
+     * bit for all other characters.
+     */
+    static final class CharSet {
+        static final CharSet NONE = new CharSet(0L, 0L, false);
+        static final CharSet ALL = new CharSet(-1L, -1L, true);
+
+        private final long lo;
+        private final long hi;
+        private final boolean other;
+
+        private CharSet(final long lo, final long hi, final boolean other) {
+            this.lo = lo;
+            this.hi = hi;
+            this.other = other;
+        }
+
+        static CharSet of(final int ch) {
+            return range(ch, ch);
+        }
+
+        static CharSet range(final int from, final int to) {
+            long lo = 0L;
+            long hi = 0L;
+            for (int ch = from; ch <= to && ch < 128; ch++) {
+                if (ch < 64) {
+                    lo |= 1L << ch;
+                } else {
+                    hi |= 1L << (ch - 64);
+                }
+            }
+            return new CharSet(lo, hi, to >= 128);
+        }
+
+        CharSet union(final CharSet set) {
+            if (set == NONE || set == this) {
+                return this;
+            } else if (this == NONE) {
+                return set;
+            }
+            return new CharSet(lo | set.lo, hi | set.hi, other || set.other);
+        }
+
+        CharSet complement() {
+            return new CharSet(~lo, ~hi, true);
+        }
+
+        boolean intersects(final CharSet set) {
+            return (lo & set.lo) != 0L || (hi & set.hi) != 0L || (other && set.other);
+        }
+
+        boolean isEmpty() {
+            return lo == 0L && hi == 0L && !other;
+        }
+
+        // adds the other case of ASCII letters
+        CharSet foldCase() {
+            // upper case letters are bits 1-26 of hi, lower case letters bits 33-58
+            final long letters = 0x07fffffeL;
+            final long upper = hi & letters;
+            final long lower = (hi >>> 32) & letters;
+            return new CharSet(lo, hi | upper << 32 | lower, other);
+        }
+    }
+
+    private static final CharSet DIGITS = CharSet.range('0', '9');
+    private static final CharSet WORD = DIGITS.union(CharSet.range('A', 'Z'))
+            .union(CharSet.range('a', 'z')).union(CharSet.of('_'));
+    // ASCII white space and line terminators only, so that \s and \S do not overlap
+    private static final CharSet SPACE = CharSet.range('\t', '\r').union(CharSet.of(' '));
+    private static final CharSet LINE_TERMINATORS = CharSet.of('\n').union(CharSet.of('\r'));
+    private static final CharSet DOT = LINE_TERMINATORS.complement();
+
+    /**
+     * What the analysis knows about a scanned part of the pattern.
+     */
+    static final class Summary {
+        /** Characters a match may start with. */
+        final CharSet first;
+        /** Characters a match may end with. */
+        final CharSet last;
+        /** Characters a match may consume. */
+        final CharSet chars;
+        /** Characters a match may consume in unbounded repetitions. */
+        final CharSet looped;
+        /** Characters of unbounded repetitions a match may start with. */
+        final CharSet lead;
+        /** Characters of unbounded repetitions a match may end with. */
+        final CharSet open;
+        /** Whether a match may be empty. */
+        final boolean nullable;
+        /** Whether the part contains an unbounded repetition. */
+        final boolean unbounded;
+        /** Whether an exponential finding was reported inside the part. */
+        final boolean reported;
+        /** Whether the part is an alternation with overlapping alternatives. */
+        final boolean ambiguous;
+
+        Summary(final CharSet first, final CharSet last, final CharSet chars, final CharSet looped,
+                final CharSet lead, final CharSet open,
+                final boolean nullable, final boolean unbounded, final boolean reported, final boolean ambiguous) {
+            this.first = first;
+            this.last = last;
+            this.chars = chars;
+            this.looped = looped;
+            this.lead = lead;
+            this.open = open;
+            this.nullable = nullable;
+            this.unbounded = unbounded;
+            this.reported = reported;
+            this.ambiguous = ambiguous;
+        }
+    }
+
+    /** Summary of an empty alternative or an assertion. */
+    static final Summary EMPTY = new Summary(CharSet.NONE, CharSet.NONE, CharSet.NONE, CharSet.NONE, CharSet.NONE, CharSet.NONE,
+            true, false, false, false);
+
+    private final String pattern;
+    private final boolean ignoreCase;
+    private final List<Finding> findings = new ArrayList<>();
+
+    BacktrackingAnalysis(final String pattern, final boolean ignoreCase) {
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+    }
+
+    List<Finding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * Summary of an atom other than a group: a character, {@code .}, an
+     * escape or a character class.
+     *
+     * @param start offset of the atom in the pattern
+     * @param end offset after the atom
+     * @return the summary
+     */
+    Summary atom(final int start, final int end) {
+        CharSet set;
+        final char ch = pattern.charAt(start);
+        if (ch == '.') {
+            set = DOT;
+        } else if (ch == '[') {
+            set = charClass(start + 1, end - 1);
+        } else if (ch == '\\') {
+            set = escape(start + 1, end);
+        } else {
+            set = CharSet.of(ch);
+        }
+        if (ignoreCase) {
+            set = set.foldCase();
+        }
+        return new Summary(set, set, set, CharSet.NONE, CharSet.NONE, CharSet.NONE, false, false, false, false);
+    }
+
+    /**
+     * Summary of two parts matched one after the other.
+     *
+     * @param left the first part, null if there is none
+     * @param right the second part
+     * @param start offset of the second part in the pattern
+     * @param end offset after the second part
+     * @return the summary
+     */
+    Summary sequence(final Summary left, final Summary right, final int start, final int end) {
+        if (left == null) {
+            return right;
+        }
+        if (left.open.intersects(right.lead)) {
+            report(Kind.ADJACENT_QUANTIFIERS, start, end);
+        }
+        return new Summary(
+                left.nullable? left.first.union(right.first) : left.first,
+                right.nullable? left.last.union(right.last) : right.last,
+                left.chars.union(right.chars),
+                left.looped.union(right.looped),
+                left.nullable? left.lead.union(right.lead) : left.lead,
+                right.nullable? left.open.union(right.open) : right.open,
+                left.nullable && right.nullable,
+                left.unbounded || right.unbounded,
+                left.reported || right.reported,
+                false);
+    }
+
+    /**
+     * Summary of two alternatives.
+     *
+     * @param left the previous alternatives, null if there are none
+     * @param right the next alternative
+     * @return the summary
+     */
+    Summary alternation(final Summary left, final Summary right) {
+        if (left == null) {
+            return right;
+        }
+        final boolean overlap = left.first.intersects(right.first) || (left.nullable && right.nullable);
+        return new Summary(
+                left.first.union(right.first),
+                left.last.union(right.last),
+                left.chars.union(right.chars),
+                left.looped.union(right.looped),
+                left.lead.union(right.lead),
+                left.open.union(right.open),
+                left.nullable || right.nullable,
+                left.unbounded || right.unbounded,
+                left.reported || right.reported,
+                left.ambiguous || right.ambiguous || overlap);
+    }
+
+    /**
+     * Summary of a quantified atom.
+     *
+     * @param atom the atom
+     * @param start offset of the atom in the pattern
+     * @param quantifierStart offset of the quantifier
+     * @param end offset after the quantifier
+     * @return the summary
+     */
+    Summary quantifier(final Summary atom, final int start, final int quantifierStart, final int end) {
+        boolean optional = true;
+        boolean unbounded = false;
+        switch (pattern.charAt(quantifierStart)) {
+        case '*':
+            unbounded = true;
+            break;
+        case '+':
+            optional = false;
+            unbounded = true;
+            break;
+        case '?':
+            break;
+        default:
+            // {n}, {n,} or {n,m}
+            int i = quantifierStart + 1;
+            while (isDecimalDigit(pattern.charAt(i))) {
+                optional &= pattern.charAt(i++) == '0';
+            }
+            unbounded = pattern.charAt(i) == ',' && !isDecimalDigit(pattern.charAt(i + 1));
+            break;
+        }
+
+        boolean reported = atom.reported;
+        if (unbounded && !reported) {
+            if (atom.unbounded && (atom.nullable || atom.open.intersects(atom.first)
+                    || atom.looped.intersects(atom.first) && atom.looped.intersects(atom.last))) {
+                report(Kind.NESTED_QUANTIFIER, start, end);
+                reported = true;
+            } else if (atom.ambiguous) {
+                report(Kind.OVERLAPPING_ALTERNATIVES, start, end);
+                reported = true;
+            }
+        }
+        return new Summary(
+                atom.first,
+                atom.last,
+                atom.chars,
+                unbounded? atom.chars : atom.looped,
+                unbounded? atom.first : atom.lead,
+                unbounded? atom.last : atom.open,
+                atom.nullable || optional,
+                atom.unbounded || unbounded,
+                reported,
+                false);
+    }
+
+    private void report(final Kind kind, final int start, final int end) {
+        findings.add(new Finding(kind, start, end));
+    }
+
+    // characters matched by an escape; i is the offset after the backslash
+    private CharSet escape(final int i, final int end) {
+        final char ch = pattern.charAt(i);
+        switch (ch) {
+        case 'd':
+            return DIGITS;
+        case 'D':
+            return DIGITS.complement();
+        case 'w':
+            return WORD;
+        case 'W':
+            return WORD.complement();
+        case 's':
+            return SPACE;
+        case 'S':
+            return SPACE.complement();
+        case 'f':
+            return CharSet.of('\f');
+        case 'n':
+            return CharSet.of('\n');
+        case 'r':
+            return CharSet.of('\r');
+        case 't':
+            return CharSet.of('\t');
+        case 'v':
+            return CharSet.of('\u000B');
+        case 'b':
+            return CharSet.of('\b');
+        case 'c':
+            // \cX, or \c matching itself if no control letter follows
+            return end - i == 2? CharSet.of(pattern.charAt(i + 1) % 32) : CharSet.of(ch);
+        case 'x':
+        case 'u':
+            final int length = ch == 'x'? 2 : 4;
+            if (end - i == length + 1) {
+                return CharSet.of(Integer.parseInt(pattern.substring(i + 1, end), 16));
+            }
+            return CharSet.of(ch);
+        default:
+            if (isDecimalDigit(ch)) {
+                // a back reference, an octal escape or \0
+                return ch == '0' && end - i == 1? CharSet.of(0) : CharSet.ALL;
+            }
+            return CharSet.of(ch);
+        }
+    }
+
+    // characters matched by a character class, given the offsets inside the brackets
+    private CharSet charClass(final int start, final int end) {
+        int i = start;
+        final boolean negated = i < end && pattern.charAt(i) == '^';
+        if (negated) {
+            i++;
+        }
+
+        CharSet set = CharSet.NONE;
+        while (i < end) {
+            final int atomEnd = classAtomEnd(i, end);
+            final int from = classAtomValue(i, atomEnd);
+            if (from >= 0 && atomEnd + 1 < end && pattern.charAt(atomEnd) == '-') {
+                final int toEnd = classAtomEnd(atomEnd + 1, end);
+                final int to = classAtomValue(atomEnd + 1, toEnd);
+                if (to >= from) {
+                    set = set.union(CharSet.range(from, to));
+                    i = toEnd;
+                    continue;
+                }
+            }
+            set = set.union(pattern.charAt(i) == '\\'? escape(i + 1, atomEnd) : CharSet.of(pattern.charAt(i)));
+            i = atomEnd;
+        }
+        return negated? set.complement() : set;
+    }
+
+    private int classAtomEnd(final int start, final int end) {
+        if (pattern.charAt(start) != '\\' || start + 1 >= end) {
+            return start + 1;
+        }
+        final char ch = pattern.charAt(start + 1);
+        int i = start + 2;
+        if (ch == 'x' || ch == 'u') {
+            final int last = Math.min(i + (ch == 'x'? 2 : 4), end);
+            while (i < last && Character.digit(pattern.charAt(i), 16) >= 0) {
+                i++;
+            }
+            return i - start == (ch == 'x'? 4 : 6)? i : start + 2;
+        } else if (ch == 'c') {
+            // the scanner accepts digits and '_' as control letters in classes
+            return i < end && (isControlLetter(pattern.charAt(i)) || isDecimalDigit(pattern.charAt(i)) || pattern.charAt(i) == '_')? i + 1 : i;
+        } else if (isDecimalDigit(ch)) {
+            while (i < end && isDecimalDigit(pattern.charAt(i))) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    // code of a single character class atom, or -1 for escapes of several characters
+    private int classAtomValue(final int start, final int end) {
+        if (pattern.charAt(start) != '\\') {
+            return pattern.charAt(start);
+        }
+        final CharSet set = escape(start + 1, end);
+        final char ch = pattern.charAt(start + 1);
+        switch (ch) {
+        case 'd': case 'D': case 'w': case 'W': case 's': case 'S':
+            return -1;
+        case 'x':
+        case 'u':
+            return end - start > 2? Integer.parseInt(pattern.substring(start + 2, end), 16) : ch;
+        case 'c':
+            return end - start == 3? pattern.charAt(start + 2) % 32 : ch;
+        default:
+            return set == CharSet.ALL? -1 : singleValue(ch);
+        }
+    }
+
+    private static int singleValue(final char ch) {
+        switch (ch) {
+        case 'f': return '\f';
+        case 'n': return '\n';
+        case 'r': return '\r';
+        case 't': return '\t';
+        case 'v': return '\u000B';
+        case 'b': return '\b';
+        case '0': return 0;
+        default: return ch;
+        }
+    }
+
+    private static boolean isControlLetter(final char ch) {
+        return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z');
+    }
+
+    private static boolean isDecimalDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+}
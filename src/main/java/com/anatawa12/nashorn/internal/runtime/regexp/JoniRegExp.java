@@ -41,6 +41,12 @@ import org.joni.exception.JOniException;
  */
 public class JoniRegExp extends RegExp {
 
+    /** Java pattern string translated from the ECMAScript pattern. */
+    private String javaPattern;
+
+    /** Compiled joni regex, matching UTF-16BE encoded input. */
+    private Regex regex;
+
     /**
      * Construct a Regular expression from the given {@code pattern} and {@code flags} strings.
      *
@@ -74,8 +80,9 @@ public class JoniRegExp extends RegExp {
             }
 
             Encoding encode = UTF16BEEncoding.INSTANCE;
-            final byte[] javaPattern = parsed.getJavaPattern().getBytes(StandardCharsets.UTF_16BE);
-            new Regex(javaPattern, 0, javaPattern.length, option, encode, Syntax.ECMAScript);
+            this.javaPattern = parsed.getJavaPattern();
+            final byte[] javaPatternBytes = javaPattern.getBytes(StandardCharsets.UTF_16BE);
+            this.regex = new Regex(javaPatternBytes, 0, javaPatternBytes.length, option, encode, Syntax.ECMAScript);
         } catch (final PatternSyntaxException | JOniException e2) {
             throwParserException("syntax", e2.getMessage());
         } catch (StackOverflowError e3) {
@@ -83,4 +90,22 @@ public class JoniRegExp extends RegExp {
         }
     }
 
+    /**
+     * Get the Java pattern string the ECMAScript pattern was translated to.
+     *
+     * @return the translated pattern
+     */
+    public String getJavaPattern() {
+        return javaPattern;
+    }
+
+    /**
+     * Get the compiled joni regex. It matches UTF-16BE encoded input.
+     *
+     * @return the compiled regex
+     */
+    public Regex getRegex() {
+        return regex;
+    }
+
 }
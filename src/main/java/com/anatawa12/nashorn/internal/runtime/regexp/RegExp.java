@@ -101,6 +101,15 @@ public abstract class RegExp {
         this.global = global;
     }
 
+    /**
+     * Get the global flag of this regular expression.
+     *
+     * @return the global flag
+     */
+    public boolean isGlobal() {
+        return global;
+    }
+
     /**
      * Get the ignore-case flag of this regular expression.
      *
@@ -27,30 +27,33 @@ package com.anatawa12.nashorn.internal.runtime.regexp;
 
 import java.util.*;
 
+import com.anatawa12.nashorn.internal.runtime.LruCache;
 import com.anatawa12.nashorn.internal.runtime.ParserException;
 
 public class RegExpFactory {
-    private static final Set<String> REGEXP_CACHE =
-            Collections.synchronizedSet(new HashSet<String>());
+    private static final int MAX_CACHE_SIZE = 512;
+
+    /** Recently compiled regexps by key. */
+    private static final LruCache<String, JoniRegExp> REGEXP_CACHE = new LruCache<>(MAX_CACHE_SIZE);
 
     /**
-     * Compile a regexp with the given {@code source} and {@code flags}.
+     * Compile a regexp with the given {@code source} and {@code flags}, or
+     * return the regexp compiled for them before. The returned regexp is
+     * shared and must not be modified.
      *
      * @param pattern RegExp pattern string
      * @param flags   flag string
-     * @return new RegExp
+     * @return compiled RegExp
      * @throws ParserException if invalid source or flags
      */
-    public static void create(final String pattern, final String flags) {
-        final String key = pattern + "/" + flags;
-        if (!REGEXP_CACHE.contains(key)) {
-            new JoniRegExp(pattern, flags);
-            REGEXP_CACHE.add(key);
-        }
+    public static JoniRegExp create(final String pattern, final String flags) {
+        return REGEXP_CACHE.get(pattern + "/" + flags, key -> new JoniRegExp(pattern, flags));
     }
 
     /**
      * Validate a regexp with the given {@code source} and {@code flags}.
+     * A valid regexp is compiled and cached, so that it is not compiled
+     * again when it is validated or created later.
      *
      * @param pattern RegExp pattern string
      * @param flags  flag string
@@ -60,4 +63,28 @@ public class RegExpFactory {
     public static void validate(final String pattern, final String flags) throws ParserException {
         create(pattern, flags);
     }
+
+    /**
+     * Find the parts of a valid regexp that may backtrack catastrophically,
+     * see {@link BacktrackingAnalysis}. This takes time linear in the length
+     * of the pattern.
+     *
+     * @param pattern RegExp pattern string
+     * @param flags  flag string
+     * @return the findings, empty if there are none
+     */
+    public static List<BacktrackingAnalysis.Finding> checkBacktracking(final String pattern, final String flags) {
+        return RegExpScanner.analyze(pattern, flags.indexOf('i') != -1);
+    }
+
+    /**
+     * Parse a valid regexp into a syntax tree.
+     *
+     * @param pattern RegExp pattern string
+     * @return the disjunction node of the whole pattern
+     * @throws java.util.regex.PatternSyntaxException if the pattern is invalid
+     */
+    public static RegExpSyntaxNode parse(final String pattern) {
+        return RegExpScanner.parse(pattern);
+    }
 }
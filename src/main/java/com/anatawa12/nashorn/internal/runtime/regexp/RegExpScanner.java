@@ -25,6 +25,7 @@
 
 package com.anatawa12.nashorn.internal.runtime.regexp;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -65,6 +66,24 @@ final class RegExpScanner extends Scanner {
     /** Are we currently inside a negated character class? */
     private boolean inNegativeClass = false;
 
+    /** Backtracking analysis run along the scan, or null. */
+    private final BacktrackingAnalysis analysis;
+
+    /** Analysis summary of the disjunction, alternative, term or atom just scanned. */
+    private BacktrackingAnalysis.Summary summary;
+
+    /** Should a syntax tree be built along the scan? */
+    private final boolean buildTree;
+
+    /** Syntax tree of the disjunction, alternative, term or atom just scanned. */
+    private RegExpSyntaxNode node;
+
+    /** Elements of the character class being scanned. */
+    private List<RegExpSyntaxNode> classElements;
+
+    /** Back reference nodes of forward references, to be resolved at the end. */
+    private final List<RegExpSyntaxNode> forwardReferenceNodes = new ArrayList<>();
+
     private static final String NON_IDENT_ESCAPES = "$^*+(){}[]|\\.?-";
 
     private static class Capture {
@@ -96,9 +115,13 @@ final class RegExpScanner extends Scanner {
     /**
      * Constructor
      * @param string the JavaScript regexp to parse
+     * @param analysis backtracking analysis to run, or null
+     * @param buildTree true to build a syntax tree
      */
-    private RegExpScanner(final String string) {
+    private RegExpScanner(final String string, final BacktrackingAnalysis analysis, final boolean buildTree) {
         super(string);
+        this.analysis = analysis;
+        this.buildTree = buildTree;
         sb = new StringBuilder(limit);
         reset(0);
         expected.put(']', 0);
@@ -121,6 +144,12 @@ final class RegExpScanner extends Scanner {
         }
 
         forwardReferences.clear();
+
+        for (final RegExpSyntaxNode reference : forwardReferenceNodes) {
+            if (reference.getValue() > caps.size()) {
+                reference.toCharacter(legacyCharacter(reference.getValue()));
+            }
+        }
     }
 
     /**
@@ -131,7 +160,35 @@ final class RegExpScanner extends Scanner {
      * @return Java safe regex string.
      */
     public static RegExpScanner scan(final String string) {
-        final RegExpScanner scanner = new RegExpScanner(string);
+        return scan(string, null, false);
+    }
+
+    /**
+     * Scan a JavaScript regexp string into a syntax tree.
+     *
+     * @param string JavaScript regexp string.
+     * @return the disjunction node of the whole regexp.
+     */
+    static RegExpSyntaxNode parse(final String string) {
+        return scan(string, null, true).node;
+    }
+
+    /**
+     * Scan a JavaScript regexp string for parts that may backtrack
+     * catastrophically, see {@link BacktrackingAnalysis}.
+     *
+     * @param string JavaScript regexp string.
+     * @param ignoreCase whether the regexp ignores case.
+     * @return the findings, in the order their repetitions end.
+     */
+    static List<BacktrackingAnalysis.Finding> analyze(final String string, final boolean ignoreCase) {
+        final BacktrackingAnalysis analysis = new BacktrackingAnalysis(string, ignoreCase);
+        scan(string, analysis, false);
+        return analysis.getFindings();
+    }
+
+    private static RegExpScanner scan(final String string, final BacktrackingAnalysis analysis, final boolean buildTree) {
+        final RegExpScanner scanner = new RegExpScanner(string, analysis, buildTree);
 
         try {
             scanner.disjunction();
@@ -218,8 +275,17 @@ final class RegExpScanner extends Scanner {
      *      Alternative | Disjunction
      */
     private void disjunction() {
+        final int start = position;
+        BacktrackingAnalysis.Summary alternatives = null;
+        final List<RegExpSyntaxNode> nodes = buildTree? new ArrayList<RegExpSyntaxNode>() : null;
         while (true) {
             alternative();
+            if (analysis != null) {
+                alternatives = analysis.alternation(alternatives, summary);
+            }
+            if (nodes != null) {
+                nodes.add(node);
+            }
 
             if (ch0 == '|') {
                 commit(1);
@@ -227,6 +293,10 @@ final class RegExpScanner extends Scanner {
                 break;
             }
         }
+        summary = alternatives;
+        if (nodes != null) {
+            node = RegExpSyntaxNode.list(RegExpSyntaxNode.Kind.DISJUNCTION, start, position, nodes, false);
+        }
     }
 
     /*
@@ -235,8 +305,22 @@ final class RegExpScanner extends Scanner {
      *      Alternative Term
      */
     private void alternative() {
+        final int alternativeStart = position;
+        BacktrackingAnalysis.Summary terms = null;
+        final List<RegExpSyntaxNode> nodes = buildTree? new ArrayList<RegExpSyntaxNode>() : null;
+        int start = position;
         while (term()) {
-            // do nothing
+            if (analysis != null) {
+                terms = analysis.sequence(terms, summary, start, position);
+                start = position;
+            }
+            if (nodes != null) {
+                nodes.add(node);
+            }
+        }
+        summary = terms != null? terms : BacktrackingAnalysis.EMPTY;
+        if (nodes != null) {
+            node = RegExpSyntaxNode.list(RegExpSyntaxNode.Kind.ALTERNATIVE, alternativeStart, position, nodes, false);
         }
     }
 
@@ -251,11 +335,24 @@ final class RegExpScanner extends Scanner {
         final int startOut = sb.length();
 
         if (assertion()) {
+            summary = BacktrackingAnalysis.EMPTY;
             return true;
         }
 
         if (atom()) {
-            quantifier();
+            if (analysis != null && content[startIn] != '(') {
+                // groups are summarized by their disjunction
+                summary = analysis.atom(startIn, position);
+            }
+            final int quantifierStart = position;
+            if (quantifier()) {
+                if (analysis != null) {
+                    summary = analysis.quantifier(summary, startIn, quantifierStart, position);
+                }
+                if (buildTree) {
+                    node = quantifierNode(node, startIn, quantifierStart);
+                }
+            }
             return true;
         }
 
@@ -279,10 +376,16 @@ final class RegExpScanner extends Scanner {
         switch (ch0) {
         case '^':
         case '$':
+            if (buildTree) {
+                node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.ASSERTION, startIn, startIn + 1, ch0);
+            }
             return commit(1);
 
         case '\\':
             if (ch1 == 'b' || ch1 == 'B') {
+                if (buildTree) {
+                    node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.ASSERTION, startIn, startIn + 2, ch1);
+                }
                 return commit(2);
             }
             break;
@@ -309,7 +412,12 @@ final class RegExpScanner extends Scanner {
             }
 
             if (ch0 == ')') {
-                return commit(1);
+                commit(1);
+                if (buildTree) {
+                    node = RegExpSyntaxNode.wrap(isNegativeLookahead? RegExpSyntaxNode.Kind.NEGATIVE_LOOKAHEAD : RegExpSyntaxNode.Kind.LOOKAHEAD,
+                            startIn, position, 0, node);
+                }
+                return true;
             }
             break;
 
@@ -402,10 +510,16 @@ final class RegExpScanner extends Scanner {
         final int startOut = sb.length();
 
         if (patternCharacter()) {
+            if (buildTree) {
+                node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn, position, content[startIn]);
+            }
             return true;
         }
 
         if (ch0 == '.') {
+            if (buildTree) {
+                node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.ANY_CHARACTER, startIn, startIn + 1, '.');
+            }
             return commit(1);
         }
 
@@ -413,6 +527,10 @@ final class RegExpScanner extends Scanner {
             commit(1);
 
             if (atomEscape()) {
+                // decimal escapes make their own nodes
+                if (buildTree && !isDecimalDigit(content[startIn + 1])) {
+                    node = escapeNode(startIn, position);
+                }
                 return true;
             }
         }
@@ -423,16 +541,22 @@ final class RegExpScanner extends Scanner {
 
         if (ch0 == '(') {
             commit(1);
-            if (ch0 == '?' && ch1 == ':') {
-                commit(2);
-            } else {
+            final boolean capturing = !(ch0 == '?' && ch1 == ':');
+            if (capturing) {
                 caps.add(new Capture(negLookaheadGroup, negLookaheadLevel));
+            } else {
+                commit(2);
             }
+            final int captureIndex = capturing? caps.size() : 0;
 
             disjunction();
 
             if (ch0 == ')') {
                 commit(1);
+                if (buildTree) {
+                    node = RegExpSyntaxNode.wrap(capturing? RegExpSyntaxNode.Kind.GROUP : RegExpSyntaxNode.Kind.NON_CAPTURING_GROUP,
+                            startIn, position, captureIndex, node);
+                }
                 return true;
             }
         }
@@ -628,6 +752,9 @@ final class RegExpScanner extends Scanner {
             skip(1);
             //  DecimalEscape :: 0. If i is zero, return the EscapeValue consisting of a <NUL> character (Unicodevalue0000);
             sb.append("\u0000");
+            if (buildTree) {
+                node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn - 1, position, 0);
+            }
             return true;
         }
 
@@ -649,6 +776,13 @@ final class RegExpScanner extends Scanner {
                     // Copy decimal escape as-is
                     decimalDigits();
                 }
+                if (buildTree) {
+                    int octalValue = 0;
+                    for (int i = startIn + 1; i < position && isOctalDigit(content[i]); i++) {
+                        octalValue = octalValue * 8 + content[i] - '0';
+                    }
+                    node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn - 1, position, octalValue);
+                }
             } else {
                 // This should be a backreference, but could also be an octal escape or even a literal string.
                 int decimalValue = 0;
@@ -657,6 +791,17 @@ final class RegExpScanner extends Scanner {
                     skip(1);
                 }
 
+                if (buildTree) {
+                    if (inCharClass) {
+                        node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn - 1, position, legacyCharacter(decimalValue));
+                    } else {
+                        node = RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.BACK_REFERENCE, startIn - 1, position, decimalValue);
+                        if (decimalValue > caps.size()) {
+                            forwardReferenceNodes.add(node);
+                        }
+                    }
+                }
+
                 if (inCharClass) {
                     // No backreferences in character classes. Encode as unicode escape or literal char sequence
                     sb.setLength(sb.length() - 1);
@@ -731,10 +876,18 @@ final class RegExpScanner extends Scanner {
                     commit(1);
                 }
 
+                if (buildTree) {
+                    classElements = new ArrayList<>();
+                }
+
                 if (classRanges() && ch0 == ']') {
                     pop(']');
                     commit(1);
 
+                    if (buildTree) {
+                        node = RegExpSyntaxNode.list(RegExpSyntaxNode.Kind.CHARACTER_CLASS, startIn, position, classElements, inNegativeClass);
+                    }
+
                     // Substitute empty character classes [] and [^] that never or always match
                     if (position == startIn + 2) {
                         sb.setLength(sb.length() - 1);
@@ -749,6 +902,7 @@ final class RegExpScanner extends Scanner {
             } finally {
                 inCharClass = false;  // no nested character classes in JavaScript
                 inNegativeClass = false;
+                classElements = null;
             }
         }
 
@@ -779,11 +933,15 @@ final class RegExpScanner extends Scanner {
         if (classAtom()) {
 
             if (ch0 == '-') {
+                final int dash = position;
                 commit(1);
 
-                if (classAtom() && classRanges()) {
+                if (classAtom()) {
+                    classRange(dash);
+                    classRanges();
                     return true;
                 }
+                classDash(dash);
             }
 
             nonemptyClassRangesNoDash();
@@ -809,11 +967,15 @@ final class RegExpScanner extends Scanner {
 
             // need to check dash first, as for e.g. [a-b|c-d] will otherwise parse - as an atom
             if (ch0 == '-') {
+               final int dash = position;
                commit(1);
 
-               if (classAtom() && classRanges()) {
+               if (classAtom()) {
+                   classRange(dash);
+                   classRanges();
                    return true;
                }
+               classDash(dash);
                //fallthru
            }
 
@@ -835,6 +997,7 @@ final class RegExpScanner extends Scanner {
     private boolean classAtom() {
 
         if (ch0 == '-') {
+            classDash(position);
             return commit(1);
         }
 
@@ -861,11 +1024,18 @@ final class RegExpScanner extends Scanner {
         case '[':
             // unescaped left square bracket - add escape
             sb.append('\\');
+            if (buildTree) {
+                classElements.add(RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn, startIn + 1, '['));
+            }
             return commit(1);
 
         case '\\':
             commit(1);
             if (classEscape()) {
+                if (buildTree) {
+                    // decimal escapes make their own nodes
+                    classElements.add(isDecimalDigit(content[startIn + 1])? node : escapeNode(startIn, position));
+                }
                 return true;
             }
 
@@ -873,10 +1043,125 @@ final class RegExpScanner extends Scanner {
             return false;
 
         default:
+            if (buildTree) {
+                classElements.add(RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, startIn, startIn + 1, ch0));
+            }
             return commit(1);
         }
     }
 
+    // joins the last two class elements to a range, if both are characters
+    private void classRange(final int dash) {
+        if (!buildTree) {
+            return;
+        }
+        final int size = classElements.size();
+        final RegExpSyntaxNode from = classElements.get(size - 2);
+        final RegExpSyntaxNode to = classElements.get(size - 1);
+        if (from.getKind() == RegExpSyntaxNode.Kind.CHARACTER && to.getKind() == RegExpSyntaxNode.Kind.CHARACTER) {
+            classElements.subList(size - 2, size).clear();
+            classElements.add(RegExpSyntaxNode.range(from.getStart(), to.getEnd(), from, to));
+        } else {
+            // a class escape at either end makes the dash a character of its own
+            classElements.add(size - 1, RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, dash, dash + 1, '-'));
+        }
+    }
+
+    private void classDash(final int dash) {
+        if (buildTree) {
+            classElements.add(RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, dash, dash + 1, '-'));
+        }
+    }
+
+    // node of an escape other than a decimal escape, given the offsets of the backslash and after the escape
+    private RegExpSyntaxNode escapeNode(final int start, final int end) {
+        final char ch = content[start + 1];
+        int value = ch;
+        switch (ch) {
+        case 'd':
+        case 'D':
+        case 's':
+        case 'S':
+        case 'w':
+        case 'W':
+            return RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CLASS_ESCAPE, start, end, ch);
+        case 'f':
+            value = '\f';
+            break;
+        case 'n':
+            value = '\n';
+            break;
+        case 'r':
+            value = '\r';
+            break;
+        case 't':
+            value = '\t';
+            break;
+        case 'v':
+            value = '\u000B';
+            break;
+        case 'b':
+            // only in character classes
+            value = '\b';
+            break;
+        case 'c':
+            // \cX, or a backslash followed by c if no control letter follows
+            value = end - start == 3? content[start + 2] % 32 : '\\';
+            break;
+        case 'x':
+        case 'u':
+            if (end - start > 2) {
+                value = Integer.parseInt(new String(content, start + 2, end - start - 2), 16);
+            }
+            break;
+        default:
+            break;
+        }
+        return RegExpSyntaxNode.leaf(RegExpSyntaxNode.Kind.CHARACTER, start, end, value);
+    }
+
+    // node of a quantified atom, given the offsets of the atom and the quantifier
+    private RegExpSyntaxNode quantifierNode(final RegExpSyntaxNode atom, final int start, final int quantifierStart) {
+        final boolean greedy = position - 1 == quantifierStart || content[position - 1] != '?';
+        int minimum;
+        int maximum;
+        switch (content[quantifierStart]) {
+        case '*':
+            minimum = 0;
+            maximum = -1;
+            break;
+        case '+':
+            minimum = 1;
+            maximum = -1;
+            break;
+        case '?':
+            minimum = 0;
+            maximum = 1;
+            break;
+        default:
+            // {n}, {n,} or {n,m}
+            int i = quantifierStart + 1;
+            minimum = 0;
+            while (isDecimalDigit(content[i])) {
+                minimum = appendDigit(minimum, content[i++]);
+            }
+            maximum = minimum;
+            if (content[i] == ',') {
+                i++;
+                maximum = isDecimalDigit(content[i])? 0 : -1;
+                while (isDecimalDigit(content[i])) {
+                    maximum = appendDigit(maximum, content[i++]);
+                }
+            }
+            break;
+        }
+        return RegExpSyntaxNode.quantifier(start, position, atom, minimum, maximum, greedy);
+    }
+
+    private static int appendDigit(final int value, final char digit) {
+        return value > (Integer.MAX_VALUE - 9) / 10? Integer.MAX_VALUE : value * 10 + digit - '0';
+    }
+
     /*
      * ClassEscape ::
      *      DecimalEscape
@@ -949,6 +1234,16 @@ final class RegExpScanner extends Scanner {
         }
     }
 
+    // the first character octalOrLiteral makes of a decimal escape that is no back reference
+    private static int legacyCharacter(final int decimalValue) {
+        final String numberLiteral = Integer.toString(decimalValue);
+        int octalValue = 0;
+        for (int pos = 0; pos < numberLiteral.length() && octalValue < 0x20 && isOctalDigit(numberLiteral.charAt(pos)); pos++) {
+            octalValue = octalValue * 8 + numberLiteral.charAt(pos) - '0';
+        }
+        return octalValue > 0? octalValue : numberLiteral.charAt(0);
+    }
+
     private static boolean isOctalDigit(final char ch) {
         return ch >= '0' && ch <= '7';
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.internal.runtime.regexp;
+
+import java.util.List;
+
+/**
+ * Node of the syntax tree of a JavaScript regexp, built by the
+ * {@link RegExpScanner} along with the Java pattern when asked to.
+ *
+ * <p>All kinds of nodes share this one class: the meaning of {@link #getValue()},
+ * {@link #getMaximum()} and {@link #getFlag()} depends on the kind. Offsets are
+ * relative to the start of the pattern.
+ */
+public final class RegExpSyntaxNode {
+    /**
+     * Kinds of regexp syntax nodes.
+     */
+    public enum Kind {
+        /** Alternatives separated by {@code |}; children are the alternatives. */
+        DISJUNCTION,
+        /** Terms matched one after the other; children are the terms. */
+        ALTERNATIVE,
+        /** {@code ^}, {@code $}, {@code \b} or {@code \B}; value is the character after any backslash. */
+        ASSERTION,
+        /** A single character, literal or escaped; value is the character code. */
+        CHARACTER,
+        /** {@code .} */
+        ANY_CHARACTER,
+        /** {@code \d}, {@code \D}, {@code \s}, {@code \S}, {@code \w} or {@code \W}; value is the letter. */
+        CLASS_ESCAPE,
+        /** {@code [...]}; children are the elements, flag is set if negated. */
+        CHARACTER_CLASS,
+        /** {@code a-z} in a character class; children are both ends. */
+        CLASS_RANGE,
+        /** {@code (...)}; child is the body, value is the capture index starting at 1. */
+        GROUP,
+        /** {@code (?:...)}; child is the body. */
+        NON_CAPTURING_GROUP,
+        /** {@code (?=...)}; child is the body. */
+        LOOKAHEAD,
+        /** {@code (?!...)}; child is the body. */
+        NEGATIVE_LOOKAHEAD,
+        /** {@code \1} and so on; value is the capture index. */
+        BACK_REFERENCE,
+        /** A quantified atom; child is the atom, value and maximum are the bounds, flag is set if greedy. */
+        QUANTIFIER
+    }
+
+    private static final RegExpSyntaxNode[] NO_CHILDREN = new RegExpSyntaxNode[0];
+
+    // back references to groups that do not exist turn into characters once the whole pattern is scanned
+    private Kind kind;
+    private final int start;
+    private final int end;
+    private int value;
+    private final int maximum;
+    private final boolean flag;
+    private final RegExpSyntaxNode[] children;
+
+    private RegExpSyntaxNode(final Kind kind, final int start, final int end, final int value, final int maximum,
+            final boolean flag, final RegExpSyntaxNode[] children) {
+        this.kind = kind;
+        this.start = start;
+        this.end = end;
+        this.value = value;
+        this.maximum = maximum;
+        this.flag = flag;
+        this.children = children;
+    }
+
+    static RegExpSyntaxNode leaf(final Kind kind, final int start, final int end, final int value) {
+        return new RegExpSyntaxNode(kind, start, end, value, 0, false, NO_CHILDREN);
+    }
+
+    static RegExpSyntaxNode list(final Kind kind, final int start, final int end, final List<RegExpSyntaxNode> children, final boolean flag) {
+        return new RegExpSyntaxNode(kind, start, end, 0, 0, flag, children.toArray(NO_CHILDREN));
+    }
+
+    static RegExpSyntaxNode wrap(final Kind kind, final int start, final int end, final int value, final RegExpSyntaxNode child) {
+        return new RegExpSyntaxNode(kind, start, end, value, 0, false, new RegExpSyntaxNode[] { child });
+    }
+
+    static RegExpSyntaxNode range(final int start, final int end, final RegExpSyntaxNode from, final RegExpSyntaxNode to) {
+        return new RegExpSyntaxNode(Kind.CLASS_RANGE, start, end, 0, 0, false, new RegExpSyntaxNode[] { from, to });
+    }
+
+    static RegExpSyntaxNode quantifier(final int start, final int end, final RegExpSyntaxNode atom,
+            final int minimum, final int maximum, final boolean greedy) {
+        return new RegExpSyntaxNode(Kind.QUANTIFIER, start, end, minimum, maximum, greedy, new RegExpSyntaxNode[] { atom });
+    }
+
+    void toCharacter(final int ch) {
+        kind = Kind.CHARACTER;
+        value = ch;
+    }
+
+    /**
+     * Get the kind of this node.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the offset of this node in the pattern.
+     *
+     * @return the start offset
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Get the offset after this node in the pattern.
+     *
+     * @return the end offset
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Get the character, letter, capture index or minimum of this node,
+     * depending on its kind.
+     *
+     * @return the value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Get the maximum of a quantifier.
+     *
+     * @return the maximum, -1 if unbounded
+     */
+    public int getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Get whether a quantifier is greedy or a character class negated.
+     *
+     * @return the flag
+     */
+    public boolean getFlag() {
+        return flag;
+    }
+
+    /**
+     * Get the number of children of this node.
+     *
+     * @return the number of children
+     */
+    public int getChildCount() {
+        return children.length;
+    }
+
+    /**
+     * Get a child of this node.
+     *
+     * @param index index of the child
+     * @return the child
+     */
+    public RegExpSyntaxNode getChild(final int index) {
+        return children[index];
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ChannelParseTest {
+    private static final String TEMPLATES =
+            "var a = 1, b = { c: [2, 3] };\n" +
+            "var s = `x${a}y${b.c[0] + `inner${a * 2}`}z`;\n" +
+            "function f(t) { return `${t}-${t}-${`${t}${{ k: t }.k}`}`; }\n" +
+            "var g = (x) => `${x.map((y) => `<${y}>`).join(`${''}`)}`;\n" +
+            "tag`head${a}middle${b}tail`;\n" +
+            "var nested = `${`${`${`${a}`}`}`}` + `${ { a: { b: `${a}` } }.a.b }`;\n";
+
+    // hands out at most chunk bytes per read, pausing so the parser catches up
+    private static class SlowChannel implements ReadableByteChannel {
+        private final ByteBuffer content;
+        private final int chunk;
+        private boolean open = true;
+
+        SlowChannel(final String content, final int chunk) {
+            this.content = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            if (!content.hasRemaining()) {
+                return -1;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            final int count = Math.min(Math.min(chunk, dst.remaining()), content.remaining());
+            final ByteBuffer slice = content.slice();
+            slice.limit(count);
+            dst.put(slice);
+            content.position(content.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    private static String repeat(final String s, final int times) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void templatesSplitAcrossChunks() throws IOException {
+        final String code = repeat(TEMPLATES, 4);
+        final Parser parser = Parser.create("--language=es6");
+        final CompilationUnitTree expected = parser.parse("test.js", code, null);
+        for (final int chunk : new int[] { 1, 3, 7 }) {
+            final List<Diagnostic> diagnostics = new ArrayList<>();
+            final CompilationUnitTree unit = parser.parse("test.js", new SlowChannel(code, chunk), diagnostics::add);
+            assertTrue("chunk " + chunk + ": " + diagnostics, diagnostics.isEmpty());
+            assertTrue("chunk " + chunk, unit.structurallyEquals(expected));
+            assertEquals(expected.getEndPosition(), unit.getEndPosition());
+        }
+    }
+
+    // a pipe whose writer stays open, like a socket that is never closed; the
+    // scanner looks a few characters ahead, which the content has to hold
+    private static Pipe.SourceChannel openPipe(final String content) throws IOException {
+        final Pipe pipe = Pipe.open();
+        pipe.sink().write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+        return pipe.source();
+    }
+
+    @Test(timeout = 10000)
+    public void errorReportedBeforeEndOfStream() throws IOException {
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        final Pipe.SourceChannel channel = openPipe("var x = 1;\nvar y = ;\nvar z = 2;\n");
+        Parser.create().parse("test.js", channel, diagnostics::add);
+        assertEquals(1, diagnostics.size());
+        assertEquals(2, diagnostics.get(0).getLineNumber());
+        assertEquals("var y = ;", diagnostics.get(0).getMessage().split("\n")[1]);
+    }
+
+    @Test(timeout = 10000)
+    public void moduleErrorReportedBeforeEndOfStream() throws IOException {
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        Parser.create("--es6-module").parse("test.js", openPipe("import { a } from;\nexport var b;\n"), diagnostics::add);
+        assertEquals(1, diagnostics.size());
+        assertEquals(1, diagnostics.get(0).getLineNumber());
+    }
+
+    @Test
+    public void readFailureReported() {
+        final ReadableByteChannel channel = new SlowChannel("var a = `x${1", 1) {
+            @Override
+            public int read(final ByteBuffer dst) throws IOException {
+                final int count = super.read(dst);
+                if (count < 0) {
+                    throw new IOException("connection reset");
+                }
+                return count;
+            }
+        };
+        try {
+            Parser.create("--language=es6").parse("test.js", channel, (d) -> { });
+            fail("read failure expected");
+        } catch (final IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import org.junit.Test;
+
+public class CommentsTest {
+    private static final String CODE =
+            "/* header */\n" +
+            "// leading\n" +
+            "var a = 1; // trailing a\n" +
+            "var b = /* inside */ 2;\n" +
+            "/** doc */ function f() {} /* after f */ // and more\n" +
+            "// last\n";
+
+    private static CompilationUnitTree parse() {
+        return Parser.create("--record-comments").parse("test.js", CODE, null);
+    }
+
+    private static void assertComment(final Comments comments, final int index, final String text, final boolean block) {
+        assertEquals(text, comments.getText(index));
+        assertEquals(CODE.indexOf(text), comments.getStartPosition(index));
+        assertEquals(CODE.indexOf(text) + text.length(), comments.getEndPosition(index));
+        assertEquals(block, comments.isBlockComment(index));
+    }
+
+    @Test
+    public void commentsAreRecordedWithSpans() {
+        final Comments comments = parse().getComments();
+        assertEquals(8, comments.size());
+        assertComment(comments, 0, "/* header */", true);
+        assertComment(comments, 1, "// leading", false);
+        assertComment(comments, 2, "// trailing a", false);
+        assertComment(comments, 3, "/* inside */", true);
+        assertComment(comments, 4, "/** doc */", true);
+        assertComment(comments, 5, "/* after f */", true);
+        assertComment(comments, 6, "// and more", false);
+        assertComment(comments, 7, "// last", false);
+        assertEquals(3, comments.indexAfter(CODE.indexOf("var b")));
+        assertEquals(3, comments.indexAfter(CODE.indexOf("/* inside */")));
+        assertEquals(8, comments.indexAfter(CODE.length()));
+    }
+
+    @Test
+    public void leadingAndTrailingComments() {
+        final CompilationUnitTree unit = parse();
+        final Comments comments = unit.getComments();
+        final List<? extends Tree> elements = unit.getSourceElements();
+        assertEquals(3, elements.size());
+        assertArrayEquals(new int[] { 0, 1 }, comments.getLeadingComments(elements.get(0)));
+        assertArrayEquals(new int[] { 2 }, comments.getTrailingComments(elements.get(0)));
+        assertArrayEquals(new int[0], comments.getLeadingComments(elements.get(1)));
+        assertArrayEquals(new int[0], comments.getTrailingComments(elements.get(1)));
+        assertArrayEquals(new int[] { 4 }, comments.getLeadingComments(elements.get(2)));
+        assertArrayEquals(new int[] { 5, 6 }, comments.getTrailingComments(elements.get(2)));
+    }
+
+    @Test
+    public void commentsAreOnlyRecordedOnRequest() {
+        assertNull(Parser.create().parse("test.js", CODE, null).getComments());
+        final CompilationUnitTree empty = Parser.create("--record-comments").parse("test.js", "var a;", null);
+        assertEquals(0, empty.getComments().size());
+        assertEquals(0, empty.getComments().indexAfter(0));
+        assertArrayEquals(new int[0], empty.getComments().getLeadingComments(empty.getSourceElements().get(0)));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ConstantValuesTest {
+    // the value of a constant expression statement
+    private static Object value(final String code) {
+        final CompilationUnitTree unit = Parser.create().parse("test.js", code, null);
+        final ExpressionTree expr = ((ExpressionStatementTree) unit.getSourceElements().get(0)).getExpression();
+        return ConstantValues.of(unit).getValue(expr);
+    }
+
+    @Test
+    public void hexStringToNumber() {
+        assertEquals(31.0, value("' 0x1F\\n' * 1"));
+        assertEquals((double) 0x1fffffffffffffL, value("'0x1FFFFFFFFFFFFF' * 1"));
+        // halfway between two doubles, rounded to the even one
+        assertEquals((double) 0x20000000000000L, value("'0x20000000000001' * 1"));
+        assertEquals((double) 0x20000000000004L, value("'0x20000000000003' * 1"));
+        // just above halfway, rounded up
+        assertEquals(Math.scalb((double) 0x20000000000002L, 40), value("'0x200000000000010000000001' * 1"));
+        assertEquals(Double.POSITIVE_INFINITY, value("'0x1" + new String(new char[300]).replace('\0', '0') + "' * 1"));
+    }
+
+    @Test
+    public void hexStringWithNonAsciiDigitIsNaN() {
+        assertEquals(Double.NaN, value("'0x\\u0661' * 1"));
+        assertEquals(Double.NaN, value("'0x\\uFF21' * 1"));
+        assertEquals(Double.NaN, value("'0x1\\u0661' * 1"));
+        assertEquals(Double.NaN, value("'-0x1' * 1"));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class DeepTreeTest {
+    private static final int DEPTH = 100000;
+    // far too small to recurse once per level of a chain
+    private static final long STACK_SIZE = 512 * 1024;
+
+    // parses, binds and prints a chain on a thread with a small stack
+    private static void check(final String link) throws Throwable {
+        final StringBuilder sb = new StringBuilder("var a;a=a");
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append(link);
+        }
+        final String code = sb.append(';').toString();
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(null, () -> {
+            try {
+                final List<Diagnostic> diagnostics = new ArrayList<>();
+                final CompilationUnitTree unit = Parser.create().parse("test.js", code, diagnostics::add);
+                assertTrue(diagnostics.toString(), diagnostics.isEmpty());
+
+                final SymbolTable symbols = SymbolTable.of(unit);
+                final int a = symbols.lookup(symbols.getScope(unit), "a");
+                assertEquals(2, symbols.getReferences(a).size());
+
+                assertEquals(code, TreePrinter.minified().print(unit));
+            } catch (final Throwable t) {
+                failure.set(t);
+            }
+        }, "deep", STACK_SIZE);
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    @Test
+    public void binaryChain() throws Throwable {
+        check("+b");
+    }
+
+    @Test
+    public void memberChain() throws Throwable {
+        check(".b");
+    }
+
+    @Test
+    public void callChain() throws Throwable {
+        check("()");
+    }
+
+    @Test
+    public void indexChain() throws Throwable {
+        check("[0]");
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+
+/**
+ * Checks the default methods of {@link Parser} on a parser that only
+ * implements its abstract methods.
+ */
+public class ForeignParserTest {
+    private static final class DelegatingParser implements Parser {
+        private final Parser parser;
+
+        DelegatingParser(final Parser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public CompilationUnitTree parse(final File file, final DiagnosticListener listener) throws IOException {
+            return parser.parse(file, listener);
+        }
+
+        @Override
+        public CompilationUnitTree parse(final Path path, final DiagnosticListener listener) throws IOException {
+            return parser.parse(path, listener);
+        }
+
+        @Override
+        public CompilationUnitTree parse(final URL url, final DiagnosticListener listener) throws IOException {
+            return parser.parse(url, listener);
+        }
+
+        @Override
+        public CompilationUnitTree parse(final String name, final Reader reader, final DiagnosticListener listener) throws IOException {
+            return parser.parse(name, reader, listener);
+        }
+
+        @Override
+        public CompilationUnitTree parse(final String name, final String code, final DiagnosticListener listener) {
+            return parser.parse(name, code, listener);
+        }
+    }
+
+    private static final String CODE = "var a = [1, 2];\nfunction f(x) { return x + a[0]; }\nf(3);\n";
+
+    // the kinds and positions of the events and diagnostics, in order
+    private static List<String> events(final Parser parser, final String code) throws IOException {
+        final List<String> events = new ArrayList<>();
+        parser.parse("test.js", new StringReader(code), new ParseEventHandler() {
+            @Override
+            public void enter(final Tree tree) {
+                events.add("enter " + tree.getKind() + " " + tree.getStartPosition());
+            }
+
+            @Override
+            public void leave(final Tree tree) {
+                events.add("leave " + tree.getKind() + " " + tree.getEndPosition());
+            }
+        }, diagnostic -> events.add("error " + diagnostic.getPosition()));
+        return events;
+    }
+
+    @Test
+    public void eventsAreDeliveredAfterParsing() throws IOException {
+        final Parser parser = Parser.create();
+        final List<String> expected = events(parser, CODE);
+        assertEquals("enter VARIABLE 0", expected.get(0));
+        assertEquals(expected, events(new DelegatingParser(parser), CODE));
+    }
+
+    @Test
+    public void channelIsDecodedAsUTF8() throws IOException {
+        final String code = "var s = '\u00e9\u4e2d';";
+        final CompilationUnitTree unit = new DelegatingParser(Parser.create()).parse("test.js",
+                Channels.newChannel(new ByteArrayInputStream(code.getBytes(StandardCharsets.UTF_8))), null);
+        assertTrue(unit.structurallyEquals(Parser.create().parse("test.js", code, null)));
+    }
+
+    @Test
+    public void asyncParseRunsOnExecutor() throws Exception {
+        final Parser parser = new DelegatingParser(Parser.create());
+        final List<Runnable> tasks = new ArrayList<>();
+        final CompletableFuture<CompilationUnitTree> future = parser.parseAsync("test.js", CODE, null, tasks::add);
+        assertFalse(future.isDone());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(3, future.get().getSourceElements().size());
+
+        final CompletableFuture<CompilationUnitTree> failed = parser.parseAsync(Paths.get("missing", "test.js"), null);
+        try {
+            failed.get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void scanModuleIsNotSupported() {
+        new DelegatingParser(Parser.create()).scanModule("test.js", "import a from 'a';", null);
+    }
+
+    @Test
+    public void eventsForSourceWithErrors() throws IOException {
+        final String code = "var = ;\nf();";
+        final Parser parser = Parser.create();
+        assertEquals(events(parser, code), events(new DelegatingParser(parser), code));
+    }
+}
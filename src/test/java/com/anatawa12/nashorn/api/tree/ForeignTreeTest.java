@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Checks the default methods of the tree interfaces on trees that are not
+ * created by the parser.
+ */
+public class ForeignTreeTest {
+    // a compilation unit that only implements the abstract methods
+    private static final class Unit implements CompilationUnitTree {
+        private final CompilationUnitTree unit;
+
+        Unit(final CompilationUnitTree unit) {
+            this.unit = unit;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.COMPILATION_UNIT;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return unit.getStartPosition();
+        }
+
+        @Override
+        public long getEndPosition() {
+            return unit.getEndPosition();
+        }
+
+        @Override
+        public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
+            return visitor.visitCompilationUnit(this, data);
+        }
+
+        @Override
+        public List<? extends Tree> getSourceElements() {
+            return unit.getSourceElements();
+        }
+
+        @Override
+        public String getSourceName() {
+            return unit.getSourceName();
+        }
+
+        @Override
+        public boolean isStrict() {
+            return unit.isStrict();
+        }
+
+        @Override
+        public LineMap getLineMap() {
+            return unit.getLineMap();
+        }
+
+        @Override
+        public ModuleTree getModule() {
+            return unit.getModule();
+        }
+    }
+
+    // a module record that only implements the abstract methods
+    private static final class Module implements ModuleTree {
+        private final ModuleTree module;
+
+        Module(final ModuleTree module) {
+            this.module = module;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.MODULE;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return module.getStartPosition();
+        }
+
+        @Override
+        public long getEndPosition() {
+            return module.getEndPosition();
+        }
+
+        @Override
+        public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
+            return visitor.visitModule(this, data);
+        }
+
+        @Override
+        public List<? extends ImportEntryTree> getImportEntries() {
+            return module.getImportEntries();
+        }
+
+        @Override
+        public List<? extends ExportEntryTree> getLocalExportEntries() {
+            return module.getLocalExportEntries();
+        }
+
+        @Override
+        public List<? extends ExportEntryTree> getIndirectExportEntries() {
+            return module.getIndirectExportEntries();
+        }
+
+        @Override
+        public List<? extends ExportEntryTree> getStarExportEntries() {
+            return module.getStarExportEntries();
+        }
+    }
+
+    // a regexp literal that only implements the abstract methods
+    private static final class RegExp implements RegExpLiteralTree {
+        private final String pattern;
+        private final String options;
+
+        RegExp(final String pattern, final String options) {
+            this.pattern = pattern;
+            this.options = options;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.REGEXP_LITERAL;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return 0;
+        }
+
+        @Override
+        public long getEndPosition() {
+            return pattern.length() + options.length() + 2;
+        }
+
+        @Override
+        public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
+            return visitor.visitRegExpLiteral(this, data);
+        }
+
+        @Override
+        public String getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public String getOptions() {
+            return options;
+        }
+    }
+
+    private static CompilationUnitTree parse(final String code, final String... options) {
+        return Parser.create(options).parse("test.js", code, null);
+    }
+
+    @Test
+    public void treesOfKindAreFound() {
+        final CompilationUnitTree parsed = parse("import { a } from 'm'; f(a, function g() { return h(); });", "--es6-module");
+        final Unit unit = new Unit(parsed);
+        for (final Tree.Kind kind : new Tree.Kind[] {
+                Tree.Kind.IMPORT_ENTRY, Tree.Kind.FUNCTION_INVOCATION, Tree.Kind.IDENTIFIER, Tree.Kind.WITH }) {
+            assertEquals(kind.toString(), parsed.getTreesOfKind(kind), unit.getTreesOfKind(kind));
+        }
+        assertEquals(Collections.singletonList(unit), unit.getTreesOfKind(Tree.Kind.COMPILATION_UNIT));
+    }
+
+    @Test
+    public void requestedModulesAreCollectedFromEntries() {
+        final ModuleTree parsed = parse("import { a } from 'x'; export * from 'y'; import b from 'x';\n" +
+                "export { c } from 'z'; export const d = 1; import * as n from 'w';", "--es6-module").getModule();
+        assertEquals(Arrays.asList("x", "y", "z", "w"), parsed.getRequestedModules());
+        assertEquals(parsed.getRequestedModules(), new Module(parsed).getRequestedModules());
+    }
+
+    @Test
+    public void regExpIsCompiled() {
+        final CompiledRegExp regexp = new RegExp("a+b", "gi").getCompiledRegExp();
+        assertEquals("a+b", regexp.getPattern());
+        assertTrue(regexp.isGlobal());
+        assertTrue(regexp.isIgnoreCase());
+        assertTrue(regexp.matcher("xAAb").search(0, 4, 0) >= 0);
+    }
+
+    @Test
+    public void regExpPatternTreeIsShared() {
+        final RegExpLiteralTree parsed = (RegExpLiteralTree) parse("/(a|b)+c/;").getTreesOfKind(Tree.Kind.REGEXP_LITERAL).get(0);
+        final RegExpDisjunctionNode tree = new RegExp("(a|b)+c", "").getPatternTree();
+        assertSame(parsed.getPatternTree(), tree);
+        assertEquals(2, tree.getAlternatives().get(0).getTerms().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRegExpIsRejected() {
+        new RegExp("a(", "").getCompiledRegExp();
+    }
+
+    @Test
+    public void commentsAreNotAvailable() {
+        assertNull(new Unit(parse("// comment\nf();", "--record-comments")).getComments());
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import com.anatawa12.nashorn.internal.ir.FunctionNode;
+import com.anatawa12.nashorn.internal.ir.Node;
+import org.junit.Test;
+
+/**
+ * Reports the heap taken by the IR of a parsed script, per node class and
+ * per KB of source, and fails when it grows past a budget.
+ *
+ * <p>Sizes are estimated from the fields of each class for a 64-bit VM
+ * with compressed oops: a 12 byte header, 4 byte references, and objects
+ * aligned to 8 bytes. Counted are the IR nodes and the lists, maps and
+ * arrays that hold them; names, literal values and the source are not.
+ */
+public class HeapFootprintTest {
+    // IR bytes per KB of the sample source, about 10% above the current size;
+    // the sample is denser than typical scripts, which have more comments
+    private static final long BYTES_PER_KB_BUDGET = 9300;
+
+    private static final Class<?> SINGLETON_LIST = Collections.singletonList(null).getClass();
+    private static final Class<?> ARRAYS_LIST = Arrays.asList().getClass();
+
+    private static final String SAMPLE =
+            "var config = { name: 'sample', retries: 3, verbose: false, tags: ['a', 'b', 'c'] };\n" +
+            "function Queue(limit) {\n" +
+            "    this.items = [];\n" +
+            "    this.limit = limit || 16;\n" +
+            "}\n" +
+            "Queue.prototype.push = function (item) {\n" +
+            "    if (this.items.length >= this.limit) {\n" +
+            "        throw new Error('queue full: ' + this.limit);\n" +
+            "    }\n" +
+            "    this.items.push(item);\n" +
+            "    return this;\n" +
+            "};\n" +
+            "Queue.prototype.drain = function (callback) {\n" +
+            "    var count = 0;\n" +
+            "    while (this.items.length > 0) {\n" +
+            "        var item = this.items.shift();\n" +
+            "        try {\n" +
+            "            callback(item, count++);\n" +
+            "        } catch (e) {\n" +
+            "            console.log('failed', item, e.message);\n" +
+            "        }\n" +
+            "    }\n" +
+            "    return count;\n" +
+            "};\n" +
+            "function format(value) {\n" +
+            "    switch (typeof value) {\n" +
+            "    case 'number':\n" +
+            "        return value.toFixed(2);\n" +
+            "    case 'string':\n" +
+            "        return '\"' + value.replace(/\"/g, '\\\\\"') + '\"';\n" +
+            "    default:\n" +
+            "        return value === null ? 'null' : String(value);\n" +
+            "    }\n" +
+            "}\n" +
+            "for (var i = 0; i < config.retries; i++) {\n" +
+            "    var q = new Queue(i * 4);\n" +
+            "    for (var key in config) {\n" +
+            "        if (config.hasOwnProperty(key) && key !== 'tags') {\n" +
+            "            q.push(format(config[key]));\n" +
+            "        }\n" +
+            "    }\n" +
+            "    q.drain(function (item, n) { config.verbose && print(n + ': ' + item); });\n" +
+            "}\n";
+
+    // estimated shallow sizes by class
+    private static final Map<Class<?>, Long> SIZES = new HashMap<>();
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static long fieldSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return 4;
+    }
+
+    private static long shallowSize(final Class<?> type) {
+        Long size = SIZES.get(type);
+        if (size == null) {
+            long offset = 12;
+            final List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                hierarchy.add(0, c);
+            }
+            // each class lays its fields out after those of its superclass
+            for (final Class<?> c : hierarchy) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        offset += fieldSize(field.getType());
+                    }
+                }
+                offset = (offset + 3) & ~3L;
+            }
+            size = align(offset);
+            SIZES.put(type, size);
+        }
+        return size;
+    }
+
+    private static List<Field> referenceFields(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (final Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    // bytes by node class name, with the lists and arrays of a node counted for that node
+    private static Map<String, long[]> measure(final Node root) throws IllegalAccessException {
+        final Map<String, long[]> result = new TreeMap<>();
+        final Map<Object, Boolean> seen = new IdentityHashMap<>();
+        final Map<Class<?>, List<Field>> fields = new HashMap<>();
+        final Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        seen.put(root, Boolean.TRUE);
+        while (!nodes.isEmpty()) {
+            final Node node = nodes.pop();
+            long bytes = shallowSize(node.getClass());
+            List<Field> refs = fields.get(node.getClass());
+            if (refs == null) {
+                refs = referenceFields(node.getClass());
+                fields.put(node.getClass(), refs);
+            }
+            for (final Field field : refs) {
+                bytes += holders(field.get(node), nodes, seen);
+            }
+            final long[] entry = result.computeIfAbsent(node.getClass().getSimpleName(), k -> new long[2]);
+            entry[0]++;
+            entry[1] += bytes;
+        }
+        return result;
+    }
+
+    // queues the nodes held by a field value and returns the size of the
+    // collections holding them
+    private static long holders(final Object value, final Deque<Node> nodes, final Map<Object, Boolean> seen) {
+        if (value == null || seen.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+        if (value instanceof Node) {
+            nodes.push((Node) value);
+            return 0;
+        }
+        long bytes = 0;
+        final Collection<?> elements;
+        if (value instanceof Collection) {
+            elements = (Collection<?>) value;
+            if (value == Collections.EMPTY_LIST || value == Collections.EMPTY_SET) {
+                return 0;
+            } else if (value.getClass() == SINGLETON_LIST) {
+                bytes = 16;
+            } else if (value.getClass() == ARRAYS_LIST) {
+                bytes = 16 + align(16 + 4L * elements.size());
+            } else {
+                // object and backing array, as for an ArrayList sized to fit
+                bytes = 24 + align(16 + 4L * elements.size());
+            }
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            final List<Object> entries = new ArrayList<>(map.keySet());
+            entries.addAll(map.values());
+            elements = entries;
+            // a HashMap with its table and entries
+            bytes = map.isEmpty()? 0 : 48 + align(16 + 8L * map.size()) + 32L * map.size();
+        } else if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            final List<Object> entries = new ArrayList<>(array.length);
+            Collections.addAll(entries, array);
+            elements = entries;
+            bytes = align(16 + 4L * array.length);
+        } else if (value.getClass().isArray()) {
+            return align(16 + fieldSize(value.getClass().getComponentType()) * Array.getLength(value));
+        } else {
+            // names, literal values, the source and shared constants
+            return 0;
+        }
+        for (final Object element : elements) {
+            bytes += holders(element, nodes, seen);
+        }
+        return bytes;
+    }
+
+    @Test
+    public void footprintPerNodeKind() throws IllegalAccessException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            // distinct names, so that nothing is shared between the copies
+            sb.append(SAMPLE.replace("Queue", "Queue" + i).replace("format", "format" + i));
+        }
+        final String source = sb.toString();
+        final CompilationUnitTree unit = Parser.create().parse("sample.js", source, null);
+        final FunctionNode root = (FunctionNode) ((TreeImpl) unit).node;
+
+        final Map<String, long[]> sizes = measure(root);
+        long count = 0;
+        long total = 0;
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("%-26s %8s %10s %8s%n", "node", "count", "bytes", "each"));
+        for (final Map.Entry<String, long[]> entry : sizes.entrySet()) {
+            final long[] size = entry.getValue();
+            report.append(String.format("%-26s %8d %10d %8.1f%n", entry.getKey(), size[0], size[1], (double) size[1] / size[0]));
+            count += size[0];
+            total += size[1];
+        }
+        final double kb = source.length() / 1024.0;
+        final long perKB = Math.round(total / kb);
+        report.append(String.format("%-26s %8d %10d %8.1f%n", "total", count, total, (double) total / count));
+        report.append(String.format("%.1f KB of source, %d IR bytes per KB%n", kb, perKB));
+        System.out.print(report);
+
+        assertTrue("IR takes " + perKB + " bytes per KB of source, over the budget of " + BYTES_PER_KB_BUDGET,
+                perKB <= BYTES_PER_KB_BUDGET);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModuleGraphTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(final String name, final String code) throws IOException {
+        final Path path = folder.getRoot().toPath().resolve(name).toAbsolutePath().normalize();
+        Files.write(path, code.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void cycleIsScannedOnce() throws IOException {
+        final Path a = write("a.js", "import { b } from './b.js'; export const a = 1;");
+        final Path b = write("b.js", "import { a } from './a.js'; export * from './c.js'; export const b = 2;");
+        final Path c = write("c.js", "import fs from 'fs'; export const c = b;");
+        final ModuleGraph graph = ModuleGraph.build(Parser.create(), a, null);
+        assertEquals(a, graph.getEntry());
+        assertEquals(Arrays.asList(a, b, c), graph.getModules());
+        assertEquals(Collections.singletonList(b), graph.getDependencies(a));
+        assertEquals(Arrays.asList(a, c), graph.getDependencies(b));
+        assertTrue(graph.getDependencies(c).isEmpty());
+        assertEquals(Collections.singletonList("fs"), graph.getUnresolved(c));
+        assertEquals(Arrays.asList("./a.js", "./c.js"), graph.getModuleTree(b).getRequestedModules());
+    }
+
+    @Test
+    public void moduleWithErrorsHasNoRecord() throws IOException {
+        final Path a = write("a.js", "import { b } from './b.js';");
+        final Path b = write("b.js", "export { from;");
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        final ModuleGraph graph = ModuleGraph.build(Parser.create(), a, diagnostics::add);
+        assertEquals(Arrays.asList(a, b), graph.getModules());
+        assertNull(graph.getModuleTree(b));
+        assertTrue(graph.getDependencies(b).isEmpty());
+        assertEquals(1, diagnostics.size());
+    }
+
+    @Test
+    public void cacheReusesUnchangedFiles() throws IOException {
+        final Path a = write("a.js", "import { b } from './b.js';");
+        final Path b = write("b.js", "export const b = 1;");
+        final Parser parser = Parser.create();
+        final ModuleGraph.Cache cache = new ModuleGraph.Cache();
+        final ModuleGraph first = ModuleGraph.build(parser, a, ModuleGraph.RELATIVE, cache, null);
+        assertEquals(2, cache.size());
+
+        final ModuleGraph second = ModuleGraph.build(parser, a, ModuleGraph.RELATIVE, cache, null);
+        assertSame(first.getModuleTree(a), second.getModuleTree(a));
+        assertSame(first.getModuleTree(b), second.getModuleTree(b));
+
+        // touched but not changed
+        Files.setLastModifiedTime(b, FileTime.fromMillis(Files.getLastModifiedTime(b).toMillis() + 10000));
+        final ModuleGraph touched = ModuleGraph.build(parser, a, ModuleGraph.RELATIVE, cache, null);
+        assertSame(first.getModuleTree(b), touched.getModuleTree(b));
+
+        final Path c = write("c.js", "export const c = 2;");
+        write("b.js", "export * from './c.js';");
+        Files.setLastModifiedTime(b, FileTime.fromMillis(Files.getLastModifiedTime(b).toMillis() + 20000));
+        final ModuleGraph changed = ModuleGraph.build(parser, a, ModuleGraph.RELATIVE, cache, null);
+        assertSame(first.getModuleTree(a), changed.getModuleTree(a));
+        assertNotSame(first.getModuleTree(b), changed.getModuleTree(b));
+        assertEquals(Collections.singletonList(c), changed.getDependencies(b));
+        assertEquals(3, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(first.getModuleTree(a), ModuleGraph.build(parser, a, ModuleGraph.RELATIVE, cache, null).getModuleTree(a));
+    }
+}
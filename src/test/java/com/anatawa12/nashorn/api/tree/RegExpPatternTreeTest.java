@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class RegExpPatternTreeTest {
+    private static final String PATTERN = "(a|bc)+[^x-z]\\1?";
+
+    private static List<? extends Tree> literals(final String code) {
+        return Parser.create().parse("test.js", code, null).getTreesOfKind(Tree.Kind.REGEXP_LITERAL);
+    }
+
+    private static void assertSpan(final RegExpNode.Kind kind, final int start, final int end, final RegExpNode node) {
+        assertEquals(kind, node.getKind());
+        assertEquals(kind + " start", start, node.getStartPosition());
+        assertEquals(kind + " end", end, node.getEndPosition());
+    }
+
+    @Test
+    public void treeHasPatternOffsets() {
+        final RegExpLiteralTree literal = (RegExpLiteralTree) literals("var r = /" + PATTERN + "/g;").get(0);
+        final RegExpDisjunctionNode root = literal.getPatternTree();
+        assertSpan(RegExpNode.Kind.DISJUNCTION, 0, PATTERN.length(), root);
+        assertEquals(1, root.getAlternatives().size());
+        final List<? extends RegExpNode> terms = root.getAlternatives().get(0).getTerms();
+        assertEquals(3, terms.size());
+
+        final RegExpQuantifierNode plus = (RegExpQuantifierNode) terms.get(0);
+        assertSpan(RegExpNode.Kind.QUANTIFIER, 0, 7, plus);
+        assertEquals(1, plus.getMinimum());
+        assertEquals(-1, plus.getMaximum());
+        assertTrue(plus.isGreedy());
+        final RegExpGroupNode group = (RegExpGroupNode) plus.getAtom();
+        assertSpan(RegExpNode.Kind.GROUP, 0, 6, group);
+        assertEquals(1, group.getCaptureIndex());
+        final List<? extends RegExpAlternativeNode> alternatives = group.getBody().getAlternatives();
+        assertEquals(2, alternatives.size());
+        assertSpan(RegExpNode.Kind.ALTERNATIVE, 1, 2, alternatives.get(0));
+        assertSpan(RegExpNode.Kind.ALTERNATIVE, 3, 5, alternatives.get(1));
+        final RegExpCharacterNode c = (RegExpCharacterNode) alternatives.get(1).getTerms().get(1);
+        assertSpan(RegExpNode.Kind.CHARACTER, 4, 5, c);
+        assertEquals('c', c.getCharacter());
+
+        final RegExpCharacterClassNode characterClass = (RegExpCharacterClassNode) terms.get(1);
+        assertSpan(RegExpNode.Kind.CHARACTER_CLASS, 7, 13, characterClass);
+        assertTrue(characterClass.isNegated());
+        final RegExpClassRangeNode range = (RegExpClassRangeNode) characterClass.getElements().get(0);
+        assertSpan(RegExpNode.Kind.CLASS_RANGE, 9, 12, range);
+        assertEquals('x', range.getFrom().getCharacter());
+        assertEquals('z', range.getTo().getCharacter());
+
+        final RegExpQuantifierNode optional = (RegExpQuantifierNode) terms.get(2);
+        assertSpan(RegExpNode.Kind.QUANTIFIER, 13, 16, optional);
+        assertEquals(0, optional.getMinimum());
+        assertEquals(1, optional.getMaximum());
+        final RegExpBackReferenceNode reference = (RegExpBackReferenceNode) optional.getAtom();
+        assertSpan(RegExpNode.Kind.BACK_REFERENCE, 13, 15, reference);
+        assertEquals(1, reference.getCaptureIndex());
+    }
+
+    @Test
+    public void literalsWithSamePatternShareTree() {
+        final List<? extends Tree> literals = literals("/" + PATTERN + "/; /" + PATTERN + "/i; /(a|bc)/;");
+        final RegExpDisjunctionNode first = ((RegExpLiteralTree) literals.get(0)).getPatternTree();
+        assertSame(first, ((RegExpLiteralTree) literals.get(1)).getPatternTree());
+        assertFalse(first == ((RegExpLiteralTree) literals.get(2)).getPatternTree());
+    }
+}
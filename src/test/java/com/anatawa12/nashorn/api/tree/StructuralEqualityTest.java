@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class StructuralEqualityTest {
+    private static Tree statement(final String code) {
+        return Parser.create().parse("test.js", code, null).getSourceElements().get(0);
+    }
+
+    private static void assertStructurallyEqual(final String first, final String second) {
+        final Tree a = statement(first);
+        final Tree b = statement(second);
+        assertTrue(first + " vs " + second, a.structurallyEquals(b));
+        assertEquals(first + " vs " + second, a.structuralHash(), b.structuralHash());
+    }
+
+    private static void assertStructurallyDifferent(final String first, final String second) {
+        final Tree a = statement(first);
+        final Tree b = statement(second);
+        assertFalse(first + " vs " + second, a.structurallyEquals(b));
+        assertNotEquals(first + " vs " + second, a.structuralHash(), b.structuralHash());
+    }
+
+    @Test
+    public void positionsAreIgnored() {
+        assertStructurallyEqual("for (a;;) f(a);", "for(a ; ;)\n    f( a );");
+        assertStructurallyEqual("x = { a: 1, b: [2, 'c'] };", "  /* moved */ x={a:1,b:[2,'c']}");
+        final CompilationUnitTree unit = Parser.create().parse("test.js", "g(1); g(1);", null);
+        assertTrue(unit.getSourceElements().get(0).structurallyEquals(unit.getSourceElements().get(1)));
+    }
+
+    @Test
+    public void absentChildrenAreKept() {
+        assertStructurallyDifferent("for (a;;) {}", "for (;a;) {}");
+        assertStructurallyDifferent("for (;a;) {}", "for (;;a) {}");
+        assertStructurallyDifferent("function f(a, b) {}", "function f(a) { b; }");
+    }
+
+    @Test
+    public void namesLiteralsAndOperatorsAreCompared() {
+        assertStructurallyDifferent("a + b;", "a - b;");
+        assertStructurallyDifferent("a + b;", "b + a;");
+        assertStructurallyDifferent("x = 1;", "x = 2;");
+        assertStructurallyDifferent("x = '1';", "x = 1;");
+        assertStructurallyDifferent("x.a;", "x['a'];");
+        assertFalse(statement("x;").structurallyEquals(null));
+    }
+
+    // an identifier that is not created by the parser
+    private static final class Name implements IdentifierTree {
+        private final String name;
+
+        Name(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.IDENTIFIER;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return 0;
+        }
+
+        @Override
+        public long getEndPosition() {
+            return name.length();
+        }
+
+        @Override
+        public <R,D> R accept(final TreeVisitor<R,D> visitor, final D data) {
+            return visitor.visitIdentifier(this, data);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isRestParameter() {
+            return false;
+        }
+
+        @Override
+        public boolean isSuper() {
+            return false;
+        }
+
+        @Override
+        public boolean isThis() {
+            return false;
+        }
+
+        @Override
+        public boolean isStar() {
+            return false;
+        }
+
+        @Override
+        public boolean isDefault() {
+            return false;
+        }
+
+        @Override
+        public boolean isStarDefaultStar() {
+            return false;
+        }
+    }
+
+    @Test
+    public void otherImplementationsAreCompared() {
+        final Tree parsed = ((ExpressionStatementTree) statement("  x;")).getExpression();
+        assertTrue(new Name("x").structurallyEquals(parsed));
+        assertTrue(parsed.structurallyEquals(new Name("x")));
+        assertEquals(parsed.structuralHash(), new Name("x").structuralHash());
+        assertFalse(new Name("y").structurallyEquals(parsed));
+    }
+
+    @Test
+    public void hashIsTheSameFromManyThreads() throws Exception {
+        final StringBuilder code = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            code.append("function f").append(i).append("(a) { return a * ").append(i).append(" + g(a, [1, 2]); }\n");
+        }
+        final long expected = Parser.create().parse("test.js", code.toString(), null).structuralHash();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                final CompilationUnitTree unit = Parser.create().parse("test.js", code.toString(), null);
+                final List<Future<Long>> hashes = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    hashes.add(executor.submit(unit::structuralHash));
+                }
+                for (final Future<Long> hash : hashes) {
+                    assertEquals(expected, (long) hash.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class SymbolTableTest {
+    private static CompilationUnitTree parse(final String code, final String... options) {
+        return Parser.create(options).parse("test.js", code, null);
+    }
+
+    private static List<IdentifierTree> identifiers(final CompilationUnitTree unit, final String name) {
+        final List<IdentifierTree> result = new ArrayList<>();
+        for (final Tree tree : unit.getTreesOfKind(Tree.Kind.IDENTIFIER)) {
+            if (((IdentifierTree) tree).getName().equals(name)) {
+                result.add((IdentifierTree) tree);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void blockFunctionIsHoistedInES5() {
+        final CompilationUnitTree unit = parse("if (x) { function f() {} } f();");
+        final SymbolTable table = SymbolTable.of(unit);
+        final List<IdentifierTree> fs = identifiers(unit, "f");
+        assertEquals(2, fs.size());
+        final int binding = table.getBinding(fs.get(0));
+        assertTrue(binding >= 0);
+        assertEquals(binding, table.getBinding(fs.get(1)));
+        assertEquals(0, table.getDeclaringScope(binding));
+        assertEquals(SymbolTable.BindingKind.FUNCTION, table.getKind(binding));
+    }
+
+    @Test
+    public void blockFunctionIsLexicalInES6() {
+        final CompilationUnitTree unit = parse("if (x) { function f() {} } f();", "--language=es6");
+        final SymbolTable table = SymbolTable.of(unit);
+        final List<IdentifierTree> fs = identifiers(unit, "f");
+        assertEquals(2, fs.size());
+        final int binding = table.getBinding(fs.get(0));
+        assertTrue(binding >= 0);
+        assertNotEquals(0, table.getDeclaringScope(binding));
+        assertEquals(-1, table.getBinding(fs.get(1)));
+    }
+
+    @Test
+    public void varIsHoistedOutOfBlocks() {
+        final CompilationUnitTree unit = parse("function g() { { var v = 1; } return v; }");
+        final SymbolTable table = SymbolTable.of(unit);
+        final List<IdentifierTree> vs = identifiers(unit, "v");
+        assertEquals(2, vs.size());
+        assertTrue(table.getBinding(vs.get(0)) >= 0);
+        assertEquals(table.getBinding(vs.get(0)), table.getBinding(vs.get(1)));
+        assertEquals(SymbolTable.ScopeKind.FUNCTION, table.getScopeKind(table.getDeclaringScope(table.getBinding(vs.get(0)))));
+    }
+
+    @Test
+    public void namedFunctionValueBindsItsName() {
+        for (final String[] options : new String[][] { {}, { "--language=es6" } }) {
+            final CompilationUnitTree unit = parse("var o = { f: function g() { return g; } };", options);
+            final SymbolTable table = SymbolTable.of(unit);
+            final List<IdentifierTree> gs = identifiers(unit, "g");
+            assertEquals(2, gs.size());
+            final int binding = table.getBinding(gs.get(0));
+            assertTrue(binding >= 0);
+            assertEquals(binding, table.getBinding(gs.get(1)));
+            assertEquals(SymbolTable.ScopeKind.FUNCTION, table.getScopeKind(table.getDeclaringScope(binding)));
+        }
+    }
+
+    @Test
+    public void methodDoesNotBindItsName() {
+        final CompilationUnitTree unit = parse("var o = { m() { return m; } }; class C { n() { return n; } }", "--language=es6");
+        final SymbolTable table = SymbolTable.of(unit);
+        for (final String name : new String[] { "m", "n" }) {
+            for (final IdentifierTree ident : identifiers(unit, name)) {
+                assertEquals(name, -1, table.getBinding(ident));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class TreePrinterTest {
+    private static final String ES5 =
+            "var a = 1, b = 'x\\'y\\n\\u2028', c = /a[/]b/gi, d = [1, , 3], e = { get p() { return 1; }, set p(v) {}, 'q r': 2, 3: 4 };\n" +
+            "function f(x, y) { 'use strict'; return x ? y : -x + +y - -y * (x, y) / (x = y) % 3; }\n" +
+            "var g = function named() { return typeof this === 'object' && !void 0 || delete a.b; };\n" +
+            "for (var i = 0, j; i < 10; i++, --j) { if (i in e) continue; else if (i instanceof f) break; }\n" +
+            "for (var k in e) while (k) do k--; while (k > 0);\n" +
+            "outer: for (;;) { switch (a) { case 1: break outer; default: a <<= 2; a >>>= 1; } }\n" +
+            "try { throw new Error('e'); } catch (err) { a = err.message; } finally { a = null; }\n" +
+            "with (e) { p = (1, 2); }\n" +
+            "var h = new (f())(), m = new f, n = (function () {})(), o = 1e21 + 0.5 + 0x10 + .25;\n" +
+            "a = b ? c ? 1 : 2 : 3; a = (b, c) ? d : e; a = -(-a); a = +(+a); a = - --a; a = 1 - -1;\n" +
+            "a = (1).toString() + 1.5.toFixed() + 'a'.length; a = [].concat(a)[0]; debugger;\n";
+
+    private static final String ES6 =
+            "let a = `x${1 + 2}y${`z${a}`}`, [b, , ...c] = d, { e, f: { g = 1 } } = h;\n" +
+            "const arrow = (x, y = 2, ...z) => ({ x }), single = x => x * 2, block = () => { return; };\n" +
+            "class A extends (B || C) { constructor() { super(); } static s() {} get g() { return super.g; } [k]() {} }\n" +
+            "function* gen() { yield 1; yield* gen(); }\n" +
+            "for (var x of [1, 2]) { tag`t${x}u`; }\n" +
+            "var o = { [k]: 1, m() {}, *n() {}, s };\n" +
+            "function t() { return new.target; } a = class {};\n";
+
+    private static final String MODULE =
+            "import x, { y as z, w } from 'm';\n" +
+            "import * as ns from 'n';\n" +
+            "export { x, z as q };\n" +
+            "export * from 'o';\n" +
+            "export default class D {}\n" +
+            "export const c = 1;\n" +
+            "export function f() {}\n";
+
+    private static CompilationUnitTree parse(final Parser parser, final String code) {
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        final CompilationUnitTree unit = parser.parse("test.js", code, diagnostics::add);
+        assertTrue(diagnostics.toString(), diagnostics.isEmpty());
+        return unit;
+    }
+
+    private static CompilationUnitTree parse(final String code) {
+        return parse(Parser.create(), code);
+    }
+
+    // parses, prints with both printers and parses the output again
+    private static void assertRoundTrip(final String code, final String... options) {
+        final Parser parser = Parser.create(options);
+        final CompilationUnitTree unit = parse(parser, code);
+        for (final TreePrinter printer : new TreePrinter[] { TreePrinter.pretty(), TreePrinter.minified() }) {
+            final String printed = printer.print(unit);
+            final CompilationUnitTree reparsed = parse(parser, printed);
+            assertTrue(printed, unit.structurallyEquals(reparsed));
+            // printing is stable once the source is in the printer's own form
+            assertEquals(printed, printer.print(reparsed));
+        }
+    }
+
+    @Test
+    public void roundTripES5() {
+        assertRoundTrip(ES5);
+    }
+
+    @Test
+    public void roundTripES6() {
+        assertRoundTrip(ES5 + ES6, "--language=es6");
+    }
+
+    @Test
+    public void roundTripModule() {
+        assertRoundTrip(MODULE, "--es6-module");
+    }
+
+    @Test
+    public void minifiedOmitsOptionalWhitespace() {
+        assertEquals("var a=1;if(a){a++;}", TreePrinter.minified().print(parse("var a = 1;\nif (a) { a++; }")));
+    }
+
+    @Test
+    public void lineTerminatorsAreEscaped() {
+        final String printed = TreePrinter.minified().print(parse("var s = '\\u2028\\u2029';"));
+        assertTrue(printed, printed.indexOf('\u2028') < 0 && printed.indexOf('\u2029') < 0);
+    }
+
+    @Test
+    public void byteBufferOutputIsUTF8() {
+        final CompilationUnitTree unit = parse("var s = '\u00e9\ud83d\ude00';");
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        TreePrinter.minified().print(unit, buffer);
+        buffer.flip();
+        assertEquals(TreePrinter.minified().print(unit), StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class TreeRuleRunnerTest {
+    private static final class IdentifierNames implements TreeRule<String> {
+        @Override
+        public Set<Tree.Kind> getKinds() {
+            return EnumSet.of(Tree.Kind.IDENTIFIER);
+        }
+
+        @Override
+        public void visit(final Tree tree, final Context<String> context) {
+            context.report(((IdentifierTree) tree).getName());
+        }
+    }
+
+    @Test
+    public void reportsInTraversalOrder() {
+        final TreeRuleRunner<String> runner = new TreeRuleRunner<>(Collections.singletonList(new IdentifierNames()));
+        final CompilationUnitTree unit = Parser.create().parse("test.js", "a(b, c.d);", null);
+        assertEquals(Arrays.asList("a", "b", "c"), runner.run(unit));
+    }
+
+    @Test
+    public void rethrowsReadFailures() throws IOException {
+        final TreeRuleRunner<String> runner = new TreeRuleRunner<>(Collections.singletonList(new IdentifierNames()));
+        final Path dir = Files.createTempDirectory("rules");
+        try {
+            final Path good = Files.write(dir.resolve("good.js"), "x;".getBytes("UTF-8"));
+            final Path missing = dir.resolve("missing.js");
+            try {
+                runner.run(Parser.create(), Arrays.asList(good, missing), null);
+                fail("missing file was read");
+            } catch (final IOException e) {
+                // expected
+            }
+            final List<List<String>> results = runner.run(Parser.create(), Collections.singletonList(good), null);
+            assertEquals(Collections.singletonList(Collections.singletonList("x")), results);
+        } finally {
+            Files.deleteIfExists(dir.resolve("good.js"));
+            Files.delete(dir);
+        }
+    }
+}
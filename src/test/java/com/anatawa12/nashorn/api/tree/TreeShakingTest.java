@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class TreeShakingTest {
+    private static final Path ROOT = Paths.get("/modules").toAbsolutePath();
+    private static final ModuleGraph.Resolver RESOLVER = (from, specifier) -> from.resolveSibling(specifier).normalize();
+
+    private final Map<Path, CompilationUnitTree> modules = new LinkedHashMap<>();
+    private final Map<Path, String> sources = new LinkedHashMap<>();
+
+    private Path module(final String name, final String code) {
+        final Path path = ROOT.resolve(name);
+        modules.put(path, Parser.create("--es6-module").parse(name, code, null));
+        sources.put(path, code);
+        return path;
+    }
+
+    private TreeShaking shake(final Path entry) {
+        return TreeShaking.analyze(modules, Collections.singleton(entry), RESOLVER);
+    }
+
+    private List<String> retained(final TreeShaking result, final Path path) {
+        final List<String> list = new ArrayList<>();
+        for (final Tree statement : result.getRetainedStatements(path)) {
+            list.add(sources.get(path).substring((int) statement.getStartPosition(), (int) statement.getEndPosition()));
+        }
+        return list;
+    }
+
+    private static List<String> list(final String... strings) {
+        return Arrays.asList(strings);
+    }
+
+    private static HashSet<String> set(final String... strings) {
+        return new HashSet<>(Arrays.asList(strings));
+    }
+
+    @Test
+    public void starExportIsFollowed() {
+        final Path main = module("main.js", "import { x } from './b.js'; print(x);");
+        final Path b = module("b.js", "export * from './c.js';");
+        final Path c = module("c.js", "export const x = 1; export const unused = 2;");
+        final TreeShaking result = shake(main);
+        assertEquals(set("x"), result.getUsedExports(c));
+        assertEquals(list("const x = 1"), retained(result, c));
+        assertTrue(result.getIncludedModules().contains(c));
+        assertFalse(result.getIncludedModules().contains(b));
+    }
+
+    @Test
+    public void indirectExportIsFollowed() {
+        final Path main = module("main.js", "import { z } from './b.js'; print(z);");
+        final Path b = module("b.js", "export { y as z } from './c.js'; export { w } from './c.js';");
+        final Path c = module("c.js", "export const y = 1; export const w = 2;");
+        final TreeShaking result = shake(main);
+        assertEquals(set("z"), result.getUsedExports(b));
+        assertEquals(set("y"), result.getUsedExports(c));
+        assertEquals(list("const y = 1"), retained(result, c));
+    }
+
+    @Test
+    public void namespaceImportUsesSelectedExports() {
+        final Path main = module("main.js", "import * as ns from './c.js'; print(ns.x);");
+        final Path c = module("c.js", "export const x = 1; export const y = 2;");
+        final TreeShaking result = shake(main);
+        assertEquals(set("x"), result.getUsedExports(c));
+        assertEquals(list("const x = 1"), retained(result, c));
+    }
+
+    @Test
+    public void escapingNamespaceImportUsesAllExports() {
+        final Path main = module("main.js", "import * as ns from './c.js'; print(ns);");
+        final Path c = module("c.js", "export const x = 1; export const y = 2; const z = 3;");
+        final TreeShaking result = shake(main);
+        assertEquals(set("x", "y"), result.getUsedExports(c));
+        assertEquals(list("const x = 1", "const y = 2"), retained(result, c));
+    }
+
+    @Test
+    public void sideEffectKeepsModule() {
+        final Path main = module("main.js", "import { unused } from './e.js'; import './p.js';");
+        final Path e = module("e.js", "print('loaded'); export const unused = 1;");
+        final Path p = module("p.js", "export function f() {} const v = [1, 2];");
+        final TreeShaking result = shake(main);
+        assertTrue(result.getUsedExports(e).isEmpty());
+        assertEquals(list("print('loaded')"), retained(result, e));
+        assertTrue(result.getIncludedModules().contains(e));
+        assertTrue(retained(result, p).isEmpty());
+        assertFalse(result.getIncludedModules().contains(p));
+    }
+
+    @Test
+    public void cycleIsFollowedOnce() {
+        final Path a = module("a.js", "import { f } from './b.js'; export function g() { return f(); }");
+        final Path b = module("b.js",
+                "import { g } from './a.js'; export function f() { return g(); } export function h() {}");
+        final TreeShaking result = shake(a);
+        assertEquals(set("g"), result.getUsedExports(a));
+        assertEquals(set("f"), result.getUsedExports(b));
+        assertEquals(list("function f() { return g(); }"), retained(result, b));
+        assertEquals(Arrays.asList(a, b), result.getIncludedModules());
+    }
+
+    @Test
+    public void parallelAndSequentialAgree() {
+        final int count = 40;
+        for (int i = 0; i < count; i++) {
+            final int next = (i + 1) % count;
+            final int skip = (i * 7 + 3) % count;
+            module("m" + i + ".js",
+                    "import { f" + next + " } from './m" + next + ".js';\n" +
+                    "import * as ns from './m" + skip + ".js';\n" +
+                    "export function f" + i + "() { return f" + next + "() + ns.v" + skip + "; }\n" +
+                    "export const v" + i + " = " + i + ";\n" +
+                    "export const unused" + i + " = " + i + ";\n" +
+                    (i % 5 == 0 ? "print(" + i + ");\n" : "") +
+                    (i % 3 == 0 ? "export * from './m" + skip + ".js';\n" : ""));
+        }
+        final List<Path> entries = Arrays.asList(ROOT.resolve("m0.js"), ROOT.resolve("m20.js"));
+        final TreeShaking parallel = TreeShaking.analyze(modules, entries, RESOLVER, true);
+        final TreeShaking sequential = TreeShaking.analyze(modules, entries, RESOLVER, false);
+        assertEquals(sequential.getIncludedModules(), parallel.getIncludedModules());
+        for (final Path path : modules.keySet()) {
+            assertEquals(sequential.getUsedExports(path), parallel.getUsedExports(path));
+            assertEquals(sequential.getRetainedStatements(path), parallel.getRetainedStatements(path));
+        }
+    }
+}
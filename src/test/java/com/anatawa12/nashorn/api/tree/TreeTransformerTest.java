@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.api.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class TreeTransformerTest {
+    private static CompilationUnitTree parse(final String code) {
+        return Parser.create().parse("test.js", code, null);
+    }
+
+    // removes every tree of the given kind
+    private static CompilationUnitTree remove(final CompilationUnitTree unit, final Tree.Kind kind) {
+        return new TreeTransformer() {
+            @Override
+            protected Tree leave(final Tree tree) {
+                return tree.getKind() == kind? null : tree;
+            }
+        }.transform(unit);
+    }
+
+    @Test
+    public void removingRequiredChildIsRejected() {
+        final CompilationUnitTree unit = parse("var a = b + c;");
+        try {
+            remove(unit, Tree.Kind.IDENTIFIER);
+            fail("removing the operands of a binary expression must fail");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("cannot remove IDENTIFIER from PLUS", e.getMessage());
+        }
+    }
+
+    @Test
+    public void removingOptionalChildLeavesItEmpty() {
+        final CompilationUnitTree ifElse = remove(parse("if (a) b(); else { c(); }"), Tree.Kind.BLOCK);
+        assertEquals("if(a)b();", TreePrinter.minified().print(ifElse));
+        final CompilationUnitTree ret = remove(parse("function f() { return 1; }"), Tree.Kind.NUMBER_LITERAL);
+        assertEquals("function f(){return;}", TreePrinter.minified().print(ret));
+    }
+
+    @Test
+    public void removingListElements() {
+        final CompilationUnitTree unit = parse("f(1, 2); g();");
+        final CompilationUnitTree result = remove(unit, Tree.Kind.NUMBER_LITERAL);
+        assertEquals("f();g();", TreePrinter.minified().print(result));
+        assertTrue(result.getSourceElements().get(1) == unit.getSourceElements().get(1));
+    }
+
+    // replaces every identifier with the given name
+    private static CompilationUnitTree replace(final CompilationUnitTree unit, final String name, final Tree replacement) {
+        return new TreeTransformer() {
+            @Override
+            protected Tree leave(final Tree tree) {
+                final boolean match = tree instanceof IdentifierTree && ((IdentifierTree) tree).getName().equals(name);
+                return match? replacement : tree;
+            }
+        }.transform(unit);
+    }
+
+    @Test
+    public void replacementPlacedTwiceIsCopied() {
+        final CompilationUnitTree unit = parse("g(1); g(2); a = g;");
+        final Tree h = parse("h").getTreesOfKind(Tree.Kind.IDENTIFIER).get(0);
+        final CompilationUnitTree result = replace(unit, "g", h);
+        assertEquals("h(1);h(2);a=h;", TreePrinter.minified().print(result));
+
+        final List<? extends Tree> identifiers = result.getTreesOfKind(Tree.Kind.IDENTIFIER);
+        assertEquals(4, identifiers.size());
+        final Set<Tree> parents = new HashSet<>();
+        for (final Tree identifier : identifiers) {
+            if (((IdentifierTree) identifier).getName().equals("h")) {
+                parents.add(TreePath.getParent(result, identifier));
+            }
+        }
+        assertEquals(3, parents.size());
+    }
+
+    @Test
+    public void treeTakenFromElsewhereIsCopied() {
+        final CompilationUnitTree unit = parse("x; a = b;");
+        final Tree x = unit.getTreesOfKind(Tree.Kind.IDENTIFIER).get(0);
+        final CompilationUnitTree result = replace(unit, "b", x);
+        assertEquals("x;a=x;", TreePrinter.minified().print(result));
+        final List<? extends Tree> identifiers = result.getTreesOfKind(Tree.Kind.IDENTIFIER);
+        assertEquals(3, identifiers.size());
+        assertSame(x, identifiers.get(0));
+        assertNotSame(x, identifiers.get(2));
+        assertTrue(x.structurallyEquals(identifiers.get(2)));
+    }
+
+    @Test
+    public void indexIsDerivedFromTheOriginal() {
+        final CompilationUnitTree unit = parse("function f(a) { return a + 1; } var v = [f(2), { p: f }]; if (v) { g(v); }");
+        // build the index of the original, which the result's index is derived from
+        unit.getTreesOfKind(Tree.Kind.IDENTIFIER);
+        final Tree h = parse("h").getTreesOfKind(Tree.Kind.IDENTIFIER).get(0);
+        final CompilationUnitTreeImpl result = (CompilationUnitTreeImpl) replace(unit, "g", h);
+        final TreeIndex derived = result.getIndex();
+        final TreeIndex fresh = TreeIndex.build(result, null);
+        assertEquals(fresh.size(), derived.size());
+        for (int id = 0; id < fresh.size(); id++) {
+            assertSame(fresh.getTree(id), derived.getTree(id));
+            assertEquals(fresh.getParent(id), derived.getParent(id));
+        }
+        for (final Tree.Kind kind : Tree.Kind.values()) {
+            assertEquals(fresh.getTrees(kind), derived.getTrees(kind));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.anatawa12.nashorn.internal.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class LruCacheTest {
+    @Test
+    public void valuesAreCreatedOnce() {
+        final LruCache<String, String> cache = new LruCache<>(16);
+        final AtomicInteger created = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("a!", cache.get("a", k -> {
+                created.incrementAndGet();
+                return k + "!";
+            }));
+        }
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void recentlyUsedValuesAreKept() {
+        final LruCache<Integer, Integer> cache = new LruCache<>(16);
+        final AtomicInteger created = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            // key 0 is used between all others
+            cache.get(0, k -> created.incrementAndGet());
+            cache.get(i + 1, k -> k);
+        }
+        assertEquals(1, created.get());
+
+        // the older keys were dropped
+        final AtomicInteger recreated = new AtomicInteger();
+        for (int i = 1; i <= 100; i++) {
+            cache.get(i, k -> recreated.incrementAndGet());
+        }
+        assertEquals(100, recreated.get());
+    }
+
+    @Test
+    public void racingThreadsGetOneValue() throws Exception {
+        final LruCache<Integer, Object> cache = new LruCache<>(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Object[]>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit((Callable<Object[]>) () -> {
+                    final Object[] values = new Object[256];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = cache.get(i % 32, k -> new Object());
+                    }
+                    return values;
+                }));
+            }
+            final Object[] first = results.get(0).get();
+            for (final Future<Object[]> result : results) {
+                final Object[] values = result.get();
+                for (int i = 0; i < values.length; i++) {
+                    assertSame(first[i % 32], values[i]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
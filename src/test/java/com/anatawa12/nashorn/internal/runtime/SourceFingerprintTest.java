@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.internal.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceFingerprintTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static String code(final int lines) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("var v").append(i).append(" = 'é").append(i).append("';\n");
+        }
+        return sb.toString();
+    }
+
+    private static String fingerprint(final String content) {
+        return Source.sourceFor("test.js", content).getFingerprint();
+    }
+
+    @Test
+    public void oneCharacterEditChangesFingerprint() {
+        final String code = code(1000);
+        final String fingerprint = fingerprint(code);
+        for (final int at : new int[] { 0, code.length() / 2, code.length() - 2 }) {
+            final char[] edited = code.toCharArray();
+            edited[at]++;
+            assertNotEquals("edit at " + at, fingerprint, fingerprint(new String(edited)));
+        }
+        assertNotEquals(fingerprint, fingerprint(code + " "));
+        assertNotEquals(fingerprint, fingerprint(code.substring(1)));
+    }
+
+    @Test
+    public void fingerprintOnlyDependsOnContent() throws IOException {
+        final String code = code(1000);
+        final byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+        final Path path = folder.newFile("test.js").toPath();
+        Files.write(path, bytes);
+        final String fingerprint = fingerprint(code);
+        assertEquals(fingerprint, Source.sourceFor("other.js", code).getFingerprint());
+        assertEquals(fingerprint, Source.sourceFor("test.js", path).getFingerprint());
+        // read again, as a build would after the file was touched
+        assertEquals(fingerprint, Source.sourceFor(path.toString(), path.toFile()).getFingerprint());
+        assertEquals(fingerprint, Source.sourceFor("test.js",
+                Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8).getFingerprint());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.anatawa12.nashorn.internal.runtime.regexp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.anatawa12.nashorn.api.tree.Diagnostic;
+import com.anatawa12.nashorn.api.tree.Parser;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class BacktrackingAnalysisTest {
+    private static List<BacktrackingAnalysis.Finding> check(final String pattern) {
+        return RegExpFactory.checkBacktracking(pattern, "");
+    }
+
+    // part is the repetition found, which is the last occurrence of it in pattern
+    private static void assertFinding(final String pattern, final BacktrackingAnalysis.Kind kind, final String part) {
+        final List<BacktrackingAnalysis.Finding> findings = check(pattern);
+        assertEquals(pattern + ": " + findings, 1, findings.size());
+        final BacktrackingAnalysis.Finding finding = findings.get(0);
+        assertEquals(pattern, kind, finding.getKind());
+        assertEquals(pattern, pattern.lastIndexOf(part), finding.getStart());
+        assertEquals(pattern, part, pattern.substring(finding.getStart(), finding.getEnd()));
+    }
+
+    @Test
+    public void nestedQuantifierIsExponential() {
+        assertFinding("(a+)+", BacktrackingAnalysis.Kind.NESTED_QUANTIFIER, "(a+)+");
+        assertFinding("^(\\w+\\s?)*$", BacktrackingAnalysis.Kind.NESTED_QUANTIFIER, "(\\w+\\s?)*");
+    }
+
+    @Test
+    public void overlappingAlternativesAreExponential() {
+        assertFinding("(a|a)*", BacktrackingAnalysis.Kind.OVERLAPPING_ALTERNATIVES, "(a|a)*");
+        assertFinding("x(a|ab)*y", BacktrackingAnalysis.Kind.OVERLAPPING_ALTERNATIVES, "(a|ab)*");
+    }
+
+    @Test
+    public void adjacentQuantifiersArePolynomial() {
+        // the second of the two repetitions is reported
+        assertFinding("a*a*b", BacktrackingAnalysis.Kind.ADJACENT_QUANTIFIERS, "a*");
+        assertFinding("\\d+x?\\d*", BacktrackingAnalysis.Kind.ADJACENT_QUANTIFIERS, "\\d*");
+    }
+
+    @Test
+    public void safeLookAlikesAreNotReported() {
+        for (final String pattern : new String[] { "(ab)+", "[a-z]+\\d+", "(a|b)*", "a+b+", "(a+b)+", "\\d+\\.\\d+" }) {
+            assertTrue(pattern + ": " + check(pattern), check(pattern).isEmpty());
+        }
+    }
+
+    @Test
+    public void warningsPointIntoTheLiteral() {
+        final String code = "var ok = /(ab)+/;\nvar bad = /x(a+)+y/g;\n";
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        Parser.create("--check-regexp-backtracking").parse("test.js", code, diagnostics::add);
+        assertEquals(diagnostics.toString(), 1, diagnostics.size());
+        final Diagnostic diagnostic = diagnostics.get(0);
+        assertEquals(Diagnostic.Kind.WARNING, diagnostic.getKind());
+        assertEquals(code.indexOf("(a+)+"), diagnostic.getPosition());
+        assertEquals(2, diagnostic.getLineNumber());
+
+        diagnostics.clear();
+        Parser.create().parse("test.js", code, diagnostics::add);
+        assertTrue(diagnostics.isEmpty());
+    }
+}